@@ -0,0 +1,40 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.util.GeneradorDatosSinteticos;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * Base H2 en memoria (modo MySQL) con el esquema de database.sql y datos de
+ * GeneradorDatosSinteticos, para medir los DAO y controladores reales.
+ *
+ * preparar() apunta ConexionBD a la base mediante las propiedades del sistema
+ * db.url, db.user y db.password, así que debe llamarse antes del primer uso de
+ * un DAO en la JVM del benchmark (JMH ejecuta cada combinación de @Param en una
+ * JVM nueva, de modo que cada tamaño parte de una base vacía).
+ */
+final class BaseDatosH2 {
+
+    static final String URL = "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    private BaseDatosH2() {
+    }
+
+    /**
+     * Crea el esquema, lo llena con datos generados a partir de la semilla y
+     * configura ConexionBD para usar la base.
+     * @param cantidades Cantidades de filas.
+     * @param semilla Semilla del generador; la misma semilla produce los mismos datos.
+     */
+    static void preparar(GeneradorDatosSinteticos.Cantidades cantidades, long semilla) throws SQLException {
+        System.setProperty("db.url", URL);
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+
+        try (Connection conexion = DriverManager.getConnection(URL, "sa", "")) {
+            GeneradorDatosSinteticos.crearEsquema(conexion);
+            new GeneradorDatosSinteticos(cantidades, semilla).generar(conexion);
+        }
+    }
+}
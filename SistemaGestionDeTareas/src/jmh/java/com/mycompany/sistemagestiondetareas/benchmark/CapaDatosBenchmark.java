@@ -0,0 +1,121 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.controlador.ControladorCosto;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorProyecto;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorUsuario;
+import com.mycompany.sistemagestiondetareas.dao.CostoDAO;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import com.mycompany.sistemagestiondetareas.util.GeneradorDatosSinteticos;
+import com.mycompany.sistemagestiondetareas.vista.PanelAdmin;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * DAO y controladores reales sobre una base H2 en memoria con datos
+ * sintéticos de distintos tamaños (ver GeneradorDatosSinteticos). Sirve para
+ * comparar antes y después de cada cambio de rendimiento de la capa de datos:
+ *
+ *   mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=CapaDatosBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Djava.awt.headless=true"})
+public class CapaDatosBenchmark {
+
+    private static final long SEMILLA = 42;
+    private static final int TAMANO_PAGINA = 100;
+
+    @Param({"1000", "10000", "100000"})
+    private int tareas;
+
+    private GeneradorDatosSinteticos.Cantidades cantidades;
+    private TareaDAO tareaDAO;
+    private CostoDAO costoDAO;
+    private ControladorCosto controladorCosto;
+    private ControladorProyecto controladorProyecto;
+    private ControladorUsuario controladorUsuario;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        cantidades = GeneradorDatosSinteticos.Cantidades.porTareas(tareas);
+        BaseDatosH2.preparar(cantidades, SEMILLA);
+
+        // ConexionBD anuncia por consola cada conexión que abre (una por llamada a un DAO)
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        tareaDAO = new TareaDAO();
+        costoDAO = new CostoDAO();
+        controladorCosto = new ControladorCosto();
+        controladorProyecto = new ControladorProyecto();
+        controladorUsuario = new ControladorUsuario();
+        random = new SplittableRandom(SEMILLA);
+    }
+
+    @Benchmark
+    public List<Tarea> tareaDAOListarTodas() {
+        return tareaDAO.listarTodas();
+    }
+
+    /** Página de la tabla de tareas con la entidad completa. */
+    @Benchmark
+    public List<Tarea> tareaDAOListarPagina() {
+        return tareaDAO.listarPagina(desplazamientoAleatorio(), TAMANO_PAGINA);
+    }
+
+    /** La misma página con la proyección que usa PanelAdmin. */
+    @Benchmark
+    public List<ResumenTarea> tareaDAOListarResumenPagina() {
+        return tareaDAO.listarResumenPagina(desplazamientoAleatorio(), TAMANO_PAGINA);
+    }
+
+    @Benchmark
+    public Tarea tareaDAOBuscarPorId() {
+        return tareaDAO.buscarPorId(1 + random.nextInt(cantidades.getTareas()));
+    }
+
+    @Benchmark
+    public double costoDAOCalcularTotalPorTipo() {
+        return costoDAO.calcularTotalPorTipo("PROYECTO", 1 + random.nextInt(cantidades.getProyectos()),
+                "GASTO_PLANIFICADO");
+    }
+
+    @Benchmark
+    public double controladorCostoCalcularBalanceTotal() {
+        return controladorCosto.calcularBalanceTotal("PROYECTO", 1 + random.nextInt(cantidades.getProyectos()));
+    }
+
+    /**
+     * Datos de PanelAdmin.cargarProyectos(): proyectos, totales de costos y responsables, ya formateados.
+     */
+    @Benchmark
+    public void panelAdminCargarProyectos(Blackhole blackhole) {
+        PanelAdmin.producirFilasProyectos(controladorProyecto, controladorCosto, controladorUsuario, blackhole::consume);
+    }
+
+    private int desplazamientoAleatorio() {
+        return random.nextInt(Math.max(1, cantidades.getTareas() - TAMANO_PAGINA));
+    }
+}
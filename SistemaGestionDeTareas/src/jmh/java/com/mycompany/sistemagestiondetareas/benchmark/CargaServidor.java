@@ -0,0 +1,344 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.util.GeneradorDatosSinteticos;
+import com.mycompany.sistemagestiondetareas.util.Servidor;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga del servidor de chat (Servidor y ManejadorServidor).
+ *
+ * Abre N conexiones con el mismo protocolo que Cliente (email y contraseña,
+ * respuesta OK y luego una línea por mensaje), las autentica y envía mensajes a una
+ * tasa fija repartidos entre los clientes. Cada mensaje lleva el instante de
+ * envío, así que los demás clientes miden la latencia de extremo a extremo de
+ * la difusión. Al terminar informa los percentiles de latencia, el caudal
+ * (mensajes enviados y entregas por segundo), las entregas perdidas y la
+ * memoria usada.
+ *
+ * Por defecto levanta el servidor en el mismo proceso sobre una base H2 en
+ * memoria con los usuarios de GeneradorDatosSinteticos; en ese caso la memoria
+ * informada es la de toda la JVM (servidor y clientes). Con host y puerto
+ * se conecta a un servidor ya en marcha, cuya base debe tener los usuarios
+ * usuario1..N@sintetico.local con contraseña clave1..N (GeneradorDatosSinteticos
+ * sobre una base vacía).
+ *
+ *   mvn -Pbenchmarks test-compile exec:exec \
+ *       -Dbenchmark.principal=com.mycompany.sistemagestiondetareas.benchmark.CargaServidor \
+ *       -Dbenchmark="clientes=50 tasa=200 duracion=30"
+ *
+ * Opciones: clientes=N (20), tasa=mensajes/s en total (100), duracion=s (20),
+ * calentamiento=s (3), host=H puerto=P.
+ */
+public final class CargaServidor {
+
+    private static final String URL_H2 = "jdbc:h2:mem:carga;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String MARCA = "CARGA|";
+    private static final long ESPERA_ENTREGAS_MS = 2000;
+
+    private CargaServidor() {
+    }
+
+    /**
+     * Cliente simulado: su conexión y el hilo que lee y mide los mensajes recibidos.
+     */
+    private static final class ClienteSimulado implements Runnable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+        private final AtomicLong inicioMedicion;
+        private long[] latencias = new long[1024];
+        private int cantidad;
+        private volatile long recibidos;
+
+        ClienteSimulado(String host, int puerto, String email, String contrasena, AtomicLong inicioMedicion)
+                throws IOException {
+            this.socket = conectar(host, puerto);
+            this.socket.setTcpNoDelay(true);
+            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            this.out = new PrintWriter(socket.getOutputStream(), true);
+            this.inicioMedicion = inicioMedicion;
+            out.println(email);
+            out.println(contrasena);
+            String respuesta = in.readLine();
+            if (!"OK".equals(respuesta)) {
+                socket.close();
+                throw new IOException("Error de autenticación de " + email + ": " + respuesta);
+            }
+        }
+
+        void enviar(String mensaje) throws IOException {
+            out.println(mensaje);
+            if (out.checkError()) {
+                throw new IOException("La conexión con el servidor se ha perdido");
+            }
+        }
+
+        void cerrar() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Ya estaba cerrada
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                String mensaje;
+                while ((mensaje = in.readLine()) != null) {
+                    long ahora = System.nanoTime();
+                    int marca = mensaje.indexOf(MARCA);
+                    if (marca < 0) {
+                        continue;
+                    }
+                    int fin = mensaje.indexOf('|', marca + MARCA.length());
+                    long enviado = Long.parseLong(mensaje.substring(marca + MARCA.length(), fin));
+                    if (enviado >= inicioMedicion.get()) {
+                        registrar(ahora - enviado);
+                    }
+                }
+            } catch (IOException e) {
+                // Conexión cerrada al terminar la prueba
+            }
+        }
+
+        private synchronized void registrar(long latenciaNanos) {
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = latenciaNanos;
+            recibidos++;
+        }
+
+        synchronized long[] muestras() {
+            return Arrays.copyOf(latencias, cantidad);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clientes = 20;
+        int tasa = 100;
+        int duracion = 20;
+        int calentamiento = 3;
+        String host = null;
+        int puerto = 0;
+        // El perfil pasa todas las opciones en un solo argumento; ".*" es su valor por defecto
+        String opciones = String.join(" ", args).trim();
+        for (String opcion : opciones.isEmpty() || opciones.equals(".*") ? new String[0] : opciones.split("\\s+")) {
+            int igual = opcion.indexOf('=');
+            String clave = igual > 0 ? opcion.substring(0, igual) : opcion;
+            String valor = igual > 0 ? opcion.substring(igual + 1) : "";
+            switch (clave) {
+                case "clientes":
+                    clientes = Integer.parseInt(valor);
+                    break;
+                case "tasa":
+                    tasa = Integer.parseInt(valor);
+                    break;
+                case "duracion":
+                    duracion = Integer.parseInt(valor);
+                    break;
+                case "calentamiento":
+                    calentamiento = Integer.parseInt(valor);
+                    break;
+                case "host":
+                    host = valor;
+                    break;
+                case "puerto":
+                    puerto = Integer.parseInt(valor);
+                    break;
+                default:
+                    System.err.println("Opción desconocida: " + opcion);
+                    System.exit(2);
+            }
+        }
+        if (clientes < 2 || tasa < 1) {
+            System.err.println("Se necesitan al menos 2 clientes y una tasa positiva");
+            System.exit(2);
+        }
+
+        // El servidor anuncia cada conexión y mensaje por consola; el informe va a la salida original
+        PrintStream salida = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        Servidor servidor = null;
+        long memoriaInicial = memoriaUsada();
+        if (host == null) {
+            host = "localhost";
+            puerto = puertoLibre();
+            servidor = iniciarServidorLocal(clientes, puerto);
+        }
+
+        AtomicLong inicioMedicion = new AtomicLong(Long.MAX_VALUE);
+        List<ClienteSimulado> simulados = new ArrayList<>();
+        long inicioConexion = System.nanoTime();
+        for (int i = 1; i <= clientes; i++) {
+            ClienteSimulado simulado = new ClienteSimulado(host, puerto, "usuario" + i + "@sintetico.local",
+                    "clave" + i, inicioMedicion);
+            Thread lector = new Thread(simulado, "carga-cliente-" + i);
+            lector.setDaemon(true);
+            lector.start();
+            simulados.add(simulado);
+        }
+        long conexionMs = (System.nanoTime() - inicioConexion) / 1_000_000;
+        if (servidor != null) {
+            esperarRegistro(servidor, clientes);
+        }
+        long memoriaConectados = memoriaUsada();
+
+        // Envío a tasa fija, repartido entre los clientes por turnos
+        AtomicLong enviados = new AtomicLong();
+        AtomicLong errores = new AtomicLong();
+        ScheduledExecutorService emisor = Executors.newSingleThreadScheduledExecutor();
+        long periodoNanos = TimeUnit.SECONDS.toNanos(1) / tasa;
+        long[] secuencia = {0};
+        emisor.scheduleAtFixedRate(() -> {
+            long numero = secuencia[0]++;
+            ClienteSimulado remitente = simulados.get((int) (numero % simulados.size()));
+            long ahora = System.nanoTime();
+            try {
+                remitente.enviar(MARCA + ahora + "|" + numero);
+                if (ahora >= inicioMedicion.get()) {
+                    enviados.incrementAndGet();
+                }
+            } catch (IOException e) {
+                errores.incrementAndGet();
+            }
+        }, 0, periodoNanos, TimeUnit.NANOSECONDS);
+
+        Thread.sleep(TimeUnit.SECONDS.toMillis(calentamiento));
+        inicioMedicion.set(System.nanoTime());
+        long inicio = System.nanoTime();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(duracion));
+        emisor.shutdown();
+        emisor.awaitTermination(5, TimeUnit.SECONDS);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        Thread.sleep(ESPERA_ENTREGAS_MS);
+        long memoriaFinal = memoriaUsada();
+
+        long recibidos = 0;
+        List<long[]> muestras = new ArrayList<>();
+        for (ClienteSimulado simulado : simulados) {
+            recibidos += simulado.recibidos;
+            muestras.add(simulado.muestras());
+        }
+        long[] latencias = muestras.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        long esperados = enviados.get() * (clientes - 1);
+
+        salida.println("=== Carga del servidor de chat ===");
+        salida.printf(Locale.ROOT, "Clientes: %d (conectados y autenticados en %d ms)%n", clientes, conexionMs);
+        salida.printf(Locale.ROOT, "Duración medida: %.1f s (tras %d s de calentamiento), tasa objetivo %d msg/s%n",
+                segundos, calentamiento, tasa);
+        salida.printf(Locale.ROOT, "Enviados: %d (%.1f msg/s), errores de envío: %d%n",
+                enviados.get(), enviados.get() / segundos, errores.get());
+        salida.printf(Locale.ROOT, "Entregas: %d de %d esperadas (%.1f entregas/s), perdidas: %d%n",
+                recibidos, esperados, recibidos / segundos, Math.max(0, esperados - recibidos));
+        salida.printf(Locale.ROOT, "Latencia de difusión (ms): p50=%.3f p90=%.3f p99=%.3f p99.9=%.3f max=%.3f%n",
+                percentilMs(latencias, 50), percentilMs(latencias, 90), percentilMs(latencias, 99),
+                percentilMs(latencias, 99.9), latencias.length == 0 ? 0 : latencias[latencias.length - 1] / 1e6);
+        salida.printf(Locale.ROOT, "Memoria%s: inicial %d MB, con clientes %d MB (%d KB por cliente), final %d MB%n",
+                servidor != null ? " (servidor y clientes en la misma JVM)" : " (solo clientes)",
+                memoriaInicial >> 20, memoriaConectados >> 20,
+                (memoriaConectados - memoriaInicial) / clientes >> 10, memoriaFinal >> 20);
+        salida.printf(Locale.ROOT, "Hilos vivos: %d%n", ManagementFactory.getThreadMXBean().getThreadCount());
+
+        for (ClienteSimulado simulado : simulados) {
+            simulado.cerrar();
+        }
+        if (servidor != null) {
+            servidor.detener();
+        }
+    }
+
+    /**
+     * Crea la base H2 con un usuario por cliente y arranca el servidor en un hilo de fondo.
+     */
+    private static Servidor iniciarServidorLocal(int clientes, int puerto) throws SQLException {
+        System.setProperty("db.url", URL_H2);
+        System.setProperty("db.user", "sa");
+        System.setProperty("db.password", "");
+        try (Connection conexion = DriverManager.getConnection(URL_H2, "sa", "")) {
+            GeneradorDatosSinteticos.crearEsquema(conexion);
+            new GeneradorDatosSinteticos(new GeneradorDatosSinteticos.Cantidades(clientes, 1, 0, 0), 1)
+                    .generar(conexion);
+        }
+
+        Servidor servidor = new Servidor(puerto, clientes);
+        Thread hilo = new Thread(servidor::iniciar, "servidor-carga");
+        hilo.setDaemon(true);
+        hilo.start();
+        return servidor;
+    }
+
+    /**
+     * Abre el socket reintentando durante unos segundos, por si el servidor local aún no escucha.
+     */
+    private static Socket conectar(String host, int puerto) throws IOException {
+        for (int intento = 1; ; intento++) {
+            try {
+                return new Socket(host, puerto);
+            } catch (ConnectException e) {
+                if (intento == 50) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Conexión interrumpida", ie);
+                }
+            }
+        }
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Espera a que el servidor registre a todos los clientes, para no medir mensajes perdidos durante el arranque.
+     */
+    private static void esperarRegistro(Servidor servidor, int clientes) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (servidor.getClientesConectados() < clientes && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static long memoriaUsada() throws InterruptedException {
+        System.gc();
+        Thread.sleep(100);
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static double percentilMs(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(indice, ordenadas.length - 1))] / 1e6;
+    }
+}
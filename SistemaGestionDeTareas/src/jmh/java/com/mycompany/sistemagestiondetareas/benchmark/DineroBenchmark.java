@@ -0,0 +1,118 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.controlador.ControladorCosto;
+import com.mycompany.sistemagestiondetareas.modelo.Costo;
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compara la agregación de montos en double (como hacían los paneles) con la
+ * representación en centavos de Dinero.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DineroBenchmark {
+
+    private static final String[] TIPOS_COSTO = {"RETRASO", "ADELANTO", "GASTO_PLANIFICADO"};
+
+    @Param({"1000", "100000"})
+    private int cantidad;
+
+    private List<Costo> costos;
+    private double[] montosDouble;
+    private long[] montosCentavos;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        costos = new ArrayList<>(cantidad);
+        montosDouble = new double[cantidad];
+        montosCentavos = new long[cantidad];
+
+        for (int i = 0; i < cantidad; i++) {
+            long centavos = 1 + random.nextInt(10_000_000);
+            Costo costo = new Costo("PROYECTO", 1 + random.nextInt(100), "Costo " + i, 0.0,
+                    TIPOS_COSTO[random.nextInt(TIPOS_COSTO.length)], new Date(), 1);
+            costo.setMontoCentavos(centavos);
+            costos.add(costo);
+            montosDouble[i] = Dinero.aDecimal(centavos);
+            montosCentavos[i] = centavos;
+        }
+    }
+
+    @Benchmark
+    public double sumarArregloDouble() {
+        double total = 0.0;
+        for (double monto : montosDouble) {
+            total += monto;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long sumarArregloCentavos() {
+        return Dinero.sumar(montosCentavos);
+    }
+
+    @Benchmark
+    public void totalesPorTipoDouble(Blackhole bh) {
+        double gastos = 0;
+        double adelantos = 0;
+        double retrasos = 0;
+        for (Costo costo : costos) {
+            switch (costo.getTipoCosto()) {
+                case "GASTO_PLANIFICADO":
+                    gastos += costo.getMonto();
+                    break;
+                case "ADELANTO":
+                    adelantos += costo.getMonto();
+                    break;
+                case "RETRASO":
+                    retrasos += costo.getMonto();
+                    break;
+            }
+        }
+        bh.consume(gastos);
+        bh.consume(adelantos);
+        bh.consume(retrasos);
+    }
+
+    @Benchmark
+    public long[] totalesPorTipoCentavos() {
+        return ControladorCosto.sumarPorTipoCosto(costos);
+    }
+
+    @Benchmark
+    public void formatearDouble(Blackhole bh) {
+        for (int i = 0; i < Math.min(cantidad, 1000); i++) {
+            bh.consume(String.format("$%.2f", montosDouble[i]));
+        }
+    }
+
+    @Benchmark
+    public void formatearCentavos(Blackhole bh) {
+        for (int i = 0; i < Math.min(cantidad, 1000); i++) {
+            bh.consume(Dinero.formatearMoneda(montosCentavos[i]));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.modelo.DependenciaTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
+import com.mycompany.sistemagestiondetareas.util.GrafoDependencias;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cambiar las fechas de una tarea en el grafo de dependencias de un proyecto
+ * (recálculo incremental de las tareas siguientes) frente a reconstruir el
+ * grafo completo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrafoDependenciasBenchmark {
+
+    private static final long DIA_MS = 24L * 3600 * 1000;
+
+    @Param({"10000", "50000"})
+    private int tareas;
+
+    private List<ResumenTarea> resumenes;
+    private List<DependenciaTarea> dependencias;
+    private GrafoDependencias grafo;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom datos = new SplittableRandom(42);
+        resumenes = new ArrayList<>(tareas);
+        dependencias = new ArrayList<>();
+        for (int id = 1; id <= tareas; id++) {
+            long creacion = datos.nextLong(180) * DIA_MS;
+            resumenes.add(new ResumenTarea(id, "T" + id, new Date(creacion),
+                    new Date(creacion + (1 + datos.nextLong(20)) * DIA_MS), 1, 1,
+                    datos.nextInt(3) == 0 ? "COMPLETADA" : "PENDIENTE"));
+            // Hasta tres previas entre las 200 tareas anteriores
+            for (int k = datos.nextInt(4); k > 0 && id > 1; k--) {
+                int previa = Math.max(1, id - 1 - datos.nextInt(200));
+                dependencias.add(new DependenciaTarea(id, previa));
+            }
+        }
+        grafo = GrafoDependencias.desde(resumenes, dependencias);
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public int guardarTarea() {
+        ResumenTarea tarea = resumenes.get(random.nextInt(tareas));
+        long desplazamiento = random.nextLong(-2, 3) * DIA_MS;
+        return grafo.guardarTarea(tarea.getId(), tarea.getFechaCreacion(),
+                new Date(tarea.getFechaVencimiento().getTime() + desplazamiento), tarea.getEstado());
+    }
+
+    @Benchmark
+    public GrafoDependencias reconstruir() {
+        return GrafoDependencias.desde(resumenes, dependencias);
+    }
+}
@@ -0,0 +1,80 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.dao.IndiceTextoTareas;
+import com.mycompany.sistemagestiondetareas.util.GeneradorDatosSinteticos;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Consultas de IndiceTextoTareas sobre tareas sintéticas. Los textos del
+ * generador repiten pocas palabras, así que los términos comunes aparecen en
+ * una de cada ocho tareas o en todas ("tarea", "sintetica"): es el peor caso
+ * para decodificar e intersecar listas.
+ *
+ *   mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=IndiceTextoBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Djava.awt.headless=true"})
+public class IndiceTextoBenchmark {
+
+    private static final int LIMITE = 50;
+
+    @Param({"100000", "1000000"})
+    private int tareas;
+
+    private IndiceTextoTareas indice;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        BaseDatosH2.preparar(new GeneradorDatosSinteticos.Cantidades(10, 100, tareas, 0), 42);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        indice = new IndiceTextoTareas();
+        if (!indice.reconstruir()) {
+            throw new IllegalStateException("No se pudo construir el índice");
+        }
+    }
+
+    /** Término en una de cada ocho tareas. */
+    @Benchmark
+    public List<IndiceTextoTareas.Resultado> terminoFrecuente() {
+        return indice.buscar("pagos", LIMITE);
+    }
+
+    /** AND de dos términos frecuentes. */
+    @Benchmark
+    public List<IndiceTextoTareas.Resultado> andDeTerminosFrecuentes() {
+        return indice.buscar("diseñar interfaz", LIMITE);
+    }
+
+    /** AND de un término en todas las tareas con uno en una sola. */
+    @Benchmark
+    public List<IndiceTextoTareas.Resultado> andConTerminoRaro() {
+        return indice.buscar("sintetica 12345", LIMITE);
+    }
+
+    /** Prefijo y OR. */
+    @Benchmark
+    public List<IndiceTextoTareas.Resultado> prefijoOr() {
+        return indice.buscar("migra* OR informe mensual", LIMITE);
+    }
+}
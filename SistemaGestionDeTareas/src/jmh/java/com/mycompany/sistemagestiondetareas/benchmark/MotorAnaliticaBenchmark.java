@@ -0,0 +1,110 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.dao.AlmacenCostosColumnar;
+import com.mycompany.sistemagestiondetareas.dao.AlmacenTareasColumnar;
+import com.mycompany.sistemagestiondetareas.util.MotorAnalitica;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escalabilidad de MotorAnalitica según el paralelismo del pool, sobre
+ * 10 millones de costos y tareas sintéticos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx3g"})
+public class MotorAnaliticaBenchmark {
+
+    @Param({"10000000"})
+    private int filas;
+
+    @Param({"1", "2", "4", "8"})
+    private int paralelismo;
+
+    private ForkJoinPool pool;
+    private MotorAnalitica motor;
+    private AlmacenCostosColumnar.Instantanea costos;
+    private AlmacenTareasColumnar.Instantanea tareas;
+    private long ahora;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        SplittableRandom random = new SplittableRandom(42);
+        ahora = System.currentTimeMillis();
+
+        int[] ids = new int[filas];
+        byte[] tipos = new byte[filas];
+        int[] idsReferencia = new int[filas];
+        long[] montos = new long[filas];
+        byte[] tiposCosto = new byte[filas];
+        long[] fechas = new long[filas];
+        int[] idsUsuario = new int[filas];
+
+        int[] idsProyecto = new int[filas];
+        int[] idsResponsable = new int[filas];
+        byte[] estados = new byte[filas];
+        long[] vencimientos = new long[filas];
+
+        for (int i = 0; i < filas; i++) {
+            ids[i] = i + 1;
+            tipos[i] = (byte) random.nextInt(2);
+            idsReferencia[i] = 1 + random.nextInt(1000);
+            montos[i] = 1 + random.nextInt(10_000_000);
+            tiposCosto[i] = (byte) random.nextInt(AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO);
+            fechas[i] = ahora - random.nextLong(365L * 24 * 3600 * 1000);
+            idsUsuario[i] = 1 + random.nextInt(200);
+
+            idsProyecto[i] = 1 + random.nextInt(1000);
+            idsResponsable[i] = 1 + random.nextInt(200);
+            estados[i] = (byte) random.nextInt(3);
+            vencimientos[i] = ahora + random.nextLong(-30L * 24 * 3600 * 1000, 30L * 24 * 3600 * 1000);
+        }
+
+        costos = AlmacenCostosColumnar.Instantanea.desdeColumnas(ids, tipos, idsReferencia, montos,
+                tiposCosto, fechas, idsUsuario, ZoneOffset.UTC);
+        tareas = AlmacenTareasColumnar.Instantanea.desdeColumnas(ids, idsProyecto, idsResponsable,
+                estados, vencimientos);
+
+        pool = new ForkJoinPool(paralelismo);
+        motor = new MotorAnalitica(pool);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public AlmacenCostosColumnar.TotalesPorReferencia totalesPorProyectoYTipoCosto() {
+        return motor.totalesPorProyectoYTipoCosto(costos);
+    }
+
+    @Benchmark
+    public Map<Integer, Long> vencidasPorResponsable() {
+        return motor.vencidasPorResponsable(tareas, ahora);
+    }
+
+    @Benchmark
+    public Map<Integer, Double> tasaCompletadoPorProyecto() {
+        return motor.tasaCompletadoPorProyecto(tareas);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.sistemagestiondetareas.benchmark;
+
+import com.mycompany.sistemagestiondetareas.controlador.ControladorRiesgo;
+import com.mycompany.sistemagestiondetareas.dao.ProyectoDAO;
+import com.mycompany.sistemagestiondetareas.util.GeneradorDatosSinteticos;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Recálculo del riesgo de todos los proyectos (consultas agrupadas y
+ * puntuación en paralelo), escritura en lote de los niveles y recálculo de
+ * un solo proyecto, sobre una base H2 con datos sintéticos:
+ *
+ *   mvn -Pbenchmarks test-compile exec:exec -Dbenchmark=RiesgoProyectosBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g", "-Djava.awt.headless=true"})
+public class RiesgoProyectosBenchmark {
+
+    private static final long SEMILLA = 42;
+    private static final String[] NIVELES = {"VERDE", "AMARILLO", "ROJO"};
+
+    @Param({"10000"})
+    private int proyectos;
+
+    private ControladorRiesgo controladorRiesgo;
+    private ProyectoDAO proyectoDAO;
+    private List<Map<Integer, String>> niveles;
+    private int siguienteNiveles;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void preparar() throws SQLException {
+        // Cinco tareas y dos costos por proyecto
+        BaseDatosH2.preparar(new GeneradorDatosSinteticos.Cantidades(Math.max(10, proyectos / 100),
+                proyectos, proyectos * 5, proyectos * 2), SEMILLA);
+
+        // ConexionBD anuncia por consola cada conexión que abre (una por llamada a un DAO)
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        proyectoDAO = new ProyectoDAO();
+        controladorRiesgo = new ControladorRiesgo();
+
+        // Dos asignaciones que difieren en todos los proyectos: cada escritura cambia todas las filas
+        niveles = List.of(new HashMap<>(), new HashMap<>());
+        for (int id = 1; id <= proyectos; id++) {
+            niveles.get(0).put(id, NIVELES[id % 3]);
+            niveles.get(1).put(id, NIVELES[(id + 1) % 3]);
+        }
+        random = new SplittableRandom(SEMILLA);
+    }
+
+    /** Cargar los indicadores de todos los proyectos y puntuarlos (sin cambios que guardar). */
+    @Benchmark
+    public int recalcularTodos() {
+        return controladorRiesgo.recalcularTodos();
+    }
+
+    /** Una sola actualización en lote que cambia el nivel de todos los proyectos. */
+    @Benchmark
+    public int actualizarNivelesEnLote() {
+        siguienteNiveles ^= 1;
+        return proyectoDAO.actualizarNivelesRiesgo(niveles.get(siguienteNiveles));
+    }
+
+    /** Lo que hace cada cambio de una tarea o un retraso. */
+    @Benchmark
+    public String recalcularProyecto() {
+        return controladorRiesgo.recalcularProyecto(1 + random.nextInt(proyectos));
+    }
+}
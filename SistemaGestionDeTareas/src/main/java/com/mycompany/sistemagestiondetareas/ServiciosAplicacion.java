@@ -0,0 +1,257 @@
+package com.mycompany.sistemagestiondetareas;
+
+import com.mycompany.sistemagestiondetareas.controlador.ControladorAnalitica;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorCosto;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorDependencias;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorProyecto;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorRiesgo;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorTarea;
+import com.mycompany.sistemagestiondetareas.controlador.ControladorUsuario;
+import com.mycompany.sistemagestiondetareas.dao.AlmacenCostosColumnar;
+import com.mycompany.sistemagestiondetareas.dao.AlmacenTareasColumnar;
+import com.mycompany.sistemagestiondetareas.dao.ComentarioTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.CostoDAO;
+import com.mycompany.sistemagestiondetareas.dao.DependenciaTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.HistorialEstadoTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.IndiceTextoTareas;
+import com.mycompany.sistemagestiondetareas.dao.ProyectoDAO;
+import com.mycompany.sistemagestiondetareas.dao.RiesgoProyectoDAO;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.UsuarioDAO;
+import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
+import com.mycompany.sistemagestiondetareas.modelo.Usuario;
+import com.mycompany.sistemagestiondetareas.util.Cliente;
+import com.mycompany.sistemagestiondetareas.util.EmailSender;
+import com.mycompany.sistemagestiondetareas.util.Notificador;
+import com.mycompany.sistemagestiondetareas.util.RecordatorioScheduler;
+import com.mycompany.sistemagestiondetareas.vista.CatalogoEntidades;
+import com.mycompany.sistemagestiondetareas.vista.MonitorEDT;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de los servicios de la aplicación: crea una sola vez los DAOs, las
+ * cachés, los controladores, el notificador y el scheduler, y los comparte
+ * entre todas las vistas.
+ *
+ * Las vistas lo reciben en su constructor (o usan la instancia global); las
+ * pruebas pueden crear uno propio o reemplazar la instancia global con
+ * establecer().
+ */
+public class ServiciosAplicacion {
+
+    private static ServiciosAplicacion instancia;
+
+    // DAOs y cachés compartidos
+    private final UsuarioDAO usuarioDAO;
+    private final ProyectoDAO proyectoDAO;
+    private final TareaDAO tareaDAO;
+    private final CostoDAO costoDAO;
+    private final AlmacenCostosColumnar almacenCostos;
+    private final AlmacenTareasColumnar almacenTareas;
+    private final IndiceTextoTareas indiceTexto;
+
+    // Controladores (su construcción no consulta la base de datos)
+    private final ControladorUsuario controladorUsuario;
+    private final ControladorProyecto controladorProyecto;
+    private final ControladorTarea controladorTarea;
+    private final ControladorCosto controladorCosto;
+    private final ControladorAnalitica controladorAnalitica;
+    private final ControladorDependencias controladorDependencias;
+    private final ControladorRiesgo controladorRiesgo;
+
+    // Listas de los combos de los diálogos, recargadas cuando el controlador avisa de un cambio
+    private final CatalogoEntidades<Usuario> catalogoUsuarios;
+    private final CatalogoEntidades<Proyecto> catalogoProyectos;
+
+    // Clientes conectados, compartido por todas las notificaciones en tiempo real
+    private final ConcurrentHashMap<Integer, Cliente> clientesConectados = new ConcurrentHashMap<>();
+
+    // Se crean al primer uso: configurar la sesión de correo no debe retrasar el arranque
+    private EmailSender emailSender;
+    private Notificador notificador;
+    private RecordatorioScheduler recordatorioScheduler;
+    private MonitorEDT monitorEDT;
+
+    /**
+     * Crea los servicios con sus implementaciones por defecto.
+     */
+    public ServiciosAplicacion() {
+        this(new UsuarioDAO(), new ProyectoDAO(), new TareaDAO(), new CostoDAO());
+    }
+
+    /**
+     * Crea los servicios sobre los DAOs indicados (por ejemplo, mocks en pruebas).
+     * @param usuarioDAO DAO de usuarios.
+     * @param proyectoDAO DAO de proyectos.
+     * @param tareaDAO DAO de tareas.
+     * @param costoDAO DAO de costos.
+     */
+    public ServiciosAplicacion(UsuarioDAO usuarioDAO, ProyectoDAO proyectoDAO, TareaDAO tareaDAO, CostoDAO costoDAO) {
+        this.usuarioDAO = usuarioDAO;
+        this.proyectoDAO = proyectoDAO;
+        this.tareaDAO = tareaDAO;
+        this.costoDAO = costoDAO;
+        this.almacenCostos = new AlmacenCostosColumnar();
+        this.almacenTareas = new AlmacenTareasColumnar();
+        this.indiceTexto = new IndiceTextoTareas(Paths.get(System.getProperty("user.home"),
+                ".sistema-gestion-tareas", "indice-tareas.bin"));
+        tareaDAO.agregarOyente(indiceTexto);
+
+        HistorialEstadoTareaDAO historialDAO = new HistorialEstadoTareaDAO();
+
+        this.controladorUsuario = new ControladorUsuario(usuarioDAO);
+        this.controladorProyecto = new ControladorProyecto(proyectoDAO);
+        this.controladorTarea = new ControladorTarea(tareaDAO, this::getNotificador, indiceTexto,
+                new ComentarioTareaDAO(), historialDAO);
+        this.controladorCosto = new ControladorCosto(costoDAO, almacenCostos);
+        this.controladorAnalitica = new ControladorAnalitica(almacenCostos, almacenTareas);
+        this.controladorDependencias = new ControladorDependencias(tareaDAO, new DependenciaTareaDAO());
+        tareaDAO.agregarOyente(controladorDependencias);
+        this.controladorRiesgo = new ControladorRiesgo(new RiesgoProyectoDAO(), proyectoDAO, tareaDAO, historialDAO);
+        tareaDAO.agregarOyente(controladorRiesgo);
+        controladorCosto.agregarOyenteCostos(controladorRiesgo::costoRegistrado);
+
+        this.catalogoUsuarios = new CatalogoEntidades<>("usuarios",
+                controladorUsuario::obtenerTodosLosUsuarios,
+                Usuario::getId,
+                u -> u.getNombre() + " " + u.getApellido() + " (" + u.getId() + ")");
+        this.catalogoProyectos = new CatalogoEntidades<>("proyectos",
+                controladorProyecto::obtenerTodosLosProyectos,
+                Proyecto::getId,
+                p -> p.getNombre() + " (" + p.getId() + ")");
+        controladorUsuario.agregarOyenteCambios(catalogoUsuarios::invalidar);
+        controladorProyecto.agregarOyenteCambios(catalogoProyectos::invalidar);
+    }
+
+    /**
+     * Devuelve la instancia global, creándola la primera vez.
+     * @return Servicios de la aplicación.
+     */
+    public static synchronized ServiciosAplicacion obtener() {
+        if (instancia == null) {
+            instancia = new ServiciosAplicacion();
+        }
+        return instancia;
+    }
+
+    /**
+     * Reemplaza la instancia global (por ejemplo, en pruebas).
+     * @param servicios Servicios a usar; null para volver a crearlos al próximo obtener().
+     */
+    public static synchronized void establecer(ServiciosAplicacion servicios) {
+        instancia = servicios;
+    }
+
+    public UsuarioDAO getUsuarioDAO() {
+        return usuarioDAO;
+    }
+
+    public ProyectoDAO getProyectoDAO() {
+        return proyectoDAO;
+    }
+
+    public TareaDAO getTareaDAO() {
+        return tareaDAO;
+    }
+
+    public CostoDAO getCostoDAO() {
+        return costoDAO;
+    }
+
+    public AlmacenCostosColumnar getAlmacenCostos() {
+        return almacenCostos;
+    }
+
+    public AlmacenTareasColumnar getAlmacenTareas() {
+        return almacenTareas;
+    }
+
+    public IndiceTextoTareas getIndiceTexto() {
+        return indiceTexto;
+    }
+
+    public ControladorUsuario getControladorUsuario() {
+        return controladorUsuario;
+    }
+
+    public ControladorProyecto getControladorProyecto() {
+        return controladorProyecto;
+    }
+
+    public ControladorTarea getControladorTarea() {
+        return controladorTarea;
+    }
+
+    public ControladorCosto getControladorCosto() {
+        return controladorCosto;
+    }
+
+    public ControladorAnalitica getControladorAnalitica() {
+        return controladorAnalitica;
+    }
+
+    public ControladorDependencias getControladorDependencias() {
+        return controladorDependencias;
+    }
+
+    public ControladorRiesgo getControladorRiesgo() {
+        return controladorRiesgo;
+    }
+
+    public CatalogoEntidades<Usuario> getCatalogoUsuarios() {
+        return catalogoUsuarios;
+    }
+
+    public CatalogoEntidades<Proyecto> getCatalogoProyectos() {
+        return catalogoProyectos;
+    }
+
+    public ConcurrentHashMap<Integer, Cliente> getClientesConectados() {
+        return clientesConectados;
+    }
+
+    public synchronized EmailSender getEmailSender() {
+        if (emailSender == null) {
+            emailSender = new EmailSender();
+        }
+        return emailSender;
+    }
+
+    public synchronized Notificador getNotificador() {
+        if (notificador == null) {
+            notificador = new Notificador(clientesConectados, getEmailSender());
+        }
+        return notificador;
+    }
+
+    public synchronized RecordatorioScheduler getRecordatorioScheduler() {
+        if (recordatorioScheduler == null) {
+            recordatorioScheduler = new RecordatorioScheduler(tareaDAO, usuarioDAO, getEmailSender());
+        }
+        return recordatorioScheduler;
+    }
+
+    public synchronized MonitorEDT getMonitorEDT() {
+        if (monitorEDT == null) {
+            monitorEDT = new MonitorEDT();
+        }
+        return monitorEDT;
+    }
+
+    /**
+     * Detiene el scheduler y el monitor del EDT si se llegaron a crear, y
+     * guarda el índice de texto si se llegó a cargar.
+     */
+    public synchronized void cerrar() {
+        if (indiceTexto.estaCargado()) {
+            indiceTexto.guardar();
+        }
+        if (recordatorioScheduler != null) {
+            recordatorioScheduler.detener();
+        }
+        if (monitorEDT != null) {
+            monitorEDT.detener();
+        }
+    }
+}
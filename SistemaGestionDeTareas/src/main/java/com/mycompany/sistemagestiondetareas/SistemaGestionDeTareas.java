@@ -3,15 +3,24 @@
  */
 package com.mycompany.sistemagestiondetareas;
 
+import com.mycompany.sistemagestiondetareas.controlador.InicializadorDatos;
 import com.mycompany.sistemagestiondetareas.util.ConexionBD;
-import com.mycompany.sistemagestiondetareas.util.RecordatorioScheduler;
+import com.mycompany.sistemagestiondetareas.util.ExportadorMetricas;
+import com.mycompany.sistemagestiondetareas.util.RegistroMetricas;
 import com.mycompany.sistemagestiondetareas.vista.Login;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
 public class SistemaGestionDeTareas {
 
-    private static RecordatorioScheduler recordatorioScheduler;
+    // Tiempo máximo esperado desde el arranque de la JVM hasta mostrar el login
+    private static final long OBJETIVO_ARRANQUE_MS = 1500;
+    
+    // Cada cuánto se escriben las métricas en el log y en el archivo para Prometheus
+    private static final long INTERVALO_METRICAS_S = 60;
+
 
     /**
      * Método principal que inicia la aplicación.
@@ -25,28 +34,70 @@ public class SistemaGestionDeTareas {
             // Si falla la configuración, se usa el look and feel por defecto
         }
         
-        // Iniciar el scheduler de recordatorios
-        recordatorioScheduler = new RecordatorioScheduler();
-        recordatorioScheduler.iniciar();
+        ServiciosAplicacion servicios = ServiciosAplicacion.obtener();
+        
+        // Los datos iniciales se verifican en segundo plano; el scheduler de recordatorios,
+        // el índice de texto y el riesgo de los proyectos arrancan después para no competir con la verificación
+        InicializadorDatos.iniciarEnSegundoPlano(
+                servicios.getControladorUsuario(),
+                servicios.getControladorProyecto(),
+                servicios.getControladorTarea(),
+                () -> {
+                    servicios.getRecordatorioScheduler().iniciar();
+                    // Deja listo el índice de búsqueda por palabras antes de la primera búsqueda
+                    servicios.getIndiceTexto().asegurarCargado();
+                    // Bases anteriores a costos_resumen: se llena una vez a partir de costos
+                    servicios.getControladorCosto().reconstruirResumenCostosSiFalta();
+                    // Pone al día el riesgo de los proyectos (las tareas vencen aunque nadie las edite)
+                    servicios.getControladorRiesgo().recalcularTodos();
+                });
+        
+        // Métricas: tiempos de los DAO (registrados por cada llamada) e indicadores generales
+        RegistroMetricas metricas = RegistroMetricas.global();
+        metricas.indicador("clientes_conectados", "Clientes conectados al servidor de notificaciones",
+                () -> servicios.getClientesConectados().size());
+        metricas.indicador("jvm_memoria_usada_bytes", "Memoria del heap en uso",
+                () -> ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+        ExportadorMetricas[] exportadores = {
+            ExportadorMetricas.alLog(),
+            ExportadorMetricas.aArchivoPrometheus(Paths.get(System.getProperty("user.home"),
+                    ".sistema-gestion-tareas", "metricas.prom"))
+        };
+        metricas.programarExportacion(INTERVALO_METRICAS_S, exportadores);
         
         // Agrega un hook para cerrar la conexión a la base de datos cuando la aplicación termina
         Runtime.getRuntime().addShutdownHook(new Thread() {
             @Override
             public void run() {
-                // Detener scheduler
-                if (recordatorioScheduler != null) {
-                    recordatorioScheduler.detener();
-                }
+                // Detener scheduler y exportar las últimas métricas
+                servicios.cerrar();
+                metricas.detenerExportacion();
+                metricas.exportar(exportadores);
                 
                 ConexionBD.cerrarConexion();
                 System.out.println("Conexión a la base de datos cerrada correctamente");
             }
         });
         
+        // Vigila el hilo de eventos para registrar los bloqueos de la interfaz
+        servicios.getMonitorEDT().iniciar();
+        
         // Inicia la interfaz gráfica en el hilo de eventos de Swing
         SwingUtilities.invokeLater(() -> {
-            Login login = new Login();
+            Login login = new Login(servicios);
             login.setVisible(true);
+            registrarTiempoArranque();
         });
     }
+    
+    /**
+     * Informa cuánto tardó la aplicación en mostrar el login desde que arrancó la JVM.
+     */
+    private static void registrarTiempoArranque() {
+        long transcurrido = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        System.out.println("Pantalla de inicio lista en " + transcurrido + " ms");
+        if (transcurrido > OBJETIVO_ARRANQUE_MS) {
+            System.err.println("El arranque superó el objetivo de " + OBJETIVO_ARRANQUE_MS + " ms");
+        }
+    }
 }
\ No newline at end of file
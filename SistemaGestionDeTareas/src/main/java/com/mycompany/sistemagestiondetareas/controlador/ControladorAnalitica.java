@@ -0,0 +1,50 @@
+package com.mycompany.sistemagestiondetareas.controlador;
+
+import com.mycompany.sistemagestiondetareas.dao.AlmacenCostosColumnar;
+import com.mycompany.sistemagestiondetareas.dao.AlmacenTareasColumnar;
+import com.mycompany.sistemagestiondetareas.util.MotorAnalitica;
+import java.util.Map;
+
+/**
+ * Controlador para las métricas agregadas de costos y tareas.
+ */
+public class ControladorAnalitica {
+    private final AlmacenCostosColumnar almacenCostos;
+    private final AlmacenTareasColumnar almacenTareas;
+    private final MotorAnalitica motor;
+
+    public ControladorAnalitica() {
+        this(new AlmacenCostosColumnar(), new AlmacenTareasColumnar());
+    }
+
+    // Constructor con almacenes compartidos (ver ServiciosAplicacion)
+    public ControladorAnalitica(AlmacenCostosColumnar almacenCostos, AlmacenTareasColumnar almacenTareas) {
+        this.almacenCostos = almacenCostos;
+        this.almacenTareas = almacenTareas;
+        this.motor = new MotorAnalitica();
+    }
+
+    /**
+     * Calcula los totales de costos de todos los proyectos por tipo de costo.
+     * @return Totales en centavos indexados por ID de proyecto.
+     */
+    public AlmacenCostosColumnar.TotalesPorReferencia obtenerTotalesPorProyectoYTipoCosto() {
+        return motor.totalesPorProyectoYTipoCosto(almacenCostos.refrescar());
+    }
+
+    /**
+     * Cuenta las tareas no completadas cuya fecha de vencimiento ya pasó, por responsable.
+     * @return Cantidad de tareas vencidas por ID de responsable.
+     */
+    public Map<Integer, Long> obtenerVencidasPorResponsable() {
+        return motor.vencidasPorResponsable(almacenTareas.cargar(), System.currentTimeMillis());
+    }
+
+    /**
+     * Calcula la proporción de tareas completadas de cada proyecto.
+     * @return Tasa entre 0 y 1 por ID de proyecto.
+     */
+    public Map<Integer, Double> obtenerTasaCompletadoPorProyecto() {
+        return motor.tasaCompletadoPorProyecto(almacenTareas.cargar());
+    }
+}
@@ -1,18 +1,43 @@
 package com.mycompany.sistemagestiondetareas.controlador;
 
+import com.mycompany.sistemagestiondetareas.dao.AlmacenCostosColumnar;
 import com.mycompany.sistemagestiondetareas.dao.CostoDAO;
 import com.mycompany.sistemagestiondetareas.modelo.Costo;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Controlador para gestionar los costos del sistema.
  */
 public class ControladorCosto {
+    // Índices del arreglo devuelto por sumarPorTipoCosto
+    public static final int TOTAL_GASTOS = 0;
+    public static final int TOTAL_ADELANTOS = 1;
+    public static final int TOTAL_RETRASOS = 2;
+    
     private final CostoDAO costoDAO;
+    private final AlmacenCostosColumnar almacenColumnar;
+    private final List<Consumer<Costo>> oyentesCostos = new CopyOnWriteArrayList<>();
     
     public ControladorCosto() {
-        this.costoDAO = new CostoDAO();
+        this(new CostoDAO(), new AlmacenCostosColumnar());
+    }
+    
+    // Constructor con dependencias compartidas (ver ServiciosAplicacion)
+    public ControladorCosto(CostoDAO costoDAO, AlmacenCostosColumnar almacenColumnar) {
+        this.costoDAO = costoDAO;
+        this.almacenColumnar = almacenColumnar;
+    }
+    
+    /**
+     * Registra una acción que se ejecuta tras registrar cada costo
+     * (por ejemplo, recalcular el riesgo del proyecto).
+     * @param oyente Acción que recibe el costo registrado.
+     */
+    public void agregarOyenteCostos(Consumer<Costo> oyente) {
+        oyentesCostos.add(oyente);
     }
     
     /**
@@ -29,7 +54,25 @@ public class ControladorCosto {
                               double monto, String tipoCosto, int idUsuarioRegistro) {
         Costo costo = new Costo(tipo, idReferencia, descripcion, monto, tipoCosto, 
                               new Date(), idUsuarioRegistro);
-        return costoDAO.insertar(costo);
+        return notificarCosto(costoDAO.insertar(costo));
+    }
+    
+    /**
+     * Registra un nuevo costo con el monto expresado en centavos.
+     * @param tipo Tipo de referencia (PROYECTO o TAREA).
+     * @param idReferencia ID del proyecto o tarea.
+     * @param descripcion Descripción del costo.
+     * @param montoCentavos Monto del costo en centavos.
+     * @param tipoCosto Tipo de costo (RETRASO, ADELANTO, GASTO_PLANIFICADO).
+     * @param idUsuarioRegistro ID del usuario que registra el costo.
+     * @return Costo registrado o null si hubo error.
+     */
+    public Costo registrarCostoCentavos(String tipo, int idReferencia, String descripcion,
+                                        long montoCentavos, String tipoCosto, int idUsuarioRegistro) {
+        Costo costo = new Costo(tipo, idReferencia, descripcion, 0.0, tipoCosto,
+                              new Date(), idUsuarioRegistro);
+        costo.setMontoCentavos(montoCentavos);
+        return notificarCosto(costoDAO.insertar(costo));
     }
     
     /**
@@ -75,4 +118,120 @@ public class ControladorCosto {
     public double calcularTotalPorTipo(String tipo, int idReferencia, String tipoCosto) {
         return costoDAO.calcularTotalPorTipo(tipo, idReferencia, tipoCosto);
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Calcula el balance total en centavos para un proyecto o tarea.
+     * @param tipo Tipo de referencia (PROYECTO o TAREA).
+     * @param idReferencia ID del proyecto o tarea.
+     * @return Balance total en centavos (adelantos - retrasos - gastos planificados).
+     */
+    public long calcularBalanceTotalCentavos(String tipo, int idReferencia) {
+        long adelantos = costoDAO.calcularTotalCentavosPorTipo(tipo, idReferencia, "ADELANTO");
+        long retrasos = costoDAO.calcularTotalCentavosPorTipo(tipo, idReferencia, "RETRASO");
+        long gastos = costoDAO.calcularTotalCentavosPorTipo(tipo, idReferencia, "GASTO_PLANIFICADO");
+        
+        return adelantos - retrasos - gastos;
+    }
+    
+    /**
+     * Calcula el total de costos por tipo, en centavos, para un proyecto o tarea.
+     * @param tipo Tipo de referencia (PROYECTO o TAREA).
+     * @param idReferencia ID del proyecto o tarea.
+     * @param tipoCosto Tipo de costo (RETRASO, ADELANTO, GASTO_PLANIFICADO).
+     * @return Suma total de los costos en centavos.
+     */
+    public long calcularTotalCentavosPorTipo(String tipo, int idReferencia, String tipoCosto) {
+        return costoDAO.calcularTotalCentavosPorTipo(tipo, idReferencia, tipoCosto);
+    }
+    
+    /**
+     * Suma los montos de una lista de costos agrupados por tipo de costo.
+     * @param costos Costos a sumar.
+     * @return Arreglo de totales en centavos indexado por TOTAL_GASTOS, TOTAL_ADELANTOS y TOTAL_RETRASOS.
+     */
+    public static long[] sumarPorTipoCosto(List<Costo> costos) {
+        long[] totales = new long[3];
+        
+        for (Costo costo : costos) {
+            switch (costo.getTipoCosto()) {
+                case "GASTO_PLANIFICADO":
+                    totales[TOTAL_GASTOS] += costo.getMontoCentavos();
+                    break;
+                case "ADELANTO":
+                    totales[TOTAL_ADELANTOS] += costo.getMontoCentavos();
+                    break;
+                case "RETRASO":
+                    totales[TOTAL_RETRASOS] += costo.getMontoCentavos();
+                    break;
+            }
+        }
+        
+        return totales;
+    }
+    
+    /**
+     * Calcula el saldo disponible de un presupuesto: presupuesto - gastos + adelantos - retrasos.
+     * @param presupuestoCentavos Presupuesto en centavos.
+     * @param totales Totales devueltos por sumarPorTipoCosto.
+     * @return Saldo disponible en centavos.
+     */
+    public static long calcularSaldoCentavos(long presupuestoCentavos, long[] totales) {
+        return presupuestoCentavos - totales[TOTAL_GASTOS] + totales[TOTAL_ADELANTOS] - totales[TOTAL_RETRASOS];
+    }
+    
+    /**
+     * Reconstruye el resumen de costos a partir de todos los costos registrados.
+     * @return Número de filas de resumen generadas, o -1 si hubo error.
+     */
+    public int reconstruirResumenCostos() {
+        return costoDAO.reconstruirResumen();
+    }
+    
+    /**
+     * Reconstruye el resumen de costos si está vacío y hay costos registrados
+     * (bases creadas antes de existir el resumen).
+     * @return Número de filas de resumen generadas, 0 si no hacía falta, o -1 si hubo error.
+     */
+    public int reconstruirResumenCostosSiFalta() {
+        return costoDAO.reconstruirResumenSiFalta();
+    }
+    
+    /**
+     * Verifica que el resumen de costos coincida con los costos registrados.
+     * @return Lista de discrepancias (vacía si el resumen es correcto).
+     */
+    public List<String> verificarResumenCostos() {
+        return costoDAO.verificarResumen();
+    }
+    
+    /**
+     * Obtiene una instantánea columnar de todos los costos, leyendo solo los
+     * costos registrados desde la última consulta.
+     * @return Instantánea de solo lectura para análisis.
+     */
+    public AlmacenCostosColumnar.Instantanea obtenerInstantaneaCostos() {
+        return almacenColumnar.refrescar();
+    }
+    
+    /**
+     * Calcula los totales por tipo de costo de todos los proyectos en una sola pasada.
+     * @return Totales en centavos indexados por ID de proyecto.
+     */
+    public AlmacenCostosColumnar.TotalesPorReferencia obtenerTotalesPorProyecto() {
+        return obtenerInstantaneaCostos().totalesPorReferencia(AlmacenCostosColumnar.TIPO_PROYECTO);
+    }
+
+    /**
+     * Avisa a los oyentes de un costo registrado.
+     * @param costo Costo devuelto por el DAO (null si no se registró).
+     * @return El mismo costo.
+     */
+    private Costo notificarCosto(Costo costo) {
+        if (costo != null) {
+            for (Consumer<Costo> oyente : oyentesCostos) {
+                oyente.accept(costo);
+            }
+        }
+        return costo;
+    }
+}
@@ -0,0 +1,204 @@
+package com.mycompany.sistemagestiondetareas.controlador;
+
+import com.mycompany.sistemagestiondetareas.dao.DependenciaTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.modelo.DependenciaTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import com.mycompany.sistemagestiondetareas.util.GrafoDependencias;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Controlador para las dependencias entre tareas.
+ *
+ * Guarda en memoria el grafo de dependencias de cada proyecto consultado
+ * (se carga la primera vez) y lo mantiene al día como oyente de TareaDAO:
+ * cambiar las fechas o el estado de una tarea recalcula solo las tareas que
+ * dependen de ella.
+ */
+public class ControladorDependencias implements TareaDAO.OyenteEscrituras {
+    private final TareaDAO tareaDAO;
+    private final DependenciaTareaDAO dependenciaDAO;
+    // Grafos por ID de proyecto
+    private final Map<Integer, GrafoDependencias> grafos = new ConcurrentHashMap<>();
+
+    // Constructor que inicializa los DAOs (sin consultar la base de datos)
+    public ControladorDependencias() {
+        this(new TareaDAO(), new DependenciaTareaDAO());
+    }
+
+    /**
+     * Constructor con dependencias compartidas (ver ServiciosAplicacion, que
+     * además lo registra como oyente de tareaDAO).
+     * @param tareaDAO DAO de tareas.
+     * @param dependenciaDAO DAO de las dependencias entre tareas.
+     */
+    public ControladorDependencias(TareaDAO tareaDAO, DependenciaTareaDAO dependenciaDAO) {
+        this.tareaDAO = tareaDAO;
+        this.dependenciaDAO = dependenciaDAO;
+    }
+
+    /**
+     * Agrega una dependencia entre dos tareas del mismo proyecto.
+     * @param idTarea ID de la tarea que depende.
+     * @param idTareaPrevia ID de la tarea que debe terminar antes.
+     * @return true si se agregó; false si los datos no son válidos, las tareas
+     *         son de proyectos distintos, la dependencia ya existe o crearía un ciclo.
+     */
+    public boolean agregarDependencia(int idTarea, int idTareaPrevia) {
+        // Validar datos
+        if (idTarea <= 0 || idTareaPrevia <= 0 || idTarea == idTareaPrevia) {
+            return false;
+        }
+
+        Tarea tarea = tareaDAO.buscarPorId(idTarea);
+        if (tarea == null) {
+            return false;
+        }
+
+        // El grafo del proyecto comprueba que la previa sea del mismo proyecto y que no haya ciclo
+        GrafoDependencias grafo = obtenerGrafo(tarea.getIdProyecto());
+        if (grafo == null || !grafo.agregarDependencia(idTarea, idTareaPrevia)) {
+            return false;
+        }
+
+        if (!dependenciaDAO.agregar(idTarea, idTareaPrevia)) {
+            grafo.eliminarDependencia(idTarea, idTareaPrevia);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Elimina una dependencia entre dos tareas.
+     * @param idTarea ID de la tarea que depende.
+     * @param idTareaPrevia ID de la tarea previa.
+     * @return true si la dependencia existía y se eliminó.
+     */
+    public boolean eliminarDependencia(int idTarea, int idTareaPrevia) {
+        if (idTarea <= 0 || idTareaPrevia <= 0) {
+            return false;
+        }
+
+        if (!dependenciaDAO.eliminar(idTarea, idTareaPrevia)) {
+            return false;
+        }
+        for (GrafoDependencias grafo : grafos.values()) {
+            if (grafo.eliminarDependencia(idTarea, idTareaPrevia)) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Obtiene las tareas de un proyecto en un orden en que cada una va después de sus previas.
+     * @param idProyecto ID del proyecto.
+     * @return IDs de las tareas (vacía si los datos no son válidos o hubo error).
+     */
+    public List<Integer> obtenerOrdenTopologico(int idProyecto) {
+        GrafoDependencias grafo = idProyecto > 0 ? obtenerGrafo(idProyecto) : null;
+        return grafo != null ? grafo.ordenTopologico() : new ArrayList<>();
+    }
+
+    /**
+     * Obtiene la ruta crítica de un proyecto.
+     * @param idProyecto ID del proyecto.
+     * @return IDs de las tareas de la ruta, de la primera a la última (vacía si
+     *         los datos no son válidos o hubo error).
+     */
+    public List<Integer> obtenerRutaCritica(int idProyecto) {
+        GrafoDependencias grafo = idProyecto > 0 ? obtenerGrafo(idProyecto) : null;
+        return grafo != null ? grafo.rutaCritica() : new ArrayList<>();
+    }
+
+    /**
+     * Obtiene el inicio y el fin tempranos y la holgura de las tareas de un proyecto.
+     * @param idProyecto ID del proyecto.
+     * @return Planificación por ID de tarea (vacía si los datos no son válidos o hubo error).
+     */
+    public Map<Integer, GrafoDependencias.Planificacion> obtenerPlanificacion(int idProyecto) {
+        GrafoDependencias grafo = idProyecto > 0 ? obtenerGrafo(idProyecto) : null;
+        return grafo != null ? grafo.obtenerPlanificaciones() : new HashMap<>();
+    }
+
+    /**
+     * Descarta el grafo de un proyecto; se vuelve a cargar en la próxima consulta.
+     * @param idProyecto ID del proyecto.
+     */
+    public void invalidar(int idProyecto) {
+        grafos.remove(idProyecto);
+    }
+
+    /**
+     * Devuelve el grafo del proyecto, cargándolo la primera vez.
+     * @return Grafo del proyecto, o null si no se pudo cargar.
+     */
+    private GrafoDependencias obtenerGrafo(int idProyecto) {
+        GrafoDependencias grafo = grafos.get(idProyecto);
+        if (grafo != null) {
+            return grafo;
+        }
+
+        List<DependenciaTarea> dependencias = dependenciaDAO.listarPorProyecto(idProyecto);
+        if (dependencias == null) {
+            return null;
+        }
+        List<ResumenTarea> tareas = tareaDAO.listarResumenPorProyecto(idProyecto);
+        try {
+            grafo = GrafoDependencias.desde(tareas, dependencias);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error al cargar dependencias del proyecto " + idProyecto + ": " + e.getMessage());
+            return null;
+        }
+        // Si otro hilo lo cargó a la vez, se usa el primero
+        GrafoDependencias existente = grafos.putIfAbsent(idProyecto, grafo);
+        return existente != null ? existente : grafo;
+    }
+
+    @Override
+    public void tareaGuardada(Tarea tarea) {
+        for (Map.Entry<Integer, GrafoDependencias> entrada : grafos.entrySet()) {
+            if (entrada.getKey() != tarea.getIdProyecto() && entrada.getValue().contiene(tarea.getId())) {
+                // La tarea cambió de proyecto: sus dependencias quedan entre proyectos, se recargan ambos
+                grafos.remove(entrada.getKey());
+                grafos.remove(tarea.getIdProyecto());
+                return;
+            }
+        }
+
+        GrafoDependencias grafo = grafos.get(tarea.getIdProyecto());
+        if (grafo != null) {
+            grafo.guardarTarea(tarea.getId(), tarea.getFechaCreacion(), tarea.getFechaVencimiento(),
+                    tarea.getEstado());
+        }
+    }
+
+    @Override
+    public void estadoActualizado(int idTarea, String estado) {
+        for (GrafoDependencias grafo : grafos.values()) {
+            if (grafo.contiene(idTarea)) {
+                grafo.actualizarEstado(idTarea, estado);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void comentarioAgregado(int idTarea, String comentario) {
+        // Los comentarios no afectan a las dependencias
+    }
+
+    @Override
+    public void tareaEliminada(int idTarea) {
+        for (GrafoDependencias grafo : grafos.values()) {
+            if (grafo.eliminarTarea(idTarea)) {
+                return;
+            }
+        }
+    }
+}
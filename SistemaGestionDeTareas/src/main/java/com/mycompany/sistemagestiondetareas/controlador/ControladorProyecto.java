@@ -3,8 +3,11 @@ package com.mycompany.sistemagestiondetareas.controlador;
 import com.mycompany.sistemagestiondetareas.dao.ProyectoDAO;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Controlador para la gestión de proyectos.
@@ -12,21 +15,25 @@ import java.util.List;
 public class ControladorProyecto {
     // DAO para acceso a la base de datos
     private final ProyectoDAO proyectoDAO;
+    private final List<Runnable> oyentesCambios = new CopyOnWriteArrayList<>();
     
-    // Constructor que inicializa el DAO y verifica datos iniciales
+    // Constructor que inicializa el DAO (sin consultar la base de datos)
     public ControladorProyecto() {
-        this.proyectoDAO = new ProyectoDAO();
-        verificarDatosIniciales();
+        this(new ProyectoDAO());
+    }
+    
+    // Constructor con un DAO compartido, para que todas las vistas usen la misma caché
+    public ControladorProyecto(ProyectoDAO proyectoDAO) {
+        this.proyectoDAO = proyectoDAO;
     }
     
     /**
      * Verifica si existen datos iniciales y los crea si es necesario.
+     * Se ejecuta una sola vez al arrancar, fuera del EDT (ver InicializadorDatos).
      */
-    private void verificarDatosIniciales() {
-        List<Proyecto> proyectos = obtenerTodosLosProyectos();
-        
+    public void verificarDatosIniciales() {
         // Si no hay proyectos, crear los proyectos por defecto
-        if (proyectos.isEmpty()) {
+        if (!proyectoDAO.existeAlguno()) {
             Date ahora = new Date();
             Date futuro = new Date(ahora.getTime() + 30L * 24 * 60 * 60 * 1000); // 30 días después
             
@@ -68,7 +75,8 @@ public class ControladorProyecto {
         Proyecto proyecto = new Proyecto(nombre, descripcion, fechaInicio, fechaFin, idResponsable, nivelRiesgo, presupuestoTotal);
         
         // Insertar en la base de datos
-        return proyectoDAO.insertar(proyecto);
+        Proyecto insertado = proyectoDAO.insertar(proyecto);
+        return notificarSiCambio(insertado, insertado != null);
     }
     
     /**
@@ -77,7 +85,8 @@ public class ControladorProyecto {
      * @return true si se actualizó correctamente, false en caso contrario.
      */
     public boolean actualizarProyecto(Proyecto proyecto) {
-        return proyectoDAO.actualizar(proyecto);
+        boolean actualizado = proyectoDAO.actualizar(proyecto);
+        return notificarSiCambio(actualizado, actualizado);
     }
     
     /**
@@ -93,6 +102,15 @@ public class ControladorProyecto {
         return proyectoDAO.buscarPorId(id);
     }
     
+    /**
+     * Obtiene varios proyectos por su ID en una sola revalidación de la caché.
+     * @param ids IDs de los proyectos.
+     * @return Mapa de ID a proyecto; los proyectos inexistentes no aparecen.
+     */
+    public Map<Integer, Proyecto> obtenerProyectosPorIds(Collection<Integer> ids) {
+        return proyectoDAO.buscarPorIds(ids);
+    }
+    
     /**
      * Obtiene todos los proyectos.
      * @return Lista de todos los proyectos.
@@ -124,6 +142,25 @@ public class ControladorProyecto {
             return false;
         }
         
-        return proyectoDAO.eliminar(id);
+        boolean eliminado = proyectoDAO.eliminar(id);
+        return notificarSiCambio(eliminado, eliminado);
+    }
+    
+    /**
+     * Registra una acción a ejecutar después de cada alta, modificación o baja de proyectos
+     * (por ejemplo, para refrescar las cachés de la vista).
+     * @param oyente Acción a ejecutar; debe ser rápida, se llama en el hilo que hizo el cambio.
+     */
+    public void agregarOyenteCambios(Runnable oyente) {
+        oyentesCambios.add(oyente);
+    }
+    
+    private <R> R notificarSiCambio(R resultado, boolean cambio) {
+        if (cambio) {
+            for (Runnable oyente : oyentesCambios) {
+                oyente.run();
+            }
+        }
+        return resultado;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,215 @@
+package com.mycompany.sistemagestiondetareas.controlador;
+
+import com.mycompany.sistemagestiondetareas.dao.HistorialEstadoTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.ProyectoDAO;
+import com.mycompany.sistemagestiondetareas.dao.RiesgoProyectoDAO;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.modelo.CambioEstadoTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Costo;
+import com.mycompany.sistemagestiondetareas.modelo.IndicadoresRiesgo;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import com.mycompany.sistemagestiondetareas.util.MotorRiesgo;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Controlador para el nivel de riesgo de los proyectos (ver MotorRiesgo).
+ *
+ * recalcularTodos() puntúa todos los proyectos en paralelo y guarda los
+ * niveles que cambian con una sola actualización en lote. Como oyente de
+ * TareaDAO y de los costos registrados, recalcula solo el proyecto afectado
+ * por cada cambio en un hilo aparte (los avisos llegan en el hilo que
+ * escribió, a menudo el EDT), después de que la escritura y su fila del
+ * historial se confirmaron. Los avisos de un proyecto que ya espera su
+ * recálculo se agrupan en uno solo.
+ */
+public class ControladorRiesgo implements TareaDAO.OyenteEscrituras {
+    private final RiesgoProyectoDAO riesgoDAO;
+    private final ProyectoDAO proyectoDAO;
+    private final TareaDAO tareaDAO;
+    private final HistorialEstadoTareaDAO historialDAO;
+    private final MotorRiesgo motor;
+    private final Executor ejecutor;
+    // Proyectos con un recálculo programado que aún no empezó
+    private final Set<Integer> programados = ConcurrentHashMap.newKeySet();
+
+    // Constructor que inicializa los DAOs (sin consultar la base de datos)
+    public ControladorRiesgo() {
+        this(new RiesgoProyectoDAO(), new ProyectoDAO(), new TareaDAO(), new HistorialEstadoTareaDAO());
+    }
+
+    /**
+     * Constructor con dependencias compartidas (ver ServiciosAplicacion, que
+     * además lo registra como oyente de tareas y costos).
+     * @param riesgoDAO DAO de los indicadores de riesgo.
+     * @param proyectoDAO DAO de proyectos, donde se guardan los niveles.
+     * @param tareaDAO DAO de tareas.
+     * @param historialDAO DAO del historial de estados (proyecto de las tareas eliminadas).
+     */
+    public ControladorRiesgo(RiesgoProyectoDAO riesgoDAO, ProyectoDAO proyectoDAO, TareaDAO tareaDAO,
+                             HistorialEstadoTareaDAO historialDAO) {
+        this(riesgoDAO, proyectoDAO, tareaDAO, historialDAO, Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "riesgo-proyectos");
+            hilo.setDaemon(true);
+            return hilo;
+        }));
+    }
+
+    /**
+     * Constructor con el ejecutor de los recálculos programados por los avisos.
+     * @param riesgoDAO DAO de los indicadores de riesgo.
+     * @param proyectoDAO DAO de proyectos, donde se guardan los niveles.
+     * @param tareaDAO DAO de tareas.
+     * @param historialDAO DAO del historial de estados (proyecto de las tareas eliminadas).
+     * @param ejecutor Ejecuta los recálculos programados, de a uno.
+     */
+    public ControladorRiesgo(RiesgoProyectoDAO riesgoDAO, ProyectoDAO proyectoDAO, TareaDAO tareaDAO,
+                             HistorialEstadoTareaDAO historialDAO, Executor ejecutor) {
+        this.riesgoDAO = riesgoDAO;
+        this.proyectoDAO = proyectoDAO;
+        this.tareaDAO = tareaDAO;
+        this.historialDAO = historialDAO;
+        this.motor = new MotorRiesgo();
+        this.ejecutor = ejecutor;
+    }
+
+    /**
+     * Recalcula el nivel de riesgo de todos los proyectos.
+     * @return Número de proyectos cuyo nivel cambió, o -1 si hubo error.
+     */
+    public int recalcularTodos() {
+        long ahora = System.currentTimeMillis();
+        Map<Integer, IndicadoresRiesgo> indicadores = riesgoDAO.cargarIndicadores(
+                new Date(ahora), new Date(ahora - MotorRiesgo.VENTANA_VELOCIDAD_MS));
+        if (indicadores == null) {
+            return -1;
+        }
+
+        Map<Integer, String> cambios = motor.calcularCambios(new ArrayList<>(indicadores.values()), ahora);
+        return proyectoDAO.actualizarNivelesRiesgo(cambios);
+    }
+
+    /**
+     * Recalcula el nivel de riesgo de un proyecto y lo guarda si cambió.
+     * @param idProyecto ID del proyecto.
+     * @return Nivel calculado, o null si los datos no son válidos o hubo error.
+     */
+    public String recalcularProyecto(int idProyecto) {
+        if (idProyecto <= 0) {
+            return null;
+        }
+
+        long ahora = System.currentTimeMillis();
+        IndicadoresRiesgo indicadores = riesgoDAO.cargarIndicadores(idProyecto,
+                new Date(ahora), new Date(ahora - MotorRiesgo.VENTANA_VELOCIDAD_MS));
+        if (indicadores == null) {
+            return null;
+        }
+
+        String nivel = MotorRiesgo.calcularNivel(indicadores, ahora);
+        if (!nivel.equals(indicadores.getNivelRiesgo())
+                && proyectoDAO.actualizarNivelesRiesgo(Map.of(idProyecto, nivel)) < 0) {
+            return null;
+        }
+        return nivel;
+    }
+
+    /**
+     * Programa el recálculo de un proyecto en segundo plano. Si el proyecto ya
+     * tiene uno programado que no empezó, no se agrega otro.
+     * @param idProyecto ID del proyecto.
+     */
+    public void programarRecalculo(int idProyecto) {
+        if (idProyecto <= 0 || !programados.add(idProyecto)) {
+            return;
+        }
+        ejecutor.execute(() -> {
+            // Los avisos que lleguen durante el cálculo programan otro
+            programados.remove(idProyecto);
+            recalcularProyecto(idProyecto);
+        });
+    }
+
+    /**
+     * Calcula la puntuación de riesgo de un proyecto sin guardarla.
+     * @param idProyecto ID del proyecto.
+     * @return Puntuación entre 0 y 100, o -1 si los datos no son válidos o hubo error.
+     */
+    public int calcularPuntuacion(int idProyecto) {
+        if (idProyecto <= 0) {
+            return -1;
+        }
+
+        long ahora = System.currentTimeMillis();
+        IndicadoresRiesgo indicadores = riesgoDAO.cargarIndicadores(idProyecto,
+                new Date(ahora), new Date(ahora - MotorRiesgo.VENTANA_VELOCIDAD_MS));
+        return indicadores != null ? MotorRiesgo.calcularPuntuacion(indicadores, ahora) : -1;
+    }
+
+    /**
+     * Programa el recálculo del proyecto afectado por un costo registrado.
+     * Solo los retrasos intervienen en el riesgo.
+     * @param costo Costo registrado (ver ControladorCosto.agregarOyenteCostos).
+     */
+    public void costoRegistrado(Costo costo) {
+        if (!"RETRASO".equals(costo.getTipoCosto())) {
+            return;
+        }
+
+        if ("PROYECTO".equals(costo.getTipo())) {
+            programarRecalculo(costo.getIdReferencia());
+        } else if ("TAREA".equals(costo.getTipo())) {
+            // Buscar la tarea también es una consulta: se hace en el hilo de los recálculos
+            ejecutor.execute(() -> {
+                Tarea tarea = tareaDAO.buscarPorId(costo.getIdReferencia());
+                if (tarea != null) {
+                    programarRecalculo(tarea.getIdProyecto());
+                }
+            });
+        }
+    }
+
+    @Override
+    public void tareaGuardada(Tarea tarea) {
+        programarRecalculo(tarea.getIdProyecto());
+    }
+
+    @Override
+    public void tareaMovida(int idTarea, int idProyectoAnterior) {
+        // El proyecto que la tarea dejó también cambia de riesgo
+        programarRecalculo(idProyectoAnterior);
+    }
+
+    @Override
+    public void estadoActualizado(int idTarea, String estado) {
+        ejecutor.execute(() -> {
+            Tarea tarea = tareaDAO.buscarPorId(idTarea);
+            if (tarea != null) {
+                programarRecalculo(tarea.getIdProyecto());
+            }
+        });
+    }
+
+    @Override
+    public void comentarioAgregado(int idTarea, String comentario) {
+        // Los comentarios no afectan al riesgo
+    }
+
+    @Override
+    public void tareaEliminada(int idTarea) {
+        // La fila ya no existe: el proyecto sale del historial, que conserva las tareas eliminadas.
+        // Si la tarea no tiene historial, el proyecto se corrige en el próximo recalcularTodos()
+        ejecutor.execute(() -> {
+            List<CambioEstadoTarea> cambios = historialDAO.listarPorTarea(idTarea);
+            if (cambios != null && !cambios.isEmpty()) {
+                programarRecalculo(cambios.get(cambios.size() - 1).getIdProyecto());
+            }
+        });
+    }
+}
@@ -1,12 +1,25 @@
 package com.mycompany.sistemagestiondetareas.controlador;
 
+import com.mycompany.sistemagestiondetareas.dao.ComentarioTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.HistorialEstadoTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.IndiceTextoTareas;
 import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.modelo.CambioEstadoTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ComentarioTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
 import com.mycompany.sistemagestiondetareas.modelo.Tarea;
 import com.mycompany.sistemagestiondetareas.util.Notificador;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.time.LocalDate;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Controlador para la gestión de tareas.
@@ -14,23 +27,49 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ControladorTarea {
     // DAO para acceso a la base de datos
     private final TareaDAO tareaDAO;
-    private final Notificador notificador;
+    // Se obtiene al primer cambio de estado: construir el Notificador configura la sesión de correo
+    private final Supplier<Notificador> proveedorNotificador;
+    private Notificador notificador;
+    // Búsqueda por palabras; se carga en la primera búsqueda
+    private final IndiceTextoTareas indiceTexto;
+    // Historial de comentarios; solo se consulta al ver el detalle de una tarea
+    private final ComentarioTareaDAO comentarioDAO;
+    // Historial de estados para las métricas de flujo; TareaDAO lo escribe con cada cambio de estado
+    private final HistorialEstadoTareaDAO historialDAO;
     
-    // Constructor que inicializa el DAO y verifica datos iniciales
+    // Constructor que inicializa el DAO (sin consultar la base de datos)
     public ControladorTarea() {
-        this.tareaDAO = new TareaDAO();
-        this.notificador = new Notificador(new ConcurrentHashMap<>());
-        verificarDatosIniciales();
+        this(new TareaDAO(), () -> new Notificador(new ConcurrentHashMap<>()), new IndiceTextoTareas(),
+                new ComentarioTareaDAO(), new HistorialEstadoTareaDAO());
+        tareaDAO.agregarOyente(indiceTexto);
+    }
+    
+    /**
+     * Constructor con dependencias compartidas (ver ServiciosAplicacion, que
+     * además registra el índice de texto como oyente del DAO de tareas).
+     * @param tareaDAO DAO de tareas.
+     * @param proveedorNotificador Entrega el notificador la primera vez que se necesita.
+     * @param indiceTexto Índice para buscarTareas().
+     * @param comentarioDAO DAO de los comentarios de las tareas.
+     * @param historialDAO DAO del historial de estados de las tareas.
+     */
+    public ControladorTarea(TareaDAO tareaDAO, Supplier<Notificador> proveedorNotificador,
+                            IndiceTextoTareas indiceTexto, ComentarioTareaDAO comentarioDAO,
+                            HistorialEstadoTareaDAO historialDAO) {
+        this.tareaDAO = tareaDAO;
+        this.proveedorNotificador = proveedorNotificador;
+        this.indiceTexto = indiceTexto;
+        this.comentarioDAO = comentarioDAO;
+        this.historialDAO = historialDAO;
     }
     
     /**
      * Verifica si existen datos iniciales y los crea si es necesario.
+     * Se ejecuta una sola vez al arrancar, fuera del EDT (ver InicializadorDatos).
      */
-    private void verificarDatosIniciales() {
-        List<Tarea> tareas = obtenerTodasLasTareas();
-        
+    public void verificarDatosIniciales() {
         // Si no hay tareas, crear las tareas por defecto
-        if (tareas.isEmpty()) {
+        if (!tareaDAO.existeAlguna()) {
             Date ahora = new Date();
             Date futuro = new Date(ahora.getTime() + 7L * 24 * 60 * 60 * 1000); // 7 días después
             
@@ -71,7 +110,7 @@ public class ControladorTarea {
         Tarea tarea = new Tarea(nombre, descripcion, fechaCreacion, fechaVencimiento,
                                idProyecto, idResponsable, estado, comentarios != null ? comentarios : "");
         
-        // Insertar en la base de datos
+        // Insertar en la base de datos (TareaDAO registra el estado inicial en el historial)
         return tareaDAO.insertar(tarea);
     }
     
@@ -113,7 +152,7 @@ public class ControladorTarea {
                                fechaVencimiento, idProyecto, idResponsable, estado, 
                                comentarios != null ? comentarios : "");
         
-        // Actualizar en la base de datos
+        // Actualizar en la base de datos (TareaDAO registra el cambio de estado en el historial)
         return tareaDAO.actualizar(tarea);
     }
     
@@ -125,6 +164,18 @@ public class ControladorTarea {
      * @return true si la actualización fue exitosa, false en caso contrario.
      */
     public boolean actualizarEstadoTarea(int id, String nuevoEstado, String comentarioAdicional) {
+        return actualizarEstadoTarea(id, nuevoEstado, comentarioAdicional, 0);
+    }
+    
+    /**
+     * Actualiza el estado de una tarea registrando quién escribió el comentario.
+     * @param id ID de la tarea.
+     * @param nuevoEstado Nuevo estado de la tarea.
+     * @param comentarioAdicional Comentario adicional (opcional).
+     * @param idUsuario ID del usuario que hace el cambio, o 0 si no se conoce.
+     * @return true si la actualización fue exitosa, false en caso contrario.
+     */
+    public boolean actualizarEstadoTarea(int id, String nuevoEstado, String comentarioAdicional, int idUsuario) {
         // Validar datos
         if (id <= 0 || nuevoEstado == null || nuevoEstado.trim().isEmpty()) {
             return false;
@@ -141,18 +192,92 @@ public class ControladorTarea {
         
         String estadoAnterior = tarea.getEstado();
         
-        // Actualizar estado en la base de datos
-        boolean exito = tareaDAO.actualizarEstado(id, nuevoEstado, comentarioAdicional);
+        // Actualizar estado en la base de datos (TareaDAO registra el cambio en el historial)
+        boolean exito = idUsuario > 0
+                ? tareaDAO.actualizarEstado(id, nuevoEstado, comentarioAdicional, idUsuario)
+                : tareaDAO.actualizarEstado(id, nuevoEstado, comentarioAdicional);
         
         if (exito) {
             // Enviar notificación del cambio de estado
             tarea.setEstado(nuevoEstado);
-            notificador.notificarCambioEstadoTarea(tarea, estadoAnterior);
+            obtenerNotificador().notificarCambioEstadoTarea(tarea, estadoAnterior);
         }
         
         return exito;
     }
     
+    /**
+     * Obtiene el historial de estados de una tarea en orden cronológico.
+     * @param idTarea ID de la tarea.
+     * @return Cambios de estado de la tarea.
+     */
+    public List<CambioEstadoTarea> obtenerHistorialEstados(int idTarea) {
+        if (idTarea <= 0) {
+            return new ArrayList<>();
+        }
+        
+        return historialDAO.listarPorTarea(idTarea);
+    }
+    
+    /**
+     * Calcula el tiempo de ciclo de las tareas de un proyecto completadas en [desde, hasta).
+     * @param idProyecto ID del proyecto.
+     * @param desde Inicio del intervalo (incluido).
+     * @param hasta Fin del intervalo (excluido).
+     * @return Estadísticas del tiempo de ciclo, o null si los datos no son válidos.
+     */
+    public HistorialEstadoTareaDAO.Duraciones calcularTiempoCiclo(int idProyecto, Date desde, Date hasta) {
+        if (!intervaloValido(idProyecto, desde, hasta)) {
+            return null;
+        }
+        
+        return historialDAO.calcularTiempoCiclo(idProyecto, desde, hasta);
+    }
+    
+    /**
+     * Calcula el tiempo que pasaron las tareas de un proyecto en cada estado dentro de [desde, hasta).
+     * @param idProyecto ID del proyecto.
+     * @param desde Inicio del intervalo (incluido).
+     * @param hasta Fin del intervalo (excluido).
+     * @return Milisegundos por estado (vacío si los datos no son válidos).
+     */
+    public Map<String, Long> calcularTiempoEnEstado(int idProyecto, Date desde, Date hasta) {
+        if (!intervaloValido(idProyecto, desde, hasta)) {
+            return new TreeMap<>();
+        }
+        
+        return historialDAO.calcularTiempoEnEstado(idProyecto, desde, hasta);
+    }
+    
+    /**
+     * Cuenta las tareas de un proyecto completadas por semana dentro de [desde, hasta).
+     * @param idProyecto ID del proyecto.
+     * @param desde Inicio del intervalo (incluido).
+     * @param hasta Fin del intervalo (excluido).
+     * @return Tareas completadas por lunes de cada semana (vacío si los datos no son válidos).
+     */
+    public SortedMap<LocalDate, Integer> calcularThroughputSemanal(int idProyecto, Date desde, Date hasta) {
+        if (!intervaloValido(idProyecto, desde, hasta)) {
+            return new TreeMap<>();
+        }
+        
+        return historialDAO.calcularThroughputSemanal(idProyecto, desde, hasta);
+    }
+    
+    private static boolean intervaloValido(int idProyecto, Date desde, Date hasta) {
+        return idProyecto > 0 && desde != null && hasta != null && desde.before(hasta);
+    }
+    
+    /**
+     * Devuelve el notificador, creándolo la primera vez que se necesita.
+     */
+    private synchronized Notificador obtenerNotificador() {
+        if (notificador == null) {
+            notificador = proveedorNotificador.get();
+        }
+        return notificador;
+    }
+    
     /**
      * Obtiene una tarea por su ID.
      * @param id ID de la tarea.
@@ -166,6 +291,21 @@ public class ControladorTarea {
         return tareaDAO.buscarPorId(id);
     }
     
+    /**
+     * Obtiene una página de comentarios de una tarea, de los más recientes a los más antiguos.
+     * @param idTarea ID de la tarea.
+     * @param antesDeId ID del último comentario de la página anterior (0 para la primera).
+     * @param limite Número máximo de comentarios.
+     * @return Comentarios de la página.
+     */
+    public List<ComentarioTarea> obtenerComentarios(int idTarea, int antesDeId, int limite) {
+        if (idTarea <= 0 || limite <= 0) {
+            return new ArrayList<>();
+        }
+        
+        return comentarioDAO.listarPorTarea(idTarea, antesDeId, limite);
+    }
+    
     /**
      * Obtiene todas las tareas.
      * @return Lista de todas las tareas.
@@ -174,6 +314,93 @@ public class ControladorTarea {
         return tareaDAO.listarTodas();
     }
     
+    /**
+     * Cuenta todas las tareas.
+     * @return Número total de tareas.
+     */
+    public int contarTareas() {
+        return tareaDAO.contar();
+    }
+    
+    /**
+     * Obtiene una página de tareas ordenadas por ID.
+     * @param desplazamiento Número de tareas a omitir.
+     * @param limite Número máximo de tareas a devolver.
+     * @return Lista de tareas de la página.
+     */
+    public List<Tarea> obtenerPaginaTareas(int desplazamiento, int limite) {
+        if (desplazamiento < 0 || limite <= 0) {
+            return new ArrayList<>();
+        }
+        
+        return tareaDAO.listarPagina(desplazamiento, limite);
+    }
+    
+    /**
+     * Obtiene una página de resúmenes de tareas (sin descripción ni comentarios) ordenados por ID.
+     * @param desplazamiento Número de tareas a omitir.
+     * @param limite Número máximo de tareas a devolver.
+     * @return Resúmenes de las tareas de la página.
+     */
+    public List<ResumenTarea> obtenerPaginaResumenTareas(int desplazamiento, int limite) {
+        if (desplazamiento < 0 || limite <= 0) {
+            return new ArrayList<>();
+        }
+        
+        return tareaDAO.listarResumenPagina(desplazamiento, limite);
+    }
+    
+    /**
+     * Obtiene los resúmenes de las tareas con los IDs indicados.
+     * @param ids IDs de las tareas.
+     * @return Resúmenes encontrados, sin un orden garantizado.
+     */
+    public List<ResumenTarea> obtenerResumenTareasPorIds(Collection<Integer> ids) {
+        return tareaDAO.listarResumenPorIds(ids);
+    }
+    
+    /**
+     * Obtiene las tareas con los IDs indicados.
+     * @param ids IDs de las tareas.
+     * @return Tareas encontradas, sin un orden garantizado.
+     */
+    public List<Tarea> obtenerTareasPorIds(Collection<Integer> ids) {
+        return tareaDAO.listarPorIds(ids);
+    }
+    
+    /**
+     * Busca tareas por palabras de su nombre, descripción o comentarios.
+     * La primera búsqueda carga el índice (ver IndiceTextoTareas).
+     * @param consulta Palabras a buscar; OR separa alternativas y * al final busca por prefijo.
+     * @param limite Número máximo de tareas a devolver.
+     * @return Tareas encontradas, de mayor a menor relevancia.
+     */
+    public List<Tarea> buscarTareas(String consulta, int limite) {
+        if (consulta == null || consulta.trim().isEmpty() || limite <= 0) {
+            return new ArrayList<>();
+        }
+        
+        List<IndiceTextoTareas.Resultado> resultados = indiceTexto.buscar(consulta, limite);
+        List<Integer> ids = new ArrayList<>(resultados.size());
+        for (IndiceTextoTareas.Resultado resultado : resultados) {
+            ids.add(resultado.getIdTarea());
+        }
+        
+        // listarPorIds no garantiza el orden: se reordena por relevancia
+        Map<Integer, Tarea> porId = new HashMap<>();
+        for (Tarea tarea : tareaDAO.listarPorIds(ids)) {
+            porId.put(tarea.getId(), tarea);
+        }
+        List<Tarea> tareas = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            Tarea tarea = porId.get(id);
+            if (tarea != null) {
+                tareas.add(tarea);
+            }
+        }
+        return tareas;
+    }
+    
     /**
      * Obtiene las tareas de un proyecto específico.
      * @param idProyecto ID del proyecto.
@@ -200,6 +427,19 @@ public class ControladorTarea {
         return tareaDAO.listarPorResponsable(idResponsable);
     }
     
+    /**
+     * Obtiene los resúmenes de las tareas asignadas a un responsable.
+     * @param idResponsable ID del responsable.
+     * @return Resúmenes de las tareas asignadas al responsable.
+     */
+    public List<ResumenTarea> obtenerResumenTareasPorResponsable(int idResponsable) {
+        if (idResponsable <= 0) {
+            return new ArrayList<>();
+        }
+        
+        return tareaDAO.listarResumenPorResponsable(idResponsable);
+    }
+    
     /**
      * Elimina una tarea.
      * @param id ID de la tarea a eliminar.
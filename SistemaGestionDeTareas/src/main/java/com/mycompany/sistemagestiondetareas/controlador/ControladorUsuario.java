@@ -3,6 +3,7 @@ package com.mycompany.sistemagestiondetareas.controlador;
 import com.mycompany.sistemagestiondetareas.dao.UsuarioDAO;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Controlador para la gestión de usuarios.
@@ -10,21 +11,25 @@ import java.util.List;
 public class ControladorUsuario {
     // DAO para acceso a la base de datos
     private final UsuarioDAO usuarioDAO;
+    private final List<Runnable> oyentesCambios = new CopyOnWriteArrayList<>();
     
-    // Constructor que inicializa el DAO y verifica datos iniciales
+    // Constructor que inicializa el DAO (sin consultar la base de datos)
     public ControladorUsuario() {
-        this.usuarioDAO = new UsuarioDAO();
-        verificarDatosIniciales();
+        this(new UsuarioDAO());
+    }
+    
+    // Constructor con un DAO compartido (ver ServiciosAplicacion)
+    public ControladorUsuario(UsuarioDAO usuarioDAO) {
+        this.usuarioDAO = usuarioDAO;
     }
     
     /**
      * Verifica si existen datos iniciales y los crea si es necesario.
+     * Se ejecuta una sola vez al arrancar, fuera del EDT (ver InicializadorDatos).
      */
-    private void verificarDatosIniciales() {
-        List<Usuario> usuarios = obtenerTodosLosUsuarios();
-        
+    public void verificarDatosIniciales() {
         // Si no hay usuarios, crear los usuarios por defecto
-        if (usuarios.isEmpty()) {
+        if (!usuarioDAO.existeAlguno()) {
             registrarUsuario("Admin", "Sistema", "admin@sistema.com", "admin123", true);
             registrarUsuario("Usuario", "Normal", "usuario@sistema.com", "user123", false);
         }
@@ -57,7 +62,8 @@ public class ControladorUsuario {
         Usuario usuario = new Usuario(nombre, apellido, email, password, esAdmin);
         
         // Insertar en la base de datos
-        return usuarioDAO.insertar(usuario);
+        Usuario insertado = usuarioDAO.insertar(usuario);
+        return notificarSiCambio(insertado, insertado != null);
     }
     
     /**
@@ -112,7 +118,8 @@ public class ControladorUsuario {
             return false;
         }
         
-        return usuarioDAO.actualizar(usuario);
+        boolean actualizado = usuarioDAO.actualizar(usuario);
+        return notificarSiCambio(actualizado, actualizado);
     }
     
     /**
@@ -142,6 +149,25 @@ public class ControladorUsuario {
             return false;
         }
         
-        return usuarioDAO.eliminar(id);
+        boolean eliminado = usuarioDAO.eliminar(id);
+        return notificarSiCambio(eliminado, eliminado);
+    }
+    
+    /**
+     * Registra una acción a ejecutar después de cada alta, modificación o baja de usuarios
+     * (por ejemplo, para refrescar las cachés de la vista).
+     * @param oyente Acción a ejecutar; debe ser rápida, se llama en el hilo que hizo el cambio.
+     */
+    public void agregarOyenteCambios(Runnable oyente) {
+        oyentesCambios.add(oyente);
+    }
+    
+    private <R> R notificarSiCambio(R resultado, boolean cambio) {
+        if (cambio) {
+            for (Runnable oyente : oyentesCambios) {
+                oyente.run();
+            }
+        }
+        return resultado;
     }
 } 
\ No newline at end of file
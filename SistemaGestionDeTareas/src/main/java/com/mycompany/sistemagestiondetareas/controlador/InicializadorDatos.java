@@ -0,0 +1,77 @@
+package com.mycompany.sistemagestiondetareas.controlador;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Crea los datos iniciales (usuarios, proyectos y tareas por defecto) una sola
+ * vez por ejecución, en un hilo de fondo, para que el arranque no espere a la
+ * base de datos. Cada verificación es una consulta de existencia de una fila,
+ * no una lectura completa de la tabla.
+ */
+public final class InicializadorDatos {
+
+    private static CompletableFuture<Void> verificacion;
+
+    private InicializadorDatos() {
+    }
+
+    /**
+     * Inicia la verificación en segundo plano; las llamadas siguientes no hacen nada.
+     * @param usuarios Controlador de usuarios.
+     * @param proyectos Controlador de proyectos.
+     * @param tareas Controlador de tareas.
+     * @param alTerminar Acción a ejecutar en el mismo hilo al terminar (puede ser null).
+     */
+    public static synchronized void iniciarEnSegundoPlano(ControladorUsuario usuarios, ControladorProyecto proyectos,
+                                                          ControladorTarea tareas, Runnable alTerminar) {
+        if (verificacion != null) {
+            return;
+        }
+
+        verificacion = new CompletableFuture<>();
+        Thread hilo = new Thread(() -> {
+            try {
+                verificar(usuarios, proyectos, tareas);
+                verificacion.complete(null);
+            } catch (RuntimeException e) {
+                System.err.println("Error al crear los datos iniciales: " + e.getMessage());
+                verificacion.completeExceptionally(e);
+            }
+            if (alTerminar != null) {
+                alTerminar.run();
+            }
+        }, "datos-iniciales");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Espera a que termine la verificación iniciada, si la hay. Se usa antes de
+     * autenticar, por si el usuario inicia sesión antes de que existan los datos.
+     */
+    public static void esperar() {
+        CompletableFuture<Void> actual;
+        synchronized (InicializadorDatos.class) {
+            actual = verificacion;
+        }
+        if (actual == null) {
+            return;
+        }
+        try {
+            actual.join();
+        } catch (CompletionException e) {
+            // Ya se informó en el hilo de verificación
+        }
+    }
+
+    /**
+     * Crea los datos por defecto que falten, en orden de dependencia
+     * (los proyectos y tareas por defecto referencian a los usuarios 1 y 2).
+     */
+    static void verificar(ControladorUsuario usuarios, ControladorProyecto proyectos, ControladorTarea tareas) {
+        usuarios.verificarDatosIniciales();
+        proyectos.verificarDatosIniciales();
+        tareas.verificarDatosIniciales();
+    }
+}
@@ -0,0 +1,551 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Almacén en memoria, por columnas, de la tabla costos para análisis financiero.
+ *
+ * Cada columna es un arreglo primitivo (ids, centavos, códigos byte para tipo y
+ * tipo_costo, fechas en milisegundos), de modo que las agregaciones son bucles
+ * simples sin objetos intermedios. Los datos se exponen como instantáneas de solo
+ * lectura; refrescar() solo lee los costos con id mayor al último cargado, ya que
+ * los costos únicamente se insertan. Como un id menor puede confirmarse después
+ * y los costos de un usuario se borran en cascada, cada refresco compara además
+ * la cantidad y el total con costos_resumen, y vuelve a cargar todo si no cuadran.
+ */
+public class AlmacenCostosColumnar {
+
+    // Comodín para los filtros de seleccionar()
+    public static final int CUALQUIERA = -1;
+
+    // Códigos de la columna tipo
+    public static final byte TIPO_PROYECTO = 0;
+    public static final byte TIPO_TAREA = 1;
+    public static final int CANTIDAD_TIPOS = 2;
+
+    // Códigos de la columna tipo_costo
+    public static final byte COSTO_RETRASO = 0;
+    public static final byte COSTO_ADELANTO = 1;
+    public static final byte COSTO_GASTO_PLANIFICADO = 2;
+    public static final int CANTIDAD_TIPOS_COSTO = 3;
+
+    // Código para valores desconocidos; nunca coincide con un filtro
+    public static final byte DESCONOCIDO = Byte.MAX_VALUE;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final int TAMANO_FETCH = 1000;
+
+    private static final String SQL_ESCANEO = "SELECT id, tipo, id_referencia, monto, tipo_costo, fecha_registro, id_usuario_registro " +
+            "FROM costos WHERE id > ? ORDER BY id";
+    private static final String SQL_RESUMEN = "SELECT COALESCE(SUM(cantidad), 0) AS cantidad, " +
+            "COALESCE(SUM(total), 0) AS total FROM costos_resumen";
+
+    private final ZoneId zona;
+    private volatile Instantanea instantanea;
+
+    public AlmacenCostosColumnar() {
+        this(ZoneId.systemDefault());
+    }
+
+    /**
+     * @param zona Zona horaria usada para agrupar por mes.
+     */
+    public AlmacenCostosColumnar(ZoneId zona) {
+        this.zona = zona;
+        this.instantanea = Instantanea.vacia(zona);
+    }
+
+    /**
+     * Devuelve la última instantánea cargada (vacía si aún no se ha cargado).
+     * @return Instantánea de solo lectura.
+     */
+    public Instantanea obtenerInstantanea() {
+        return instantanea;
+    }
+
+    /**
+     * Descarta los datos en memoria y vuelve a leer toda la tabla costos.
+     * @return Nueva instantánea.
+     */
+    public synchronized Instantanea cargar() {
+        instantanea = leerDesde(Instantanea.vacia(zona), "AlmacenCostosColumnar.cargar");
+        return instantanea;
+    }
+
+    /**
+     * Agrega a la instantánea los costos con id mayor al último cargado. Si el
+     * resultado no cuadra con costos_resumen, vuelve a leer toda la tabla.
+     * @return Instantánea actualizada (la misma si no hay cambios).
+     */
+    public synchronized Instantanea refrescar() {
+        instantanea = leerDesde(instantanea, "AlmacenCostosColumnar.refrescar");
+        return instantanea;
+    }
+
+    /**
+     * Lee los costos posteriores a la instantánea base y, si la base no estaba
+     * vacía, comprueba el resultado contra costos_resumen. Ambas lecturas se hacen
+     * en una transacción para que vean el mismo estado de la tabla.
+     * @param metodo Método público al que se atribuye la lectura en las métricas.
+     */
+    private Instantanea leerDesde(Instantanea base, String metodo) {
+        try (Connection conn = MedicionJDBC.obtenerConexion(metodo)) {
+            boolean autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try {
+                Instantanea resultado = escanear(conn, base);
+                if (base.tamano > 0 && !cuadraConResumen(conn, resultado)) {
+                    resultado = escanear(conn, Instantanea.vacia(zona));
+                }
+                conn.commit();
+                return resultado;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommitOriginal);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al cargar almacén columnar de costos: " + e.getMessage());
+            return base;
+        }
+    }
+
+    /**
+     * Lee de forma secuencial los costos posteriores a la instantánea base.
+     * Las instantáneas anteriores siguen siendo válidas: solo leen las filas
+     * [0, tamano) de los arreglos, y las nuevas filas se escriben a continuación.
+     */
+    private Instantanea escanear(Connection conn, Instantanea base) throws SQLException {
+        Columnas columnas = new Columnas(base);
+
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_ESCANEO,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(MedicionJDBC.esMySQL(conn) ? Integer.MIN_VALUE : TAMANO_FETCH);
+            stmt.setInt(1, base.ultimoId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp fecha = rs.getTimestamp("fecha_registro");
+                    columnas.agregar(
+                            rs.getInt("id"),
+                            codificarTipo(rs.getString("tipo")),
+                            rs.getInt("id_referencia"),
+                            Dinero.desdeBigDecimal(rs.getBigDecimal("monto")),
+                            codificarTipoCosto(rs.getString("tipo_costo")),
+                            fecha != null ? fecha.getTime() : 0L,
+                            rs.getInt("id_usuario_registro"));
+                }
+            }
+        }
+
+        return columnas.tamano == base.tamano ? base : columnas.construir(zona);
+    }
+
+    /**
+     * Compara la cantidad de costos y el total de la instantánea con la suma de
+     * costos_resumen, que CostoDAO y UsuarioDAO mantienen en sus transacciones.
+     */
+    private boolean cuadraConResumen(Connection conn, Instantanea instantanea) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_RESUMEN)) {
+            return rs.next()
+                    && rs.getLong("cantidad") == instantanea.tamano
+                    && Dinero.desdeBigDecimal(rs.getBigDecimal("total")) == instantanea.totalCentavos;
+        }
+    }
+
+    /**
+     * Convierte el valor de la columna tipo a su código.
+     * @param tipo PROYECTO o TAREA.
+     * @return Código del tipo o DESCONOCIDO.
+     */
+    public static byte codificarTipo(String tipo) {
+        if ("PROYECTO".equals(tipo)) {
+            return TIPO_PROYECTO;
+        }
+        if ("TAREA".equals(tipo)) {
+            return TIPO_TAREA;
+        }
+        return DESCONOCIDO;
+    }
+
+    /**
+     * Convierte el valor de la columna tipo_costo a su código.
+     * @param tipoCosto RETRASO, ADELANTO o GASTO_PLANIFICADO.
+     * @return Código del tipo de costo o DESCONOCIDO.
+     */
+    public static byte codificarTipoCosto(String tipoCosto) {
+        if (tipoCosto == null) {
+            return DESCONOCIDO;
+        }
+        switch (tipoCosto) {
+            case "RETRASO":
+                return COSTO_RETRASO;
+            case "ADELANTO":
+                return COSTO_ADELANTO;
+            case "GASTO_PLANIFICADO":
+                return COSTO_GASTO_PLANIFICADO;
+            default:
+                return DESCONOCIDO;
+        }
+    }
+
+    /**
+     * Arreglos en construcción durante una carga; crecen duplicando su capacidad.
+     */
+    private static final class Columnas {
+        private int[] ids;
+        private byte[] tipos;
+        private int[] idsReferencia;
+        private long[] montos;
+        private byte[] tiposCosto;
+        private long[] fechas;
+        private int[] idsUsuario;
+        private int tamano;
+        private int ultimoId;
+        private long totalCentavos;
+        private final int[] maxIdsReferencia;
+
+        Columnas(Instantanea base) {
+            this.ids = base.ids;
+            this.tipos = base.tipos;
+            this.idsReferencia = base.idsReferencia;
+            this.montos = base.montos;
+            this.tiposCosto = base.tiposCosto;
+            this.fechas = base.fechas;
+            this.idsUsuario = base.idsUsuario;
+            this.tamano = base.tamano;
+            this.ultimoId = base.ultimoId;
+            this.totalCentavos = base.totalCentavos;
+            this.maxIdsReferencia = base.maxIdsReferencia.clone();
+        }
+
+        void agregar(int id, byte tipo, int idReferencia, long monto, byte tipoCosto, long fecha, int idUsuario) {
+            if (tamano == ids.length) {
+                int capacidad = Math.max(CAPACIDAD_INICIAL, ids.length * 2);
+                ids = Arrays.copyOf(ids, capacidad);
+                tipos = Arrays.copyOf(tipos, capacidad);
+                idsReferencia = Arrays.copyOf(idsReferencia, capacidad);
+                montos = Arrays.copyOf(montos, capacidad);
+                tiposCosto = Arrays.copyOf(tiposCosto, capacidad);
+                fechas = Arrays.copyOf(fechas, capacidad);
+                idsUsuario = Arrays.copyOf(idsUsuario, capacidad);
+            }
+
+            ids[tamano] = id;
+            tipos[tamano] = tipo;
+            idsReferencia[tamano] = idReferencia;
+            montos[tamano] = monto;
+            tiposCosto[tamano] = tipoCosto;
+            fechas[tamano] = fecha;
+            idsUsuario[tamano] = idUsuario;
+            tamano++;
+
+            ultimoId = Math.max(ultimoId, id);
+            totalCentavos += monto;
+            if (tipo < maxIdsReferencia.length) {
+                maxIdsReferencia[tipo] = Math.max(maxIdsReferencia[tipo], idReferencia);
+            }
+        }
+
+        Instantanea construir(ZoneId zona) {
+            return new Instantanea(ids, tipos, idsReferencia, montos, tiposCosto, fechas, idsUsuario,
+                    tamano, ultimoId, totalCentavos, maxIdsReferencia, zona);
+        }
+    }
+
+    /**
+     * Vista de solo lectura de las filas [0, tamano) de las columnas.
+     */
+    public static final class Instantanea {
+        private final int[] ids;
+        private final byte[] tipos;
+        private final int[] idsReferencia;
+        private final long[] montos;
+        private final byte[] tiposCosto;
+        private final long[] fechas;
+        private final int[] idsUsuario;
+        private final int tamano;
+        private final int ultimoId;
+        private final long totalCentavos;
+        // Mayor id_referencia por código de tipo: los ids de proyectos y tareas son independientes
+        private final int[] maxIdsReferencia;
+        private final ZoneId zona;
+
+        private Instantanea(int[] ids, byte[] tipos, int[] idsReferencia, long[] montos, byte[] tiposCosto,
+                            long[] fechas, int[] idsUsuario, int tamano, int ultimoId, long totalCentavos,
+                            int[] maxIdsReferencia, ZoneId zona) {
+            this.ids = ids;
+            this.tipos = tipos;
+            this.idsReferencia = idsReferencia;
+            this.montos = montos;
+            this.tiposCosto = tiposCosto;
+            this.fechas = fechas;
+            this.idsUsuario = idsUsuario;
+            this.tamano = tamano;
+            this.ultimoId = ultimoId;
+            this.totalCentavos = totalCentavos;
+            this.maxIdsReferencia = maxIdsReferencia;
+            this.zona = zona;
+        }
+
+        /**
+         * Crea una instantánea a partir de columnas ya construidas (datos sintéticos,
+         * pruebas o benchmarks). Los arreglos no se copian.
+         * @param zona Zona horaria usada para agrupar por mes.
+         * @return Instantánea con tantas filas como ids.length.
+         */
+        public static Instantanea desdeColumnas(int[] ids, byte[] tipos, int[] idsReferencia, long[] montos,
+                                                byte[] tiposCosto, long[] fechas, int[] idsUsuario, ZoneId zona) {
+            int ultimoId = 0;
+            long totalCentavos = 0L;
+            int[] maxIdsReferencia = new int[CANTIDAD_TIPOS];
+            for (int i = 0; i < ids.length; i++) {
+                ultimoId = Math.max(ultimoId, ids[i]);
+                totalCentavos += montos[i];
+                if (tipos[i] < CANTIDAD_TIPOS) {
+                    maxIdsReferencia[tipos[i]] = Math.max(maxIdsReferencia[tipos[i]], idsReferencia[i]);
+                }
+            }
+            return new Instantanea(ids, tipos, idsReferencia, montos, tiposCosto, fechas, idsUsuario,
+                    ids.length, ultimoId, totalCentavos, maxIdsReferencia, zona);
+        }
+
+        private static Instantanea vacia(ZoneId zona) {
+            return new Instantanea(new int[0], new byte[0], new int[0], new long[0], new byte[0],
+                    new long[0], new int[0], 0, 0, 0L, new int[CANTIDAD_TIPOS], zona);
+        }
+
+        /** @return Número de costos en la instantánea. */
+        public int tamano() {
+            return tamano;
+        }
+
+        /** @return Mayor id de costo cargado (0 si está vacía). */
+        public int ultimoId() {
+            return ultimoId;
+        }
+
+        public int id(int fila) {
+            return ids[fila];
+        }
+
+        public byte tipo(int fila) {
+            return tipos[fila];
+        }
+
+        public int idReferencia(int fila) {
+            return idsReferencia[fila];
+        }
+
+        public long montoCentavos(int fila) {
+            return montos[fila];
+        }
+
+        public byte tipoCosto(int fila) {
+            return tiposCosto[fila];
+        }
+
+        public long fechaRegistro(int fila) {
+            return fechas[fila];
+        }
+
+        public int idUsuarioRegistro(int fila) {
+            return idsUsuario[fila];
+        }
+
+        /**
+         * @param tipo Código de tipo (TIPO_PROYECTO o TIPO_TAREA).
+         * @return Mayor id_referencia presente para ese tipo (útil para dimensionar agrupaciones).
+         */
+        public int maxIdReferencia(byte tipo) {
+            return tipo >= 0 && tipo < maxIdsReferencia.length ? maxIdsReferencia[tipo] : 0;
+        }
+
+        /**
+         * Selecciona las filas que cumplen todos los filtros.
+         * @param tipo Código de tipo o CUALQUIERA.
+         * @param idReferencia ID de referencia o CUALQUIERA.
+         * @param tipoCosto Código de tipo de costo o CUALQUIERA.
+         * @param desde Fecha mínima en milisegundos (inclusiva).
+         * @param hasta Fecha máxima en milisegundos (exclusiva).
+         * @return Índices de las filas seleccionadas, en orden.
+         */
+        public int[] seleccionar(int tipo, int idReferencia, int tipoCosto, long desde, long hasta) {
+            int[] filas = new int[16];
+            int cantidad = 0;
+
+            for (int i = 0; i < tamano; i++) {
+                if ((tipo == CUALQUIERA || tipos[i] == tipo)
+                        && (idReferencia == CUALQUIERA || idsReferencia[i] == idReferencia)
+                        && (tipoCosto == CUALQUIERA || tiposCosto[i] == tipoCosto)
+                        && fechas[i] >= desde && fechas[i] < hasta) {
+                    if (cantidad == filas.length) {
+                        filas = Arrays.copyOf(filas, cantidad * 2);
+                    }
+                    filas[cantidad++] = i;
+                }
+            }
+
+            return Arrays.copyOf(filas, cantidad);
+        }
+
+        /**
+         * Suma los montos de las filas indicadas.
+         * @param filas Índices devueltos por seleccionar().
+         * @return Total en centavos.
+         */
+        public long sumar(int[] filas) {
+            long total = 0L;
+            for (int fila : filas) {
+                total += montos[fila];
+            }
+            return total;
+        }
+
+        /**
+         * Total en centavos de un tipo de costo para un proyecto o tarea.
+         * @param tipo Código de tipo.
+         * @param idReferencia ID del proyecto o tarea.
+         * @param tipoCosto Código de tipo de costo.
+         * @return Total en centavos.
+         */
+        public long total(byte tipo, int idReferencia, byte tipoCosto) {
+            long total = 0L;
+            for (int i = 0; i < tamano; i++) {
+                if (idsReferencia[i] == idReferencia && tipos[i] == tipo && tiposCosto[i] == tipoCosto) {
+                    total += montos[i];
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Agrupa los montos por id_referencia y tipo de costo en una sola pasada.
+         * @param tipo Código de tipo (TIPO_PROYECTO o TIPO_TAREA).
+         * @return Totales agrupados.
+         */
+        public TotalesPorReferencia totalesPorReferencia(byte tipo) {
+            long[] totales = new long[(maxIdReferencia(tipo) + 1) * CANTIDAD_TIPOS_COSTO];
+
+            for (int i = 0; i < tamano; i++) {
+                byte tipoCosto = tiposCosto[i];
+                if (tipos[i] == tipo && tipoCosto < CANTIDAD_TIPOS_COSTO && idsReferencia[i] >= 0) {
+                    totales[idsReferencia[i] * CANTIDAD_TIPOS_COSTO + tipoCosto] += montos[i];
+                }
+            }
+
+            return new TotalesPorReferencia(totales);
+        }
+
+        /**
+         * Agrupa por mes los montos que cumplen los filtros.
+         * @param tipo Código de tipo o CUALQUIERA.
+         * @param idReferencia ID de referencia o CUALQUIERA.
+         * @param tipoCosto Código de tipo de costo o CUALQUIERA.
+         * @return Total en centavos por mes, ordenado cronológicamente.
+         */
+        public SortedMap<YearMonth, Long> totalesPorMes(int tipo, int idReferencia, int tipoCosto) {
+            SortedMap<YearMonth, Long> resultado = new TreeMap<>();
+            if (tamano == 0) {
+                return resultado;
+            }
+
+            // Primera pasada: rango de fechas para dimensionar un arreglo denso de meses
+            long minFecha = Long.MAX_VALUE;
+            long maxFecha = Long.MIN_VALUE;
+            for (int i = 0; i < tamano; i++) {
+                minFecha = Math.min(minFecha, fechas[i]);
+                maxFecha = Math.max(maxFecha, fechas[i]);
+            }
+
+            YearMonth primerMes = mesDe(minFecha);
+            int cantidadMeses = (int) (indiceMes(mesDe(maxFecha)) - indiceMes(primerMes)) + 1;
+            long[] limites = new long[cantidadMeses + 1];
+            for (int m = 0; m <= cantidadMeses; m++) {
+                limites[m] = primerMes.plusMonths(m).atDay(1).atStartOfDay(zona).toInstant().toEpochMilli();
+            }
+
+            // Segunda pasada: acumular por mes; las fechas suelen venir ordenadas por id,
+            // así que se avanza el mes actual en lugar de buscarlo cada vez
+            long[] totales = new long[cantidadMeses];
+            boolean[] conDatos = new boolean[cantidadMeses];
+            int mes = 0;
+            for (int i = 0; i < tamano; i++) {
+                if ((tipo == CUALQUIERA || tipos[i] == tipo)
+                        && (idReferencia == CUALQUIERA || idsReferencia[i] == idReferencia)
+                        && (tipoCosto == CUALQUIERA || tiposCosto[i] == tipoCosto)) {
+                    long fecha = fechas[i];
+                    if (fecha < limites[mes] || fecha >= limites[mes + 1]) {
+                        mes = buscarMes(limites, fecha);
+                    }
+                    totales[mes] += montos[i];
+                    conDatos[mes] = true;
+                }
+            }
+
+            for (int m = 0; m < cantidadMeses; m++) {
+                if (conDatos[m]) {
+                    resultado.put(primerMes.plusMonths(m), totales[m]);
+                }
+            }
+
+            return resultado;
+        }
+
+        private YearMonth mesDe(long epochMillis) {
+            ZonedDateTime fecha = Instant.ofEpochMilli(epochMillis).atZone(zona);
+            return YearMonth.of(fecha.getYear(), fecha.getMonth());
+        }
+
+        private static long indiceMes(YearMonth mes) {
+            return mes.getYear() * 12L + mes.getMonthValue() - 1;
+        }
+
+        private static int buscarMes(long[] limites, long fecha) {
+            int posicion = Arrays.binarySearch(limites, fecha);
+            int mes = posicion >= 0 ? posicion : -posicion - 2;
+            return Math.min(Math.max(mes, 0), limites.length - 2);
+        }
+    }
+
+    /**
+     * Resultado de totalesPorReferencia: totales densos indexados por id_referencia.
+     */
+    public static final class TotalesPorReferencia {
+        private final long[] totales;
+
+        /**
+         * @param totales Totales densos; el índice es idReferencia * CANTIDAD_TIPOS_COSTO + tipoCosto.
+         */
+        public TotalesPorReferencia(long[] totales) {
+            this.totales = totales;
+        }
+
+        /**
+         * @param idReferencia ID del proyecto o tarea.
+         * @param tipoCosto Código de tipo de costo.
+         * @return Total en centavos (0 si no hay costos).
+         */
+        public long total(int idReferencia, byte tipoCosto) {
+            int indice = idReferencia * CANTIDAD_TIPOS_COSTO + tipoCosto;
+            return idReferencia >= 0 && indice < totales.length ? totales[indice] : 0L;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+
+/**
+ * Almacén en memoria, por columnas, de los datos de tareas usados en análisis
+ * (proyecto, responsable, estado y fecha de vencimiento).
+ *
+ * A diferencia de los costos, las tareas se actualizan, por lo que cada carga
+ * vuelve a leer la tabla completa con un escaneo secuencial.
+ */
+public class AlmacenTareasColumnar {
+
+    // Códigos de la columna estado
+    public static final byte ESTADO_PENDIENTE = 0;
+    public static final byte ESTADO_EN_PROCESO = 1;
+    public static final byte ESTADO_COMPLETADA = 2;
+
+    // Código para valores desconocidos
+    public static final byte DESCONOCIDO = Byte.MAX_VALUE;
+
+    private static final int CAPACIDAD_INICIAL = 1024;
+    private static final int TAMANO_FETCH = 1000;
+
+    private static final String SQL_ESCANEO = "SELECT id, id_proyecto, id_responsable, estado, fecha_vencimiento " +
+            "FROM tareas ORDER BY id";
+
+    private volatile Instantanea instantanea = Instantanea.desdeColumnas(new int[0], new int[0], new int[0],
+            new byte[0], new long[0]);
+
+    /**
+     * Devuelve la última instantánea cargada (vacía si aún no se ha cargado).
+     * @return Instantánea de solo lectura.
+     */
+    public Instantanea obtenerInstantanea() {
+        return instantanea;
+    }
+
+    /**
+     * Vuelve a leer la tabla tareas completa.
+     * @return Nueva instantánea, o la anterior si hubo error.
+     */
+    public synchronized Instantanea cargar() {
+        int capacidad = Math.max(CAPACIDAD_INICIAL, instantanea.tamano());
+        int[] ids = new int[capacidad];
+        int[] idsProyecto = new int[capacidad];
+        int[] idsResponsable = new int[capacidad];
+        byte[] estados = new byte[capacidad];
+        long[] vencimientos = new long[capacidad];
+        int tamano = 0;
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("AlmacenTareasColumnar.cargar");
+             PreparedStatement stmt = conn.prepareStatement(SQL_ESCANEO,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(TAMANO_FETCH);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (tamano == ids.length) {
+                        capacidad = ids.length * 2;
+                        ids = Arrays.copyOf(ids, capacidad);
+                        idsProyecto = Arrays.copyOf(idsProyecto, capacidad);
+                        idsResponsable = Arrays.copyOf(idsResponsable, capacidad);
+                        estados = Arrays.copyOf(estados, capacidad);
+                        vencimientos = Arrays.copyOf(vencimientos, capacidad);
+                    }
+
+                    Timestamp vencimiento = rs.getTimestamp("fecha_vencimiento");
+                    ids[tamano] = rs.getInt("id");
+                    idsProyecto[tamano] = rs.getInt("id_proyecto");
+                    idsResponsable[tamano] = rs.getInt("id_responsable");
+                    estados[tamano] = codificarEstado(rs.getString("estado"));
+                    vencimientos[tamano] = vencimiento != null ? vencimiento.getTime() : Long.MAX_VALUE;
+                    tamano++;
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al cargar almacén columnar de tareas: " + e.getMessage());
+            return instantanea;
+        }
+
+        instantanea = Instantanea.desdeColumnas(Arrays.copyOf(ids, tamano), Arrays.copyOf(idsProyecto, tamano),
+                Arrays.copyOf(idsResponsable, tamano), Arrays.copyOf(estados, tamano),
+                Arrays.copyOf(vencimientos, tamano));
+        return instantanea;
+    }
+
+    /**
+     * Convierte el valor de la columna estado a su código.
+     * @param estado PENDIENTE, EN PROCESO o COMPLETADA.
+     * @return Código del estado o DESCONOCIDO.
+     */
+    public static byte codificarEstado(String estado) {
+        if (estado == null) {
+            return DESCONOCIDO;
+        }
+        switch (estado) {
+            case "PENDIENTE":
+                return ESTADO_PENDIENTE;
+            case "EN PROCESO":
+                return ESTADO_EN_PROCESO;
+            case "COMPLETADA":
+                return ESTADO_COMPLETADA;
+            default:
+                return DESCONOCIDO;
+        }
+    }
+
+    /**
+     * Vista de solo lectura de las columnas de tareas.
+     */
+    public static final class Instantanea {
+        private final int[] ids;
+        private final int[] idsProyecto;
+        private final int[] idsResponsable;
+        private final byte[] estados;
+        private final long[] vencimientos;
+        private final int maxIdProyecto;
+        private final int maxIdResponsable;
+
+        private Instantanea(int[] ids, int[] idsProyecto, int[] idsResponsable, byte[] estados,
+                            long[] vencimientos, int maxIdProyecto, int maxIdResponsable) {
+            this.ids = ids;
+            this.idsProyecto = idsProyecto;
+            this.idsResponsable = idsResponsable;
+            this.estados = estados;
+            this.vencimientos = vencimientos;
+            this.maxIdProyecto = maxIdProyecto;
+            this.maxIdResponsable = maxIdResponsable;
+        }
+
+        /**
+         * Crea una instantánea a partir de columnas ya construidas. Los arreglos no se copian.
+         * @return Instantánea con tantas filas como ids.length.
+         */
+        public static Instantanea desdeColumnas(int[] ids, int[] idsProyecto, int[] idsResponsable,
+                                                byte[] estados, long[] vencimientos) {
+            int maxIdProyecto = 0;
+            int maxIdResponsable = 0;
+            for (int i = 0; i < ids.length; i++) {
+                maxIdProyecto = Math.max(maxIdProyecto, idsProyecto[i]);
+                maxIdResponsable = Math.max(maxIdResponsable, idsResponsable[i]);
+            }
+            return new Instantanea(ids, idsProyecto, idsResponsable, estados, vencimientos,
+                    maxIdProyecto, maxIdResponsable);
+        }
+
+        /** @return Número de tareas en la instantánea. */
+        public int tamano() {
+            return ids.length;
+        }
+
+        public int id(int fila) {
+            return ids[fila];
+        }
+
+        public int idProyecto(int fila) {
+            return idsProyecto[fila];
+        }
+
+        public int idResponsable(int fila) {
+            return idsResponsable[fila];
+        }
+
+        public byte estado(int fila) {
+            return estados[fila];
+        }
+
+        /** @return Fecha de vencimiento en milisegundos (Long.MAX_VALUE si no tiene). */
+        public long fechaVencimiento(int fila) {
+            return vencimientos[fila];
+        }
+
+        public int maxIdProyecto() {
+            return maxIdProyecto;
+        }
+
+        public int maxIdResponsable() {
+            return maxIdResponsable;
+        }
+    }
+}
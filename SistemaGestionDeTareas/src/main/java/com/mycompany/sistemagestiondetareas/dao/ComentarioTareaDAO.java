@@ -0,0 +1,142 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.ComentarioTarea;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Clase DAO para los comentarios de las tareas (tabla comentarios_tarea).
+ *
+ * La tabla solo crece: agregar un comentario es un INSERT de una fila, sin
+ * reescribir los anteriores, y se lee por páginas con el índice
+ * (id_tarea, id), de los más recientes a los más antiguos.
+ */
+public class ComentarioTareaDAO {
+
+    private static final String SQL_INSERTAR = "INSERT INTO comentarios_tarea (id_tarea, id_usuario, fecha, texto) " +
+            "VALUES (?, ?, ?, ?)";
+
+    /**
+     * Inserta un comentario.
+     * @param comentario Comentario a insertar (idUsuario 0 si no se conoce el autor).
+     * @return Comentario con ID generado o null si hubo error.
+     */
+    public ComentarioTarea insertar(ComentarioTarea comentario) {
+        try (Connection conn = MedicionJDBC.obtenerConexion("ComentarioTareaDAO.insertar")) {
+            int id = insertar(conn, comentario.getIdTarea(), comentario.getIdUsuario(),
+                    comentario.getFecha(), comentario.getTexto());
+            if (id <= 0) {
+                return null;
+            }
+            comentario.setId(id);
+            return comentario;
+        } catch (SQLException e) {
+            System.err.println("Error al insertar comentario de tarea: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Inserta un comentario con la conexión indicada, sin confirmar la
+     * transacción (TareaDAO.actualizarEstado lo usa junto con el cambio de estado).
+     * @param conn Conexión abierta.
+     * @param idTarea ID de la tarea.
+     * @param idUsuario ID del autor, o 0 si no se conoce.
+     * @param fecha Fecha del comentario.
+     * @param texto Texto del comentario.
+     * @return ID generado, o 0 si no se insertó.
+     * @throws SQLException Si falla la inserción.
+     */
+    static int insertar(Connection conn, int idTarea, int idUsuario, Date fecha, String texto) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setInt(1, idTarea);
+            if (idUsuario > 0) {
+                stmt.setInt(2, idUsuario);
+            } else {
+                stmt.setNull(2, Types.INTEGER);
+            }
+            stmt.setTimestamp(3, new Timestamp(fecha.getTime()));
+            stmt.setString(4, texto);
+
+            if (stmt.executeUpdate() == 0) {
+                return 0;
+            }
+
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Obtiene una página de comentarios de una tarea, de los más recientes a los más antiguos.
+     * @param idTarea ID de la tarea.
+     * @param antesDeId Devuelve solo comentarios con ID menor que este (0 para empezar por el más reciente).
+     * @param limite Número máximo de comentarios.
+     * @return Comentarios de la página; para la siguiente, pasar el ID del último.
+     */
+    public List<ComentarioTarea> listarPorTarea(int idTarea, int antesDeId, int limite) {
+        String sql = "SELECT id, id_tarea, id_usuario, fecha, texto FROM comentarios_tarea " +
+                "WHERE id_tarea = ? AND id < ? ORDER BY id DESC LIMIT ?";
+        List<ComentarioTarea> comentarios = new ArrayList<>();
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("ComentarioTareaDAO.listarPorTarea");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idTarea);
+            stmt.setInt(2, antesDeId > 0 ? antesDeId : Integer.MAX_VALUE);
+            stmt.setInt(3, limite);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp fecha = rs.getTimestamp("fecha");
+                    comentarios.add(new ComentarioTarea(
+                            rs.getInt("id"),
+                            rs.getInt("id_tarea"),
+                            rs.getInt("id_usuario"),
+                            fecha != null ? new Date(fecha.getTime()) : null,
+                            rs.getString("texto")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al listar comentarios de tarea: " + e.getMessage());
+        }
+
+        return comentarios;
+    }
+
+    /**
+     * Cuenta los comentarios de una tarea.
+     * @param idTarea ID de la tarea.
+     * @return Número de comentarios, o 0 si hubo error.
+     */
+    public int contarPorTarea(int idTarea) {
+        String sql = "SELECT COUNT(*) FROM comentarios_tarea WHERE id_tarea = ?";
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("ComentarioTareaDAO.contarPorTarea");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idTarea);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return rs.getInt(1);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al contar comentarios de tarea: " + e.getMessage());
+        }
+
+        return 0;
+    }
+}
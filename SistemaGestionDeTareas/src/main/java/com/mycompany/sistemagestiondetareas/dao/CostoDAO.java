@@ -1,7 +1,8 @@
 package com.mycompany.sistemagestiondetareas.dao;
 
 import com.mycompany.sistemagestiondetareas.modelo.Costo;
-import com.mycompany.sistemagestiondetareas.util.ConexionBD;
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -10,7 +11,9 @@ import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Clase DAO para operaciones de la entidad Costo en la base de datos.
@@ -19,37 +22,52 @@ public class CostoDAO {
     
     /**
      * Inserta un nuevo costo en la base de datos.
+     * El resumen de costos (costos_resumen) se actualiza en la misma transacción.
      * @param costo Costo a insertar.
      * @return Costo con ID generado o null si hubo error.
      */
     public Costo insertar(Costo costo) {
         String sql = "INSERT INTO costos (tipo, id_referencia, descripcion, monto, tipo_costo, fecha_registro, id_usuario_registro) VALUES (?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = MedicionJDBC.obtenerConexion("CostoDAO.insertar")) {
+            boolean autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
             
-            stmt.setString(1, costo.getTipo());
-            stmt.setInt(2, costo.getIdReferencia());
-            stmt.setString(3, costo.getDescripcion());
-            stmt.setDouble(4, costo.getMonto());
-            stmt.setString(5, costo.getTipoCosto());
-            stmt.setTimestamp(6, new Timestamp(costo.getFechaRegistro().getTime()));
-            stmt.setInt(7, costo.getIdUsuarioRegistro());
-            
-            int filasAfectadas = stmt.executeUpdate();
-            
-            if (filasAfectadas == 0) {
-                return null;
-            }
-            
-            try (ResultSet rs = stmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    costo.setId(rs.getInt(1));
-                    return costo;
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                
+                stmt.setString(1, costo.getTipo());
+                stmt.setInt(2, costo.getIdReferencia());
+                stmt.setString(3, costo.getDescripcion());
+                stmt.setBigDecimal(4, Dinero.aBigDecimal(costo.getMontoCentavos()));
+                stmt.setString(5, costo.getTipoCosto());
+                stmt.setTimestamp(6, new Timestamp(costo.getFechaRegistro().getTime()));
+                stmt.setInt(7, costo.getIdUsuarioRegistro());
+                
+                int filasAfectadas = stmt.executeUpdate();
+                
+                if (filasAfectadas == 0) {
+                    conn.rollback();
+                    return null;
                 }
+                
+                ajustarResumen(conn, costo.getTipo(), costo.getIdReferencia(), costo.getTipoCosto(),
+                        costo.getMontoCentavos(), 1);
+                conn.commit();
+                
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        costo.setId(rs.getInt(1));
+                        return costo;
+                    }
+                }
+                
+                return null;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommitOriginal);
             }
-            
-            return null;
         } catch (SQLException e) {
             System.err.println("Error al insertar costo: " + e.getMessage());
             return null;
@@ -66,7 +84,7 @@ public class CostoDAO {
         String sql = "SELECT * FROM costos WHERE tipo = ? AND id_referencia = ?";
         List<Costo> costos = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("CostoDAO.listarPorReferencia");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, tipo);
@@ -95,7 +113,7 @@ public class CostoDAO {
         String sql = "SELECT * FROM costos WHERE id_usuario_registro = ?";
         List<Costo> costos = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("CostoDAO.listarPorUsuario");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, idUsuario);
@@ -122,9 +140,22 @@ public class CostoDAO {
      * @return Suma total de los costos.
      */
     public double calcularTotalPorTipo(String tipo, int idReferencia, String tipoCosto) {
-        String sql = "SELECT SUM(monto) as total FROM costos WHERE tipo = ? AND id_referencia = ? AND tipo_costo = ?";
+        return Dinero.aDecimal(calcularTotalCentavosPorTipo(tipo, idReferencia, tipoCosto));
+    }
+    
+    /**
+     * Calcula el total de costos por tipo, en centavos, para un proyecto o tarea.
+     * Lee el total precalculado de costos_resumen por clave primaria, por lo que
+     * el costo no depende del número de costos registrados.
+     * @param tipo Tipo de referencia (PROYECTO o TAREA).
+     * @param idReferencia ID del proyecto o tarea.
+     * @param tipoCosto Tipo de costo a sumar (RETRASO, ADELANTO, GASTO_PLANIFICADO).
+     * @return Suma total de los costos en centavos.
+     */
+    public long calcularTotalCentavosPorTipo(String tipo, int idReferencia, String tipoCosto) {
+        String sql = "SELECT total FROM costos_resumen WHERE tipo = ? AND id_referencia = ? AND tipo_costo = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("CostoDAO.calcularTotalCentavosPorTipo");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, tipo);
@@ -133,7 +164,7 @@ public class CostoDAO {
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return rs.getDouble("total");
+                    return Dinero.desdeBigDecimal(rs.getBigDecimal("total"));
                 }
             }
             
@@ -141,7 +172,185 @@ public class CostoDAO {
             System.err.println("Error al calcular total de costos: " + e.getMessage());
         }
         
-        return 0.0;
+        return 0L;
+    }
+    
+    /**
+     * Reconstruye por completo la tabla costos_resumen a partir de la tabla costos.
+     * @return Número de filas de resumen generadas, o -1 si hubo error.
+     */
+    public int reconstruirResumen() {
+        try (Connection conn = MedicionJDBC.obtenerConexion("CostoDAO.reconstruirResumen")) {
+            return reconstruirResumen(conn);
+        } catch (SQLException e) {
+            System.err.println("Error al reconstruir resumen de costos: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Reconstruye costos_resumen en una transacción sobre la conexión indicada
+     * (por ejemplo, la del generador de datos sintéticos).
+     * @param conn Conexión a usar; se restaura su modo de autocommit.
+     * @return Número de filas de resumen generadas.
+     * @throws SQLException Si falla la reconstrucción (se revierte la transacción).
+     */
+    public static int reconstruirResumen(Connection conn) throws SQLException {
+        String sqlBorrar = "DELETE FROM costos_resumen";
+        String sqlInsertar = "INSERT INTO costos_resumen (tipo, id_referencia, tipo_costo, total, cantidad) " +
+                "SELECT tipo, id_referencia, tipo_costo, SUM(monto), COUNT(*) FROM costos " +
+                "GROUP BY tipo, id_referencia, tipo_costo";
+        
+        boolean autoCommitOriginal = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate(sqlBorrar);
+            int filas = stmt.executeUpdate(sqlInsertar);
+            conn.commit();
+            return filas;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommitOriginal);
+        }
+    }
+    
+    /**
+     * Compara costos_resumen con los totales calculados sobre la tabla costos.
+     * @return Lista de discrepancias encontradas (vacía si el resumen es correcto).
+     */
+    public List<String> verificarResumen() {
+        String sqlCostos = "SELECT tipo, id_referencia, tipo_costo, SUM(monto) AS total, COUNT(*) AS cantidad " +
+                "FROM costos GROUP BY tipo, id_referencia, tipo_costo";
+        String sqlResumen = "SELECT tipo, id_referencia, tipo_costo, total, cantidad FROM costos_resumen";
+        List<String> discrepancias = new ArrayList<>();
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("CostoDAO.verificarResumen");
+             Statement stmt = conn.createStatement()) {
+            
+            Map<String, BigDecimal> totalesCostos = new HashMap<>();
+            Map<String, Integer> cantidadesCostos = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery(sqlCostos)) {
+                while (rs.next()) {
+                    String clave = claveResumen(rs);
+                    totalesCostos.put(clave, rs.getBigDecimal("total"));
+                    cantidadesCostos.put(clave, rs.getInt("cantidad"));
+                }
+            }
+            
+            try (ResultSet rs = stmt.executeQuery(sqlResumen)) {
+                while (rs.next()) {
+                    String clave = claveResumen(rs);
+                    BigDecimal esperado = totalesCostos.remove(clave);
+                    Integer cantidadEsperada = cantidadesCostos.remove(clave);
+                    BigDecimal total = rs.getBigDecimal("total");
+                    int cantidad = rs.getInt("cantidad");
+                    
+                    if (esperado == null) {
+                        if (cantidad != 0 || total.signum() != 0) {
+                            discrepancias.add(clave + ": resumen sin costos asociados (total " + total + ")");
+                        }
+                    } else if (esperado.compareTo(total) != 0 || cantidadEsperada != cantidad) {
+                        discrepancias.add(clave + ": resumen " + total + " (" + cantidad + ") vs costos "
+                                + esperado + " (" + cantidadEsperada + ")");
+                    }
+                }
+            }
+            
+            for (Map.Entry<String, BigDecimal> faltante : totalesCostos.entrySet()) {
+                discrepancias.add(faltante.getKey() + ": falta en el resumen (total " + faltante.getValue() + ")");
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error al verificar resumen de costos: " + e.getMessage());
+            discrepancias.add("Error al verificar: " + e.getMessage());
+        }
+        
+        return discrepancias;
+    }
+    
+    /**
+     * Reconstruye costos_resumen solo si está vacía mientras la tabla costos tiene filas,
+     * como ocurre en una base creada antes de existir el resumen. Se invoca al arrancar.
+     * @return Número de filas de resumen generadas, 0 si no hacía falta, o -1 si hubo error.
+     */
+    public int reconstruirResumenSiFalta() {
+        try (Connection conn = MedicionJDBC.obtenerConexion("CostoDAO.reconstruirResumenSiFalta")) {
+            try (Statement stmt = conn.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM costos_resumen LIMIT 1")) {
+                    if (rs.next()) {
+                        return 0;
+                    }
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT 1 FROM costos LIMIT 1")) {
+                    if (!rs.next()) {
+                        return 0;
+                    }
+                }
+            }
+            return reconstruirResumen(conn);
+        } catch (SQLException e) {
+            System.err.println("Error al reconstruir resumen de costos: " + e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * Resta del resumen, con una sola sentencia, los costos registrados por un usuario,
+     * que la base borra en cascada al eliminarlo. Debe invocarse dentro de la transacción que elimina al
+     * usuario, antes del DELETE.
+     * @param conn Conexión con la transacción activa.
+     * @param idUsuario ID del usuario que se va a eliminar.
+     * @throws SQLException Si ocurre un error al ajustar el resumen.
+     */
+    static void restarCostosDeUsuario(Connection conn, int idUsuario) throws SQLException {
+        String sql = "INSERT INTO costos_resumen (tipo, id_referencia, tipo_costo, total, cantidad) " +
+                "SELECT tipo, id_referencia, tipo_costo, total, cantidad FROM (" +
+                "SELECT tipo, id_referencia, tipo_costo, -SUM(monto) AS total, -COUNT(*) AS cantidad " +
+                "FROM costos WHERE id_usuario_registro = ? GROUP BY tipo, id_referencia, tipo_costo) AS g " +
+                "ON DUPLICATE KEY UPDATE total = costos_resumen.total + VALUES(total), " +
+                "cantidad = costos_resumen.cantidad + VALUES(cantidad)";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, idUsuario);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Suma un delta al total y a la cantidad de una fila de costos_resumen, creándola
+     * si no existe, con una sola sentencia. Debe invocarse dentro de la transacción que
+     * modifica la tabla costos.
+     * @param conn Conexión con la transacción activa.
+     * @param tipo Tipo de referencia (PROYECTO o TAREA).
+     * @param idReferencia ID del proyecto o tarea.
+     * @param tipoCosto Tipo de costo.
+     * @param deltaCentavos Monto en centavos a sumar (negativo al eliminar).
+     * @param deltaCantidad Número de costos a sumar (negativo al eliminar).
+     * @throws SQLException Si ocurre un error al actualizar el resumen.
+     */
+    static void ajustarResumen(Connection conn, String tipo, int idReferencia, String tipoCosto,
+                               long deltaCentavos, int deltaCantidad) throws SQLException {
+        String sql = "INSERT INTO costos_resumen (tipo, id_referencia, tipo_costo, total, cantidad) VALUES (?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE total = total + VALUES(total), cantidad = cantidad + VALUES(cantidad)";
+        
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, tipo);
+            stmt.setInt(2, idReferencia);
+            stmt.setString(3, tipoCosto);
+            stmt.setBigDecimal(4, Dinero.aBigDecimal(deltaCentavos));
+            stmt.setInt(5, deltaCantidad);
+            stmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Construye la clave (tipo/id_referencia/tipo_costo) de una fila de resumen.
+     */
+    private String claveResumen(ResultSet rs) throws SQLException {
+        return rs.getString("tipo") + "/" + rs.getInt("id_referencia") + "/" + rs.getString("tipo_costo");
     }
     
     /**
@@ -156,7 +365,7 @@ public class CostoDAO {
         costo.setTipo(rs.getString("tipo"));
         costo.setIdReferencia(rs.getInt("id_referencia"));
         costo.setDescripcion(rs.getString("descripcion"));
-        costo.setMonto(rs.getDouble("monto"));
+        costo.setMontoCentavos(Dinero.desdeBigDecimal(rs.getBigDecimal("monto")));
         costo.setTipoCosto(rs.getString("tipo_costo"));
         
         Timestamp fechaRegistro = rs.getTimestamp("fecha_registro");
@@ -0,0 +1,93 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.DependenciaTarea;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase DAO para las dependencias entre tareas (tabla dependencias_tarea).
+ * No comprueba ciclos: eso lo hace ControladorDependencias con el grafo del proyecto.
+ */
+public class DependenciaTareaDAO {
+
+    /**
+     * Agrega una dependencia.
+     * @param idTarea ID de la tarea que depende.
+     * @param idTareaPrevia ID de la tarea que debe terminar antes.
+     * @return true si se agregó correctamente.
+     */
+    public boolean agregar(int idTarea, int idTareaPrevia) {
+        String sql = "INSERT INTO dependencias_tarea (id_tarea, id_tarea_previa) VALUES (?, ?)";
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("DependenciaTareaDAO.agregar");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idTarea);
+            stmt.setInt(2, idTareaPrevia);
+
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error al agregar dependencia de tarea: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Elimina una dependencia.
+     * @param idTarea ID de la tarea que depende.
+     * @param idTareaPrevia ID de la tarea previa.
+     * @return true si existía y se eliminó.
+     */
+    public boolean eliminar(int idTarea, int idTareaPrevia) {
+        String sql = "DELETE FROM dependencias_tarea WHERE id_tarea = ? AND id_tarea_previa = ?";
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("DependenciaTareaDAO.eliminar");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idTarea);
+            stmt.setInt(2, idTareaPrevia);
+
+            return stmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error al eliminar dependencia de tarea: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Obtiene las dependencias entre las tareas de un proyecto.
+     * @param idProyecto ID del proyecto.
+     * @return Dependencias cuya tarea pertenece al proyecto, o null si hubo error
+     *         (para no confundir un error con un proyecto sin dependencias).
+     */
+    public List<DependenciaTarea> listarPorProyecto(int idProyecto) {
+        String sql = "SELECT d.id_tarea, d.id_tarea_previa FROM dependencias_tarea d " +
+                "JOIN tareas t ON t.id = d.id_tarea WHERE t.id_proyecto = ?";
+        List<DependenciaTarea> dependencias = new ArrayList<>();
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("DependenciaTareaDAO.listarPorProyecto");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idProyecto);
+            stmt.setFetchSize(1000);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    dependencias.add(new DependenciaTarea(rs.getInt("id_tarea"), rs.getInt("id_tarea_previa")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al listar dependencias de tareas: " + e.getMessage());
+            return null;
+        }
+
+        return dependencias;
+    }
+}
@@ -0,0 +1,332 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.CambioEstadoTarea;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Clase DAO para el historial de estados de las tareas (tabla historial_estado_tarea).
+ *
+ * La tabla solo crece: cada cambio de estado es un INSERT. Las métricas de
+ * flujo (tiempo de ciclo, tiempo en cada estado y tareas completadas por
+ * semana) se calculan desde el historial con el índice (id_proyecto, fecha),
+ * sin leer el estado actual de las tareas.
+ */
+public class HistorialEstadoTareaDAO {
+
+    private static final String ESTADO_EN_PROCESO = "EN PROCESO";
+    private static final String ESTADO_COMPLETADA = "COMPLETADA";
+    private static final String SQL_REGISTRAR = "INSERT INTO historial_estado_tarea " +
+            "(id_tarea, id_proyecto, estado_anterior, estado_nuevo, fecha, id_usuario) VALUES (?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Registra un cambio de estado.
+     * @param cambio Cambio a registrar (estadoAnterior null al crear la tarea;
+     *               idUsuario 0 si no se conoce; fecha null para la fecha actual).
+     * @return true si se registró correctamente.
+     */
+    public boolean registrar(CambioEstadoTarea cambio) {
+        try (Connection conn = MedicionJDBC.obtenerConexion("HistorialEstadoTareaDAO.registrar")) {
+            registrar(conn, cambio);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error al registrar cambio de estado: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Registra un cambio de estado con una conexión abierta, para hacerlo en la
+     * misma transacción que el cambio de la tarea (ver TareaDAO).
+     * @param conn Conexión abierta; no se cierra.
+     * @param cambio Cambio a registrar (ver registrar(CambioEstadoTarea)).
+     * @throws SQLException Si falla el INSERT.
+     */
+    static void registrar(Connection conn, CambioEstadoTarea cambio) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_REGISTRAR)) {
+            stmt.setInt(1, cambio.getIdTarea());
+            stmt.setInt(2, cambio.getIdProyecto());
+            stmt.setString(3, cambio.getEstadoAnterior());
+            stmt.setString(4, cambio.getEstadoNuevo());
+            Date fecha = cambio.getFecha() != null ? cambio.getFecha() : new Date();
+            stmt.setTimestamp(5, new Timestamp(fecha.getTime()));
+            if (cambio.getIdUsuario() > 0) {
+                stmt.setInt(6, cambio.getIdUsuario());
+            } else {
+                stmt.setNull(6, Types.INTEGER);
+            }
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Obtiene el historial de estados de una tarea en orden cronológico.
+     * @param idTarea ID de la tarea.
+     * @return Cambios de estado de la tarea, del más antiguo al más reciente.
+     */
+    public List<CambioEstadoTarea> listarPorTarea(int idTarea) {
+        String sql = "SELECT id, id_tarea, id_proyecto, estado_anterior, estado_nuevo, fecha, id_usuario " +
+                "FROM historial_estado_tarea WHERE id_tarea = ? ORDER BY fecha, id";
+        List<CambioEstadoTarea> cambios = new ArrayList<>();
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("HistorialEstadoTareaDAO.listarPorTarea");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idTarea);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp fecha = rs.getTimestamp("fecha");
+                    cambios.add(new CambioEstadoTarea(
+                            rs.getInt("id"),
+                            rs.getInt("id_tarea"),
+                            rs.getInt("id_proyecto"),
+                            rs.getString("estado_anterior"),
+                            rs.getString("estado_nuevo"),
+                            fecha != null ? new Date(fecha.getTime()) : null,
+                            rs.getInt("id_usuario")));
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al listar historial de estados: " + e.getMessage());
+        }
+
+        return cambios;
+    }
+
+    /**
+     * Calcula el tiempo de ciclo (desde que la tarea pasó por primera vez a
+     * EN PROCESO hasta su última finalización) de las tareas de un proyecto
+     * completadas en el intervalo [desde, hasta). Las tareas que se completaron
+     * sin pasar por EN PROCESO no cuentan.
+     * @param idProyecto ID del proyecto.
+     * @param desde Inicio del intervalo (incluido).
+     * @param hasta Fin del intervalo (excluido).
+     * @return Estadísticas del tiempo de ciclo (vacías si hubo error).
+     */
+    public Duraciones calcularTiempoCiclo(int idProyecto, Date desde, Date hasta) {
+        // Un GROUP BY por tarea devuelve solo el inicio y el fin de cada una
+        String sql = "SELECT MIN(CASE WHEN estado_nuevo = '" + ESTADO_EN_PROCESO + "' THEN fecha END) AS inicio, " +
+                "MAX(CASE WHEN estado_nuevo = '" + ESTADO_COMPLETADA + "' THEN fecha END) AS fin " +
+                "FROM historial_estado_tarea WHERE id_proyecto = ? AND fecha < ? " +
+                "GROUP BY id_tarea " +
+                "HAVING MAX(CASE WHEN estado_nuevo = '" + ESTADO_COMPLETADA + "' THEN fecha END) >= ?";
+        long[] duraciones = new long[16];
+        int cantidad = 0;
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("HistorialEstadoTareaDAO.calcularTiempoCiclo");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idProyecto);
+            stmt.setTimestamp(2, new Timestamp(hasta.getTime()));
+            stmt.setTimestamp(3, new Timestamp(desde.getTime()));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp inicio = rs.getTimestamp("inicio");
+                    Timestamp fin = rs.getTimestamp("fin");
+                    if (inicio == null || inicio.after(fin)) {
+                        continue;
+                    }
+                    if (cantidad == duraciones.length) {
+                        duraciones = Arrays.copyOf(duraciones, cantidad * 2);
+                    }
+                    duraciones[cantidad++] = fin.getTime() - inicio.getTime();
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al calcular tiempo de ciclo: " + e.getMessage());
+            return new Duraciones(new long[0]);
+        }
+
+        return new Duraciones(Arrays.copyOf(duraciones, cantidad));
+    }
+
+    /**
+     * Calcula cuánto tiempo pasaron las tareas de un proyecto en cada estado
+     * dentro del intervalo [desde, hasta). El último estado de cada tarea se
+     * considera vigente hasta el final del intervalo. COMPLETADA es el estado
+     * final y no se suma.
+     *
+     * Recorre el historial una sola vez, ordenado por tarea y fecha, con una
+     * fila anterior como único estado.
+     * @param idProyecto ID del proyecto.
+     * @param desde Inicio del intervalo (incluido).
+     * @param hasta Fin del intervalo (excluido).
+     * @return Milisegundos por estado (vacío si hubo error).
+     */
+    public Map<String, Long> calcularTiempoEnEstado(int idProyecto, Date desde, Date hasta) {
+        String sql = "SELECT id_tarea, estado_nuevo, fecha FROM historial_estado_tarea " +
+                "WHERE id_proyecto = ? AND fecha < ? ORDER BY id_tarea, fecha, id";
+        Map<String, Long> tiempos = new TreeMap<>();
+        long inicioIntervalo = desde.getTime();
+        long finIntervalo = hasta.getTime();
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("HistorialEstadoTareaDAO.calcularTiempoEnEstado");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idProyecto);
+            stmt.setTimestamp(2, new Timestamp(finIntervalo));
+            stmt.setFetchSize(1000);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                int tareaAnterior = 0;
+                String estadoAnterior = null;
+                long fechaAnterior = 0;
+                while (rs.next()) {
+                    int idTarea = rs.getInt("id_tarea");
+                    String estado = rs.getString("estado_nuevo");
+                    long fecha = rs.getTimestamp("fecha").getTime();
+                    if (estadoAnterior != null) {
+                        // Si cambia la tarea, su último estado sigue hasta el final del intervalo
+                        long finEstado = idTarea == tareaAnterior ? fecha : finIntervalo;
+                        sumarTiempo(tiempos, estadoAnterior, fechaAnterior, finEstado, inicioIntervalo, finIntervalo);
+                    }
+                    tareaAnterior = idTarea;
+                    estadoAnterior = estado;
+                    fechaAnterior = fecha;
+                }
+                if (estadoAnterior != null) {
+                    sumarTiempo(tiempos, estadoAnterior, fechaAnterior, finIntervalo, inicioIntervalo, finIntervalo);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al calcular tiempo en estado: " + e.getMessage());
+            return new TreeMap<>();
+        }
+
+        return tiempos;
+    }
+
+    /**
+     * Cuenta las tareas de un proyecto completadas por semana (de lunes a
+     * domingo) en el intervalo [desde, hasta). Las semanas sin tareas
+     * completadas aparecen con 0.
+     * @param idProyecto ID del proyecto.
+     * @param desde Inicio del intervalo (incluido).
+     * @param hasta Fin del intervalo (excluido).
+     * @return Tareas completadas por lunes de cada semana, en orden (vacío si hubo error).
+     */
+    public SortedMap<LocalDate, Integer> calcularThroughputSemanal(int idProyecto, Date desde, Date hasta) {
+        // La base agrupa por día; las semanas se arman aquí para no depender
+        // de las funciones de fecha de cada motor
+        String sql = "SELECT CAST(fecha AS DATE) AS dia, COUNT(*) AS completadas FROM historial_estado_tarea " +
+                "WHERE id_proyecto = ? AND fecha >= ? AND fecha < ? AND estado_nuevo = '" + ESTADO_COMPLETADA + "' " +
+                "GROUP BY CAST(fecha AS DATE)";
+        SortedMap<LocalDate, Integer> semanas = new TreeMap<>();
+
+        ZoneId zona = ZoneId.systemDefault();
+        LocalDate semana = inicioSemana(desde.toInstant().atZone(zona).toLocalDate());
+        LocalDate ultimaSemana = inicioSemana(new Date(hasta.getTime() - 1).toInstant().atZone(zona).toLocalDate());
+        for (; !semana.isAfter(ultimaSemana); semana = semana.plusWeeks(1)) {
+            semanas.put(semana, 0);
+        }
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("HistorialEstadoTareaDAO.calcularThroughputSemanal");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, idProyecto);
+            stmt.setTimestamp(2, new Timestamp(desde.getTime()));
+            stmt.setTimestamp(3, new Timestamp(hasta.getTime()));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    LocalDate dia = rs.getDate("dia").toLocalDate();
+                    semanas.merge(inicioSemana(dia), rs.getInt("completadas"), Integer::sum);
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error al calcular tareas completadas por semana: " + e.getMessage());
+            return new TreeMap<>();
+        }
+
+        return semanas;
+    }
+
+    /**
+     * Suma a un estado la parte del tramo [inicio, fin) que cae dentro del intervalo.
+     */
+    private static void sumarTiempo(Map<String, Long> tiempos, String estado, long inicio, long fin,
+                                    long inicioIntervalo, long finIntervalo) {
+        if (ESTADO_COMPLETADA.equals(estado)) {
+            return;
+        }
+        long duracion = Math.min(fin, finIntervalo) - Math.max(inicio, inicioIntervalo);
+        if (duracion > 0) {
+            tiempos.merge(estado, duracion, Long::sum);
+        }
+    }
+
+    private static LocalDate inicioSemana(LocalDate dia) {
+        return dia.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    /**
+     * Estadísticas de un conjunto de duraciones, en milisegundos.
+     */
+    public static final class Duraciones {
+        private final long[] ordenadas;
+
+        Duraciones(long[] duraciones) {
+            this.ordenadas = duraciones.clone();
+            Arrays.sort(this.ordenadas);
+        }
+
+        public int getCantidad() {
+            return ordenadas.length;
+        }
+
+        public long getPromedioMs() {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            long suma = 0;
+            for (long duracion : ordenadas) {
+                suma += duracion;
+            }
+            return suma / ordenadas.length;
+        }
+
+        public long getMedianaMs() {
+            return percentil(50);
+        }
+
+        public long getPercentil85Ms() {
+            return percentil(85);
+        }
+
+        public long getMaximoMs() {
+            return ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1];
+        }
+
+        /**
+         * Percentil por el método del rango más cercano.
+         */
+        private long percentil(int p) {
+            if (ordenadas.length == 0) {
+                return 0;
+            }
+            int rango = (int) Math.ceil(p / 100.0 * ordenadas.length);
+            return ordenadas[Math.max(rango, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,1197 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Índice invertido en memoria sobre el nombre, la descripción, las notas y
+ * los comentarios (tabla comentarios_tarea) de las tareas: para cada término
+ * guarda la lista de IDs de
+ * tareas que lo contienen, con su frecuencia, comprimida con deltas y enteros
+ * de longitud variable.
+ *
+ * El índice tiene dos partes:
+ * - Un segmento base, inmutable y comprimido, que puede estar en el heap o
+ *   mapeado desde el archivo guardado con guardar().
+ * - Las tareas escritas desde la última compactación (recibidas como oyente de
+ *   TareaDAO), sin comprimir. Las consultas combinan ambas partes y, al pasar
+ *   de UMBRAL_COMPACTACION tareas, se fusionan en un nuevo segmento base.
+ *
+ * Las consultas son palabras separadas por espacios que deben aparecer todas
+ * (AND); OR o | separa alternativas y un * final busca por prefijo, por
+ * ejemplo "diseñar interfaz OR migra*". Los resultados se ordenan por
+ * relevancia (BM25 sin normalizar por longitud).
+ *
+ * Todas las operaciones son sincronizadas; la primera consulta carga el
+ * archivo (o reconstruye el índice desde la tabla si no existe o no cuadra).
+ * Al actualizar una tarea ya indexada hay que releer sus comentarios de la
+ * base: eso se hace en el ejecutor del índice, sin el bloqueo, y hasta que
+ * termina las búsquedas ven el texto anterior de la tarea.
+ */
+public class IndiceTextoTareas implements TareaDAO.OyenteEscrituras {
+
+    /** Longitud mínima de un término indexado. */
+    static final int LONGITUD_MINIMA = 2;
+    /** Los términos más largos se truncan a esta longitud. */
+    static final int LONGITUD_MAXIMA = 40;
+    /** Tareas escritas que se acumulan antes de fusionarlas con el segmento base. */
+    static final int UMBRAL_COMPACTACION = 5000;
+    /** Términos máximos en que se expande un prefijo. */
+    static final int MAX_TERMINOS_PREFIJO = 512;
+
+    private static final int MAGIA = 0x49545431; // "ITT1"
+    private static final int VERSION = 1;
+    private static final double K1 = 1.2;
+    private static final int TAMANO_FETCH = 1000;
+    private static final int IDS_POR_CONSULTA = 500;
+
+    // Cada tarea con sus comentarios en filas consecutivas: un solo escaneo en orden de ID
+    private static final String SQL_ESCANEO = "SELECT t.id, t.nombre, t.descripcion, t.comentarios, c.texto " +
+            "FROM tareas t LEFT JOIN comentarios_tarea c ON c.id_tarea = t.id WHERE t.id > ? ORDER BY t.id";
+    private static final String SQL_RESUMEN = "SELECT COUNT(*), MAX(id) FROM tareas";
+
+    private final Path archivo;
+
+    private Segmento base = Segmento.VACIO;
+    // Tareas cuyas entradas del segmento base ya no valen (actualizadas o eliminadas)
+    private final BitSet obsoletas = new BitSet();
+    // Tareas escritas desde la última compactación
+    private final Map<Integer, DocumentoVivo> vivos = new HashMap<>();
+    // Tareas presentes en el índice
+    private final BitSet documentos = new BitSet();
+    private int numDocumentos;
+
+    private boolean cargado;
+    // Tareas escritas antes de cargar el índice; se releen de la base al cargar el archivo
+    private final Set<Integer> pendientes = new HashSet<>();
+
+    private final Executor ejecutor;
+    // Tareas indexadas actualizadas cuyos comentarios se están releyendo en el ejecutor
+    private final Map<Integer, Reindexado> reindexados = new HashMap<>();
+
+    /**
+     * Crea un índice sin archivo: se construye desde la tabla en el primer uso.
+     */
+    public IndiceTextoTareas() {
+        this(null);
+    }
+
+    /**
+     * Crea un índice que se guarda y se carga desde el archivo indicado.
+     * @param archivo Archivo del índice (puede ser null para no persistirlo).
+     */
+    public IndiceTextoTareas(Path archivo) {
+        this(archivo, Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "indice-texto-tareas");
+            hilo.setDaemon(true);
+            return hilo;
+        }));
+    }
+
+    /**
+     * Crea un índice con el ejecutor en que se releen los comentarios de las tareas actualizadas.
+     * @param archivo Archivo del índice (puede ser null para no persistirlo).
+     * @param ejecutor Ejecuta las relecturas, de a una.
+     */
+    public IndiceTextoTareas(Path archivo, Executor ejecutor) {
+        this.archivo = archivo;
+        this.ejecutor = ejecutor;
+    }
+
+    /**
+     * Última versión guardada de una tarea que espera la relectura de sus comentarios.
+     * Cada aviso crea uno nuevo, así una relectura sabe si quedó superada.
+     */
+    private static final class Reindexado {
+        private final Tarea tarea;
+
+        Reindexado(Tarea tarea) {
+            this.tarea = tarea;
+        }
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     */
+    public static final class Resultado {
+        private final int idTarea;
+        private final double puntuacion;
+
+        Resultado(int idTarea, double puntuacion) {
+            this.idTarea = idTarea;
+            this.puntuacion = puntuacion;
+        }
+
+        public int getIdTarea() {
+            return idTarea;
+        }
+
+        public double getPuntuacion() {
+            return puntuacion;
+        }
+    }
+
+    // ========================================
+    // ESCRITURAS (oyente de TareaDAO)
+    // ========================================
+
+    @Override
+    public synchronized void tareaGuardada(Tarea tarea) {
+        if (!cargado) {
+            pendientes.add(tarea.getId());
+            return;
+        }
+        if (!documentos.get(tarea.getId()) && !reindexados.containsKey(tarea.getId())) {
+            // Tarea nueva: todavía no tiene comentarios
+            reemplazar(tarea.getId(), textos(tarea.getNombre(), tarea.getDescripcion(), tarea.getComentarios(),
+                    Collections.emptyList()));
+            return;
+        }
+        // Tarea ya indexada: sus comentarios no vienen en la Tarea y se releen fuera de este hilo
+        programarReindexado(tarea);
+    }
+
+    private void programarReindexado(Tarea tarea) {
+        Reindexado reindexado = new Reindexado(tarea);
+        reindexados.put(tarea.getId(), reindexado);
+        ejecutor.execute(() -> reindexar(reindexado));
+    }
+
+    /**
+     * Relee los comentarios de una tarea actualizada y reemplaza su documento,
+     * salvo que mientras tanto haya llegado otro aviso de la misma tarea.
+     */
+    private void reindexar(Reindexado reindexado) {
+        int idTarea = reindexado.tarea.getId();
+        synchronized (this) {
+            if (reindexados.get(idTarea) != reindexado) {
+                return;
+            }
+        }
+        List<String> comentarios;
+        try (Connection conn = MedicionJDBC.obtenerConexion("IndiceTextoTareas.tareaGuardada")) {
+            comentarios = leerComentarios(conn, Collections.singletonList(idTarea))
+                    .getOrDefault(idTarea, Collections.emptyList());
+        } catch (SQLException e) {
+            System.err.println("Error al leer comentarios para el índice de texto de tareas: " + e.getMessage());
+            comentarios = Collections.emptyList();
+        }
+        synchronized (this) {
+            if (reindexados.get(idTarea) != reindexado) {
+                return;
+            }
+            reindexados.remove(idTarea);
+            Tarea tarea = reindexado.tarea;
+            if (!cargado) {
+                pendientes.add(idTarea);
+                return;
+            }
+            reemplazar(idTarea, textos(tarea.getNombre(), tarea.getDescripcion(), tarea.getComentarios(), comentarios));
+        }
+    }
+
+    @Override
+    public synchronized void comentarioAgregado(int idTarea, String comentario) {
+        if (!cargado) {
+            pendientes.add(idTarea);
+            return;
+        }
+        Reindexado reindexado = reindexados.get(idTarea);
+        if (reindexado != null) {
+            // La relectura en curso puede no ver el comentario: se vuelve a leer
+            programarReindexado(reindexado.tarea);
+            return;
+        }
+        if (!documentos.get(idTarea)) {
+            // La tarea no estaba indexada: el comentario es todo su texto conocido
+            reemplazar(idTarea, comentario);
+            return;
+        }
+        // Los comentarios solo crecen: se suman los términos nuevos sin invalidar el segmento base
+        DocumentoVivo documento = vivos.computeIfAbsent(idTarea, id -> new DocumentoVivo());
+        tokenizar(comentario, documento::agregar);
+        compactarSiHaceFalta();
+    }
+
+    @Override
+    public synchronized void tareaEliminada(int idTarea) {
+        reindexados.remove(idTarea);
+        if (!cargado) {
+            pendientes.add(idTarea);
+            return;
+        }
+        eliminarDocumento(idTarea);
+    }
+
+    private void reemplazar(int idTarea, String... textos) {
+        eliminarDocumento(idTarea);
+        DocumentoVivo documento = new DocumentoVivo();
+        for (String texto : textos) {
+            tokenizar(texto, documento::agregar);
+        }
+        vivos.put(idTarea, documento);
+        documentos.set(idTarea);
+        numDocumentos++;
+        compactarSiHaceFalta();
+    }
+
+    private void eliminarDocumento(int idTarea) {
+        if (documentos.get(idTarea)) {
+            documentos.clear(idTarea);
+            numDocumentos--;
+            obsoletas.set(idTarea);
+        }
+        vivos.remove(idTarea);
+    }
+
+    private void compactarSiHaceFalta() {
+        if (vivos.size() >= UMBRAL_COMPACTACION) {
+            compactar();
+        }
+    }
+
+    // ========================================
+    // CARGA, RECONSTRUCCIÓN Y PERSISTENCIA
+    // ========================================
+
+    /**
+     * Carga el índice si aún no se ha cargado: desde el archivo, si existe y
+     * cuadra con la tabla, o reconstruyéndolo con un escaneo de la tabla.
+     * @return true si el índice quedó cargado.
+     */
+    public synchronized boolean asegurarCargado() {
+        if (cargado) {
+            return true;
+        }
+        if (archivo != null && Files.isRegularFile(archivo) && cargarArchivo() && sincronizar()) {
+            cargado = true;
+            pendientes.clear();
+            return true;
+        }
+        return reconstruir();
+    }
+
+    /**
+     * Indica si el índice ya está cargado.
+     * @return true si se cargó o se reconstruyó.
+     */
+    public synchronized boolean estaCargado() {
+        return cargado;
+    }
+
+    /**
+     * Vuelve a construir el índice leyendo completas las tablas tareas y comentarios_tarea.
+     * @return true si se reconstruyó; false si hubo error (el índice anterior se conserva).
+     */
+    public synchronized boolean reconstruir() {
+        Constructor constructor = new Constructor();
+        try (Connection conn = MedicionJDBC.obtenerConexion("IndiceTextoTareas.reconstruir")) {
+            escanear(conn, 0, constructor::agregar);
+        } catch (SQLException e) {
+            System.err.println("Error al reconstruir el índice de texto de tareas: " + e.getMessage());
+            return false;
+        }
+
+        base = constructor.construir();
+        obsoletas.clear();
+        vivos.clear();
+        documentos.clear();
+        documentos.or(constructor.documentos);
+        numDocumentos = constructor.documentos.cardinality();
+        pendientes.clear();
+        cargado = true;
+        return true;
+    }
+
+    /**
+     * Fusiona las tareas escritas desde la última compactación con el segmento base.
+     */
+    public synchronized void compactar() {
+        if (vivos.isEmpty() && obsoletas.isEmpty()) {
+            return;
+        }
+
+        // Listas de las tareas vivas por término, ordenadas por ID
+        TreeMap<String, Postings> porTermino = vivosPorTermino(t -> true);
+        String[] terminosVivos = porTermino.keySet().toArray(new String[0]);
+
+        EscritorVarint salida = new EscritorVarint(base.postings.limit() + porTermino.size() * 8);
+        List<String> terminos = new ArrayList<>();
+        List<Integer> frecuencias = new ArrayList<>();
+        List<Integer> desplazamientos = new ArrayList<>();
+
+        int i = 0;
+        int j = 0;
+        while (i < base.terminos.length || j < terminosVivos.length) {
+            int comparacion = i == base.terminos.length ? 1
+                    : j == terminosVivos.length ? -1
+                    : base.terminos[i].compareTo(terminosVivos[j]);
+            String termino = comparacion <= 0 ? base.terminos[i] : terminosVivos[j];
+            int inicio = salida.longitud();
+            int df;
+
+            if (comparacion < 0 && obsoletas.isEmpty()) {
+                // Sin cambios: se copian los bytes tal cual
+                salida.copiar(base.postings, base.desplazamientos[i], base.desplazamientos[i + 1]);
+                df = base.frecuencias[i];
+            } else {
+                Postings enBase = comparacion <= 0 ? base.leer(i, obsoletas, null) : Postings.VACIA;
+                Postings enVivos = comparacion >= 0 ? porTermino.get(terminosVivos[j]) : Postings.VACIA;
+                Postings combinadas = Postings.sumar(enBase, enVivos);
+                df = combinadas.tamano;
+                int anterior = 0;
+                for (int k = 0; k < combinadas.tamano; k++) {
+                    salida.escribir(combinadas.ids[k] - anterior);
+                    salida.escribir(combinadas.frecuencias[k]);
+                    anterior = combinadas.ids[k];
+                }
+            }
+
+            if (df > 0) {
+                terminos.add(termino);
+                frecuencias.add(df);
+                desplazamientos.add(inicio);
+            }
+            if (comparacion <= 0) {
+                i++;
+            }
+            if (comparacion >= 0) {
+                j++;
+            }
+        }
+        desplazamientos.add(salida.longitud());
+
+        base = new Segmento(terminos.toArray(new String[0]),
+                frecuencias.stream().mapToInt(Integer::intValue).toArray(),
+                desplazamientos.stream().mapToInt(Integer::intValue).toArray(),
+                salida.aByteBuffer());
+        vivos.clear();
+        obsoletas.clear();
+    }
+
+    /**
+     * Compacta el índice y lo guarda en su archivo, reemplazándolo de forma atómica.
+     * @return true si se guardó; false si no hay archivo, el índice no está cargado o hubo error.
+     */
+    public synchronized boolean guardar() {
+        if (archivo == null || !cargado) {
+            return false;
+        }
+        compactar();
+
+        try {
+            Path directorio = archivo.toAbsolutePath().getParent();
+            if (directorio != null) {
+                Files.createDirectories(directorio);
+            }
+            Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+            try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(temporal)))) {
+                escribir(salida);
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error al guardar el índice de texto de tareas: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Formato: cabecera, IDs de tareas indexadas (bitset), diccionario de
+     * términos (ordenado) y las listas comprimidas, que se leen directamente
+     * del archivo mapeado.
+     */
+    private void escribir(DataOutputStream salida) throws IOException {
+        long[] bits = documentos.toLongArray();
+        salida.writeInt(MAGIA);
+        salida.writeInt(VERSION);
+        salida.writeInt(bits.length);
+        for (long palabra : bits) {
+            salida.writeLong(palabra);
+        }
+        salida.writeInt(base.terminos.length);
+        for (int i = 0; i < base.terminos.length; i++) {
+            byte[] bytes = base.terminos[i].getBytes(StandardCharsets.UTF_8);
+            salida.writeShort(bytes.length);
+            salida.write(bytes);
+            salida.writeInt(base.frecuencias[i]);
+            salida.writeInt(base.desplazamientos[i]);
+        }
+        int tamano = base.desplazamientos[base.terminos.length];
+        salida.writeInt(tamano);
+        ByteBuffer postings = base.postings.duplicate();
+        postings.position(0).limit(tamano);
+        if (postings.hasArray()) {
+            salida.write(postings.array(), postings.arrayOffset(), tamano);
+        } else {
+            byte[] bloque = new byte[64 * 1024];
+            while (postings.hasRemaining()) {
+                int n = Math.min(bloque.length, postings.remaining());
+                postings.get(bloque, 0, n);
+                salida.write(bloque, 0, n);
+            }
+        }
+    }
+
+    private boolean cargarArchivo() {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            ByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (buffer.getInt() != MAGIA || buffer.getInt() != VERSION) {
+                System.err.println("Índice de texto de tareas con formato desconocido: " + archivo);
+                return false;
+            }
+            long[] bits = new long[buffer.getInt()];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = buffer.getLong();
+            }
+            int numTerminos = buffer.getInt();
+            String[] terminos = new String[numTerminos];
+            int[] frecuencias = new int[numTerminos];
+            int[] desplazamientos = new int[numTerminos + 1];
+            for (int i = 0; i < numTerminos; i++) {
+                byte[] bytes = new byte[buffer.getShort()];
+                buffer.get(bytes);
+                terminos[i] = new String(bytes, StandardCharsets.UTF_8);
+                frecuencias[i] = buffer.getInt();
+                desplazamientos[i] = buffer.getInt();
+            }
+            int tamano = buffer.getInt();
+            desplazamientos[numTerminos] = tamano;
+            // Las listas se quedan en el archivo mapeado: no se copian al heap
+            ByteBuffer postings = buffer.slice(buffer.position(), tamano);
+
+            base = new Segmento(terminos, frecuencias, desplazamientos, postings);
+            obsoletas.clear();
+            vivos.clear();
+            documentos.clear();
+            documentos.or(BitSet.valueOf(bits));
+            numDocumentos = documentos.cardinality();
+            return true;
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            System.err.println("Error al cargar el índice de texto de tareas: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lleva el índice recién cargado al estado de la tabla: indexa las tareas
+     * creadas después de guardarlo y vuelve a leer las escritas en esta
+     * ejecución antes de cargarlo.
+     * @return false si la tabla no cuadra con el índice y hay que reconstruirlo.
+     */
+    private boolean sincronizar() {
+        int ultimoId = documentos.length() - 1;
+        // Una sola conexión para todo: el escaneo termina antes de las demás consultas
+        try (Connection conn = MedicionJDBC.obtenerConexion("IndiceTextoTareas.asegurarCargado")) {
+            escanear(conn, Math.max(ultimoId, 0), this::reemplazar);
+
+            List<Integer> ids = new ArrayList<>(pendientes);
+            for (int desde = 0; desde < ids.size(); desde += IDS_POR_CONSULTA) {
+                List<Integer> bloque = ids.subList(desde, Math.min(ids.size(), desde + IDS_POR_CONSULTA));
+                Set<Integer> encontradas = new HashSet<>();
+                Map<Integer, List<String>> comentarios = leerComentarios(conn, bloque);
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT id, nombre, descripcion, comentarios FROM tareas WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(bloque.size(), "?")) + ")")) {
+                    for (int k = 0; k < bloque.size(); k++) {
+                        stmt.setInt(k + 1, bloque.get(k));
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            int id = rs.getInt("id");
+                            encontradas.add(id);
+                            reemplazar(id, textos(rs.getString("nombre"), rs.getString("descripcion"),
+                                    rs.getString("comentarios"), comentarios.getOrDefault(id, Collections.emptyList())));
+                        }
+                    }
+                }
+                for (Integer id : bloque) {
+                    if (!encontradas.contains(id)) {
+                        eliminarDocumento(id);
+                    }
+                }
+            }
+
+            // Si el número de tareas no cuadra, la tabla cambió fuera de esta aplicación
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(SQL_RESUMEN)) {
+                return rs.next() && rs.getInt(1) == numDocumentos;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al sincronizar el índice de texto de tareas: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lee los comentarios de las tareas indicadas.
+     * @param conn Conexión abierta.
+     * @param ids IDs de las tareas (como mucho IDS_POR_CONSULTA).
+     * @return Textos de los comentarios por ID de tarea.
+     */
+    private static Map<Integer, List<String>> leerComentarios(Connection conn, List<Integer> ids) throws SQLException {
+        Map<Integer, List<String>> comentarios = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT id_tarea, texto FROM comentarios_tarea WHERE id_tarea IN ("
+                + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")")) {
+            for (int k = 0; k < ids.size(); k++) {
+                stmt.setInt(k + 1, ids.get(k));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    comentarios.computeIfAbsent(rs.getInt("id_tarea"), id -> new ArrayList<>()).add(rs.getString("texto"));
+                }
+            }
+        }
+        return comentarios;
+    }
+
+    private static String[] textos(String nombre, String descripcion, String notas, List<String> comentarios) {
+        String[] textos = new String[3 + comentarios.size()];
+        textos[0] = nombre;
+        textos[1] = descripcion;
+        textos[2] = notas;
+        for (int i = 0; i < comentarios.size(); i++) {
+            textos[3 + i] = comentarios.get(i);
+        }
+        return textos;
+    }
+
+    /**
+     * Recibe cada tarea leída por escanear() con sus textos.
+     */
+    @FunctionalInterface
+    private interface DestinoTextos {
+        void agregar(int idTarea, String... textos);
+    }
+
+    /**
+     * Lee las tareas con ID mayor al indicado, con sus comentarios, en orden de ID.
+     * En MySQL las filas se transmiten de a una (fetchSize MIN_VALUE), así que
+     * la conexión no admite otra consulta hasta que termina el escaneo.
+     * @param conn Conexión abierta.
+     * @param desdeId Se leen las tareas con ID mayor a este.
+     * @param destino Recibe cada tarea una sola vez.
+     */
+    private static void escanear(Connection conn, int desdeId, DestinoTextos destino) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_ESCANEO,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(MedicionJDBC.esMySQL(conn) ? Integer.MIN_VALUE : TAMANO_FETCH);
+            stmt.setInt(1, desdeId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                int actual = -1;
+                String nombre = null;
+                String descripcion = null;
+                String notas = null;
+                List<String> comentarios = new ArrayList<>();
+                while (rs.next()) {
+                    int id = rs.getInt(1);
+                    if (id != actual) {
+                        if (actual >= 0) {
+                            destino.agregar(actual, textos(nombre, descripcion, notas, comentarios));
+                        }
+                        actual = id;
+                        nombre = rs.getString(2);
+                        descripcion = rs.getString(3);
+                        notas = rs.getString(4);
+                        comentarios.clear();
+                    }
+                    String comentario = rs.getString(5);
+                    if (comentario != null) {
+                        comentarios.add(comentario);
+                    }
+                }
+                if (actual >= 0) {
+                    destino.agregar(actual, textos(nombre, descripcion, notas, comentarios));
+                }
+            }
+        }
+    }
+
+    // ========================================
+    // CONSULTAS
+    // ========================================
+
+    /**
+     * Busca tareas por palabras de su nombre, descripción o comentarios.
+     * @param consulta Palabras a buscar (ver la descripción de la clase).
+     * @param limite Número máximo de resultados.
+     * @return Resultados ordenados de mayor a menor relevancia.
+     */
+    public synchronized List<Resultado> buscar(String consulta, int limite) {
+        List<Resultado> resultados = new ArrayList<>();
+        if (consulta == null || limite <= 0 || !asegurarCargado()) {
+            return resultados;
+        }
+
+        Puntuaciones total = null;
+        for (List<Clausula> alternativa : analizarConsulta(consulta)) {
+            // De la cláusula más rara a la más común: las siguientes solo decodifican hasta agotar las candidatas
+            alternativa.sort(Comparator.comparingLong(this::estimarFrecuencia));
+            Puntuaciones parcial = null;
+            for (Clausula clausula : alternativa) {
+                Puntuaciones puntuaciones = evaluar(clausula, parcial);
+                parcial = parcial == null ? puntuaciones : Puntuaciones.intersecar(parcial, puntuaciones);
+                if (parcial.tamano == 0) {
+                    break;
+                }
+            }
+            if (parcial != null) {
+                total = total == null ? parcial : Puntuaciones.unir(total, parcial);
+            }
+        }
+        if (total == null) {
+            return resultados;
+        }
+
+        // Los "limite" mejores con un montículo: puntuación en los 32 bits altos, desempate por ID menor
+        PriorityQueue<Long> mejores = new PriorityQueue<>(Math.min(limite, total.tamano) + 1);
+        long minimo = Long.MIN_VALUE;
+        for (int i = 0; i < total.tamano; i++) {
+            long clave = ((long) Float.floatToIntBits(total.puntos[i]) << 32)
+                    | (Integer.MAX_VALUE - total.ids[i]);
+            if (clave <= minimo) {
+                continue;
+            }
+            mejores.add(clave);
+            if (mejores.size() > limite) {
+                mejores.poll();
+            }
+            if (mejores.size() == limite) {
+                minimo = mejores.peek();
+            }
+        }
+        while (!mejores.isEmpty()) {
+            long clave = mejores.poll();
+            resultados.add(new Resultado(Integer.MAX_VALUE - (int) clave, Float.intBitsToFloat((int) (clave >>> 32))));
+        }
+        Collections.reverse(resultados);
+        return resultados;
+    }
+
+    /**
+     * Número de tareas indexadas.
+     * @return Tareas presentes en el índice.
+     */
+    public synchronized int contarDocumentos() {
+        return numDocumentos;
+    }
+
+    /**
+     * Tareas del segmento base que contienen la cláusula (suma de las de cada término, si es un prefijo).
+     */
+    private long estimarFrecuencia(Clausula clausula) {
+        if (!clausula.prefijo) {
+            int i = Arrays.binarySearch(base.terminos, clausula.termino);
+            return i >= 0 ? base.frecuencias[i] : 0;
+        }
+        long total = 0;
+        int hasta = Math.min(base.posicion(clausula.termino + Character.MAX_VALUE),
+                base.posicion(clausula.termino) + MAX_TERMINOS_PREFIJO);
+        for (int i = base.posicion(clausula.termino); i < hasta; i++) {
+            total += base.frecuencias[i];
+        }
+        return total;
+    }
+
+    /**
+     * Puntuaciones de las tareas que contienen la cláusula.
+     * @param candidatas Si no es null, solo interesan estas tareas (el resultado puede incluir otras).
+     */
+    private Puntuaciones evaluar(Clausula clausula, Puntuaciones candidatas) {
+        Predicate<String> coincide = clausula.prefijo
+                ? t -> t.startsWith(clausula.termino)
+                : t -> t.equals(clausula.termino);
+        TreeMap<String, Postings> enVivos = vivosPorTermino(coincide);
+
+        // Términos que coinciden, en orden, combinando el segmento base y las tareas vivas
+        TreeMap<String, Integer> coincidentes = new TreeMap<>();
+        int desde;
+        int hasta;
+        if (clausula.prefijo) {
+            desde = base.posicion(clausula.termino);
+            hasta = base.posicion(clausula.termino + Character.MAX_VALUE);
+        } else {
+            desde = Arrays.binarySearch(base.terminos, clausula.termino);
+            hasta = desde + 1;
+        }
+        for (int i = Math.max(desde, 0); i < hasta && coincidentes.size() < MAX_TERMINOS_PREFIJO; i++) {
+            coincidentes.put(base.terminos[i], i);
+        }
+        for (String termino : enVivos.keySet()) {
+            coincidentes.putIfAbsent(termino, -1);
+        }
+
+        Puntuaciones resultado = Puntuaciones.VACIAS;
+        int usados = 0;
+        for (Map.Entry<String, Integer> entrada : coincidentes.entrySet()) {
+            if (usados++ == MAX_TERMINOS_PREFIJO) {
+                break;
+            }
+            int i = entrada.getValue();
+            Postings postings = Postings.sumar(i >= 0 ? base.leer(i, obsoletas, candidatas) : Postings.VACIA,
+                    enVivos.getOrDefault(entrada.getKey(), Postings.VACIA));
+            int df = (i >= 0 ? base.frecuencias[i] : 0) + enVivos.getOrDefault(entrada.getKey(), Postings.VACIA).tamano;
+            double idf = Math.log(1 + (Math.max(numDocumentos - df, 0) + 0.5) / (df + 0.5));
+            resultado = Puntuaciones.unir(resultado, Puntuaciones.desde(postings, idf));
+        }
+        return resultado;
+    }
+
+    /**
+     * Listas de las tareas vivas por término, para los términos aceptados por el filtro.
+     */
+    private TreeMap<String, Postings> vivosPorTermino(Predicate<String> filtro) {
+        TreeMap<String, Postings> porTermino = new TreeMap<>();
+        Integer[] ids = vivos.keySet().toArray(new Integer[0]);
+        Arrays.sort(ids);
+        for (Integer id : ids) {
+            for (Map.Entry<String, Integer> entrada : vivos.get(id).frecuencias.entrySet()) {
+                if (filtro.test(entrada.getKey())) {
+                    porTermino.computeIfAbsent(entrada.getKey(), t -> new Postings())
+                            .agregar(id, entrada.getValue());
+                }
+            }
+        }
+        return porTermino;
+    }
+
+    /**
+     * Separa la consulta en alternativas (OR) de cláusulas que deben cumplirse todas (AND).
+     */
+    static List<List<Clausula>> analizarConsulta(String consulta) {
+        List<List<Clausula>> alternativas = new ArrayList<>();
+        List<Clausula> actual = new ArrayList<>();
+        for (String palabra : consulta.trim().split("\\s+")) {
+            if (palabra.equals("OR") || palabra.equals("|")) {
+                if (!actual.isEmpty()) {
+                    alternativas.add(actual);
+                    actual = new ArrayList<>();
+                }
+                continue;
+            }
+            boolean prefijo = palabra.endsWith("*");
+            List<String> terminos = new ArrayList<>();
+            tokenizar(prefijo ? palabra.substring(0, palabra.length() - 1) : palabra, terminos::add);
+            for (int i = 0; i < terminos.size(); i++) {
+                // El prefijo solo aplica a la última parte de la palabra ("e-mai*" busca "e" y "mai*")
+                actual.add(new Clausula(terminos.get(i), prefijo && i == terminos.size() - 1));
+            }
+        }
+        if (!actual.isEmpty()) {
+            alternativas.add(actual);
+        }
+        return alternativas;
+    }
+
+    /**
+     * Normaliza el texto (minúsculas, sin tildes) y entrega sus términos.
+     * @param texto Texto a separar (puede ser null).
+     * @param destino Recibe cada término, en orden y con repeticiones.
+     */
+    static void tokenizar(String texto, Consumer<String> destino) {
+        if (texto == null || texto.isEmpty()) {
+            return;
+        }
+        String normalizado = normalizar(texto);
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean parteDePalabra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (parteDePalabra && inicio < 0) {
+                inicio = i;
+            } else if (!parteDePalabra && inicio >= 0) {
+                if (i - inicio >= LONGITUD_MINIMA) {
+                    destino.accept(normalizado.substring(inicio, Math.min(i, inicio + LONGITUD_MAXIMA)));
+                }
+                inicio = -1;
+            }
+        }
+    }
+
+    private static String normalizar(String texto) {
+        boolean ascii = true;
+        for (int i = 0; i < texto.length() && ascii; i++) {
+            ascii = texto.charAt(i) < 128;
+        }
+        if (!ascii) {
+            texto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+            StringBuilder sinMarcas = new StringBuilder(texto.length());
+            for (int i = 0; i < texto.length(); i++) {
+                char c = texto.charAt(i);
+                if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                    sinMarcas.append(c);
+                }
+            }
+            texto = sinMarcas.toString();
+        }
+        return texto.toLowerCase(Locale.ROOT);
+    }
+
+    // ========================================
+    // ESTRUCTURAS INTERNAS
+    // ========================================
+
+    static final class Clausula {
+        final String termino;
+        final boolean prefijo;
+
+        Clausula(String termino, boolean prefijo) {
+            this.termino = termino;
+            this.prefijo = prefijo;
+        }
+    }
+
+    /**
+     * Términos de una tarea escrita desde la última compactación. Si la tarea
+     * no está marcada como obsoleta, son términos agregados (comentarios) que
+     * se suman a los del segmento base.
+     */
+    private static final class DocumentoVivo {
+        final Map<String, Integer> frecuencias = new HashMap<>();
+
+        void agregar(String termino) {
+            frecuencias.merge(termino, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Segmento inmutable: términos ordenados y, para cada uno, sus pares
+     * (delta de ID, frecuencia) como enteros de longitud variable.
+     */
+    private static final class Segmento {
+        static final Segmento VACIO = new Segmento(new String[0], new int[0], new int[]{0}, ByteBuffer.allocate(0));
+
+        final String[] terminos;
+        final int[] frecuencias;
+        final int[] desplazamientos;
+        final ByteBuffer postings;
+
+        Segmento(String[] terminos, int[] frecuencias, int[] desplazamientos, ByteBuffer postings) {
+            this.terminos = terminos;
+            this.frecuencias = frecuencias;
+            this.desplazamientos = desplazamientos;
+            this.postings = postings;
+        }
+
+        /** Posición del primer término mayor o igual que el indicado. */
+        int posicion(String termino) {
+            int i = Arrays.binarySearch(terminos, termino);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        /**
+         * Decodifica la lista del término i, omitiendo las tareas obsoletas y,
+         * si se indican candidatas, las que no están entre ellas.
+         */
+        Postings leer(int i, BitSet obsoletas, Puntuaciones candidatas) {
+            Postings resultado = new Postings(candidatas == null ? frecuencias[i]
+                    : Math.min(frecuencias[i], candidatas.tamano));
+            ByteBuffer datos = postings;
+            boolean filtrarObsoletas = !obsoletas.isEmpty();
+            int posicion = desplazamientos[i];
+            int fin = desplazamientos[i + 1];
+            int id = 0;
+            int c = 0;
+            while (posicion < fin) {
+                // Casi todos los valores caben en un byte
+                int valor = datos.get(posicion++);
+                if (valor < 0) {
+                    valor &= 0x7F;
+                    int desplazamiento = 7;
+                    byte b;
+                    do {
+                        b = datos.get(posicion++);
+                        valor |= (b & 0x7F) << desplazamiento;
+                        desplazamiento += 7;
+                    } while (b < 0);
+                }
+                id += valor;
+
+                int frecuencia = datos.get(posicion++);
+                if (frecuencia < 0) {
+                    frecuencia &= 0x7F;
+                    int desplazamiento = 7;
+                    byte b;
+                    do {
+                        b = datos.get(posicion++);
+                        frecuencia |= (b & 0x7F) << desplazamiento;
+                        desplazamiento += 7;
+                    } while (b < 0);
+                }
+
+                if (candidatas != null) {
+                    while (c < candidatas.tamano && candidatas.ids[c] < id) {
+                        c++;
+                    }
+                    if (c == candidatas.tamano) {
+                        break;
+                    }
+                    if (candidatas.ids[c] != id) {
+                        continue;
+                    }
+                }
+                if (!filtrarObsoletas || !obsoletas.get(id)) {
+                    resultado.agregar(id, frecuencia);
+                }
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Lista de IDs ordenados con la frecuencia del término en cada tarea.
+     */
+    private static final class Postings {
+        static final Postings VACIA = new Postings(0);
+
+        int[] ids;
+        int[] frecuencias;
+        int tamano;
+
+        Postings() {
+            this(8);
+        }
+
+        Postings(int capacidad) {
+            ids = new int[capacidad];
+            frecuencias = new int[capacidad];
+        }
+
+        void agregar(int id, int frecuencia) {
+            if (tamano == ids.length) {
+                int capacidad = Math.max(8, ids.length * 2);
+                ids = Arrays.copyOf(ids, capacidad);
+                frecuencias = Arrays.copyOf(frecuencias, capacidad);
+            }
+            ids[tamano] = id;
+            frecuencias[tamano] = frecuencia;
+            tamano++;
+        }
+
+        /** Mezcla dos listas ordenadas sumando las frecuencias de las tareas comunes. */
+        static Postings sumar(Postings a, Postings b) {
+            if (b.tamano == 0) {
+                return a;
+            }
+            if (a.tamano == 0) {
+                return b;
+            }
+            Postings resultado = new Postings(a.tamano + b.tamano);
+            int i = 0;
+            int j = 0;
+            while (i < a.tamano || j < b.tamano) {
+                if (j == b.tamano || (i < a.tamano && a.ids[i] < b.ids[j])) {
+                    resultado.agregar(a.ids[i], a.frecuencias[i++]);
+                } else if (i == a.tamano || b.ids[j] < a.ids[i]) {
+                    resultado.agregar(b.ids[j], b.frecuencias[j++]);
+                } else {
+                    resultado.agregar(a.ids[i], a.frecuencias[i++] + b.frecuencias[j++]);
+                }
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * IDs ordenados con su puntuación acumulada.
+     */
+    private static final class Puntuaciones {
+        static final Puntuaciones VACIAS = new Puntuaciones(new int[0], new float[0], 0);
+
+        final int[] ids;
+        final float[] puntos;
+        final int tamano;
+
+        Puntuaciones(int[] ids, float[] puntos, int tamano) {
+            this.ids = ids;
+            this.puntos = puntos;
+            this.tamano = tamano;
+        }
+
+        static Puntuaciones desde(Postings postings, double idf) {
+            // Casi todas las frecuencias son pequeñas: se precalcula su puntuación
+            float[] porFrecuencia = new float[32];
+            for (int tf = 0; tf < porFrecuencia.length; tf++) {
+                porFrecuencia[tf] = (float) (idf * tf * (K1 + 1) / (tf + K1));
+            }
+            float[] puntos = new float[postings.tamano];
+            for (int i = 0; i < postings.tamano; i++) {
+                int tf = postings.frecuencias[i];
+                puntos[i] = tf < porFrecuencia.length ? porFrecuencia[tf] : (float) (idf * tf * (K1 + 1) / (tf + K1));
+            }
+            return new Puntuaciones(postings.ids, puntos, postings.tamano);
+        }
+
+        static Puntuaciones unir(Puntuaciones a, Puntuaciones b) {
+            if (a.tamano == 0) {
+                return b;
+            }
+            if (b.tamano == 0) {
+                return a;
+            }
+            int[] ids = new int[a.tamano + b.tamano];
+            float[] puntos = new float[ids.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.tamano || j < b.tamano) {
+                if (j == b.tamano || (i < a.tamano && a.ids[i] < b.ids[j])) {
+                    ids[n] = a.ids[i];
+                    puntos[n++] = a.puntos[i++];
+                } else if (i == a.tamano || b.ids[j] < a.ids[i]) {
+                    ids[n] = b.ids[j];
+                    puntos[n++] = b.puntos[j++];
+                } else {
+                    ids[n] = a.ids[i];
+                    puntos[n++] = a.puntos[i++] + b.puntos[j++];
+                }
+            }
+            return new Puntuaciones(ids, puntos, n);
+        }
+
+        static Puntuaciones intersecar(Puntuaciones a, Puntuaciones b) {
+            int[] ids = new int[Math.min(a.tamano, b.tamano)];
+            float[] puntos = new float[ids.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < a.tamano && j < b.tamano) {
+                if (a.ids[i] < b.ids[j]) {
+                    i++;
+                } else if (b.ids[j] < a.ids[i]) {
+                    j++;
+                } else {
+                    ids[n] = a.ids[i];
+                    puntos[n++] = a.puntos[i++] + b.puntos[j++];
+                }
+            }
+            return new Puntuaciones(ids, puntos, n);
+        }
+    }
+
+    /**
+     * Construcción masiva a partir de tareas recibidas en orden de ID.
+     */
+    private static final class Constructor {
+        final Map<String, ListaEnConstruccion> listas = new HashMap<>();
+        final BitSet documentos = new BitSet();
+        final Map<String, Integer> frecuencias = new HashMap<>();
+
+        void agregar(int id, String... textos) {
+            frecuencias.clear();
+            for (String texto : textos) {
+                tokenizar(texto, t -> frecuencias.merge(t, 1, Integer::sum));
+            }
+            for (Map.Entry<String, Integer> entrada : frecuencias.entrySet()) {
+                ListaEnConstruccion lista = listas.computeIfAbsent(entrada.getKey(), t -> new ListaEnConstruccion());
+                lista.bytes.escribir(id - lista.ultimoId);
+                lista.bytes.escribir(entrada.getValue());
+                lista.ultimoId = id;
+                lista.tareas++;
+            }
+            documentos.set(id);
+        }
+
+        Segmento construir() {
+            String[] terminos = listas.keySet().toArray(new String[0]);
+            Arrays.sort(terminos);
+            int[] frecuenciasDoc = new int[terminos.length];
+            int[] desplazamientos = new int[terminos.length + 1];
+            long total = 0;
+            for (ListaEnConstruccion lista : listas.values()) {
+                total += lista.bytes.longitud();
+            }
+            EscritorVarint salida = new EscritorVarint((int) Math.min(total, Integer.MAX_VALUE - 8));
+            for (int i = 0; i < terminos.length; i++) {
+                ListaEnConstruccion lista = listas.get(terminos[i]);
+                desplazamientos[i] = salida.longitud();
+                frecuenciasDoc[i] = lista.tareas;
+                salida.copiar(ByteBuffer.wrap(lista.bytes.bytes), 0, lista.bytes.longitud());
+            }
+            desplazamientos[terminos.length] = salida.longitud();
+            return new Segmento(terminos, frecuenciasDoc, desplazamientos, salida.aByteBuffer());
+        }
+    }
+
+    private static final class ListaEnConstruccion {
+        final EscritorVarint bytes = new EscritorVarint(16);
+        int ultimoId;
+        int tareas;
+    }
+
+    /**
+     * Arreglo de bytes que crece, con escritura de enteros de longitud variable.
+     */
+    private static final class EscritorVarint {
+        byte[] bytes;
+        int longitud;
+
+        EscritorVarint(int capacidad) {
+            bytes = new byte[Math.max(capacidad, 16)];
+        }
+
+        int longitud() {
+            return longitud;
+        }
+
+        void escribir(int valor) {
+            asegurar(5);
+            while ((valor & ~0x7F) != 0) {
+                bytes[longitud++] = (byte) ((valor & 0x7F) | 0x80);
+                valor >>>= 7;
+            }
+            bytes[longitud++] = (byte) valor;
+        }
+
+        void copiar(ByteBuffer origen, int desde, int hasta) {
+            asegurar(hasta - desde);
+            origen.get(desde, bytes, longitud, hasta - desde);
+            longitud += hasta - desde;
+        }
+
+        ByteBuffer aByteBuffer() {
+            return ByteBuffer.wrap(bytes, 0, longitud).slice();
+        }
+
+        private void asegurar(int adicional) {
+            if (longitud + adicional > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, longitud + adicional));
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Utilidades para consultas por lote con cláusulas IN.
+ */
+final class LotesSQL {
+    
+    // Número máximo de IDs por cláusula IN en las consultas por lote
+    static final int TAMANO_LOTE = 500;
+    
+    private LotesSQL() {
+    }
+    
+    /**
+     * Divide una colección de IDs en lotes de tamaño TAMANO_LOTE.
+     */
+    static List<List<Integer>> dividirEnLotes(Collection<Integer> ids) {
+        List<List<Integer>> lotes = new ArrayList<>();
+        List<Integer> actual = new ArrayList<>();
+        
+        for (Integer id : ids) {
+            actual.add(id);
+            if (actual.size() == TAMANO_LOTE) {
+                lotes.add(actual);
+                actual = new ArrayList<>();
+            }
+        }
+        
+        if (!actual.isEmpty()) {
+            lotes.add(actual);
+        }
+        
+        return lotes;
+    }
+    
+    /**
+     * Genera la lista de marcadores "?, ?, ..." para una cláusula IN.
+     */
+    static String marcadores(int cantidad) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cantidad; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,336 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.util.ConexionBD;
+import com.mycompany.sistemagestiondetareas.util.EventosJFR;
+import com.mycompany.sistemagestiondetareas.util.RegistroConsultasLentas;
+import com.mycompany.sistemagestiondetareas.util.RegistroMetricas;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mide el uso de la base de datos de cada método DAO.
+ *
+ * Los DAO obtienen la conexión con obtenerConexion("TareaDAO.listarTodas")
+ * en lugar de hacerlo directamente de ConexionBD. La conexión devuelta
+ * (MedidaConnection, con sus MedidaStatement, MedidaPreparedStatement y
+ * MedidaResultSet) delega todo en la real y registra en RegistroMetricas,
+ * etiquetado con el método DAO indicado (metodo="TareaDAO.listarTodas"):
+ * - dao_llamadas_total: usos de la conexión (uno por llamada; los métodos que
+ *   abren varias conexiones, como ProyectoDAO.buscarPorIds, cuentan una por cada una).
+ * - dao_errores_total: llamadas en las que JDBC lanzó una SQLException al
+ *   conectar, preparar, ejecutar, recorrer resultados o confirmar la transacción.
+ * - dao_filas_total: filas leídas con next() más filas afectadas por actualizaciones.
+ * - dao_latencia_segundos: tiempo desde que se pide la conexión hasta que se cierra.
+ *
+ * Además mide cada sentencia por separado (desde que se ejecuta hasta que se
+ * cierra ella o su ResultSet) y pasa a RegistroConsultasLentas las que superan
+ * el umbral, con su SQL, el método del controlador que la originó y sus
+ * parámetros (solo si RegistroConsultasLentas.isCapturarParametros()).
+ * Cada sentencia emite también un evento JFR EventosJFR.ConsultaDAO, que solo
+ * se registra si hay una grabación de Flight Recorder activa.
+ */
+final class MedicionJDBC {
+
+    private static final String PAQUETE_DAO = "com.mycompany.sistemagestiondetareas.dao.";
+    private static final String PAQUETE_CONTROLADORES = "com.mycompany.sistemagestiondetareas.controlador.";
+    private static final String PAQUETE_APLICACION = "com.mycompany.sistemagestiondetareas.";
+    private static final StackWalker PILA = StackWalker.getInstance();
+
+    private MedicionJDBC() {
+    }
+
+    /**
+     * Mediciones de una llamada; la usa solo el hilo que obtuvo la conexión.
+     */
+    static final class Medicion {
+        private final String metodo;
+        private final long inicio;
+        private long filas;
+        private boolean error;
+        private boolean terminada;
+
+        Medicion(String metodo, long inicio) {
+            this.metodo = metodo;
+            this.inicio = inicio;
+        }
+
+        /**
+         * Anota que la llamada tuvo un error de SQL.
+         * @param e Excepción lanzada por JDBC.
+         * @return La misma excepción, para relanzarla.
+         */
+        SQLException fallo(SQLException e) {
+            error = true;
+            return e;
+        }
+
+        void terminar() {
+            if (terminada) {
+                return;
+            }
+            terminada = true;
+            RegistroMetricas metricas = RegistroMetricas.global();
+            metricas.contador("dao_llamadas_total", "Llamadas a métodos DAO", "metodo", metodo).increment();
+            if (error) {
+                metricas.contador("dao_errores_total", "Llamadas a métodos DAO con error de SQL", "metodo", metodo).increment();
+            }
+            metricas.contador("dao_filas_total", "Filas leídas o modificadas por métodos DAO", "metodo", metodo).add(filas);
+            metricas.histograma("dao_latencia_segundos", "Duración de las llamadas a métodos DAO", "metodo", metodo)
+                    .registrarNanos(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Obtiene la conexión del hilo actual envuelta para medir su uso.
+     * @param metodo Método DAO público al que se atribuye la llamada, por ejemplo "TareaDAO.listarTodas".
+     * @return Conexión medida.
+     * @throws SQLException Si no se pudo conectar (se registra como error del método).
+     */
+    static Connection obtenerConexion(String metodo) throws SQLException {
+        Medicion medicion = new Medicion(metodo, System.nanoTime());
+        Connection conexion;
+        try {
+            conexion = ConexionBD.obtenerConexion();
+        } catch (SQLException e) {
+            medicion.fallo(e);
+            medicion.terminar();
+            throw e;
+        }
+        return new MedidaConnection(conexion, medicion);
+    }
+
+    /**
+     * Indica si la conexión es MySQL, que solo transmite filas de a una con fetchSize MIN_VALUE.
+     * @param conn Conexión abierta.
+     * @return true si el producto de la base de datos es MySQL.
+     */
+    static boolean esMySQL(Connection conn) {
+        try {
+            String producto = conn.getMetaData().getDatabaseProductName();
+            return producto != null && producto.toLowerCase(Locale.ROOT).contains("mysql");
+        } catch (SQLException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Método que originó la sentencia: el primero de un controlador en la pila o,
+     * si no hay ninguno (por ejemplo, desde una vista), el primero de la aplicación fuera de los DAO.
+     */
+    static String metodoControlador() {
+        return PILA.walk(marcos -> {
+            String alternativo = null;
+            for (StackWalker.StackFrame marco : (Iterable<StackWalker.StackFrame>) marcos::iterator) {
+                String clase = marco.getClassName();
+                if (clase.startsWith(PAQUETE_CONTROLADORES)) {
+                    return nombreCorto(marco);
+                }
+                if (alternativo == null && clase.startsWith(PAQUETE_APLICACION) && !clase.startsWith(PAQUETE_DAO)
+                        && !clase.startsWith(PAQUETE_APLICACION + "util.")) {
+                    alternativo = nombreCorto(marco);
+                }
+            }
+            return alternativo != null ? alternativo : "desconocido";
+        });
+    }
+
+    private static String nombreCorto(StackWalker.StackFrame marco) {
+        String clase = marco.getClassName();
+        return clase.substring(clase.lastIndexOf('.') + 1) + "." + marco.getMethodName();
+    }
+
+    /**
+     * Una ejecución de una sentencia: su SQL, los parámetros en el momento de
+     * ejecutarla, las filas y el instante de inicio.
+     */
+    static final class Ejecucion {
+        private final Medicion medicion;
+        private final Connection conexionReal;
+        private String sql;
+        // null si el registro de consultas lentas no pide los parámetros
+        private final Map<Integer, Object> parametros;
+        private Map<Integer, Object> parametrosEjecutados = Collections.emptyMap();
+        private long inicio;
+        private long filas;
+        private boolean enCurso;
+        private EventosJFR.ConsultaDAO evento;
+
+        Ejecucion(Medicion medicion, Connection conexionReal, String sql) {
+            this.medicion = medicion;
+            this.conexionReal = conexionReal;
+            this.sql = sql;
+            this.parametros = RegistroConsultasLentas.global().isCapturarParametros() ? new TreeMap<>() : null;
+        }
+
+        /**
+         * Guarda el valor asignado a un parámetro, si se están capturando.
+         * Las sobrecargas primitivas evitan crear el objeto cuando no.
+         */
+        void anotar(int indice, Object valor) {
+            if (parametros != null) {
+                parametros.put(indice, valor);
+            }
+        }
+
+        void anotar(int indice, boolean valor) {
+            if (parametros != null) {
+                parametros.put(indice, valor);
+            }
+        }
+
+        void anotar(int indice, int valor) {
+            if (parametros != null) {
+                parametros.put(indice, valor);
+            }
+        }
+
+        void anotar(int indice, long valor) {
+            if (parametros != null) {
+                parametros.put(indice, valor);
+            }
+        }
+
+        void anotar(int indice, float valor) {
+            if (parametros != null) {
+                parametros.put(indice, valor);
+            }
+        }
+
+        void anotar(int indice, double valor) {
+            if (parametros != null) {
+                parametros.put(indice, valor);
+            }
+        }
+
+        void limpiarParametros() {
+            if (parametros != null) {
+                parametros.clear();
+            }
+        }
+
+        void ejecutar(String sqlEjecutado) {
+            terminar();
+            if (sqlEjecutado != null) {
+                sql = sqlEjecutado;
+            }
+            parametrosEjecutados = parametros == null || parametros.isEmpty()
+                    ? Collections.emptyMap() : new TreeMap<>(parametros);
+            filas = 0;
+            evento = new EventosJFR.ConsultaDAO();
+            evento.begin();
+            inicio = System.nanoTime();
+            enCurso = true;
+        }
+
+        private void contarFilas(long cantidad) {
+            filas += cantidad;
+            medicion.filas += cantidad;
+        }
+
+        /**
+         * Cuenta una fila leída si next() avanzó.
+         * @param hayFila Resultado de next().
+         * @return El mismo resultado.
+         */
+        boolean contarFila(boolean hayFila) {
+            if (hayFila) {
+                filas++;
+                medicion.filas++;
+            }
+            return hayFila;
+        }
+
+        int contarActualizadas(int cantidad) {
+            contarFilas(Math.max(cantidad, 0));
+            return cantidad;
+        }
+
+        long contarActualizadas(long cantidad) {
+            contarFilas(Math.max(cantidad, 0));
+            return cantidad;
+        }
+
+        int[] contarActualizadas(int[] cantidades) {
+            for (int cantidad : cantidades) {
+                contarFilas(Math.max(cantidad, 0));
+            }
+            return cantidades;
+        }
+
+        long[] contarActualizadas(long[] cantidades) {
+            for (long cantidad : cantidades) {
+                contarFilas(Math.max(cantidad, 0));
+            }
+            return cantidades;
+        }
+
+        SQLException fallo(SQLException e) {
+            return medicion.fallo(e);
+        }
+
+        /**
+         * Cierra la ejecución en curso, emite su evento JFR y la anota si fue lenta.
+         */
+        void terminar() {
+            if (!enCurso) {
+                return;
+            }
+            enCurso = false;
+            long duracion = System.nanoTime() - inicio;
+            evento.registrar(medicion.metodo, sql, filas);
+            evento = null;
+            RegistroConsultasLentas registro = RegistroConsultasLentas.global();
+            if (sql == null || !registro.esLenta(duracion)) {
+                return;
+            }
+            RegistroMetricas.global().contador("dao_consultas_lentas_total",
+                    "Sentencias de los DAO que superaron el umbral de consulta lenta", "metodo", medicion.metodo).increment();
+            List<String> plan = registro.isCapturarPlan() && esSelect(sql) ? capturarPlan() : null;
+            registro.registrar(sql, parametrosEjecutados, duracion, filas,
+                    metodoControlador() + " (" + medicion.metodo + ")", plan);
+        }
+
+        private static boolean esSelect(String sql) {
+            return sql.trim().toUpperCase(Locale.ROOT).startsWith("SELECT");
+        }
+
+        /**
+         * Ejecuta EXPLAIN de la sentencia con los mismos parámetros, sobre la conexión real.
+         */
+        private List<String> capturarPlan() {
+            List<String> lineas = new ArrayList<>();
+            try (PreparedStatement explain = conexionReal.prepareStatement("EXPLAIN " + sql)) {
+                for (Map.Entry<Integer, Object> parametro : parametrosEjecutados.entrySet()) {
+                    explain.setObject(parametro.getKey(), parametro.getValue());
+                }
+                try (ResultSet rs = explain.executeQuery()) {
+                    ResultSetMetaData columnas = rs.getMetaData();
+                    StringBuilder encabezado = new StringBuilder();
+                    for (int i = 1; i <= columnas.getColumnCount(); i++) {
+                        encabezado.append(i > 1 ? " | " : "").append(columnas.getColumnLabel(i));
+                    }
+                    lineas.add(encabezado.toString());
+                    while (rs.next()) {
+                        StringBuilder fila = new StringBuilder();
+                        for (int i = 1; i <= columnas.getColumnCount(); i++) {
+                            fila.append(i > 1 ? " | " : "").append(rs.getString(i));
+                        }
+                        lineas.add(fila.toString());
+                    }
+                }
+            } catch (SQLException e) {
+                lineas.add("No se pudo obtener el plan: " + e.getMessage());
+            }
+            return lineas;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.ShardingKey;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * Conexión que delega en la real y mide su uso para MedicionJDBC: las
+ * sentencias que crea o prepara se devuelven como MedidaStatement o
+ * MedidaPreparedStatement, los errores al prepararlas o al confirmar la
+ * transacción se anotan en la medición y close() la termina.
+ *
+ * Las llamadas a procedimientos (prepareCall) no se miden.
+ */
+final class MedidaConnection implements Connection {
+
+    private final Connection conexion;
+    private final MedicionJDBC.Medicion medicion;
+
+    MedidaConnection(Connection conexion, MedicionJDBC.Medicion medicion) {
+        this.conexion = conexion;
+        this.medicion = medicion;
+    }
+
+    private Statement medir(Statement sentencia) {
+        return sentencia == null ? null
+                : new MedidaStatement(sentencia, new MedicionJDBC.Ejecucion(medicion, conexion, null));
+    }
+
+    private PreparedStatement medir(PreparedStatement sentencia, String sql) {
+        return sentencia == null ? null
+                : new MedidaPreparedStatement(sentencia, new MedicionJDBC.Ejecucion(medicion, conexion, sql));
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(conexion) ? iface.cast(conexion) : conexion.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(conexion) || conexion.isWrapperFor(iface);
+    }
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        try {
+            return medir(conexion.createStatement());
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        try {
+            return medir(conexion.prepareStatement(sql), sql);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return conexion.prepareCall(sql);
+    }
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        return conexion.nativeSQL(sql);
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        try {
+            conexion.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        return conexion.getAutoCommit();
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        try {
+            conexion.commit();
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        try {
+            conexion.rollback();
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            conexion.close();
+        } finally {
+            medicion.terminar();
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return conexion.isClosed();
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return conexion.getMetaData();
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        conexion.setReadOnly(readOnly);
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        return conexion.isReadOnly();
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        conexion.setCatalog(catalog);
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        return conexion.getCatalog();
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        conexion.setTransactionIsolation(level);
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        return conexion.getTransactionIsolation();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return conexion.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        conexion.clearWarnings();
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        try {
+            return medir(conexion.createStatement(resultSetType, resultSetConcurrency));
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        try {
+            return medir(conexion.prepareStatement(sql, resultSetType, resultSetConcurrency), sql);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return conexion.prepareCall(sql, resultSetType, resultSetConcurrency);
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return conexion.getTypeMap();
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        conexion.setTypeMap(map);
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        conexion.setHoldability(holdability);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return conexion.getHoldability();
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        return conexion.setSavepoint();
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return conexion.setSavepoint(name);
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        try {
+            conexion.rollback(savepoint);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        conexion.releaseSavepoint(savepoint);
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        try {
+            return medir(conexion.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        try {
+            return medir(conexion.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability), sql);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return conexion.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability);
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        try {
+            return medir(conexion.prepareStatement(sql, autoGeneratedKeys), sql);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        try {
+            return medir(conexion.prepareStatement(sql, columnIndexes), sql);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        try {
+            return medir(conexion.prepareStatement(sql, columnNames), sql);
+        } catch (SQLException e) {
+            throw medicion.fallo(e);
+        }
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        return conexion.createClob();
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        return conexion.createBlob();
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        return conexion.createNClob();
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        return conexion.createSQLXML();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        return conexion.isValid(timeout);
+    }
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        conexion.setClientInfo(name, value);
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        conexion.setClientInfo(properties);
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        return conexion.getClientInfo(name);
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        return conexion.getClientInfo();
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return conexion.createArrayOf(typeName, elements);
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return conexion.createStruct(typeName, attributes);
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        conexion.setSchema(schema);
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        return conexion.getSchema();
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        conexion.abort(executor);
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        conexion.setNetworkTimeout(executor, milliseconds);
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        return conexion.getNetworkTimeout();
+    }
+
+    @Override
+    public void beginRequest() throws SQLException {
+        conexion.beginRequest();
+    }
+
+    @Override
+    public void endRequest() throws SQLException {
+        conexion.endRequest();
+    }
+
+    @Override
+    public boolean setShardingKeyIfValid(ShardingKey shardingKey, ShardingKey superShardingKey, int timeout) throws SQLException {
+        return conexion.setShardingKeyIfValid(shardingKey, superShardingKey, timeout);
+    }
+
+    @Override
+    public boolean setShardingKeyIfValid(ShardingKey shardingKey, int timeout) throws SQLException {
+        return conexion.setShardingKeyIfValid(shardingKey, timeout);
+    }
+
+    @Override
+    public void setShardingKey(ShardingKey shardingKey, ShardingKey superShardingKey) throws SQLException {
+        conexion.setShardingKey(shardingKey, superShardingKey);
+    }
+
+    @Override
+    public void setShardingKey(ShardingKey shardingKey) throws SQLException {
+        conexion.setShardingKey(shardingKey);
+    }
+}
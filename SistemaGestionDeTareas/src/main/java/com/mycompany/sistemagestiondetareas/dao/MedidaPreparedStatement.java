@@ -0,0 +1,400 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * Sentencia preparada medida: además de lo que mide MedidaStatement, anota
+ * los parámetros asignados para el registro de consultas lentas (solo si
+ * RegistroConsultasLentas los pide).
+ */
+final class MedidaPreparedStatement extends MedidaStatement implements PreparedStatement {
+
+    private final PreparedStatement sentencia;
+
+    MedidaPreparedStatement(PreparedStatement sentencia, MedicionJDBC.Ejecucion ejecucion) {
+        super(sentencia, ejecucion);
+        this.sentencia = sentencia;
+    }
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        ejecucion.ejecutar(null);
+        try {
+            return medir(sentencia.executeQuery());
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        ejecucion.ejecutar(null);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeUpdate());
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        sentencia.setNull(parameterIndex, sqlType);
+        ejecucion.anotar(parameterIndex, null);
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        sentencia.setBoolean(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        sentencia.setByte(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        sentencia.setShort(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        sentencia.setInt(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        sentencia.setLong(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        sentencia.setFloat(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        sentencia.setDouble(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        sentencia.setBigDecimal(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        sentencia.setString(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        sentencia.setBytes(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, java.sql.Date x) throws SQLException {
+        sentencia.setDate(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, java.sql.Time x) throws SQLException {
+        sentencia.setTime(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, java.sql.Timestamp x) throws SQLException {
+        sentencia.setTimestamp(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        sentencia.setAsciiStream(parameterIndex, x, length);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Deprecated
+    @Override
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        sentencia.setUnicodeStream(parameterIndex, x, length);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        sentencia.setBinaryStream(parameterIndex, x, length);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        sentencia.clearParameters();
+        ejecucion.limpiarParametros();
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        sentencia.setObject(parameterIndex, x, targetSqlType);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        sentencia.setObject(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        ejecucion.ejecutar(null);
+        try {
+            return sentencia.execute();
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        sentencia.addBatch();
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        sentencia.setCharacterStream(parameterIndex, reader, length);
+        ejecucion.anotar(parameterIndex, reader);
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        sentencia.setRef(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        sentencia.setBlob(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        sentencia.setClob(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        sentencia.setArray(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return sentencia.getMetaData();
+    }
+
+    @Override
+    public void setDate(int parameterIndex, java.sql.Date x, Calendar cal) throws SQLException {
+        sentencia.setDate(parameterIndex, x, cal);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, java.sql.Time x, Calendar cal) throws SQLException {
+        sentencia.setTime(parameterIndex, x, cal);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, java.sql.Timestamp x, Calendar cal) throws SQLException {
+        sentencia.setTimestamp(parameterIndex, x, cal);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        sentencia.setNull(parameterIndex, sqlType, typeName);
+        ejecucion.anotar(parameterIndex, null);
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        sentencia.setURL(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        return sentencia.getParameterMetaData();
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        sentencia.setRowId(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String value) throws SQLException {
+        sentencia.setNString(parameterIndex, value);
+        ejecucion.anotar(parameterIndex, value);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+        sentencia.setNCharacterStream(parameterIndex, value, length);
+        ejecucion.anotar(parameterIndex, value);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException {
+        sentencia.setNClob(parameterIndex, value);
+        ejecucion.anotar(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        sentencia.setClob(parameterIndex, reader, length);
+        ejecucion.anotar(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+        sentencia.setBlob(parameterIndex, inputStream, length);
+        ejecucion.anotar(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        sentencia.setNClob(parameterIndex, reader, length);
+        ejecucion.anotar(parameterIndex, reader);
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+        sentencia.setSQLXML(parameterIndex, xmlObject);
+        ejecucion.anotar(parameterIndex, xmlObject);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        sentencia.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        sentencia.setAsciiStream(parameterIndex, x, length);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        sentencia.setBinaryStream(parameterIndex, x, length);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        sentencia.setCharacterStream(parameterIndex, reader, length);
+        ejecucion.anotar(parameterIndex, reader);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        sentencia.setAsciiStream(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        sentencia.setBinaryStream(parameterIndex, x);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        sentencia.setCharacterStream(parameterIndex, reader);
+        ejecucion.anotar(parameterIndex, reader);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+        sentencia.setNCharacterStream(parameterIndex, value);
+        ejecucion.anotar(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        sentencia.setClob(parameterIndex, reader);
+        ejecucion.anotar(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+        sentencia.setBlob(parameterIndex, inputStream);
+        ejecucion.anotar(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        sentencia.setNClob(parameterIndex, reader);
+        ejecucion.anotar(parameterIndex, reader);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        sentencia.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+        sentencia.setObject(parameterIndex, x, targetSqlType);
+        ejecucion.anotar(parameterIndex, x);
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        ejecucion.ejecutar(null);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeLargeUpdate());
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+}
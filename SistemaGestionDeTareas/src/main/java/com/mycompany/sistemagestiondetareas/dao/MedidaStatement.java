@@ -0,0 +1,386 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Sentencia que delega en la real y mide cada ejecución para MedicionJDBC:
+ * inicia la medición al ejecutar, cuenta las filas actualizadas, devuelve los
+ * resultados como MedidaResultSet y termina la medición al cerrarse.
+ */
+class MedidaStatement implements Statement {
+
+    private final Statement sentencia;
+    final MedicionJDBC.Ejecucion ejecucion;
+
+    MedidaStatement(Statement sentencia, MedicionJDBC.Ejecucion ejecucion) {
+        this.sentencia = sentencia;
+        this.ejecucion = ejecucion;
+    }
+
+    final ResultSet medir(ResultSet resultado) {
+        return resultado == null ? null : new MedidaResultSet(resultado, ejecucion);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(sentencia) ? iface.cast(sentencia) : sentencia.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(sentencia) || sentencia.isWrapperFor(iface);
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return medir(sentencia.executeQuery(sql));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeUpdate(sql));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            sentencia.close();
+        } finally {
+            ejecucion.terminar();
+        }
+    }
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return sentencia.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        sentencia.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return sentencia.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        sentencia.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        sentencia.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return sentencia.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        sentencia.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        sentencia.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return sentencia.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        sentencia.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        sentencia.setCursorName(name);
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return sentencia.execute(sql);
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return medir(sentencia.getResultSet());
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return sentencia.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return sentencia.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        sentencia.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return sentencia.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        sentencia.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return sentencia.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return sentencia.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return sentencia.getResultSetType();
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        sentencia.addBatch(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        sentencia.clearBatch();
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        ejecucion.ejecutar(null);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeBatch());
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return sentencia.getConnection();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return sentencia.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return sentencia.getGeneratedKeys();
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeUpdate(sql, autoGeneratedKeys));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeUpdate(sql, columnIndexes));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeUpdate(sql, columnNames));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return sentencia.execute(sql, autoGeneratedKeys);
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return sentencia.execute(sql, columnIndexes);
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return sentencia.execute(sql, columnNames);
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return sentencia.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return sentencia.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        sentencia.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return sentencia.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        sentencia.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return sentencia.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return sentencia.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        sentencia.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return sentencia.getLargeMaxRows();
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        ejecucion.ejecutar(null);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeLargeBatch());
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeLargeUpdate(sql));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeLargeUpdate(sql, autoGeneratedKeys));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeLargeUpdate(sql, columnIndexes));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        ejecucion.ejecutar(sql);
+        try {
+            return ejecucion.contarActualizadas(sentencia.executeLargeUpdate(sql, columnNames));
+        } catch (SQLException e) {
+            throw ejecucion.fallo(e);
+        }
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return sentencia.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return sentencia.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return sentencia.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return sentencia.enquoteNCharLiteral(val);
+    }
+}
@@ -1,7 +1,7 @@
 package com.mycompany.sistemagestiondetareas.dao;
 
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
-import com.mycompany.sistemagestiondetareas.util.ConexionBD;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -9,15 +9,29 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Clase DAO para operaciones de la entidad Proyecto en la base de datos.
+ * 
+ * Mantiene una caché de proyectos marcada por versión: cada actualización
+ * incrementa la columna version, y las lecturas revalidan la caché con una
+ * consulta ligera de (id, version) antes de volver a cargar filas completas.
  */
 public class ProyectoDAO {
     
     private static final String SQL_INSERT = "INSERT INTO proyectos (nombre, descripcion, fecha_inicio, fecha_fin, id_responsable, nivel_riesgo, presupuesto_total) VALUES (?, ?, ?, ?, ?, ?, ?)";
-    private static final String SQL_UPDATE = "UPDATE proyectos SET nombre = ?, descripcion = ?, fecha_inicio = ?, fecha_fin = ?, id_responsable = ?, nivel_riesgo = ?, presupuesto_total = ? WHERE id = ?";
+    private static final String SQL_UPDATE = "UPDATE proyectos SET nombre = ?, descripcion = ?, fecha_inicio = ?, fecha_fin = ?, id_responsable = ?, nivel_riesgo = ?, presupuesto_total = ?, version = version + 1 WHERE id = ?";
+    private static final String SQL_UPDATE_NIVEL_RIESGO = "UPDATE proyectos SET nivel_riesgo = ?, version = version + 1 WHERE id = ? AND nivel_riesgo <> ?";
+
+    // Caché de proyectos por ID; cada entrada conserva la versión con la que fue leída
+    private final Map<Integer, Proyecto> cache = new ConcurrentHashMap<>();
     
     /**
      * Inserta un nuevo proyecto en la base de datos.
@@ -25,7 +39,7 @@ public class ProyectoDAO {
      * @return Proyecto con ID generado o null si hubo error.
      */
     public Proyecto insertar(Proyecto proyecto) {
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.insertar");
              PreparedStatement stmt = conn.prepareStatement(SQL_INSERT, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, proyecto.getNombre());
@@ -34,7 +48,7 @@ public class ProyectoDAO {
             stmt.setTimestamp(4, proyecto.getFechaFin() != null ? new Timestamp(proyecto.getFechaFin().getTime()) : null);
             stmt.setInt(5, proyecto.getIdResponsable());
             stmt.setString(6, proyecto.getNivelRiesgo());
-            stmt.setDouble(7, proyecto.getPresupuestoTotal());
+            stmt.setBigDecimal(7, Dinero.aBigDecimal(proyecto.getPresupuestoTotalCentavos()));
             
             int affectedRows = stmt.executeUpdate();
             
@@ -45,6 +59,8 @@ public class ProyectoDAO {
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
                     proyecto.setId(generatedKeys.getInt(1));
+                    proyecto.setVersion(1);
+                    cache.put(proyecto.getId(), copiar(proyecto));
                     return proyecto;
                 }
             }
@@ -62,7 +78,7 @@ public class ProyectoDAO {
      * @return true si la actualización fue exitosa, false en caso contrario.
      */
     public boolean actualizar(Proyecto proyecto) {
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.actualizar");
              PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE)) {
             
             stmt.setString(1, proyecto.getNombre());
@@ -71,16 +87,72 @@ public class ProyectoDAO {
             stmt.setTimestamp(4, proyecto.getFechaFin() != null ? new Timestamp(proyecto.getFechaFin().getTime()) : null);
             stmt.setInt(5, proyecto.getIdResponsable());
             stmt.setString(6, proyecto.getNivelRiesgo());
-            stmt.setDouble(7, proyecto.getPresupuestoTotal());
+            stmt.setBigDecimal(7, Dinero.aBigDecimal(proyecto.getPresupuestoTotalCentavos()));
             stmt.setInt(8, proyecto.getId());
             
-            return stmt.executeUpdate() > 0;
+            boolean actualizado = stmt.executeUpdate() > 0;
+            
+            // La versión cambió en la base de datos: la entrada en caché ya no es válida
+            cache.remove(proyecto.getId());
+            
+            return actualizado;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
     
+    /**
+     * Actualiza el nivel de riesgo de varios proyectos con una sola
+     * sentencia en lote, en una transacción. Solo cuentan las filas cuyo
+     * nivel cambia; a esas se les incrementa la versión.
+     * @param niveles Nuevo nivel de riesgo por ID de proyecto.
+     * @return Número de proyectos actualizados, o -1 si hubo error (no se aplica ninguno).
+     */
+    public int actualizarNivelesRiesgo(Map<Integer, String> niveles) {
+        if (niveles.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.actualizarNivelesRiesgo")) {
+            boolean autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_UPDATE_NIVEL_RIESGO)) {
+                for (Map.Entry<Integer, String> entrada : niveles.entrySet()) {
+                    stmt.setString(1, entrada.getValue());
+                    stmt.setInt(2, entrada.getKey());
+                    stmt.setString(3, entrada.getValue());
+                    stmt.addBatch();
+                }
+
+                int actualizados = 0;
+                for (int filas : stmt.executeBatch()) {
+                    // Con rewriteBatchedStatements el driver de MySQL no informa las filas de cada sentencia
+                    if (filas > 0 || filas == Statement.SUCCESS_NO_INFO) {
+                        actualizados++;
+                    }
+                }
+                conn.commit();
+
+                // Las versiones cambiaron en la base de datos: las entradas en caché ya no son válidas
+                for (Integer id : niveles.keySet()) {
+                    cache.remove(id);
+                }
+
+                return actualizados;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommitOriginal);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al actualizar niveles de riesgo: " + e.getMessage());
+            return -1;
+        }
+    }
+
     /**
      * Elimina un proyecto de la base de datos.
      * @param id ID del proyecto a eliminar.
@@ -89,12 +161,13 @@ public class ProyectoDAO {
     public boolean eliminar(int id) {
         String sql = "DELETE FROM proyectos WHERE id = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.eliminar");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
             
             int filasAfectadas = stmt.executeUpdate();
+            cache.remove(id);
             
             return filasAfectadas > 0;
         } catch (SQLException e) {
@@ -105,23 +178,43 @@ public class ProyectoDAO {
     
     /**
      * Busca un proyecto por su ID.
+     * Si el proyecto está en caché solo se consulta su versión; la fila completa
+     * se vuelve a leer únicamente cuando la versión almacenada ha cambiado.
      * @param id ID del proyecto a buscar.
      * @return Proyecto encontrado o null si no existe.
      */
     public Proyecto buscarPorId(int id) {
+        Proyecto enCache = cache.get(id);
+        if (enCache != null) {
+            Map<Integer, Integer> versiones = consultarVersiones(List.of(id), "ProyectoDAO.buscarPorId");
+            if (versiones != null) {
+                Integer version = versiones.get(id);
+                if (version == null) {
+                    cache.remove(id);
+                    return null;
+                }
+                if (version == enCache.getVersion()) {
+                    return copiar(enCache);
+                }
+            }
+        }
+        
         String sql = "SELECT * FROM proyectos WHERE id = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.buscarPorId");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return extraerProyectoDeResultSet(rs);
+                    Proyecto proyecto = extraerProyectoDeResultSet(rs);
+                    cache.put(proyecto.getId(), copiar(proyecto));
+                    return proyecto;
                 }
             }
             
+            cache.remove(id);
             return null;
         } catch (SQLException e) {
             System.err.println("Error al buscar proyecto por ID: " + e.getMessage());
@@ -129,6 +222,78 @@ public class ProyectoDAO {
         }
     }
     
+    /**
+     * Busca varios proyectos por su ID usando la caché.
+     * Ejecuta una sola consulta de (id, version) por lote y solo recarga las filas
+     * cuyo proyecto no está en caché o cuya versión ha cambiado.
+     * @param ids IDs de los proyectos a buscar.
+     * @return Mapa de ID a proyecto; los proyectos inexistentes no aparecen.
+     */
+    public Map<Integer, Proyecto> buscarPorIds(Collection<Integer> ids) {
+        Map<Integer, Proyecto> resultado = new HashMap<>();
+        Set<Integer> unicos = new LinkedHashSet<>();
+        for (Integer id : ids) {
+            if (id != null && id > 0) {
+                unicos.add(id);
+            }
+        }
+        
+        if (unicos.isEmpty()) {
+            return resultado;
+        }
+        
+        Map<Integer, Integer> versiones = consultarVersiones(unicos, "ProyectoDAO.buscarPorIds");
+        List<Integer> pendientes = new ArrayList<>();
+        
+        if (versiones == null) {
+            // No se pudo revalidar: se cargan todos desde la base de datos
+            pendientes.addAll(unicos);
+        } else {
+            for (Integer id : unicos) {
+                Integer version = versiones.get(id);
+                if (version == null) {
+                    cache.remove(id);
+                    continue;
+                }
+                
+                Proyecto enCache = cache.get(id);
+                if (enCache != null && enCache.getVersion() == version) {
+                    resultado.put(id, copiar(enCache));
+                } else {
+                    pendientes.add(id);
+                }
+            }
+        }
+        
+        if (!pendientes.isEmpty()) {
+            for (Proyecto proyecto : cargarPorIds(pendientes)) {
+                cache.put(proyecto.getId(), copiar(proyecto));
+                resultado.put(proyecto.getId(), proyecto);
+            }
+        }
+        
+        return resultado;
+    }
+    
+    /**
+     * Indica si hay algún proyecto sin recorrer la tabla.
+     * @return true si la tabla tiene al menos una fila; false si está vacía o hubo error.
+     */
+    public boolean existeAlguno() {
+        String sql = "SELECT 1 FROM proyectos LIMIT 1";
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.existeAlguno");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            return rs.next();
+            
+        } catch (SQLException e) {
+            System.err.println("Error al verificar si existen proyectos: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Obtiene todos los proyectos de la base de datos.
      * @return Lista de todos los proyectos.
@@ -137,12 +302,13 @@ public class ProyectoDAO {
         String sql = "SELECT * FROM proyectos";
         List<Proyecto> proyectos = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.listarTodos");
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
                 Proyecto proyecto = extraerProyectoDeResultSet(rs);
+                cache.put(proyecto.getId(), copiar(proyecto));
                 proyectos.add(proyecto);
             }
             
@@ -162,7 +328,7 @@ public class ProyectoDAO {
         String sql = "SELECT * FROM proyectos WHERE id_responsable = ?";
         List<Proyecto> proyectos = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.listarPorResponsable");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, idResponsable);
@@ -170,6 +336,7 @@ public class ProyectoDAO {
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     Proyecto proyecto = extraerProyectoDeResultSet(rs);
+                    cache.put(proyecto.getId(), copiar(proyecto));
                     proyectos.add(proyecto);
                 }
             }
@@ -181,6 +348,82 @@ public class ProyectoDAO {
         return proyectos;
     }
     
+    /**
+     * Consulta la versión actual de los proyectos indicados.
+     * @param ids IDs de los proyectos.
+     * @param metodo Método público al que se atribuye la consulta en las métricas.
+     * @return Mapa de ID a versión, o null si hubo error.
+     */
+    private Map<Integer, Integer> consultarVersiones(Collection<Integer> ids, String metodo) {
+        Map<Integer, Integer> versiones = new HashMap<>();
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion(metodo)) {
+            for (List<Integer> lote : LotesSQL.dividirEnLotes(ids)) {
+                String sql = "SELECT id, version FROM proyectos WHERE id IN (" + LotesSQL.marcadores(lote.size()) + ")";
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < lote.size(); i++) {
+                        stmt.setInt(i + 1, lote.get(i));
+                    }
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            versiones.put(rs.getInt("id"), rs.getInt("version"));
+                        }
+                    }
+                }
+            }
+            
+            return versiones;
+        } catch (SQLException e) {
+            System.err.println("Error al consultar versiones de proyectos: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Carga las filas completas de los proyectos indicados.
+     * @param ids IDs de los proyectos.
+     * @return Lista de proyectos encontrados.
+     */
+    private List<Proyecto> cargarPorIds(Collection<Integer> ids) {
+        List<Proyecto> proyectos = new ArrayList<>();
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("ProyectoDAO.buscarPorIds")) {
+            for (List<Integer> lote : LotesSQL.dividirEnLotes(ids)) {
+                String sql = "SELECT * FROM proyectos WHERE id IN (" + LotesSQL.marcadores(lote.size()) + ")";
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < lote.size(); i++) {
+                        stmt.setInt(i + 1, lote.get(i));
+                    }
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            proyectos.add(extraerProyectoDeResultSet(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al cargar proyectos por ID: " + e.getMessage());
+        }
+        
+        return proyectos;
+    }
+    
+    /**
+     * Crea una copia del proyecto para que la caché no comparta instancias con las vistas.
+     */
+    private Proyecto copiar(Proyecto proyecto) {
+        Proyecto copia = new Proyecto(proyecto.getId(), proyecto.getNombre(), proyecto.getDescripcion(),
+                proyecto.getFechaInicio(), proyecto.getFechaFin(), proyecto.getIdResponsable(),
+                proyecto.getNivelRiesgo(), 0.0);
+        copia.setPresupuestoTotalCentavos(proyecto.getPresupuestoTotalCentavos());
+        copia.setVersion(proyecto.getVersion());
+        return copia;
+    }
+    
     /**
      * Extrae un objeto Proyecto de un ResultSet.
      * @param rs ResultSet con datos de proyecto.
@@ -196,7 +439,8 @@ public class ProyectoDAO {
         proyecto.setFechaFin(rs.getTimestamp("fecha_fin"));
         proyecto.setIdResponsable(rs.getInt("id_responsable"));
         proyecto.setNivelRiesgo(rs.getString("nivel_riesgo"));
-        proyecto.setPresupuestoTotal(rs.getDouble("presupuesto_total"));
+        proyecto.setPresupuestoTotalCentavos(Dinero.desdeBigDecimal(rs.getBigDecimal("presupuesto_total")));
+        proyecto.setVersion(rs.getInt("version"));
         return proyecto;
     }
 } 
\ No newline at end of file
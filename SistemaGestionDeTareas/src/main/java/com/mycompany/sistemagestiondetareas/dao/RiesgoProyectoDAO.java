@@ -0,0 +1,165 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
+import com.mycompany.sistemagestiondetareas.modelo.IndicadoresRiesgo;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Clase DAO que lee los indicadores de riesgo de los proyectos.
+ *
+ * Cada indicador sale de una sola consulta agrupada por proyecto (tareas,
+ * costos_resumen e historial_estado_tarea), así que cargar todos los
+ * proyectos cuesta lo mismo en consultas que cargar uno.
+ */
+public class RiesgoProyectoDAO {
+
+    private static final String SQL_PROYECTOS =
+            "SELECT id, nivel_riesgo, presupuesto_total, fecha_fin FROM proyectos";
+    private static final String SQL_TAREAS =
+            "SELECT id_proyecto, COUNT(*) AS abiertas, " +
+            "SUM(CASE WHEN fecha_vencimiento < ? THEN 1 ELSE 0 END) AS vencidas " +
+            "FROM tareas WHERE estado <> 'COMPLETADA'";
+    // Retrasos registrados sobre el proyecto y sobre sus tareas
+    private static final String SQL_RETRASOS_PROYECTO =
+            "SELECT id_referencia AS id_proyecto, total FROM costos_resumen " +
+            "WHERE tipo = 'PROYECTO' AND tipo_costo = 'RETRASO'";
+    private static final String SQL_RETRASOS_TAREAS =
+            "SELECT t.id_proyecto, SUM(r.total) AS total FROM costos_resumen r " +
+            "JOIN tareas t ON t.id = r.id_referencia " +
+            "WHERE r.tipo = 'TAREA' AND r.tipo_costo = 'RETRASO'";
+    private static final String SQL_COMPLETADAS =
+            "SELECT id_proyecto, COUNT(DISTINCT id_tarea) AS completadas FROM historial_estado_tarea " +
+            "WHERE estado_nuevo = 'COMPLETADA' AND fecha >= ? AND fecha < ?";
+
+    /**
+     * Carga los indicadores de todos los proyectos.
+     * @param ahora Fecha de referencia para las tareas vencidas.
+     * @param desdeCompletadas Inicio del periodo en que se cuentan las tareas completadas.
+     * @return Indicadores por ID de proyecto, o null si hubo error.
+     */
+    public Map<Integer, IndicadoresRiesgo> cargarIndicadores(Date ahora, Date desdeCompletadas) {
+        try (Connection conn = MedicionJDBC.obtenerConexion("RiesgoProyectoDAO.cargarIndicadores")) {
+            return cargar(conn, 0, ahora, desdeCompletadas);
+        } catch (SQLException e) {
+            System.err.println("Error al cargar indicadores de riesgo: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Carga los indicadores de un proyecto.
+     * @param idProyecto ID del proyecto.
+     * @param ahora Fecha de referencia para las tareas vencidas.
+     * @param desdeCompletadas Inicio del periodo en que se cuentan las tareas completadas.
+     * @return Indicadores del proyecto, o null si no existe o hubo error.
+     */
+    public IndicadoresRiesgo cargarIndicadores(int idProyecto, Date ahora, Date desdeCompletadas) {
+        try (Connection conn = MedicionJDBC.obtenerConexion("RiesgoProyectoDAO.cargarIndicadores")) {
+            return cargar(conn, idProyecto, ahora, desdeCompletadas).get(idProyecto);
+        } catch (SQLException e) {
+            System.err.println("Error al cargar indicadores de riesgo del proyecto: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Ejecuta las consultas de indicadores.
+     * @param idProyecto ID del proyecto, o 0 para todos.
+     */
+    private Map<Integer, IndicadoresRiesgo> cargar(Connection conn, int idProyecto, Date ahora,
+                                                   Date desdeCompletadas) throws SQLException {
+        Map<Integer, IndicadoresRiesgo> indicadores = new LinkedHashMap<>();
+        boolean uno = idProyecto > 0;
+
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_PROYECTOS + (uno ? " WHERE id = ?" : ""))) {
+            if (uno) {
+                stmt.setInt(1, idProyecto);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int id = rs.getInt("id");
+                    indicadores.put(id, new IndicadoresRiesgo(id, rs.getString("nivel_riesgo"),
+                            Dinero.desdeBigDecimal(rs.getBigDecimal("presupuesto_total")),
+                            rs.getTimestamp("fecha_fin")));
+                }
+            }
+        }
+
+        if (indicadores.isEmpty()) {
+            return indicadores;
+        }
+
+        String filtroTareas = uno ? " AND id_proyecto = ?" : "";
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_TAREAS + filtroTareas + " GROUP BY id_proyecto")) {
+            stmt.setTimestamp(1, new Timestamp(ahora.getTime()));
+            if (uno) {
+                stmt.setInt(2, idProyecto);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndicadoresRiesgo proyecto = indicadores.get(rs.getInt("id_proyecto"));
+                    if (proyecto != null) {
+                        proyecto.setTareasAbiertas(rs.getInt("abiertas"));
+                        proyecto.setTareasVencidas(rs.getInt("vencidas"));
+                    }
+                }
+            }
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_RETRASOS_PROYECTO + (uno ? " AND id_referencia = ?" : ""))) {
+            if (uno) {
+                stmt.setInt(1, idProyecto);
+            }
+            sumarRetrasos(stmt, indicadores);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_RETRASOS_TAREAS
+                + (uno ? " AND t.id_proyecto = ?" : "") + " GROUP BY t.id_proyecto")) {
+            if (uno) {
+                stmt.setInt(1, idProyecto);
+            }
+            sumarRetrasos(stmt, indicadores);
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_COMPLETADAS + filtroTareas + " GROUP BY id_proyecto")) {
+            stmt.setTimestamp(1, new Timestamp(desdeCompletadas.getTime()));
+            stmt.setTimestamp(2, new Timestamp(ahora.getTime()));
+            if (uno) {
+                stmt.setInt(3, idProyecto);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    IndicadoresRiesgo proyecto = indicadores.get(rs.getInt("id_proyecto"));
+                    if (proyecto != null) {
+                        proyecto.setCompletadasRecientes(rs.getInt("completadas"));
+                    }
+                }
+            }
+        }
+
+        return indicadores;
+    }
+
+    /**
+     * Suma a cada proyecto el total de retrasos devuelto por la consulta (columnas id_proyecto y total).
+     */
+    private static void sumarRetrasos(PreparedStatement stmt, Map<Integer, IndicadoresRiesgo> indicadores)
+            throws SQLException {
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                IndicadoresRiesgo proyecto = indicadores.get(rs.getInt("id_proyecto"));
+                if (proyecto != null) {
+                    proyecto.setRetrasoCentavos(proyecto.getRetrasoCentavos()
+                            + Dinero.desdeBigDecimal(rs.getBigDecimal("total")));
+                }
+            }
+        }
+    }
+}
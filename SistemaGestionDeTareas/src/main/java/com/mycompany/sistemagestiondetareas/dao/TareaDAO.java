@@ -1,7 +1,8 @@
 package com.mycompany.sistemagestiondetareas.dao;
 
+import com.mycompany.sistemagestiondetareas.modelo.CambioEstadoTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
 import com.mycompany.sistemagestiondetareas.modelo.Tarea;
-import com.mycompany.sistemagestiondetareas.util.ConexionBD;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -9,8 +10,10 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Clase DAO para operaciones de la entidad Tarea en la base de datos.
@@ -18,72 +21,189 @@ import java.util.List;
 public class TareaDAO {
     
     /**
-     * Inserta una nueva tarea en la base de datos.
+     * Recibe las escrituras confirmadas de tareas (por ejemplo, para mantener
+     * IndiceTextoTareas). Se llama en el hilo que hizo la escritura, después
+     * de cerrar su conexión: el oyente puede usar la base de datos.
+     */
+    public interface OyenteEscrituras {
+        /**
+         * La tarea se insertó o se actualizó completa.
+         * @param tarea Tarea guardada, con su ID.
+         */
+        void tareaGuardada(Tarea tarea);
+        
+        /**
+         * Se agregó un comentario al final de los comentarios de la tarea.
+         * @param idTarea ID de la tarea.
+         * @param comentario Comentario agregado.
+         */
+        void comentarioAgregado(int idTarea, String comentario);
+        
+        /**
+         * Cambió el estado de la tarea (sin guardarla completa).
+         * @param idTarea ID de la tarea.
+         * @param estado Nuevo estado.
+         */
+        default void estadoActualizado(int idTarea, String estado) {
+        }
+        
+        /**
+         * La tarea pasó a otro proyecto al actualizarla (se avisa después de tareaGuardada).
+         * @param idTarea ID de la tarea.
+         * @param idProyectoAnterior Proyecto al que pertenecía.
+         */
+        default void tareaMovida(int idTarea, int idProyectoAnterior) {
+        }
+        
+        /**
+         * La tarea se eliminó.
+         * @param idTarea ID de la tarea.
+         */
+        void tareaEliminada(int idTarea);
+    }
+    
+    /**
+     * Columnas de las consultas de listas: sin comentarios, que solo se
+     * cargan al ver el detalle de una tarea (buscarPorId).
+     */
+    private static final String COLUMNAS_LISTA = "id, nombre, descripcion, fecha_creacion, fecha_vencimiento, " +
+            "id_proyecto, id_responsable, estado";
+    
+    /**
+     * Columnas de ResumenTarea: sin las columnas TEXT, que MySQL guarda fuera
+     * de la fila y que las tablas de tareas no muestran.
+     */
+    private static final String COLUMNAS_RESUMEN = "id, nombre, fecha_creacion, fecha_vencimiento, " +
+            "id_proyecto, id_responsable, estado";
+    
+    private final List<OyenteEscrituras> oyentes = new CopyOnWriteArrayList<>();
+    
+    /**
+     * Registra un oyente de las escrituras hechas con este DAO.
+     * @param oyente Oyente a registrar.
+     */
+    public void agregarOyente(OyenteEscrituras oyente) {
+        oyentes.add(oyente);
+    }
+    
+    /**
+     * Inserta una nueva tarea en la base de datos y registra su estado
+     * inicial en el historial de estados, en la misma transacción.
      * @param tarea Tarea a insertar.
      * @return Tarea con ID generado o null si hubo error.
      */
     public Tarea insertar(Tarea tarea) {
         String sql = "INSERT INTO tareas (nombre, descripcion, fecha_creacion, fecha_vencimiento, id_proyecto, id_responsable, estado, comentarios) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        int idGenerado = 0;
         
-        try (Connection conn = ConexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setString(1, tarea.getNombre());
-            stmt.setString(2, tarea.getDescripcion());
-            stmt.setTimestamp(3, new Timestamp(tarea.getFechaCreacion().getTime()));
-            stmt.setTimestamp(4, new Timestamp(tarea.getFechaVencimiento().getTime()));
-            stmt.setInt(5, tarea.getIdProyecto());
-            stmt.setInt(6, tarea.getIdResponsable());
-            stmt.setString(7, tarea.getEstado());
-            stmt.setString(8, tarea.getComentarios());
-            
-            int filasAfectadas = stmt.executeUpdate();
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.insertar")) {
+            boolean autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
             
-            if (filasAfectadas == 0) {
-                return null;
-            }
-            
-            try (ResultSet rs = stmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    tarea.setId(rs.getInt(1));
-                    return tarea;
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setString(1, tarea.getNombre());
+                stmt.setString(2, tarea.getDescripcion());
+                stmt.setTimestamp(3, new Timestamp(tarea.getFechaCreacion().getTime()));
+                stmt.setTimestamp(4, new Timestamp(tarea.getFechaVencimiento().getTime()));
+                stmt.setInt(5, tarea.getIdProyecto());
+                stmt.setInt(6, tarea.getIdResponsable());
+                stmt.setString(7, tarea.getEstado());
+                stmt.setString(8, tarea.getComentarios());
+                
+                if (stmt.executeUpdate() > 0) {
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        if (rs.next()) {
+                            idGenerado = rs.getInt(1);
+                        }
+                    }
                 }
+                
+                if (idGenerado > 0) {
+                    HistorialEstadoTareaDAO.registrar(conn, new CambioEstadoTarea(idGenerado, tarea.getIdProyecto(),
+                            null, tarea.getEstado(), new Date(), 0));
+                }
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommitOriginal);
             }
-            
-            return null;
         } catch (SQLException e) {
             System.err.println("Error al insertar tarea: " + e.getMessage());
             return null;
         }
+        
+        if (idGenerado == 0) {
+            return null;
+        }
+        tarea.setId(idGenerado);
+        // Con la conexión ya cerrada: los oyentes pueden usar la del hilo sin afectar esta escritura
+        for (OyenteEscrituras oyente : oyentes) {
+            oyente.tareaGuardada(tarea);
+        }
+        return tarea;
     }
     
     /**
-     * Actualiza una tarea existente en la base de datos.
+     * Actualiza una tarea existente en la base de datos. Si cambia su estado,
+     * registra el cambio en el historial de estados en la misma transacción.
      * @param tarea Tarea a actualizar.
      * @return true si la actualización fue exitosa, false en caso contrario.
      */
     public boolean actualizar(Tarea tarea) {
         String sql = "UPDATE tareas SET nombre = ?, descripcion = ?, fecha_vencimiento = ?, id_proyecto = ?, id_responsable = ?, estado = ?, comentarios = ? WHERE id = ?";
+        int filasAfectadas = 0;
+        int idProyectoAnterior = 0;
         
-        try (Connection conn = ConexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setString(1, tarea.getNombre());
-            stmt.setString(2, tarea.getDescripcion());
-            stmt.setTimestamp(3, new Timestamp(tarea.getFechaVencimiento().getTime()));
-            stmt.setInt(4, tarea.getIdProyecto());
-            stmt.setInt(5, tarea.getIdResponsable());
-            stmt.setString(6, tarea.getEstado());
-            stmt.setString(7, tarea.getComentarios());
-            stmt.setInt(8, tarea.getId());
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.actualizar")) {
+            boolean autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
             
-            int filasAfectadas = stmt.executeUpdate();
-            
-            return filasAfectadas > 0;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                ResumenTarea anterior = bloquearFila(conn, tarea.getId());
+                
+                if (anterior != null) {
+                    idProyectoAnterior = anterior.getIdProyecto();
+                    stmt.setString(1, tarea.getNombre());
+                    stmt.setString(2, tarea.getDescripcion());
+                    stmt.setTimestamp(3, new Timestamp(tarea.getFechaVencimiento().getTime()));
+                    stmt.setInt(4, tarea.getIdProyecto());
+                    stmt.setInt(5, tarea.getIdResponsable());
+                    stmt.setString(6, tarea.getEstado());
+                    stmt.setString(7, tarea.getComentarios());
+                    stmt.setInt(8, tarea.getId());
+                    
+                    filasAfectadas = stmt.executeUpdate();
+                    
+                    if (filasAfectadas > 0 && !tarea.getEstado().equals(anterior.getEstado())) {
+                        HistorialEstadoTareaDAO.registrar(conn, new CambioEstadoTarea(tarea.getId(),
+                                tarea.getIdProyecto(), anterior.getEstado(), tarea.getEstado(), new Date(), 0));
+                    }
+                }
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommitOriginal);
+            }
         } catch (SQLException e) {
             System.err.println("Error al actualizar tarea: " + e.getMessage());
             return false;
         }
+        
+        if (filasAfectadas > 0) {
+            for (OyenteEscrituras oyente : oyentes) {
+                oyente.tareaGuardada(tarea);
+                if (idProyectoAnterior != tarea.getIdProyecto()) {
+                    oyente.tareaMovida(tarea.getId(), idProyectoAnterior);
+                }
+            }
+        }
+        return filasAfectadas > 0;
     }
     
     /**
@@ -94,29 +214,85 @@ public class TareaDAO {
      * @return true si la actualización fue exitosa, false en caso contrario.
      */
     public boolean actualizarEstado(int id, String nuevoEstado, String comentario) {
-        String sql = "UPDATE tareas SET estado = ?, comentarios = CONCAT(IFNULL(comentarios, ''), ?) WHERE id = ?";
+        return actualizarEstado(id, nuevoEstado, comentario, 0);
+    }
+    
+    /**
+     * Actualiza el estado de una tarea y, en la misma transacción, registra el
+     * cambio en el historial de estados (si el estado es otro) y agrega el
+     * comentario a comentarios_tarea (si lo hay). La fila de la tarea no
+     * crece con cada cambio de estado.
+     * @param id ID de la tarea.
+     * @param nuevoEstado Nuevo estado.
+     * @param comentario Comentario adicional (puede ser null o vacío).
+     * @param idUsuario ID del usuario que hace el cambio, o 0 si no se conoce.
+     * @return true si la actualización fue exitosa, false en caso contrario.
+     */
+    public boolean actualizarEstado(int id, String nuevoEstado, String comentario, int idUsuario) {
+        String sql = "UPDATE tareas SET estado = ? WHERE id = ?";
+        boolean conComentario = comentario != null && !comentario.trim().isEmpty();
+        int filasAfectadas = 0;
         
-        try (Connection conn = ConexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.actualizarEstado")) {
+            boolean autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
             
-            stmt.setString(1, nuevoEstado);
-            
-            // Si hay comentario, agregar salto de línea
-            if (comentario != null && !comentario.trim().isEmpty()) {
-                stmt.setString(2, "\n" + comentario);
-            } else {
-                stmt.setString(2, "");
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                ResumenTarea anterior = bloquearFila(conn, id);
+                
+                if (anterior != null) {
+                    stmt.setString(1, nuevoEstado);
+                    stmt.setInt(2, id);
+                    
+                    filasAfectadas = stmt.executeUpdate();
+                    
+                    if (filasAfectadas > 0 && !nuevoEstado.equals(anterior.getEstado())) {
+                        HistorialEstadoTareaDAO.registrar(conn, new CambioEstadoTarea(id,
+                                anterior.getIdProyecto(), anterior.getEstado(), nuevoEstado, new Date(), idUsuario));
+                    }
+                    if (filasAfectadas > 0 && conComentario) {
+                        ComentarioTareaDAO.insertar(conn, id, idUsuario, new Date(), comentario);
+                    }
+                }
+                
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommitOriginal);
             }
-            
-            stmt.setInt(3, id);
-            
-            int filasAfectadas = stmt.executeUpdate();
-            
-            return filasAfectadas > 0;
         } catch (SQLException e) {
             System.err.println("Error al actualizar estado de tarea: " + e.getMessage());
             return false;
         }
+        
+        if (filasAfectadas > 0) {
+            for (OyenteEscrituras oyente : oyentes) {
+                oyente.estadoActualizado(id, nuevoEstado);
+                if (conComentario) {
+                    oyente.comentarioAgregado(id, comentario);
+                }
+            }
+        }
+        return filasAfectadas > 0;
+    }
+    
+    /**
+     * Lee una tarea bloqueando su fila hasta el final de la transacción, para
+     * que el estado anterior del historial sea el que realmente se reemplaza.
+     * @param conn Conexión con una transacción abierta.
+     * @param id ID de la tarea.
+     * @return Resumen de la tarea, o null si no existe.
+     */
+    private ResumenTarea bloquearFila(Connection conn, int id) throws SQLException {
+        String sql = "SELECT " + COLUMNAS_RESUMEN + " FROM tareas WHERE id = ? FOR UPDATE";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? extraerResumenDeResultSet(rs) : null;
+            }
+        }
     }
     
     /**
@@ -126,19 +302,25 @@ public class TareaDAO {
      */
     public boolean eliminar(int id) {
         String sql = "DELETE FROM tareas WHERE id = ?";
+        int filasAfectadas;
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.eliminar");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
             
-            int filasAfectadas = stmt.executeUpdate();
-            
-            return filasAfectadas > 0;
+            filasAfectadas = stmt.executeUpdate();
         } catch (SQLException e) {
             System.err.println("Error al eliminar tarea: " + e.getMessage());
             return false;
         }
+        
+        if (filasAfectadas > 0) {
+            for (OyenteEscrituras oyente : oyentes) {
+                oyente.tareaEliminada(id);
+            }
+        }
+        return filasAfectadas > 0;
     }
     
     /**
@@ -149,14 +331,14 @@ public class TareaDAO {
     public Tarea buscarPorId(int id) {
         String sql = "SELECT * FROM tareas WHERE id = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.buscarPorId");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return extraerTareaDeResultSet(rs);
+                    return extraerTareaDeResultSet(rs, true);
                 }
             }
             
@@ -167,20 +349,39 @@ public class TareaDAO {
         }
     }
     
+    /**
+     * Indica si hay alguna tarea sin recorrer la tabla.
+     * @return true si la tabla tiene al menos una fila; false si está vacía o hubo error.
+     */
+    public boolean existeAlguna() {
+        String sql = "SELECT 1 FROM tareas LIMIT 1";
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.existeAlguna");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            return rs.next();
+            
+        } catch (SQLException e) {
+            System.err.println("Error al verificar si existen tareas: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Obtiene todas las tareas de la base de datos.
      * @return Lista de todas las tareas.
      */
     public List<Tarea> listarTodas() {
-        String sql = "SELECT * FROM tareas";
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM tareas";
         List<Tarea> tareas = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarTodas");
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
             while (rs.next()) {
-                Tarea tarea = extraerTareaDeResultSet(rs);
+                Tarea tarea = extraerTareaDeResultSet(rs, false);
                 tareas.add(tarea);
             }
             
@@ -191,23 +392,225 @@ public class TareaDAO {
         return tareas;
     }
     
+    /**
+     * Cuenta todas las tareas de la base de datos.
+     * @return Número de tareas, o 0 si hubo error.
+     */
+    public int contar() {
+        String sql = "SELECT COUNT(*) FROM tareas";
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.contar");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error al contar tareas: " + e.getMessage());
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Obtiene una página de tareas ordenadas por ID.
+     * @param desplazamiento Número de tareas a omitir.
+     * @param limite Número máximo de tareas a devolver.
+     * @return Lista de tareas de la página.
+     */
+    public List<Tarea> listarPagina(int desplazamiento, int limite) {
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM tareas ORDER BY id LIMIT ? OFFSET ?";
+        List<Tarea> tareas = new ArrayList<>();
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarPagina");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, limite);
+            stmt.setInt(2, desplazamiento);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    tareas.add(extraerTareaDeResultSet(rs, false));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error al listar página de tareas: " + e.getMessage());
+        }
+        
+        return tareas;
+    }
+    
+    /**
+     * Obtiene una página de resúmenes de tareas ordenados por ID.
+     * @param desplazamiento Número de tareas a omitir.
+     * @param limite Número máximo de tareas a devolver.
+     * @return Resúmenes de las tareas de la página.
+     */
+    public List<ResumenTarea> listarResumenPagina(int desplazamiento, int limite) {
+        String sql = "SELECT " + COLUMNAS_RESUMEN + " FROM tareas ORDER BY id LIMIT ? OFFSET ?";
+        List<ResumenTarea> resumenes = new ArrayList<>();
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarResumenPagina");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, limite);
+            stmt.setInt(2, desplazamiento);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    resumenes.add(extraerResumenDeResultSet(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error al listar página de resúmenes de tareas: " + e.getMessage());
+        }
+        
+        return resumenes;
+    }
+    
+    /**
+     * Obtiene los resúmenes de las tareas con los IDs indicados, consultando por lotes.
+     * @param ids IDs de las tareas.
+     * @return Resúmenes encontrados, sin un orden garantizado.
+     */
+    public List<ResumenTarea> listarResumenPorIds(Collection<Integer> ids) {
+        List<ResumenTarea> resumenes = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return resumenes;
+        }
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarResumenPorIds")) {
+            for (List<Integer> lote : LotesSQL.dividirEnLotes(ids)) {
+                String sql = "SELECT " + COLUMNAS_RESUMEN + " FROM tareas WHERE id IN (" + LotesSQL.marcadores(lote.size()) + ")";
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < lote.size(); i++) {
+                        stmt.setInt(i + 1, lote.get(i));
+                    }
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            resumenes.add(extraerResumenDeResultSet(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al listar resúmenes de tareas por IDs: " + e.getMessage());
+        }
+        
+        return resumenes;
+    }
+    
+    /**
+     * Obtiene los resúmenes de las tareas asignadas a un responsable.
+     * @param idResponsable ID del responsable.
+     * @return Resúmenes de las tareas asignadas al responsable.
+     */
+    public List<ResumenTarea> listarResumenPorResponsable(int idResponsable) {
+        String sql = "SELECT " + COLUMNAS_RESUMEN + " FROM tareas WHERE id_responsable = ?";
+        List<ResumenTarea> resumenes = new ArrayList<>();
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarResumenPorResponsable");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, idResponsable);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    resumenes.add(extraerResumenDeResultSet(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error al listar resúmenes de tareas por responsable: " + e.getMessage());
+        }
+        
+        return resumenes;
+    }
+    
+    /**
+     * Obtiene los resúmenes de las tareas de un proyecto.
+     * @param idProyecto ID del proyecto.
+     * @return Resúmenes de las tareas del proyecto.
+     */
+    public List<ResumenTarea> listarResumenPorProyecto(int idProyecto) {
+        String sql = "SELECT " + COLUMNAS_RESUMEN + " FROM tareas WHERE id_proyecto = ?";
+        List<ResumenTarea> resumenes = new ArrayList<>();
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarResumenPorProyecto");
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, idProyecto);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    resumenes.add(extraerResumenDeResultSet(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            System.err.println("Error al listar resúmenes de tareas por proyecto: " + e.getMessage());
+        }
+        
+        return resumenes;
+    }
+    
+    /**
+     * Obtiene las tareas con los IDs indicados, consultando por lotes.
+     * @param ids IDs de las tareas.
+     * @return Tareas encontradas, sin un orden garantizado.
+     */
+    public List<Tarea> listarPorIds(Collection<Integer> ids) {
+        List<Tarea> tareas = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return tareas;
+        }
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarPorIds")) {
+            for (List<Integer> lote : LotesSQL.dividirEnLotes(ids)) {
+                String sql = "SELECT " + COLUMNAS_LISTA + " FROM tareas WHERE id IN (" + LotesSQL.marcadores(lote.size()) + ")";
+                
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < lote.size(); i++) {
+                        stmt.setInt(i + 1, lote.get(i));
+                    }
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            tareas.add(extraerTareaDeResultSet(rs, false));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error al listar tareas por IDs: " + e.getMessage());
+        }
+        
+        return tareas;
+    }
+    
     /**
      * Obtiene las tareas de un proyecto específico.
      * @param idProyecto ID del proyecto.
      * @return Lista de tareas del proyecto.
      */
     public List<Tarea> listarPorProyecto(int idProyecto) {
-        String sql = "SELECT * FROM tareas WHERE id_proyecto = ?";
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM tareas WHERE id_proyecto = ?";
         List<Tarea> tareas = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarPorProyecto");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, idProyecto);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Tarea tarea = extraerTareaDeResultSet(rs);
+                    Tarea tarea = extraerTareaDeResultSet(rs, false);
                     tareas.add(tarea);
                 }
             }
@@ -225,17 +628,17 @@ public class TareaDAO {
      * @return Lista de tareas asignadas al responsable.
      */
     public List<Tarea> listarPorResponsable(int idResponsable) {
-        String sql = "SELECT * FROM tareas WHERE id_responsable = ?";
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM tareas WHERE id_responsable = ?";
         List<Tarea> tareas = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("TareaDAO.listarPorResponsable");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, idResponsable);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Tarea tarea = extraerTareaDeResultSet(rs);
+                    Tarea tarea = extraerTareaDeResultSet(rs, false);
                     tareas.add(tarea);
                 }
             }
@@ -250,10 +653,11 @@ public class TareaDAO {
     /**
      * Extrae un objeto Tarea de un ResultSet.
      * @param rs ResultSet con datos de tarea.
-     * @return Objeto Tarea.
+     * @param conComentarios true si la consulta incluye la columna comentarios.
+     * @return Objeto Tarea (comentarios null si no se consultaron).
      * @throws SQLException Si ocurre un error al acceder a los datos.
      */
-    private Tarea extraerTareaDeResultSet(ResultSet rs) throws SQLException {
+    private Tarea extraerTareaDeResultSet(ResultSet rs, boolean conComentarios) throws SQLException {
         Tarea tarea = new Tarea();
         tarea.setId(rs.getInt("id"));
         tarea.setNombre(rs.getString("nombre"));
@@ -272,8 +676,30 @@ public class TareaDAO {
         tarea.setIdProyecto(rs.getInt("id_proyecto"));
         tarea.setIdResponsable(rs.getInt("id_responsable"));
         tarea.setEstado(rs.getString("estado"));
-        tarea.setComentarios(rs.getString("comentarios"));
+        if (conComentarios) {
+            tarea.setComentarios(rs.getString("comentarios"));
+        }
         
         return tarea;
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Extrae un ResumenTarea de un ResultSet con las columnas COLUMNAS_RESUMEN.
+     * @param rs ResultSet con datos de tarea.
+     * @return Resumen de la tarea.
+     * @throws SQLException Si ocurre un error al acceder a los datos.
+     */
+    private ResumenTarea extraerResumenDeResultSet(ResultSet rs) throws SQLException {
+        Timestamp fechaCreacion = rs.getTimestamp("fecha_creacion");
+        Timestamp fechaVencimiento = rs.getTimestamp("fecha_vencimiento");
+        
+        return new ResumenTarea(
+                rs.getInt("id"),
+                rs.getString("nombre"),
+                fechaCreacion != null ? new Date(fechaCreacion.getTime()) : null,
+                fechaVencimiento != null ? new Date(fechaVencimiento.getTime()) : null,
+                rs.getInt("id_proyecto"),
+                rs.getInt("id_responsable"),
+                rs.getString("estado"));
+    }
+}
@@ -1,7 +1,6 @@
 package com.mycompany.sistemagestiondetareas.dao;
 
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
-import com.mycompany.sistemagestiondetareas.util.ConexionBD;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -23,7 +22,7 @@ public class UsuarioDAO {
     public Usuario insertar(Usuario usuario) {
         String sql = "INSERT INTO usuarios (nombre, apellido, email, password, es_admin) VALUES (?, ?, ?, ?, ?)";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("UsuarioDAO.insertar");
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, usuario.getNombre());
@@ -60,7 +59,7 @@ public class UsuarioDAO {
     public boolean actualizar(Usuario usuario) {
         String sql = "UPDATE usuarios SET nombre = ?, apellido = ?, email = ?, password = ?, es_admin = ? WHERE id = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("UsuarioDAO.actualizar");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, usuario.getNombre());
@@ -81,20 +80,48 @@ public class UsuarioDAO {
     
     /**
      * Elimina un usuario de la base de datos.
+     * Sus costos se borran en cascada, por lo que en la misma transacción se restan
+     * de costos_resumen; la fila del usuario se bloquea antes para que no se registren
+     * costos suyos entre el ajuste y el borrado.
      * @param id ID del usuario a eliminar.
      * @return true si la eliminación fue exitosa, false en caso contrario.
      */
     public boolean eliminar(int id) {
+        String sqlBloquear = "SELECT id FROM usuarios WHERE id = ? FOR UPDATE";
         String sql = "DELETE FROM usuarios WHERE id = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, id);
-            
-            int filasAfectadas = stmt.executeUpdate();
-            
-            return filasAfectadas > 0;
+        try (Connection conn = MedicionJDBC.obtenerConexion("UsuarioDAO.eliminar")) {
+            boolean autoCommitOriginal = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(sqlBloquear)) {
+                    stmt.setInt(1, id);
+                    
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return false;
+                        }
+                    }
+                }
+                
+                CostoDAO.restarCostosDeUsuario(conn, id);
+                
+                int filasAfectadas;
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, id);
+                    filasAfectadas = stmt.executeUpdate();
+                }
+                
+                conn.commit();
+                return filasAfectadas > 0;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommitOriginal);
+            }
         } catch (SQLException e) {
             System.err.println("Error al eliminar usuario: " + e.getMessage());
             return false;
@@ -109,7 +136,7 @@ public class UsuarioDAO {
     public Usuario buscarPorId(int id) {
         String sql = "SELECT * FROM usuarios WHERE id = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("UsuarioDAO.buscarPorId");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, id);
@@ -135,7 +162,7 @@ public class UsuarioDAO {
     public Usuario buscarPorEmail(String email) {
         String sql = "SELECT * FROM usuarios WHERE email = ?";
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("UsuarioDAO.buscarPorEmail");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, email);
@@ -153,6 +180,25 @@ public class UsuarioDAO {
         }
     }
     
+    /**
+     * Indica si hay algún usuario sin recorrer la tabla.
+     * @return true si la tabla tiene al menos una fila; false si está vacía o hubo error.
+     */
+    public boolean existeAlguno() {
+        String sql = "SELECT 1 FROM usuarios LIMIT 1";
+        
+        try (Connection conn = MedicionJDBC.obtenerConexion("UsuarioDAO.existeAlguno");
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            return rs.next();
+            
+        } catch (SQLException e) {
+            System.err.println("Error al verificar si existen usuarios: " + e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Obtiene todos los usuarios de la base de datos.
      * @return Lista de todos los usuarios.
@@ -161,7 +207,7 @@ public class UsuarioDAO {
         String sql = "SELECT * FROM usuarios";
         List<Usuario> usuarios = new ArrayList<>();
         
-        try (Connection conn = ConexionBD.obtenerConexion();
+        try (Connection conn = MedicionJDBC.obtenerConexion("UsuarioDAO.listarTodos");
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
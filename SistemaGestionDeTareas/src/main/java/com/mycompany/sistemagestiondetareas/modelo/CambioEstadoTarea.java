@@ -0,0 +1,101 @@
+package com.mycompany.sistemagestiondetareas.modelo;
+
+import java.util.Date;
+
+/**
+ * Fila del historial de estados de una tarea. Los cambios no se modifican:
+ * solo se agregan.
+ */
+public class CambioEstadoTarea {
+    private int id;
+    private int idTarea;
+    private int idProyecto;
+    private String estadoAnterior; // null al crear la tarea
+    private String estadoNuevo;
+    private Date fecha;
+    private int idUsuario; // 0 si no se conoce quién hizo el cambio
+
+    // Constructor vacío
+    public CambioEstadoTarea() {
+    }
+
+    // Constructor sin ID
+    public CambioEstadoTarea(int idTarea, int idProyecto, String estadoAnterior, String estadoNuevo,
+                             Date fecha, int idUsuario) {
+        this.idTarea = idTarea;
+        this.idProyecto = idProyecto;
+        this.estadoAnterior = estadoAnterior;
+        this.estadoNuevo = estadoNuevo;
+        this.fecha = fecha;
+        this.idUsuario = idUsuario;
+    }
+
+    // Constructor completo
+    public CambioEstadoTarea(int id, int idTarea, int idProyecto, String estadoAnterior, String estadoNuevo,
+                             Date fecha, int idUsuario) {
+        this(idTarea, idProyecto, estadoAnterior, estadoNuevo, fecha, idUsuario);
+        this.id = id;
+    }
+
+    // Getters y setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getIdTarea() {
+        return idTarea;
+    }
+
+    public void setIdTarea(int idTarea) {
+        this.idTarea = idTarea;
+    }
+
+    public int getIdProyecto() {
+        return idProyecto;
+    }
+
+    public void setIdProyecto(int idProyecto) {
+        this.idProyecto = idProyecto;
+    }
+
+    public String getEstadoAnterior() {
+        return estadoAnterior;
+    }
+
+    public void setEstadoAnterior(String estadoAnterior) {
+        this.estadoAnterior = estadoAnterior;
+    }
+
+    public String getEstadoNuevo() {
+        return estadoNuevo;
+    }
+
+    public void setEstadoNuevo(String estadoNuevo) {
+        this.estadoNuevo = estadoNuevo;
+    }
+
+    public Date getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(Date fecha) {
+        this.fecha = fecha;
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(int idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    @Override
+    public String toString() {
+        return (estadoAnterior != null ? estadoAnterior : "-") + " → " + estadoNuevo;
+    }
+}
@@ -0,0 +1,82 @@
+package com.mycompany.sistemagestiondetareas.modelo;
+
+import java.util.Date;
+
+/**
+ * Comentario agregado a una tarea (por ejemplo, al cambiar su estado).
+ * Los comentarios no se modifican: solo se agregan.
+ */
+public class ComentarioTarea {
+    private int id;
+    private int idTarea;
+    private int idUsuario; // 0 si no se conoce el autor
+    private Date fecha;
+    private String texto;
+
+    // Constructor vacío
+    public ComentarioTarea() {
+    }
+
+    // Constructor sin ID
+    public ComentarioTarea(int idTarea, int idUsuario, Date fecha, String texto) {
+        this.idTarea = idTarea;
+        this.idUsuario = idUsuario;
+        this.fecha = fecha;
+        this.texto = texto;
+    }
+
+    // Constructor completo
+    public ComentarioTarea(int id, int idTarea, int idUsuario, Date fecha, String texto) {
+        this.id = id;
+        this.idTarea = idTarea;
+        this.idUsuario = idUsuario;
+        this.fecha = fecha;
+        this.texto = texto;
+    }
+
+    // Getters y setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getIdTarea() {
+        return idTarea;
+    }
+
+    public void setIdTarea(int idTarea) {
+        this.idTarea = idTarea;
+    }
+
+    public int getIdUsuario() {
+        return idUsuario;
+    }
+
+    public void setIdUsuario(int idUsuario) {
+        this.idUsuario = idUsuario;
+    }
+
+    public Date getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(Date fecha) {
+        this.fecha = fecha;
+    }
+
+    public String getTexto() {
+        return texto;
+    }
+
+    public void setTexto(String texto) {
+        this.texto = texto;
+    }
+
+    @Override
+    public String toString() {
+        return texto;
+    }
+}
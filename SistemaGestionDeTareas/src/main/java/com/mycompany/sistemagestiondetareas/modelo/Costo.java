@@ -10,7 +10,7 @@ public class Costo {
     private String tipo; // PROYECTO o TAREA
     private int idReferencia; // ID del proyecto o tarea
     private String descripcion;
-    private double monto;
+    private long montoCentavos; // Monto en centavos (ver Dinero)
     private String tipoCosto; // RETRASO, ADELANTO, GASTO_PLANIFICADO
     private Date fechaRegistro;
     private int idUsuarioRegistro;
@@ -25,7 +25,7 @@ public class Costo {
         this.tipo = tipo;
         this.idReferencia = idReferencia;
         this.descripcion = descripcion;
-        this.monto = monto;
+        this.montoCentavos = Dinero.desdeDecimal(monto);
         this.tipoCosto = tipoCosto;
         this.fechaRegistro = fechaRegistro;
         this.idUsuarioRegistro = idUsuarioRegistro;
@@ -38,7 +38,7 @@ public class Costo {
         this.tipo = tipo;
         this.idReferencia = idReferencia;
         this.descripcion = descripcion;
-        this.monto = monto;
+        this.montoCentavos = Dinero.desdeDecimal(monto);
         this.tipoCosto = tipoCosto;
         this.fechaRegistro = fechaRegistro;
         this.idUsuarioRegistro = idUsuarioRegistro;
@@ -78,11 +78,19 @@ public class Costo {
     }
 
     public double getMonto() {
-        return monto;
+        return Dinero.aDecimal(montoCentavos);
     }
 
     public void setMonto(double monto) {
-        this.monto = monto;
+        this.montoCentavos = Dinero.desdeDecimal(monto);
+    }
+
+    public long getMontoCentavos() {
+        return montoCentavos;
+    }
+
+    public void setMontoCentavos(long montoCentavos) {
+        this.montoCentavos = montoCentavos;
     }
 
     public String getTipoCosto() {
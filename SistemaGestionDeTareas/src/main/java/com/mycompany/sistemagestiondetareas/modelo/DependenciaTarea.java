@@ -0,0 +1,30 @@
+package com.mycompany.sistemagestiondetareas.modelo;
+
+/**
+ * Dependencia entre dos tareas del mismo proyecto: la tarea no puede
+ * empezar hasta que termine la tarea previa.
+ */
+public class DependenciaTarea {
+    private final int idTarea;
+    private final int idTareaPrevia;
+
+    // Constructor completo
+    public DependenciaTarea(int idTarea, int idTareaPrevia) {
+        this.idTarea = idTarea;
+        this.idTareaPrevia = idTareaPrevia;
+    }
+
+    // Getters
+    public int getIdTarea() {
+        return idTarea;
+    }
+
+    public int getIdTareaPrevia() {
+        return idTareaPrevia;
+    }
+
+    @Override
+    public String toString() {
+        return idTareaPrevia + " → " + idTarea;
+    }
+}
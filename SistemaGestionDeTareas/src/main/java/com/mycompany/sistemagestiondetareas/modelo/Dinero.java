@@ -0,0 +1,143 @@
+package com.mycompany.sistemagestiondetareas.modelo;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Representación de montos en punto fijo: un monto es un long con el número de
+ * centavos, igual que las columnas DECIMAL(10,2) de la base de datos.
+ *
+ * Todas las operaciones trabajan sobre primitivos, por lo que sumar o formatear
+ * montos no crea objetos intermedios (no hay boxing ni String.format).
+ */
+public final class Dinero {
+
+    private static final int CENTAVOS_POR_UNIDAD = 100;
+
+    /** Constructor privado: evita instanciación */
+    private Dinero() {}
+
+    /**
+     * Convierte un monto decimal a centavos, redondeando al centavo más cercano.
+     * Es exacto para cualquier valor leído de una columna DECIMAL(10,2).
+     * @param monto Monto en unidades.
+     * @return Monto en centavos.
+     */
+    public static long desdeDecimal(double monto) {
+        return Math.round(monto * CENTAVOS_POR_UNIDAD);
+    }
+
+    /**
+     * Convierte un BigDecimal a centavos (redondeo HALF_UP a dos decimales).
+     * @param monto Monto en unidades; null se interpreta como cero.
+     * @return Monto en centavos.
+     */
+    public static long desdeBigDecimal(BigDecimal monto) {
+        if (monto == null) {
+            return 0L;
+        }
+        return monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convierte centavos a un monto decimal en unidades.
+     * @param centavos Monto en centavos.
+     * @return Monto en unidades.
+     */
+    public static double aDecimal(long centavos) {
+        return (double) centavos / CENTAVOS_POR_UNIDAD;
+    }
+
+    /**
+     * Convierte centavos a un BigDecimal con escala 2.
+     * @param centavos Monto en centavos.
+     * @return Monto en unidades.
+     */
+    public static BigDecimal aBigDecimal(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    /**
+     * Suma un arreglo de montos en centavos.
+     * @param centavos Montos en centavos.
+     * @return Suma total en centavos.
+     */
+    public static long sumar(long[] centavos) {
+        return sumar(centavos, 0, centavos.length);
+    }
+
+    /**
+     * Suma un rango de un arreglo de montos en centavos.
+     * @param centavos Montos en centavos.
+     * @param desde Índice inicial (inclusivo).
+     * @param hasta Índice final (exclusivo).
+     * @return Suma total en centavos.
+     */
+    public static long sumar(long[] centavos, int desde, int hasta) {
+        long total = 0L;
+        for (int i = desde; i < hasta; i++) {
+            total += centavos[i];
+        }
+        return total;
+    }
+
+    /**
+     * Interpreta un monto escrito por el usuario ("1500", "1500.5", "1500,50", "$1500.50").
+     * @param texto Texto a interpretar.
+     * @return Monto en centavos.
+     * @throws NumberFormatException Si el texto no es un monto válido.
+     */
+    public static long parsear(String texto) {
+        if (texto == null) {
+            throw new NumberFormatException("Monto vacío");
+        }
+
+        String normalizado = texto.trim().replace("$", "").replace(",", ".");
+        if (normalizado.isEmpty()) {
+            throw new NumberFormatException("Monto vacío");
+        }
+
+        return desdeBigDecimal(new BigDecimal(normalizado));
+    }
+
+    /**
+     * Formatea un monto con dos decimales, sin símbolo (equivale a "%.2f").
+     * @param centavos Monto en centavos.
+     * @return Texto formateado.
+     */
+    public static String formatear(long centavos) {
+        return agregar(new StringBuilder(16), centavos).toString();
+    }
+
+    /**
+     * Formatea un monto con símbolo y dos decimales (equivale a "$%.2f").
+     * @param centavos Monto en centavos.
+     * @return Texto formateado.
+     */
+    public static String formatearMoneda(long centavos) {
+        return agregar(new StringBuilder(17).append('$'), centavos).toString();
+    }
+
+    /**
+     * Agrega un monto con dos decimales al final de un StringBuilder existente.
+     * @param destino StringBuilder de destino.
+     * @param centavos Monto en centavos.
+     * @return El mismo StringBuilder, para encadenar llamadas.
+     */
+    public static StringBuilder agregar(StringBuilder destino, long centavos) {
+        long absoluto = centavos;
+        if (centavos < 0) {
+            destino.append('-');
+            absoluto = -centavos;
+        }
+
+        long unidades = absoluto / CENTAVOS_POR_UNIDAD;
+        int resto = (int) (absoluto % CENTAVOS_POR_UNIDAD);
+
+        destino.append(unidades).append('.');
+        if (resto < 10) {
+            destino.append('0');
+        }
+        return destino.append(resto);
+    }
+}
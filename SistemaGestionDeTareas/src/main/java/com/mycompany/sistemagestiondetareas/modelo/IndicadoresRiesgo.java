@@ -0,0 +1,100 @@
+package com.mycompany.sistemagestiondetareas.modelo;
+
+import java.util.Date;
+
+/**
+ * Datos de un proyecto de los que se deriva su nivel de riesgo: tareas
+ * abiertas y vencidas, costos de retraso frente al presupuesto y tareas
+ * completadas recientemente (ver MotorRiesgo).
+ */
+public class IndicadoresRiesgo {
+    private final int idProyecto;
+    private String nivelRiesgo;
+    private long presupuestoTotalCentavos;
+    private Date fechaFin;
+    private int tareasAbiertas;
+    private int tareasVencidas;
+    private long retrasoCentavos;
+    private int completadasRecientes;
+
+    /**
+     * @param idProyecto ID del proyecto.
+     * @param nivelRiesgo Nivel de riesgo guardado actualmente.
+     * @param presupuestoTotalCentavos Presupuesto total en centavos.
+     * @param fechaFin Fecha de fin del proyecto (puede ser null).
+     */
+    public IndicadoresRiesgo(int idProyecto, String nivelRiesgo, long presupuestoTotalCentavos, Date fechaFin) {
+        this.idProyecto = idProyecto;
+        this.nivelRiesgo = nivelRiesgo;
+        this.presupuestoTotalCentavos = presupuestoTotalCentavos;
+        this.fechaFin = fechaFin;
+    }
+
+    // Getters y setters
+    public int getIdProyecto() {
+        return idProyecto;
+    }
+
+    public String getNivelRiesgo() {
+        return nivelRiesgo;
+    }
+
+    public void setNivelRiesgo(String nivelRiesgo) {
+        this.nivelRiesgo = nivelRiesgo;
+    }
+
+    public long getPresupuestoTotalCentavos() {
+        return presupuestoTotalCentavos;
+    }
+
+    public void setPresupuestoTotalCentavos(long presupuestoTotalCentavos) {
+        this.presupuestoTotalCentavos = presupuestoTotalCentavos;
+    }
+
+    public Date getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(Date fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    public int getTareasAbiertas() {
+        return tareasAbiertas;
+    }
+
+    public void setTareasAbiertas(int tareasAbiertas) {
+        this.tareasAbiertas = tareasAbiertas;
+    }
+
+    public int getTareasVencidas() {
+        return tareasVencidas;
+    }
+
+    public void setTareasVencidas(int tareasVencidas) {
+        this.tareasVencidas = tareasVencidas;
+    }
+
+    public long getRetrasoCentavos() {
+        return retrasoCentavos;
+    }
+
+    public void setRetrasoCentavos(long retrasoCentavos) {
+        this.retrasoCentavos = retrasoCentavos;
+    }
+
+    public int getCompletadasRecientes() {
+        return completadasRecientes;
+    }
+
+    public void setCompletadasRecientes(int completadasRecientes) {
+        this.completadasRecientes = completadasRecientes;
+    }
+
+    @Override
+    public String toString() {
+        return "Proyecto " + idProyecto + ": " + tareasVencidas + "/" + tareasAbiertas + " vencidas, retraso "
+                + Dinero.formatear(retrasoCentavos) + " de " + Dinero.formatear(presupuestoTotalCentavos)
+                + ", " + completadasRecientes + " completadas recientes";
+    }
+}
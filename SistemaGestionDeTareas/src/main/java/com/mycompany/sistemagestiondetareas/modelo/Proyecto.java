@@ -13,7 +13,8 @@ public class Proyecto {
     private Date fechaFin;
     private int idResponsable;
     private String nivelRiesgo; // Verde (bajo), Amarillo (medio), Rojo (alto)
-    private double presupuestoTotal;
+    private long presupuestoTotalCentavos; // Presupuesto en centavos (ver Dinero)
+    private int version; // Se incrementa en cada actualización del proyecto
     
     // Constructor vacío
     public Proyecto() {
@@ -28,7 +29,7 @@ public class Proyecto {
         this.fechaFin = fechaFin;
         this.idResponsable = idResponsable;
         this.nivelRiesgo = nivelRiesgo;
-        this.presupuestoTotal = presupuestoTotal;
+        this.presupuestoTotalCentavos = Dinero.desdeDecimal(presupuestoTotal);
     }
     
     // Constructor completo
@@ -41,7 +42,7 @@ public class Proyecto {
         this.fechaFin = fechaFin;
         this.idResponsable = idResponsable;
         this.nivelRiesgo = nivelRiesgo;
-        this.presupuestoTotal = presupuestoTotal;
+        this.presupuestoTotalCentavos = Dinero.desdeDecimal(presupuestoTotal);
     }
     
     // Getters y setters
@@ -102,11 +103,27 @@ public class Proyecto {
     }
 
     public double getPresupuestoTotal() {
-        return presupuestoTotal;
+        return Dinero.aDecimal(presupuestoTotalCentavos);
     }
 
     public void setPresupuestoTotal(double presupuestoTotal) {
-        this.presupuestoTotal = presupuestoTotal;
+        this.presupuestoTotalCentavos = Dinero.desdeDecimal(presupuestoTotal);
+    }
+
+    public long getPresupuestoTotalCentavos() {
+        return presupuestoTotalCentavos;
+    }
+
+    public void setPresupuestoTotalCentavos(long presupuestoTotalCentavos) {
+        this.presupuestoTotalCentavos = presupuestoTotalCentavos;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
     }
     
     @Override
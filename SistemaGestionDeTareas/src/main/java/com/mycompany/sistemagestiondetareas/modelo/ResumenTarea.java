@@ -0,0 +1,63 @@
+package com.mycompany.sistemagestiondetareas.modelo;
+
+import java.util.Date;
+
+/**
+ * Datos de una tarea para las tablas: sin la descripción ni los comentarios,
+ * que solo se leen al abrir el detalle (Tarea completa con buscarPorId).
+ */
+public class ResumenTarea {
+    private final int id;
+    private final String nombre;
+    private final Date fechaCreacion;
+    private final Date fechaVencimiento;
+    private final int idProyecto;
+    private final int idResponsable;
+    private final String estado;
+
+    // Constructor completo
+    public ResumenTarea(int id, String nombre, Date fechaCreacion, Date fechaVencimiento,
+                        int idProyecto, int idResponsable, String estado) {
+        this.id = id;
+        this.nombre = nombre;
+        this.fechaCreacion = fechaCreacion;
+        this.fechaVencimiento = fechaVencimiento;
+        this.idProyecto = idProyecto;
+        this.idResponsable = idResponsable;
+        this.estado = estado;
+    }
+
+    // Getters
+    public int getId() {
+        return id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public Date getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public Date getFechaVencimiento() {
+        return fechaVencimiento;
+    }
+
+    public int getIdProyecto() {
+        return idProyecto;
+    }
+
+    public int getIdResponsable() {
+        return idResponsable;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    @Override
+    public String toString() {
+        return nombre;
+    }
+}
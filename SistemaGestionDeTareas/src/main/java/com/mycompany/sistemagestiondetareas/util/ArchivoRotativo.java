@@ -0,0 +1,79 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo de registro de texto que rota por tamaño: cuando alcanza el tamaño
+ * máximo pasa a ser archivo.1 (el archivo.1 anterior pasa a archivo.2, etc.)
+ * y se conservan solo los últimos archivos rotados.
+ *
+ * Lo usan RegistroConsultasLentas y MonitorEDT.
+ */
+public class ArchivoRotativo {
+
+    private final Path archivo;
+    private final long tamanoMaximoBytes;
+    private final int archivosConservados;
+
+    /**
+     * @param archivo Archivo de registro.
+     * @param tamanoMaximoBytes Tamaño a partir del cual se rota el archivo.
+     * @param archivosConservados Archivos rotados que se conservan (0 para descartarlo al rotar).
+     */
+    public ArchivoRotativo(Path archivo, long tamanoMaximoBytes, int archivosConservados) {
+        this.archivo = archivo;
+        this.tamanoMaximoBytes = tamanoMaximoBytes;
+        this.archivosConservados = archivosConservados;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Agrega texto al final del archivo, creando el directorio si hace falta y
+     * rotando antes si el archivo ya alcanzó el tamaño máximo.
+     * @param texto Texto a agregar (con sus saltos de línea).
+     * @throws IOException Si falla la rotación o la escritura.
+     */
+    public synchronized void agregar(String texto) throws IOException {
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        if (Files.exists(archivo) && Files.size(archivo) >= tamanoMaximoBytes) {
+            rotar();
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(texto);
+        }
+    }
+
+    /**
+     * Desplaza archivo.1 a archivo.2, etc., descarta el más antiguo y deja el actual como archivo.1.
+     */
+    private void rotar() throws IOException {
+        if (archivosConservados <= 0) {
+            Files.delete(archivo);
+            return;
+        }
+        Files.deleteIfExists(rotado(archivosConservados));
+        for (int i = archivosConservados - 1; i >= 1; i--) {
+            if (Files.exists(rotado(i))) {
+                Files.move(rotado(i), rotado(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(archivo, rotado(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotado(int numero) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+    }
+}
@@ -12,14 +12,19 @@ import java.util.Properties;
  * 
  * - Carga la configuración desde src/main/resources/db.properties.
  * - Si el archivo no existe, usa valores por defecto.
+ * - Las propiedades del sistema db.url, db.user y db.password tienen prioridad
+ *   (por ejemplo, los benchmarks apuntan así los DAO a una base H2 en memoria).
  * - Compatible con MySQL 8.0+ (usa caching_sha2_password).
+ * - Cada hilo tiene su propia conexión: las vistas cargan datos en segundo plano
+ *   y los DAO cierran la conexión al terminar, así que compartir una sola entre
+ *   hilos permitiría que un hilo cierre la conexión que otro está usando.
  */
 public class ConexionBD {
 
     private static String URL;
     private static String USUARIO;
     private static String PASSWORD;
-    private static Connection conexion = null;
+    private static final ThreadLocal<Connection> conexion = new ThreadLocal<>();
 
     // Carga las propiedades al iniciar la clase
     static {
@@ -27,10 +32,13 @@ public class ConexionBD {
             cargarPropiedades();
         } catch (IOException e) {
             System.err.println("⚠️ No se encontró db.properties. Usando configuración por defecto.");
-            URL = "jdbc:mysql://localhost:3306/gestion_tareas?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true";
+            URL = "jdbc:mysql://localhost:3306/gestion_tareas?useSSL=false&serverTimezone=UTC&allowPublicKeyRetrieval=true&rewriteBatchedStatements=true";
             USUARIO = "root";
             PASSWORD = "admin";
         }
+        URL = System.getProperty("db.url", URL);
+        USUARIO = System.getProperty("db.user", USUARIO);
+        PASSWORD = System.getProperty("db.password", PASSWORD);
     }
 
     /** Constructor privado: evita instanciación */
@@ -59,13 +67,15 @@ public class ConexionBD {
     }
 
     /**
-     * Devuelve una conexión activa a la base de datos.
+     * Devuelve una conexión activa a la base de datos para el hilo actual.
      */
     public static Connection obtenerConexion() throws SQLException {
-        if (conexion == null || conexion.isClosed()) {
+        Connection actual = conexion.get();
+        if (actual == null || actual.isClosed()) {
             try {
                 Class.forName("com.mysql.cj.jdbc.Driver");
-                conexion = DriverManager.getConnection(URL, USUARIO, PASSWORD);
+                actual = DriverManager.getConnection(URL, USUARIO, PASSWORD);
+                conexion.set(actual);
                 System.out.println("✅ Conexión a la base de datos establecida correctamente.");
             } catch (ClassNotFoundException e) {
                 throw new SQLException("❌ No se encontró el driver de MySQL.", e);
@@ -73,17 +83,18 @@ public class ConexionBD {
                 throw new SQLException("❌ Error al conectar con la base de datos: " + e.getMessage(), e);
             }
         }
-        return conexion;
+        return actual;
     }
 
     /**
-     * Cierra la conexión si está abierta.
+     * Cierra la conexión del hilo actual si está abierta.
      */
     public static void cerrarConexion() {
-        if (conexion != null) {
+        Connection actual = conexion.get();
+        if (actual != null) {
             try {
-                if (!conexion.isClosed()) {
-                    conexion.close();
+                if (!actual.isClosed()) {
+                    actual.close();
                     System.out.println("🔒 Conexión a la base de datos cerrada correctamente.");
                 }
             } catch (SQLException e) {
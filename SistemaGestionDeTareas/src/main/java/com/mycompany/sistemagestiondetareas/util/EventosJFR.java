@@ -0,0 +1,187 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import java.nio.charset.StandardCharsets;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Eventos propios para JDK Flight Recorder (JFR).
+ *
+ * Mientras no haya una grabación activa, crear y terminar un evento no hace
+ * nada (shouldCommit() devuelve false y los campos ni se calculan), así que se
+ * dejan siempre en el código. Para perfilar la aplicación en marcha:
+ *
+ *   jcmd &lt;pid&gt; JFR.start name=tareas settings=profile duration=120s filename=tareas.jfr
+ *
+ * y abrir tareas.jfr con JDK Mission Control, o listar un tipo con
+ * "jfr print --events com.mycompany.sistemagestiondetareas.DaoQuery tareas.jfr".
+ * Los eventos aparecen en la categoría "Sistema de Gestión de Tareas" junto a
+ * los del JDK (GC, bloqueos, E/S), con la duración de cada uno.
+ */
+public final class EventosJFR {
+
+    private static final String CATEGORIA = "Sistema de Gestión de Tareas";
+    private static final String PREFIJO = "com.mycompany.sistemagestiondetareas.";
+
+    private EventosJFR() {
+    }
+
+    /**
+     * Ejecución de una sentencia JDBC de un DAO, desde que se ejecuta hasta que
+     * se cierra ella o su ResultSet. Sin pila: el método DAO ya identifica el origen
+     * y se emite en cada consulta.
+     */
+    @Name(PREFIJO + "DaoQuery")
+    @Label("Consulta DAO")
+    @Category({CATEGORIA, "Base de datos"})
+    @StackTrace(false)
+    public static class ConsultaDAO extends Event {
+        @Label("Método DAO")
+        @Description("Método que ejecutó la sentencia, por ejemplo TareaDAO.listarTodas")
+        String metodo;
+
+        @Label("Id SQL")
+        @Description("Hash del texto SQL, para agrupar las ejecuciones de la misma sentencia")
+        String idSql;
+
+        @Label("SQL")
+        String sql;
+
+        @Label("Filas")
+        @Description("Filas leídas o modificadas")
+        long filas;
+
+        /**
+         * Termina el evento y lo registra si hay una grabación que lo pida.
+         * @param metodo Método DAO.
+         * @param sql Texto SQL (puede ser null si no se conoce).
+         * @param filas Filas leídas o modificadas.
+         */
+        public void registrar(String metodo, String sql, long filas) {
+            end();
+            if (shouldCommit()) {
+                this.metodo = metodo;
+                this.sql = sql;
+                this.idSql = sql == null ? null : idSql(sql);
+                this.filas = filas;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Envío de una notificación por uno de sus canales; la duración es la latencia del envío.
+     */
+    @Name(PREFIJO + "NotificationDispatched")
+    @Label("Notificación enviada")
+    @Category({CATEGORIA, "Notificaciones"})
+    public static class NotificacionEnviada extends Event {
+        @Label("Canal")
+        @Description("base_datos, email o tiempo_real")
+        String canal;
+
+        @Label("Id usuario")
+        int idUsuario;
+
+        @Label("Éxito")
+        boolean exito;
+
+        /**
+         * Termina el evento y lo registra si hay una grabación que lo pida.
+         * @param canal Canal por el que se envió.
+         * @param idUsuario Destinatario.
+         * @param exito false si el envío lanzó una excepción.
+         */
+        public void registrar(String canal, int idUsuario, boolean exito) {
+            end();
+            if (shouldCommit()) {
+                this.canal = canal;
+                this.idUsuario = idUsuario;
+                this.exito = exito;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Difusión de un mensaje del chat a los clientes conectados. Sin pila: se emite en cada mensaje.
+     */
+    @Name(PREFIJO + "ServerMessage")
+    @Label("Mensaje del servidor")
+    @Category({CATEGORIA, "Servidor"})
+    @StackTrace(false)
+    public static class MensajeServidor extends Event {
+        @Label("Id remitente")
+        int idRemitente;
+
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+
+        @Label("Destinatarios")
+        int destinatarios;
+
+        /**
+         * Termina el evento y lo registra si hay una grabación que lo pida.
+         * @param idRemitente Usuario que originó el mensaje.
+         * @param mensaje Texto difundido (se mide en UTF-8 solo si se registra).
+         * @param destinatarios Clientes a los que se envió.
+         */
+        public void registrar(int idRemitente, String mensaje, int destinatarios) {
+            end();
+            if (shouldCommit()) {
+                this.idRemitente = idRemitente;
+                this.bytes = mensaje.getBytes(StandardCharsets.UTF_8).length;
+                this.destinatarios = destinatarios;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Una revisión completa del RecordatorioScheduler.
+     */
+    @Name(PREFIJO + "ReminderRun")
+    @Label("Revisión de recordatorios")
+    @Category({CATEGORIA, "Notificaciones"})
+    public static class RevisionRecordatorios extends Event {
+        @Label("Tareas revisadas")
+        int tareasRevisadas;
+
+        @Label("Recordatorios enviados")
+        int recordatoriosEnviados;
+
+        @Label("Éxito")
+        boolean exito;
+
+        /**
+         * Termina el evento y lo registra si hay una grabación que lo pida.
+         * @param tareasRevisadas Tareas leídas de la base de datos.
+         * @param recordatoriosEnviados Recordatorios enviados en la revisión.
+         * @param exito false si la revisión se interrumpió por una excepción.
+         */
+        public void registrar(int tareasRevisadas, int recordatoriosEnviados, boolean exito) {
+            end();
+            if (shouldCommit()) {
+                this.tareasRevisadas = tareasRevisadas;
+                this.recordatoriosEnviados = recordatoriosEnviados;
+                this.exito = exito;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Identificador corto y estable de una sentencia: hash del SQL con los espacios normalizados.
+     * @param sql Texto SQL.
+     * @return Ocho dígitos hexadecimales.
+     */
+    static String idSql(String sql) {
+        return String.format("%08x", sql.replaceAll("\\s+", " ").trim().hashCode());
+    }
+}
@@ -0,0 +1,50 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Destino al que se exporta el contenido de un RegistroMetricas.
+ */
+@FunctionalInterface
+public interface ExportadorMetricas {
+
+    /**
+     * Exporta el estado actual de las métricas.
+     * @param registro Registro a exportar.
+     * @throws IOException Si no se pudo escribir el destino.
+     */
+    void exportar(RegistroMetricas registro) throws IOException;
+
+    /**
+     * Escribe un resumen de las métricas en la salida estándar, una línea por serie.
+     * @return Exportador al log.
+     */
+    static ExportadorMetricas alLog() {
+        return registro -> {
+            for (String linea : registro.instantanea()) {
+                System.out.println("[métricas] " + linea);
+            }
+        };
+    }
+
+    /**
+     * Escribe las métricas en formato Prometheus en un archivo (para el textfile
+     * collector de node_exporter). Se escribe en un archivo temporal que luego
+     * reemplaza al destino, de modo que nunca se lee un archivo a medio escribir.
+     * @param archivo Archivo destino, por ejemplo metricas.prom.
+     * @return Exportador a archivo.
+     */
+    static ExportadorMetricas aArchivoPrometheus(Path archivo) {
+        return registro -> {
+            Path destino = archivo.toAbsolutePath();
+            Files.createDirectories(destino.getParent());
+            Path temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+            Files.write(temporal, registro.formatoPrometheus().getBytes(StandardCharsets.UTF_8));
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        };
+    }
+}
@@ -0,0 +1,499 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.dao.CostoDAO;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Llena el esquema de database.sql con datos sintéticos para pruebas de
+ * carga y de escala: usuarios, proyectos, tareas (con su historial de
+ * estados) y costos.
+ *
+ * Los datos dependen solo de la semilla y las cantidades, así que dos
+ * ejecuciones iguales producen las mismas filas. Las distribuciones imitan un
+ * uso real: la mayoría de las tareas completadas vencieron en el pasado, hay
+ * tareas pendientes atrasadas, las tareas se concentran en algunos proyectos y
+ * los costos todavía más (unos pocos proyectos acumulan la mayoría).
+ *
+ * Las filas se insertan con sentencias de varias filas (INSERT ... VALUES (...), (...))
+ * en transacciones de TAMANO_TRANSACCION filas, y funciona igual con MySQL que
+ * con H2 en modo MySQL. Las referencias entre tablas suponen que los ID
+ * AUTO_INCREMENT continúan tras el mayor existente (una base recién creada o sin borrados).
+ *
+ * Uso desde la línea de comandos (por defecto usa la base de db.properties):
+ *   GeneradorDatosSinteticos --tareas 1000000 [--usuarios N] [--proyectos N] [--costos N]
+ *       [--semilla N] [--crear-esquema] [--url URL --usuario U --password P]
+ */
+public class GeneradorDatosSinteticos {
+
+    /** Filas por sentencia INSERT. */
+    static final int FILAS_POR_SENTENCIA = 500;
+    /** Filas por transacción. */
+    static final int TAMANO_TRANSACCION = 20_000;
+
+    private static final long DIA_MS = 24L * 3600 * 1000;
+    private static final String[] NOMBRES = {"Ana", "Luis", "María", "Carlos", "Lucía", "Jorge", "Sofía", "Diego",
+        "Valentina", "Andrés", "Camila", "Pablo", "Elena", "Miguel", "Paula", "Javier"};
+    private static final String[] APELLIDOS = {"García", "Rodríguez", "López", "Martínez", "González", "Pérez",
+        "Sánchez", "Romero", "Torres", "Flores", "Rivera", "Gómez", "Díaz", "Vargas", "Castro", "Ramos"};
+    private static final String[] VERBOS = {"Revisar", "Diseñar", "Implementar", "Probar", "Documentar",
+        "Desplegar", "Analizar", "Corregir"};
+    private static final String[] OBJETOS = {"módulo de pagos", "informe mensual", "interfaz de usuario",
+        "base de datos", "API de clientes", "plan de pruebas", "migración", "manual de usuario"};
+
+    /**
+     * Cantidad de filas a generar por tabla.
+     */
+    public static final class Cantidades {
+        final int usuarios;
+        final int proyectos;
+        final int tareas;
+        final int costos;
+
+        public Cantidades(int usuarios, int proyectos, int tareas, int costos) {
+            if (usuarios < 1 || proyectos < 1 || tareas < 0 || costos < 0) {
+                throw new IllegalArgumentException("Se necesita al menos un usuario y un proyecto");
+            }
+            if (costos > 0 && tareas == 0) {
+                throw new IllegalArgumentException("Los costos de tareas necesitan al menos una tarea");
+            }
+            this.usuarios = usuarios;
+            this.proyectos = proyectos;
+            this.tareas = tareas;
+            this.costos = costos;
+        }
+
+        /**
+         * Proporciones habituales a partir del número de tareas: un usuario cada
+         * 100 tareas, un proyecto cada 50 y dos costos por tarea.
+         * @param tareas Número de tareas.
+         * @return Cantidades para las cuatro tablas.
+         */
+        public static Cantidades porTareas(int tareas) {
+            return new Cantidades(Math.max(10, tareas / 100), Math.max(5, tareas / 50), tareas, tareas * 2);
+        }
+
+        public int getUsuarios() {
+            return usuarios;
+        }
+
+        public int getProyectos() {
+            return proyectos;
+        }
+
+        public int getTareas() {
+            return tareas;
+        }
+
+        public int getCostos() {
+            return costos;
+        }
+    }
+
+    private final Cantidades cantidades;
+    private final long semilla;
+    private final long ahora;
+
+    /**
+     * @param cantidades Filas a generar.
+     * @param semilla Semilla de los generadores aleatorios.
+     */
+    public GeneradorDatosSinteticos(Cantidades cantidades, long semilla) {
+        this(cantidades, semilla, System.currentTimeMillis());
+    }
+
+    /**
+     * @param cantidades Filas a generar.
+     * @param semilla Semilla de los generadores aleatorios.
+     * @param ahora Instante de referencia para las fechas; fijarlo hace las fechas reproducibles.
+     */
+    public GeneradorDatosSinteticos(Cantidades cantidades, long semilla, long ahora) {
+        this.cantidades = cantidades;
+        this.semilla = semilla;
+        this.ahora = ahora;
+    }
+
+    /**
+     * Crea las tablas e índices de database.sql en una base vacía (por ejemplo,
+     * H2 en memoria). Omite las sentencias propias del servidor MySQL
+     * (DROP/CREATE DATABASE, USE) y los datos iniciales.
+     * @param conexion Conexión a la base.
+     * @throws SQLException Si falla alguna sentencia.
+     */
+    public static void crearEsquema(Connection conexion) throws SQLException {
+        String script = leerEsquema().replaceAll("--[^\n]*", "");
+        try (Statement stmt = conexion.createStatement()) {
+            for (String sentencia : script.split(";")) {
+                String limpia = sentencia.trim();
+                String mayusculas = limpia.toUpperCase(Locale.ROOT);
+                if (mayusculas.startsWith("CREATE TABLE") || mayusculas.startsWith("CREATE INDEX")) {
+                    stmt.execute(limpia);
+                }
+            }
+        }
+    }
+
+    private static String leerEsquema() throws SQLException {
+        try (InputStream input = GeneradorDatosSinteticos.class.getClassLoader().getResourceAsStream("database.sql")) {
+            if (input == null) {
+                throw new SQLException("No se encontró database.sql en resources/");
+            }
+            ByteArrayOutputStream contenido = new ByteArrayOutputStream();
+            input.transferTo(contenido);
+            return contenido.toString(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Error al leer database.sql: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Inserta todas las filas y reconstruye costos_resumen. Restaura el modo
+     * de autocommit de la conexión al terminar.
+     * @param conexion Conexión a una base con el esquema creado.
+     * @throws SQLException Si falla alguna inserción (se revierte la transacción en curso).
+     */
+    public void generar(Connection conexion) throws SQLException {
+        boolean autoCommitOriginal = conexion.getAutoCommit();
+        conexion.setAutoCommit(false);
+        try {
+            int baseUsuarios = maximoId(conexion, "usuarios");
+            int baseProyectos = maximoId(conexion, "proyectos");
+            int baseTareas = maximoId(conexion, "tareas");
+
+            long inicio = System.nanoTime();
+            insertarUsuarios(conexion, baseUsuarios, new SplittableRandom(semilla));
+            informar("usuarios", cantidades.usuarios, inicio);
+
+            inicio = System.nanoTime();
+            insertarProyectos(conexion, baseUsuarios, new SplittableRandom(semilla + 1));
+            informar("proyectos", cantidades.proyectos, inicio);
+
+            inicio = System.nanoTime();
+            // El historial usa su propia semilla para no alterar las tareas de cada semilla
+            int cambiosEstado = insertarTareas(conexion, baseUsuarios, baseProyectos, baseTareas,
+                    new SplittableRandom(semilla + 2), new SplittableRandom(semilla + 4));
+            informar("tareas", cantidades.tareas, inicio);
+            System.out.println("   con " + cambiosEstado + " cambios de estado en el historial");
+
+            inicio = System.nanoTime();
+            insertarCostos(conexion, baseUsuarios, baseProyectos, baseTareas, new SplittableRandom(semilla + 3));
+            informar("costos", cantidades.costos, inicio);
+
+            conexion.commit();
+            CostoDAO.reconstruirResumen(conexion);
+        } catch (SQLException e) {
+            conexion.rollback();
+            throw e;
+        } finally {
+            conexion.setAutoCommit(autoCommitOriginal);
+        }
+    }
+
+    private static int maximoId(Connection conexion, String tabla) throws SQLException {
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + tabla)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void informar(String tabla, int filas, long inicio) {
+        long ms = Math.max(1, (System.nanoTime() - inicio) / 1_000_000);
+        System.out.println("✅ " + filas + " " + tabla + " generados en " + ms + " ms ("
+                + (filas * 1000L / ms) + " filas/s)");
+    }
+
+    private void insertarUsuarios(Connection conexion, int base, SplittableRandom random) throws SQLException {
+        try (InsercionMultiple insercion = new InsercionMultiple(conexion, "usuarios",
+                "nombre", "apellido", "email", "password", "es_admin")) {
+            for (int i = 1; i <= cantidades.usuarios; i++) {
+                int id = base + i;
+                insercion.agregar(
+                        NOMBRES[random.nextInt(NOMBRES.length)],
+                        APELLIDOS[random.nextInt(APELLIDOS.length)],
+                        "usuario" + id + "@sintetico.local",
+                        "clave" + id,
+                        i == 1 || random.nextInt(100) < 2);
+            }
+        }
+    }
+
+    private void insertarProyectos(Connection conexion, int baseUsuarios, SplittableRandom random)
+            throws SQLException {
+        try (InsercionMultiple insercion = new InsercionMultiple(conexion, "proyectos",
+                "nombre", "descripcion", "fecha_inicio", "fecha_fin", "id_responsable", "nivel_riesgo",
+                "presupuesto_total")) {
+            for (int i = 1; i <= cantidades.proyectos; i++) {
+                long inicio = ahora - random.nextLong(730) * DIA_MS;
+                // Uno de cada diez proyectos no tiene fecha de fin
+                Timestamp fin = random.nextInt(10) == 0 ? null
+                        : new Timestamp(inicio + (30 + random.nextLong(335)) * DIA_MS);
+                int riesgo = random.nextInt(100);
+                insercion.agregar(
+                        "Proyecto " + i,
+                        "Proyecto sintético de " + OBJETOS[random.nextInt(OBJETOS.length)],
+                        new Timestamp(inicio),
+                        fin,
+                        baseUsuarios + 1 + random.nextInt(cantidades.usuarios),
+                        riesgo < 70 ? "VERDE" : riesgo < 90 ? "AMARILLO" : "ROJO",
+                        BigDecimal.valueOf(1_000_000 + random.nextLong(99_000_000), 2));
+            }
+        }
+    }
+
+    /**
+     * Inserta las tareas y su historial de estados: cada tarea se crea
+     * PENDIENTE y, según su estado actual, pasa a EN PROCESO y a COMPLETADA.
+     * @return Filas insertadas en historial_estado_tarea.
+     */
+    private int insertarTareas(Connection conexion, int baseUsuarios, int baseProyectos, int baseTareas,
+                               SplittableRandom random, SplittableRandom randomHistorial) throws SQLException {
+        int cambiosEstado = 0;
+        try (InsercionMultiple insercion = new InsercionMultiple(conexion, "tareas",
+                "nombre", "descripcion", "fecha_creacion", "fecha_vencimiento", "id_proyecto", "id_responsable",
+                "estado");
+             InsercionMultiple historial = new InsercionMultiple(conexion, "historial_estado_tarea",
+                "id_tarea", "id_proyecto", "estado_anterior", "estado_nuevo", "fecha", "id_usuario")) {
+            for (int i = 1; i <= cantidades.tareas; i++) {
+                String estado;
+                long diasVencimiento;
+                int valor = random.nextInt(100);
+                if (valor < 35) {
+                    // Las completadas vencieron casi siempre en el pasado
+                    estado = "COMPLETADA";
+                    diasVencimiento = random.nextLong(-180, 10);
+                } else if (valor < 60) {
+                    estado = "EN PROCESO";
+                    diasVencimiento = random.nextLong(-15, 45);
+                } else {
+                    // Algunas pendientes ya están atrasadas
+                    estado = "PENDIENTE";
+                    diasVencimiento = random.nextLong(-10, 90);
+                }
+                String verbo = VERBOS[random.nextInt(VERBOS.length)];
+                String objeto = OBJETOS[random.nextInt(OBJETOS.length)];
+                Timestamp vencimiento = new Timestamp(ahora + diasVencimiento * DIA_MS + random.nextLong(DIA_MS));
+                int idProyecto = baseProyectos + 1 + sesgado(random, cantidades.proyectos, 2);
+                int idResponsable = baseUsuarios + 1 + random.nextInt(cantidades.usuarios);
+
+                // Espera hasta empezarla y tiempo de trabajo; se sortean siempre para
+                // que el historial de cada tarea no dependa del estado de las anteriores
+                long espera = randomHistorial.nextLong(DIA_MS / 4, 10 * DIA_MS);
+                long trabajo = randomHistorial.nextLong(DIA_MS / 2, 30 * DIA_MS);
+                long creacion = ahora - espera - trabajo - randomHistorial.nextLong(180 * DIA_MS);
+
+                insercion.agregar(
+                        verbo + " " + objeto,
+                        verbo + " " + objeto + " (tarea sintética " + i + ")",
+                        new Timestamp(creacion),
+                        vencimiento,
+                        idProyecto,
+                        idResponsable,
+                        estado);
+
+                int idTarea = baseTareas + i;
+                historial.agregar(idTarea, idProyecto, null, "PENDIENTE", new Timestamp(creacion), idResponsable);
+                cambiosEstado++;
+                if (!"PENDIENTE".equals(estado)) {
+                    historial.agregar(idTarea, idProyecto, "PENDIENTE", "EN PROCESO",
+                            new Timestamp(creacion + espera), idResponsable);
+                    cambiosEstado++;
+                }
+                if ("COMPLETADA".equals(estado)) {
+                    historial.agregar(idTarea, idProyecto, "EN PROCESO", "COMPLETADA",
+                            new Timestamp(creacion + espera + trabajo), idResponsable);
+                    cambiosEstado++;
+                }
+            }
+        }
+        return cambiosEstado;
+    }
+
+    private void insertarCostos(Connection conexion, int baseUsuarios, int baseProyectos, int baseTareas,
+                                SplittableRandom random) throws SQLException {
+        try (InsercionMultiple insercion = new InsercionMultiple(conexion, "costos",
+                "tipo", "id_referencia", "descripcion", "monto", "tipo_costo", "fecha_registro",
+                "id_usuario_registro")) {
+            for (int i = 1; i <= cantidades.costos; i++) {
+                boolean deProyecto = random.nextInt(100) < 60;
+                int idReferencia = deProyecto
+                        ? baseProyectos + 1 + sesgado(random, cantidades.proyectos, 3)
+                        : baseTareas + 1 + random.nextInt(cantidades.tareas);
+                int tipo = random.nextInt(100);
+                String tipoCosto = tipo < 60 ? "GASTO_PLANIFICADO" : tipo < 85 ? "RETRASO" : "ADELANTO";
+                // Montos con distribución log-normal (mediana de unos 600), como los gastos reales
+                long centavos = Math.min(1_000_000_000L, Math.max(100L,
+                        Math.round(Math.exp(11 + random.nextGaussian()))));
+                insercion.agregar(
+                        deProyecto ? "PROYECTO" : "TAREA",
+                        idReferencia,
+                        "Costo sintético " + i,
+                        BigDecimal.valueOf(centavos, 2),
+                        tipoCosto,
+                        new Timestamp(ahora - random.nextLong(365 * DIA_MS)),
+                        baseUsuarios + 1 + random.nextInt(cantidades.usuarios));
+            }
+        }
+    }
+
+    /**
+     * Índice entre 0 y cantidad - 1 sesgado hacia los primeros: con exponente 3,
+     * el primer 10% de los valores recibe alrededor del 46% de las elecciones.
+     */
+    private static int sesgado(SplittableRandom random, int cantidad, int exponente) {
+        return Math.min(cantidad - 1, (int) (cantidad * Math.pow(random.nextDouble(), exponente)));
+    }
+
+    /**
+     * Acumula filas y las inserta de FILAS_POR_SENTENCIA en FILAS_POR_SENTENCIA
+     * con una sentencia de varias filas; confirma cada TAMANO_TRANSACCION filas.
+     */
+    private static final class InsercionMultiple implements AutoCloseable {
+        private final Connection conexion;
+        private final String tabla;
+        private final String[] columnas;
+        private final PreparedStatement completa;
+        private final Object[] valores;
+        private int filas;
+        private long sinConfirmar;
+
+        InsercionMultiple(Connection conexion, String tabla, String... columnas) throws SQLException {
+            this.conexion = conexion;
+            this.tabla = tabla;
+            this.columnas = columnas;
+            this.completa = conexion.prepareStatement(sql(FILAS_POR_SENTENCIA));
+            this.valores = new Object[FILAS_POR_SENTENCIA * columnas.length];
+        }
+
+        private String sql(int cantidadFilas) {
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(tabla).append(" (")
+                    .append(String.join(", ", columnas)).append(") VALUES ");
+            String fila = "(" + "?, ".repeat(columnas.length - 1) + "?)";
+            for (int i = 0; i < cantidadFilas; i++) {
+                sql.append(i > 0 ? ", " : "").append(fila);
+            }
+            return sql.toString();
+        }
+
+        void agregar(Object... fila) throws SQLException {
+            System.arraycopy(fila, 0, valores, filas * columnas.length, columnas.length);
+            filas++;
+            if (filas == FILAS_POR_SENTENCIA) {
+                ejecutar(completa);
+            }
+        }
+
+        private void ejecutar(PreparedStatement stmt) throws SQLException {
+            for (int i = 0; i < filas * columnas.length; i++) {
+                stmt.setObject(i + 1, valores[i]);
+            }
+            stmt.executeUpdate();
+            sinConfirmar += filas;
+            filas = 0;
+            if (sinConfirmar >= TAMANO_TRANSACCION) {
+                conexion.commit();
+                sinConfirmar = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (filas > 0) {
+                    try (PreparedStatement parcial = conexion.prepareStatement(sql(filas))) {
+                        ejecutar(parcial);
+                    }
+                }
+                conexion.commit();
+            } finally {
+                completa.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int tareas = 100_000;
+        Integer usuarios = null;
+        Integer proyectos = null;
+        Integer costos = null;
+        long semilla = 42;
+        boolean crearEsquema = false;
+        String url = null;
+        String usuario = "root";
+        String password = "";
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--tareas":
+                        tareas = Integer.parseInt(args[++i]);
+                        break;
+                    case "--usuarios":
+                        usuarios = Integer.parseInt(args[++i]);
+                        break;
+                    case "--proyectos":
+                        proyectos = Integer.parseInt(args[++i]);
+                        break;
+                    case "--costos":
+                        costos = Integer.parseInt(args[++i]);
+                        break;
+                    case "--semilla":
+                        semilla = Long.parseLong(args[++i]);
+                        break;
+                    case "--crear-esquema":
+                        crearEsquema = true;
+                        break;
+                    case "--url":
+                        url = args[++i];
+                        break;
+                    case "--usuario":
+                        usuario = args[++i];
+                        break;
+                    case "--password":
+                        password = args[++i];
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage() != null ? e.getMessage() : "Falta el valor de una opción");
+            System.err.println("Uso: GeneradorDatosSinteticos --tareas N [--usuarios N] [--proyectos N] [--costos N]"
+                    + " [--semilla N] [--crear-esquema] [--url URL --usuario U --password P]");
+            System.exit(2);
+            return;
+        }
+
+        Cantidades porDefecto = Cantidades.porTareas(tareas);
+        Cantidades cantidades = new Cantidades(
+                usuarios != null ? usuarios : porDefecto.usuarios,
+                proyectos != null ? proyectos : porDefecto.proyectos,
+                tareas,
+                costos != null ? costos : porDefecto.costos);
+
+        long inicio = System.nanoTime();
+        try (Connection conexion = url != null
+                ? DriverManager.getConnection(url, usuario, password)
+                : ConexionBD.obtenerConexion()) {
+            if (crearEsquema) {
+                crearEsquema(conexion);
+            }
+            new GeneradorDatosSinteticos(cantidades, semilla).generar(conexion);
+        } catch (SQLException e) {
+            System.err.println("❌ Error al generar los datos: " + e.getMessage());
+            System.exit(1);
+        }
+        System.out.println("✅ Datos generados en " + (System.nanoTime() - inicio) / 1_000_000_000 + " s.");
+    }
+}
@@ -0,0 +1,464 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.modelo.DependenciaTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Grafo en memoria de las dependencias entre las tareas de un proyecto, con
+ * listas de adyacencia en los dos sentidos.
+ *
+ * Para cada tarea calcula, recorriendo el grafo en orden topológico:
+ * - inicio temprano: el mayor entre su fecha de creación y el fin temprano
+ *   de sus tareas previas sin completar (una tarea completada no retrasa a
+ *   las que dependen de ella);
+ * - fin temprano: inicio temprano más su duración prevista (de la creación
+ *   al vencimiento);
+ * - holgura: vencimiento menos fin temprano. Con la duración prevista es 0
+ *   si las dependencias no la retrasan y negativa si la hacen terminar
+ *   después de su vencimiento.
+ * La ruta crítica es la cadena de tareas previas que fija el mayor fin
+ * temprano entre las tareas sin completar.
+ *
+ * El orden topológico se mantiene al agregar una dependencia reordenando solo
+ * las tareas entre sus dos extremos (algoritmo de Pearce y Kelly). Un cambio
+ * en una tarea recalcula únicamente las tareas que dependen de ella, en orden
+ * topológico, y deja de propagarse donde el fin temprano no cambia: en
+ * proyectos de decenas de miles de tareas una actualización toca pocos nodos.
+ *
+ * Todas las operaciones son sincronizadas.
+ */
+public class GrafoDependencias {
+
+    private static final String ESTADO_COMPLETADA = "COMPLETADA";
+
+    private static final class Nodo {
+        final int idTarea;
+        long inicio;
+        long duracion;
+        long vencimiento;
+        boolean completada;
+        final List<Nodo> previas = new ArrayList<>(2);
+        final List<Nodo> siguientes = new ArrayList<>(2);
+        // Posición en el orden topológico (con huecos tras eliminar tareas)
+        int orden;
+        long inicioTemprano;
+        long finTemprano;
+        Nodo previaCritica;
+        // Lo que ven las tareas siguientes: el fin temprano, o MIN_VALUE si está completada
+        long aporte = Long.MIN_VALUE;
+        boolean enCola;
+        boolean visitado;
+
+        Nodo(int idTarea) {
+            this.idTarea = idTarea;
+        }
+    }
+
+    /**
+     * Fechas calculadas de una tarea.
+     */
+    public static final class Planificacion {
+        private final long inicioTemprano;
+        private final long finTemprano;
+        private final long holguraMs;
+
+        Planificacion(long inicioTemprano, long finTemprano, long holguraMs) {
+            this.inicioTemprano = inicioTemprano;
+            this.finTemprano = finTemprano;
+            this.holguraMs = holguraMs;
+        }
+
+        public Date getInicioTemprano() {
+            return new Date(inicioTemprano);
+        }
+
+        public Date getFinTemprano() {
+            return new Date(finTemprano);
+        }
+
+        /** Milisegundos hasta el vencimiento; negativa si la tarea terminaría tarde. */
+        public long getHolguraMs() {
+            return holguraMs;
+        }
+    }
+
+    // En orden de inserción para que el orden topológico inicial sea reproducible
+    private final Map<Integer, Nodo> nodos = new LinkedHashMap<>();
+    private int siguienteOrden;
+
+    /**
+     * Construye el grafo de un proyecto. Las dependencias con alguna tarea
+     * fuera de la lista se ignoran.
+     * @param tareas Tareas del proyecto.
+     * @param dependencias Dependencias entre ellas.
+     * @return Grafo con las fechas ya calculadas.
+     * @throws IllegalArgumentException Si las dependencias forman un ciclo.
+     */
+    public static GrafoDependencias desde(Collection<ResumenTarea> tareas, Collection<DependenciaTarea> dependencias) {
+        GrafoDependencias grafo = new GrafoDependencias();
+        for (ResumenTarea tarea : tareas) {
+            Nodo nodo = new Nodo(tarea.getId());
+            asignarDatos(nodo, tarea.getFechaCreacion(), tarea.getFechaVencimiento(), tarea.getEstado());
+            grafo.nodos.put(nodo.idTarea, nodo);
+        }
+        for (DependenciaTarea dependencia : dependencias) {
+            Nodo tarea = grafo.nodos.get(dependencia.getIdTarea());
+            Nodo previa = grafo.nodos.get(dependencia.getIdTareaPrevia());
+            if (tarea != null && previa != null && tarea != previa && !previa.siguientes.contains(tarea)) {
+                previa.siguientes.add(tarea);
+                tarea.previas.add(previa);
+            }
+        }
+        grafo.ordenarYCalcular();
+        return grafo;
+    }
+
+    /**
+     * Orden topológico inicial (algoritmo de Kahn) y cálculo de todas las tareas.
+     */
+    private void ordenarYCalcular() {
+        Map<Nodo, Integer> pendientes = new HashMap<>();
+        Deque<Nodo> listos = new ArrayDeque<>();
+        for (Nodo nodo : nodos.values()) {
+            if (nodo.previas.isEmpty()) {
+                listos.add(nodo);
+            } else {
+                pendientes.put(nodo, nodo.previas.size());
+            }
+        }
+
+        int ordenadas = 0;
+        while (!listos.isEmpty()) {
+            Nodo nodo = listos.poll();
+            nodo.orden = ordenadas++;
+            calcular(nodo);
+            for (Nodo siguiente : nodo.siguientes) {
+                int restantes = pendientes.merge(siguiente, -1, Integer::sum);
+                if (restantes == 0) {
+                    pendientes.remove(siguiente);
+                    listos.add(siguiente);
+                }
+            }
+        }
+
+        if (ordenadas < nodos.size()) {
+            throw new IllegalArgumentException("Las dependencias entre tareas forman un ciclo");
+        }
+        siguienteOrden = ordenadas;
+    }
+
+    /**
+     * Agrega una tarea o actualiza sus fechas y su estado.
+     * @param idTarea ID de la tarea.
+     * @param fechaCreacion Fecha de creación.
+     * @param fechaVencimiento Fecha de vencimiento.
+     * @param estado Estado de la tarea.
+     * @return Número de tareas recalculadas.
+     */
+    public synchronized int guardarTarea(int idTarea, Date fechaCreacion, Date fechaVencimiento, String estado) {
+        Nodo nodo = nodos.get(idTarea);
+        if (nodo == null) {
+            // Sin dependencias todavía: puede ir al final del orden
+            nodo = new Nodo(idTarea);
+            nodo.orden = siguienteOrden++;
+            nodos.put(idTarea, nodo);
+        }
+        asignarDatos(nodo, fechaCreacion, fechaVencimiento, estado);
+        return recalcularDesde(Collections.singletonList(nodo));
+    }
+
+    /**
+     * Cambia el estado de una tarea.
+     * @param idTarea ID de la tarea.
+     * @param estado Nuevo estado.
+     * @return Número de tareas recalculadas (0 si la tarea no está en el grafo).
+     */
+    public synchronized int actualizarEstado(int idTarea, String estado) {
+        Nodo nodo = nodos.get(idTarea);
+        if (nodo == null) {
+            return 0;
+        }
+        nodo.completada = ESTADO_COMPLETADA.equals(estado);
+        return recalcularDesde(Collections.singletonList(nodo));
+    }
+
+    /**
+     * Quita una tarea y sus dependencias.
+     * @param idTarea ID de la tarea.
+     * @return true si la tarea estaba en el grafo.
+     */
+    public synchronized boolean eliminarTarea(int idTarea) {
+        Nodo nodo = nodos.remove(idTarea);
+        if (nodo == null) {
+            return false;
+        }
+        for (Nodo previa : nodo.previas) {
+            previa.siguientes.remove(nodo);
+        }
+        for (Nodo siguiente : nodo.siguientes) {
+            siguiente.previas.remove(nodo);
+        }
+        recalcularDesde(nodo.siguientes);
+        return true;
+    }
+
+    /**
+     * Agrega una dependencia si no crea un ciclo.
+     * @param idTarea ID de la tarea que depende.
+     * @param idTareaPrevia ID de la tarea que debe terminar antes.
+     * @return true si se agregó; false si alguna tarea no está en el grafo, la
+     *         dependencia ya existía o crearía un ciclo.
+     */
+    public synchronized boolean agregarDependencia(int idTarea, int idTareaPrevia) {
+        Nodo tarea = nodos.get(idTarea);
+        Nodo previa = nodos.get(idTareaPrevia);
+        if (tarea == null || previa == null || tarea == previa || previa.siguientes.contains(tarea)) {
+            return false;
+        }
+        // Si la previa ya va antes, el orden sigue siendo válido y no puede haber ciclo
+        if (previa.orden > tarea.orden && !reordenar(previa, tarea)) {
+            return false;
+        }
+        previa.siguientes.add(tarea);
+        tarea.previas.add(previa);
+        recalcularDesde(Collections.singletonList(tarea));
+        return true;
+    }
+
+    /**
+     * Quita una dependencia.
+     * @param idTarea ID de la tarea que depende.
+     * @param idTareaPrevia ID de la tarea previa.
+     * @return true si la dependencia existía.
+     */
+    public synchronized boolean eliminarDependencia(int idTarea, int idTareaPrevia) {
+        Nodo tarea = nodos.get(idTarea);
+        Nodo previa = nodos.get(idTareaPrevia);
+        if (tarea == null || previa == null || !previa.siguientes.remove(tarea)) {
+            return false;
+        }
+        tarea.previas.remove(previa);
+        recalcularDesde(Collections.singletonList(tarea));
+        return true;
+    }
+
+    /**
+     * Pearce y Kelly: al agregar previa → tarea con previa después de tarea en
+     * el orden, reubica las tareas alcanzables desde tarea (hasta la posición
+     * de previa) detrás de las que llegan a previa (desde la posición de
+     * tarea), reutilizando solo las posiciones de esas tareas.
+     * @return false si tarea llega a previa, es decir, si la dependencia cerraría un ciclo.
+     */
+    private boolean reordenar(Nodo previa, Nodo tarea) {
+        // Cada tarea se agrega a su lista al marcarla, para desmarcarlas todas al salir
+        List<Nodo> adelante = new ArrayList<>();
+        List<Nodo> atras = new ArrayList<>();
+        try {
+            Deque<Nodo> pila = new ArrayDeque<>();
+            tarea.visitado = true;
+            adelante.add(tarea);
+            pila.push(tarea);
+            while (!pila.isEmpty()) {
+                Nodo nodo = pila.pop();
+                for (Nodo siguiente : nodo.siguientes) {
+                    if (siguiente == previa) {
+                        return false;
+                    }
+                    if (!siguiente.visitado && siguiente.orden < previa.orden) {
+                        siguiente.visitado = true;
+                        adelante.add(siguiente);
+                        pila.push(siguiente);
+                    }
+                }
+            }
+
+            previa.visitado = true;
+            atras.add(previa);
+            pila.push(previa);
+            while (!pila.isEmpty()) {
+                Nodo nodo = pila.pop();
+                for (Nodo anterior : nodo.previas) {
+                    if (!anterior.visitado && anterior.orden > tarea.orden) {
+                        anterior.visitado = true;
+                        atras.add(anterior);
+                        pila.push(anterior);
+                    }
+                }
+            }
+
+            Comparator<Nodo> porOrden = Comparator.comparingInt(n -> n.orden);
+            adelante.sort(porOrden);
+            atras.sort(porOrden);
+            int[] posiciones = new int[adelante.size() + atras.size()];
+            int i = 0;
+            for (Nodo nodo : atras) {
+                posiciones[i++] = nodo.orden;
+            }
+            for (Nodo nodo : adelante) {
+                posiciones[i++] = nodo.orden;
+            }
+            Arrays.sort(posiciones);
+            i = 0;
+            for (Nodo nodo : atras) {
+                nodo.orden = posiciones[i++];
+            }
+            for (Nodo nodo : adelante) {
+                nodo.orden = posiciones[i++];
+            }
+            return true;
+        } finally {
+            for (Nodo nodo : adelante) {
+                nodo.visitado = false;
+            }
+            for (Nodo nodo : atras) {
+                nodo.visitado = false;
+            }
+        }
+    }
+
+    /**
+     * Recalcula las tareas indicadas y, en orden topológico, las que dependen
+     * de ellas mientras el cambio se propague.
+     * @return Número de tareas recalculadas.
+     */
+    private int recalcularDesde(Collection<Nodo> origenes) {
+        PriorityQueue<Nodo> cola = new PriorityQueue<>(Comparator.comparingInt(n -> n.orden));
+        for (Nodo nodo : origenes) {
+            if (!nodo.enCola) {
+                nodo.enCola = true;
+                cola.add(nodo);
+            }
+        }
+
+        // Solo se encolan tareas siguientes, con orden mayor que la actual:
+        // cada tarea sale una vez, después de todas sus previas modificadas
+        int recalculadas = 0;
+        while (!cola.isEmpty()) {
+            Nodo nodo = cola.poll();
+            nodo.enCola = false;
+            recalculadas++;
+            long aporteAnterior = nodo.aporte;
+            calcular(nodo);
+            if (nodo.aporte != aporteAnterior) {
+                for (Nodo siguiente : nodo.siguientes) {
+                    if (!siguiente.enCola) {
+                        siguiente.enCola = true;
+                        cola.add(siguiente);
+                    }
+                }
+            }
+        }
+        return recalculadas;
+    }
+
+    private static void calcular(Nodo nodo) {
+        long inicio = nodo.inicio;
+        Nodo critica = null;
+        for (Nodo previa : nodo.previas) {
+            if (previa.aporte > inicio) {
+                inicio = previa.aporte;
+                critica = previa;
+            }
+        }
+        nodo.inicioTemprano = inicio;
+        nodo.finTemprano = inicio + nodo.duracion;
+        nodo.previaCritica = critica;
+        nodo.aporte = nodo.completada ? Long.MIN_VALUE : nodo.finTemprano;
+    }
+
+    private static void asignarDatos(Nodo nodo, Date fechaCreacion, Date fechaVencimiento, String estado) {
+        nodo.inicio = fechaCreacion.getTime();
+        nodo.vencimiento = fechaVencimiento.getTime();
+        nodo.duracion = Math.max(0, nodo.vencimiento - nodo.inicio);
+        nodo.completada = ESTADO_COMPLETADA.equals(estado);
+    }
+
+    /**
+     * @param idTarea ID de la tarea.
+     * @return true si la tarea está en el grafo.
+     */
+    public synchronized boolean contiene(int idTarea) {
+        return nodos.containsKey(idTarea);
+    }
+
+    /**
+     * @return Número de tareas del grafo.
+     */
+    public synchronized int contarTareas() {
+        return nodos.size();
+    }
+
+    /**
+     * Obtiene las fechas calculadas de una tarea.
+     * @param idTarea ID de la tarea.
+     * @return Planificación de la tarea, o null si no está en el grafo.
+     */
+    public synchronized Planificacion obtenerPlanificacion(int idTarea) {
+        Nodo nodo = nodos.get(idTarea);
+        return nodo != null ? planificacion(nodo) : null;
+    }
+
+    /**
+     * Obtiene las fechas calculadas de todas las tareas.
+     * @return Planificación por ID de tarea.
+     */
+    public synchronized Map<Integer, Planificacion> obtenerPlanificaciones() {
+        Map<Integer, Planificacion> planificaciones = new LinkedHashMap<>();
+        for (Nodo nodo : nodos.values()) {
+            planificaciones.put(nodo.idTarea, planificacion(nodo));
+        }
+        return planificaciones;
+    }
+
+    private static Planificacion planificacion(Nodo nodo) {
+        return new Planificacion(nodo.inicioTemprano, nodo.finTemprano, nodo.vencimiento - nodo.finTemprano);
+    }
+
+    /**
+     * Devuelve las tareas en un orden en que cada una va después de sus previas.
+     * @return IDs de las tareas en orden topológico.
+     */
+    public synchronized List<Integer> ordenTopologico() {
+        List<Nodo> ordenados = new ArrayList<>(nodos.values());
+        ordenados.sort(Comparator.comparingInt(n -> n.orden));
+        List<Integer> ids = new ArrayList<>(ordenados.size());
+        for (Nodo nodo : ordenados) {
+            ids.add(nodo.idTarea);
+        }
+        return ids;
+    }
+
+    /**
+     * Devuelve la ruta crítica: la cadena de tareas que fija el mayor fin
+     * temprano entre las tareas sin completar.
+     * @return IDs de las tareas de la ruta, de la primera a la última (vacía si
+     *         todas están completadas).
+     */
+    public synchronized List<Integer> rutaCritica() {
+        Nodo ultima = null;
+        for (Nodo nodo : nodos.values()) {
+            if (!nodo.completada && (ultima == null || nodo.finTemprano > ultima.finTemprano)) {
+                ultima = nodo;
+            }
+        }
+        List<Integer> ruta = new ArrayList<>();
+        for (Nodo nodo = ultima; nodo != null; nodo = nodo.previaCritica) {
+            ruta.add(nodo.idTarea);
+        }
+        Collections.reverse(ruta);
+        return ruta;
+    }
+}
@@ -0,0 +1,155 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias con intervalos fijos en milisegundos.
+ *
+ * Registrar una muestra es O(1) y no reserva memoria, de modo que se puede
+ * llamar en cada evento; los percentiles se estiman con el límite superior
+ * del intervalo en el que caen.
+ */
+public class HistogramaLatencia {
+
+    /** Límites superiores (exclusivos) de cada intervalo; el último intervalo no tiene límite. */
+    private static final long[] LIMITES_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private final AtomicLongArray conteos = new AtomicLongArray(LIMITES_MS.length + 1);
+    private final AtomicLong total = new AtomicLong();
+    // Suma y máximo en microsegundos, para no perder las latencias de menos de 1 ms
+    private final AtomicLong sumaMicros = new AtomicLong();
+    private final AtomicLong maximoMicros = new AtomicLong();
+
+    /**
+     * Registra una muestra.
+     * @param latenciaMs Latencia en milisegundos (los valores negativos cuentan como 0).
+     */
+    public void registrar(long latenciaMs) {
+        registrarMicros(latenciaMs * 1000);
+    }
+
+    /**
+     * Registra una muestra medida con System.nanoTime().
+     * @param latenciaNanos Latencia en nanosegundos (los valores negativos cuentan como 0).
+     */
+    public void registrarNanos(long latenciaNanos) {
+        registrarMicros(latenciaNanos / 1000);
+    }
+
+    private void registrarMicros(long latenciaMicros) {
+        long valor = Math.max(latenciaMicros, 0);
+        conteos.incrementAndGet(intervalo(valor));
+        total.incrementAndGet();
+        sumaMicros.addAndGet(valor);
+        maximoMicros.accumulateAndGet(valor, Math::max);
+    }
+
+    private static int intervalo(long micros) {
+        for (int i = 0; i < LIMITES_MS.length; i++) {
+            if (micros < LIMITES_MS[i] * 1000) {
+                return i;
+            }
+        }
+        return LIMITES_MS.length;
+    }
+
+    /**
+     * @return Número de intervalos (incluido el último, sin límite).
+     */
+    public int cantidadIntervalos() {
+        return conteos.length();
+    }
+
+    /**
+     * @param indice Índice del intervalo.
+     * @return Descripción del intervalo, por ejemplo "10-20 ms" o "≥ 5000 ms".
+     */
+    public String etiqueta(int indice) {
+        if (indice == LIMITES_MS.length) {
+            return "≥ " + LIMITES_MS[LIMITES_MS.length - 1] + " ms";
+        }
+        long desde = indice == 0 ? 0 : LIMITES_MS[indice - 1];
+        return desde + "-" + LIMITES_MS[indice] + " ms";
+    }
+
+    /**
+     * @param indice Índice del intervalo.
+     * @return Límite superior (exclusivo) del intervalo en milisegundos, o Long.MAX_VALUE para el último.
+     */
+    public long limiteMs(int indice) {
+        return indice < LIMITES_MS.length ? LIMITES_MS[indice] : Long.MAX_VALUE;
+    }
+
+    /**
+     * @param indice Índice del intervalo.
+     * @return Muestras registradas en el intervalo.
+     */
+    public long conteo(int indice) {
+        return conteos.get(indice);
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMaximoMs() {
+        return maximoMicros.get() / 1000;
+    }
+
+    /**
+     * @return Suma de todas las muestras en milisegundos.
+     */
+    public double getSumaMs() {
+        return sumaMicros.get() / 1000.0;
+    }
+
+    /**
+     * @return Latencia media en milisegundos, o 0 si no hay muestras.
+     */
+    public double getPromedioMs() {
+        long n = total.get();
+        return n == 0 ? 0 : getSumaMs() / n;
+    }
+
+    /**
+     * Estima un percentil con el límite superior de su intervalo.
+     * @param percentil Percentil entre 0 y 100.
+     * @return Latencia estimada en milisegundos (el máximo si cae en el último intervalo), o 0 sin muestras.
+     */
+    public long percentil(double percentil) {
+        long n = total.get();
+        if (n == 0) {
+            return 0;
+        }
+        long objetivo = (long) Math.ceil(n * percentil / 100.0);
+        long acumulado = 0;
+        for (int i = 0; i < LIMITES_MS.length; i++) {
+            acumulado += conteos.get(i);
+            if (acumulado >= objetivo) {
+                return LIMITES_MS[i];
+            }
+        }
+        return getMaximoMs();
+    }
+
+    /**
+     * Descarta todas las muestras.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < conteos.length(); i++) {
+            conteos.set(i, 0);
+        }
+        total.set(0);
+        sumaMicros.set(0);
+        maximoMicros.set(0);
+    }
+
+    /**
+     * @return Resumen en una línea (muestras, media, p50, p99 y máximo).
+     */
+    public String resumen() {
+        return String.format("muestras=%d media=%.1f ms p50=%d ms p99=%d ms max=%d ms",
+                getTotal(), getPromedioMs(), percentil(50), percentil(99), getMaximoMs());
+    }
+}
@@ -10,6 +10,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Clase que maneja la comunicación con un cliente individual.
@@ -18,6 +19,7 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ManejadorServidor implements Runnable {
     private final Socket socket;                      // Conexión con el cliente
     private final ConcurrentHashMap<Integer, ManejadorServidor> clientes;  // Lista de clientes conectados
+    private final AtomicInteger conexionesAbiertas;   // Contador del servidor; se decrementa al cerrar
     private final Connection conexion;                // Conexión a la base de datos
     private final BufferedReader in;                  // Flujo de entrada de datos
     private final PrintWriter out;                    // Flujo de salida de datos
@@ -28,11 +30,14 @@ public class ManejadorServidor implements Runnable {
      * Constructor que inicializa los flujos de comunicación.
      * @param socket Socket de conexión con el cliente
      * @param clientes Lista de clientes conectados
+     * @param conexionesAbiertas Sockets abiertos del servidor, ya incrementado para este cliente
      * @param conexion Conexión a la base de datos
      */
-    public ManejadorServidor(Socket socket, ConcurrentHashMap<Integer, ManejadorServidor> clientes, Connection conexion) throws IOException {
+    public ManejadorServidor(Socket socket, ConcurrentHashMap<Integer, ManejadorServidor> clientes,
+                             AtomicInteger conexionesAbiertas, Connection conexion) throws IOException {
         this.socket = socket;
         this.clientes = clientes;
+        this.conexionesAbiertas = conexionesAbiertas;
         this.conexion = conexion;
         this.in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
         this.out = new PrintWriter(socket.getOutputStream(), true);
@@ -62,6 +67,7 @@ public class ManejadorServidor implements Runnable {
                     // Autenticación exitosa
                     this.idUsuario = rs.getInt("id");
                     this.nombreUsuario = rs.getString("nombre");
+                    clientes.put(idUsuario, this);
                     out.println("OK");
                     
                     System.out.println("Cliente autenticado exitosamente: " + nombreUsuario);
@@ -88,13 +94,15 @@ public class ManejadorServidor implements Runnable {
             // Limpia los recursos al desconectar
             try {
                 socket.close();
-                clientes.remove(idUsuario);
+                clientes.remove(idUsuario, this);
                 if (nombreUsuario != null) {
                     System.out.println("Cliente desconectado: " + nombreUsuario);
                     difundirMensaje(nombreUsuario + " ha abandonado el chat");
                 }
             } catch (IOException e) {
                 System.err.println("Error al cerrar la conexión: " + e.getMessage());
+            } finally {
+                conexionesAbiertas.decrementAndGet();
             }
         }
     }
@@ -104,11 +112,16 @@ public class ManejadorServidor implements Runnable {
      * @param mensaje Contenido del mensaje a difundir
      */
     private void difundirMensaje(String mensaje) {
+        EventosJFR.MensajeServidor evento = new EventosJFR.MensajeServidor();
+        evento.begin();
+        int destinatarios = 0;
         for (ManejadorServidor cliente : clientes.values()) {
             if (cliente != this) {
                 cliente.enviarMensaje(mensaje);
+                destinatarios++;
             }
         }
+        evento.registrar(idUsuario, mensaje, destinatarios);
     }
     
     /**
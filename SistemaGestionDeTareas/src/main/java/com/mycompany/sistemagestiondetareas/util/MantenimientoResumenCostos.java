@@ -0,0 +1,50 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.dao.CostoDAO;
+import java.util.List;
+
+/**
+ * Comando de mantenimiento para la tabla costos_resumen.
+ *
+ * Uso:
+ * - verificar: compara el resumen con los costos registrados (opción por defecto).
+ * - reconstruir: vuelve a calcular el resumen completo desde la tabla costos.
+ */
+public class MantenimientoResumenCostos {
+
+    /** Constructor privado: evita instanciación */
+    private MantenimientoResumenCostos() {}
+
+    public static void main(String[] args) {
+        String accion = args.length > 0 ? args[0] : "verificar";
+        CostoDAO costoDAO = new CostoDAO();
+
+        switch (accion) {
+            case "reconstruir":
+                int filas = costoDAO.reconstruirResumen();
+                if (filas < 0) {
+                    System.err.println("❌ No se pudo reconstruir el resumen de costos.");
+                    System.exit(1);
+                }
+                System.out.println("✅ Resumen de costos reconstruido: " + filas + " filas.");
+                break;
+            case "verificar":
+                List<String> discrepancias = costoDAO.verificarResumen();
+                if (discrepancias.isEmpty()) {
+                    System.out.println("✅ El resumen de costos es consistente.");
+                } else {
+                    System.err.println("⚠️ Se encontraron " + discrepancias.size() + " discrepancias:");
+                    for (String discrepancia : discrepancias) {
+                        System.err.println("  - " + discrepancia);
+                    }
+                    System.exit(1);
+                }
+                break;
+            default:
+                System.err.println("Uso: MantenimientoResumenCostos [verificar|reconstruir]");
+                System.exit(2);
+        }
+
+        ConexionBD.cerrarConexion();
+    }
+}
@@ -0,0 +1,183 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.dao.AlmacenCostosColumnar;
+import com.mycompany.sistemagestiondetareas.dao.AlmacenTareasColumnar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Agregaciones paralelas sobre los almacenes columnares de costos y tareas.
+ *
+ * Cada agregación divide las filas en segmentos con fork/join. Cada segmento
+ * acumula en su propio arreglo denso (indexado por ID), y los parciales se
+ * suman al unir las subtareas, así que los hilos nunca escriben en memoria
+ * compartida. Como cada segmento reserva un arreglo del ancho completo, hay a
+ * lo sumo un segmento por hilo del pool y el ancho se ajusta al mayor ID del
+ * tipo agregado. Los resultados equivalen a las consultas SQL indicadas en cada método.
+ */
+public class MotorAnalitica {
+
+    // Tamaño mínimo de segmento: por debajo el costo de dividir supera al de sumar
+    private static final int SEGMENTO_MINIMO = 1 << 14;
+
+    // Índices del arreglo por proyecto en tasaCompletadoPorProyecto
+    private static final int TOTAL_TAREAS = 0;
+    private static final int TAREAS_COMPLETADAS = 1;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Usa el pool común de fork/join.
+     */
+    public MotorAnalitica() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool Pool donde se ejecutan las agregaciones (determina el paralelismo).
+     */
+    public MotorAnalitica(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Totales de costos por proyecto y tipo de costo. Equivale a:
+     * SELECT id_referencia, tipo_costo, SUM(monto) FROM costos WHERE tipo = 'PROYECTO'
+     * GROUP BY id_referencia, tipo_costo
+     * @param costos Instantánea de costos.
+     * @return Totales en centavos indexados por ID de proyecto.
+     */
+    public AlmacenCostosColumnar.TotalesPorReferencia totalesPorProyectoYTipoCosto(
+            AlmacenCostosColumnar.Instantanea costos) {
+        int ancho = (costos.maxIdReferencia(AlmacenCostosColumnar.TIPO_PROYECTO) + 1) * AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO;
+
+        long[] totales = agregar(costos.tamano(), ancho, (parcial, desde, hasta) -> {
+            for (int i = desde; i < hasta; i++) {
+                byte tipoCosto = costos.tipoCosto(i);
+                int idProyecto = costos.idReferencia(i);
+                if (costos.tipo(i) == AlmacenCostosColumnar.TIPO_PROYECTO
+                        && tipoCosto < AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO && idProyecto >= 0) {
+                    parcial[idProyecto * AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO + tipoCosto] += costos.montoCentavos(i);
+                }
+            }
+        });
+
+        return new AlmacenCostosColumnar.TotalesPorReferencia(totales);
+    }
+
+    /**
+     * Cantidad de tareas vencidas por responsable. Equivale a:
+     * SELECT id_responsable, COUNT(*) FROM tareas
+     * WHERE estado <> 'COMPLETADA' AND fecha_vencimiento < ? GROUP BY id_responsable
+     * @param tareas Instantánea de tareas.
+     * @param ahora Fecha de referencia en milisegundos.
+     * @return Cantidad de tareas vencidas por ID de responsable (solo responsables con vencidas).
+     */
+    public Map<Integer, Long> vencidasPorResponsable(AlmacenTareasColumnar.Instantanea tareas, long ahora) {
+        long[] conteos = agregar(tareas.tamano(), tareas.maxIdResponsable() + 1, (parcial, desde, hasta) -> {
+            for (int i = desde; i < hasta; i++) {
+                int idResponsable = tareas.idResponsable(i);
+                if (tareas.estado(i) != AlmacenTareasColumnar.ESTADO_COMPLETADA
+                        && tareas.fechaVencimiento(i) < ahora && idResponsable >= 0) {
+                    parcial[idResponsable]++;
+                }
+            }
+        });
+
+        Map<Integer, Long> resultado = new LinkedHashMap<>();
+        for (int id = 0; id < conteos.length; id++) {
+            if (conteos[id] > 0) {
+                resultado.put(id, conteos[id]);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Proporción de tareas completadas por proyecto. Equivale a:
+     * SELECT id_proyecto, SUM(estado = 'COMPLETADA') / COUNT(*) FROM tareas GROUP BY id_proyecto
+     * @param tareas Instantánea de tareas.
+     * @return Tasa entre 0 y 1 por ID de proyecto (solo proyectos con tareas).
+     */
+    public Map<Integer, Double> tasaCompletadoPorProyecto(AlmacenTareasColumnar.Instantanea tareas) {
+        long[] conteos = agregar(tareas.tamano(), (tareas.maxIdProyecto() + 1) * 2, (parcial, desde, hasta) -> {
+            for (int i = desde; i < hasta; i++) {
+                int idProyecto = tareas.idProyecto(i);
+                if (idProyecto >= 0) {
+                    parcial[idProyecto * 2 + TOTAL_TAREAS]++;
+                    if (tareas.estado(i) == AlmacenTareasColumnar.ESTADO_COMPLETADA) {
+                        parcial[idProyecto * 2 + TAREAS_COMPLETADAS]++;
+                    }
+                }
+            }
+        });
+
+        Map<Integer, Double> resultado = new LinkedHashMap<>();
+        for (int id = 0; id * 2 < conteos.length; id++) {
+            long total = conteos[id * 2 + TOTAL_TAREAS];
+            if (total > 0) {
+                resultado.put(id, (double) conteos[id * 2 + TAREAS_COMPLETADAS] / total);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Ejecuta una agregación densa en paralelo y devuelve la suma de los parciales.
+     * Usa tantos segmentos como hilos tiene el pool, salvo que queden por debajo
+     * de SEGMENTO_MINIMO filas.
+     */
+    private long[] agregar(int tamano, int ancho, Acumulador acumulador) {
+        int segmentos = (int) Math.max(1, Math.min(pool.getParallelism(), (long) tamano / SEGMENTO_MINIMO));
+        return pool.invoke(new TareaAgregacion(acumulador, ancho, 0, tamano, segmentos));
+    }
+
+    /**
+     * Acumula las filas [desde, hasta) en un arreglo parcial propio del segmento.
+     */
+    @FunctionalInterface
+    private interface Acumulador {
+        void acumular(long[] parcial, int desde, int hasta);
+    }
+
+    private static final class TareaAgregacion extends RecursiveTask<long[]> {
+        private final Acumulador acumulador;
+        private final int ancho;
+        private final int desde;
+        private final int hasta;
+        private final int segmentos;
+
+        TareaAgregacion(Acumulador acumulador, int ancho, int desde, int hasta, int segmentos) {
+            this.acumulador = acumulador;
+            this.ancho = ancho;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.segmentos = segmentos;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (segmentos == 1) {
+                long[] parcial = new long[ancho];
+                acumulador.acumular(parcial, desde, hasta);
+                return parcial;
+            }
+
+            // Las filas se reparten en proporción a los segmentos de cada mitad
+            int segmentosIzquierda = segmentos / 2;
+            int medio = desde + (int) ((long) (hasta - desde) * segmentosIzquierda / segmentos);
+            TareaAgregacion izquierda = new TareaAgregacion(acumulador, ancho, desde, medio, segmentosIzquierda);
+            TareaAgregacion derecha = new TareaAgregacion(acumulador, ancho, medio, hasta, segmentos - segmentosIzquierda);
+            izquierda.fork();
+
+            long[] resultado = derecha.compute();
+            long[] parcialIzquierda = izquierda.join();
+            for (int i = 0; i < ancho; i++) {
+                resultado[i] += parcialIzquierda[i];
+            }
+            return resultado;
+        }
+    }
+}
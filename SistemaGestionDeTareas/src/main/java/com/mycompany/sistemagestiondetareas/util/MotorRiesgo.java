@@ -0,0 +1,182 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.modelo.IndicadoresRiesgo;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calcula el nivel de riesgo de los proyectos a partir de sus indicadores.
+ *
+ * La puntuación (0 a 100) pondera tres factores entre 0 y 1:
+ * - Atraso: proporción de tareas abiertas ya vencidas; se satura al 30 %.
+ * - Sobrecosto: costos de retraso frente al presupuesto total; se satura al 20 %.
+ * - Velocidad: semanas que faltarían para cerrar las tareas abiertas al ritmo
+ *   de las últimas cuatro semanas, frente a las que quedan hasta la fecha de
+ *   fin. Vale 0 si se llega a tiempo y 1 si se necesita el doble o más. Los
+ *   proyectos sin fecha de fin no suman por este factor.
+ * Desde 30 puntos el nivel es AMARILLO y desde 60, ROJO.
+ */
+public class MotorRiesgo {
+
+    public static final String VERDE = "VERDE";
+    public static final String AMARILLO = "AMARILLO";
+    public static final String ROJO = "ROJO";
+
+    /** Periodo en que se cuentan las tareas completadas para medir la velocidad. */
+    public static final long VENTANA_VELOCIDAD_MS = 28L * 24 * 60 * 60 * 1000;
+
+    private static final long SEMANA_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final double PESO_ATRASO = 0.40;
+    private static final double PESO_SOBRECOSTO = 0.35;
+    private static final double PESO_VELOCIDAD = 0.25;
+
+    private static final double SATURACION_ATRASO = 0.30;
+    private static final double SATURACION_SOBRECOSTO = 0.20;
+
+    private static final int UMBRAL_AMARILLO = 30;
+    private static final int UMBRAL_ROJO = 60;
+
+    // Tamaño mínimo de segmento: por debajo el costo de dividir supera al de puntuar
+    private static final int SEGMENTO_MINIMO = 1 << 10;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Usa el pool común de fork/join.
+     */
+    public MotorRiesgo() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool Pool donde se puntúan los proyectos en calcularCambios (determina el paralelismo).
+     */
+    public MotorRiesgo(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Calcula la puntuación de riesgo de un proyecto.
+     * @param indicadores Indicadores del proyecto.
+     * @param ahora Fecha de referencia en milisegundos.
+     * @return Puntuación entre 0 y 100.
+     */
+    public static int calcularPuntuacion(IndicadoresRiesgo indicadores, long ahora) {
+        double puntuacion = PESO_ATRASO * factorAtraso(indicadores)
+                + PESO_SOBRECOSTO * factorSobrecosto(indicadores)
+                + PESO_VELOCIDAD * factorVelocidad(indicadores, ahora);
+        return (int) Math.round(100 * puntuacion);
+    }
+
+    /**
+     * Nivel de riesgo que corresponde a una puntuación.
+     * @param puntuacion Puntuación entre 0 y 100.
+     * @return VERDE, AMARILLO o ROJO.
+     */
+    public static String nivelPara(int puntuacion) {
+        if (puntuacion >= UMBRAL_ROJO) {
+            return ROJO;
+        }
+        return puntuacion >= UMBRAL_AMARILLO ? AMARILLO : VERDE;
+    }
+
+    /**
+     * Calcula el nivel de riesgo de un proyecto.
+     * @param indicadores Indicadores del proyecto.
+     * @param ahora Fecha de referencia en milisegundos.
+     * @return VERDE, AMARILLO o ROJO.
+     */
+    public static String calcularNivel(IndicadoresRiesgo indicadores, long ahora) {
+        return nivelPara(calcularPuntuacion(indicadores, ahora));
+    }
+
+    /**
+     * Calcula el nivel de todos los proyectos en paralelo y devuelve solo los
+     * que difieren del nivel guardado.
+     * @param proyectos Indicadores de los proyectos.
+     * @param ahora Fecha de referencia en milisegundos.
+     * @return Nuevo nivel por ID de proyecto, solo para los proyectos cuyo nivel cambia.
+     */
+    public Map<Integer, String> calcularCambios(List<IndicadoresRiesgo> proyectos, long ahora) {
+        return pool.invoke(new Puntuar(proyectos, 0, proyectos.size(), ahora));
+    }
+
+    private static double factorAtraso(IndicadoresRiesgo indicadores) {
+        if (indicadores.getTareasAbiertas() == 0) {
+            return 0;
+        }
+        double vencidas = (double) indicadores.getTareasVencidas() / indicadores.getTareasAbiertas();
+        return Math.min(1, vencidas / SATURACION_ATRASO);
+    }
+
+    private static double factorSobrecosto(IndicadoresRiesgo indicadores) {
+        long retraso = indicadores.getRetrasoCentavos();
+        if (retraso <= 0) {
+            return 0;
+        }
+        if (indicadores.getPresupuestoTotalCentavos() <= 0) {
+            // Sin presupuesto cualquier retraso es un sobrecosto
+            return 1;
+        }
+        double proporcion = (double) retraso / indicadores.getPresupuestoTotalCentavos();
+        return Math.min(1, proporcion / SATURACION_SOBRECOSTO);
+    }
+
+    private static double factorVelocidad(IndicadoresRiesgo indicadores, long ahora) {
+        if (indicadores.getTareasAbiertas() == 0 || indicadores.getFechaFin() == null) {
+            return 0;
+        }
+        long restanteMs = indicadores.getFechaFin().getTime() - ahora;
+        if (restanteMs <= 0 || indicadores.getCompletadasRecientes() == 0) {
+            // Vencido con tareas abiertas, o sin avance en el periodo
+            return 1;
+        }
+        double porSemana = indicadores.getCompletadasRecientes() * (double) SEMANA_MS / VENTANA_VELOCIDAD_MS;
+        double semanasNecesarias = indicadores.getTareasAbiertas() / porSemana;
+        double semanasRestantes = (double) restanteMs / SEMANA_MS;
+        return Math.max(0, Math.min(1, semanasNecesarias / semanasRestantes - 1));
+    }
+
+    /**
+     * Puntúa un segmento de proyectos; los segmentos grandes se dividen en dos.
+     */
+    private static final class Puntuar extends RecursiveTask<Map<Integer, String>> {
+        private final List<IndicadoresRiesgo> proyectos;
+        private final int desde;
+        private final int hasta;
+        private final long ahora;
+
+        Puntuar(List<IndicadoresRiesgo> proyectos, int desde, int hasta, long ahora) {
+            this.proyectos = proyectos;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.ahora = ahora;
+        }
+
+        @Override
+        protected Map<Integer, String> compute() {
+            if (hasta - desde <= SEGMENTO_MINIMO) {
+                Map<Integer, String> cambios = new HashMap<>();
+                for (int i = desde; i < hasta; i++) {
+                    IndicadoresRiesgo proyecto = proyectos.get(i);
+                    String nivel = calcularNivel(proyecto, ahora);
+                    if (!nivel.equals(proyecto.getNivelRiesgo())) {
+                        cambios.put(proyecto.getIdProyecto(), nivel);
+                    }
+                }
+                return cambios;
+            }
+
+            int medio = (desde + hasta) >>> 1;
+            Puntuar izquierda = new Puntuar(proyectos, desde, medio, ahora);
+            izquierda.fork();
+            Map<Integer, String> cambios = new Puntuar(proyectos, medio, hasta, ahora).compute();
+            cambios.putAll(izquierda.join());
+            return cambios;
+        }
+    }
+}
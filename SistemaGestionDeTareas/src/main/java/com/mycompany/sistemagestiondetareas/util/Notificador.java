@@ -13,6 +13,7 @@ import java.util.logging.Logger;
 /**
  * Clase encargada de gestionar y enviar notificaciones a los usuarios.
  * Implementa un sistema de notificaciones múltiples (email, base de datos y en tiempo real).
+ * Cada envío por un canal emite un evento JFR EventosJFR.NotificacionEnviada con su latencia.
  */
 public class Notificador {
     private static final Logger LOGGER = Logger.getLogger(Notificador.class.getName());
@@ -24,8 +25,17 @@ public class Notificador {
      * @param clientesConectados Mapa de clientes conectados para notificaciones en tiempo real
      */
     public Notificador(ConcurrentHashMap<Integer, Cliente> clientesConectados) {
+        this(clientesConectados, new EmailSender());
+    }
+    
+    /**
+     * Constructor que reutiliza un servicio de correo existente.
+     * @param clientesConectados Mapa de clientes conectados para notificaciones en tiempo real
+     * @param emailSender Servicio de envío de emails
+     */
+    public Notificador(ConcurrentHashMap<Integer, Cliente> clientesConectados, EmailSender emailSender) {
         this.clientesConectados = clientesConectados;
-        this.emailSender = new EmailSender();
+        this.emailSender = emailSender;
     }
     
     /**
@@ -67,6 +77,9 @@ public class Notificador {
      */
     private void enviarNotificacion(int idUsuario, String mensaje, String email) {
         // Guarda la notificación en la base de datos
+        EventosJFR.NotificacionEnviada evento = new EventosJFR.NotificacionEnviada();
+        evento.begin();
+        boolean exito = false;
         try (Connection conn = ConexionBD.obtenerConexion()) {
             String sql = "INSERT INTO notificaciones (id_usuario, mensaje, fecha, leida) VALUES (?, ?, ?, false)";
             try (PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -74,28 +87,40 @@ public class Notificador {
                 stmt.setString(2, mensaje);
                 stmt.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
                 stmt.executeUpdate();
+                exito = true;
             }
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "Error al guardar notificación en la base de datos", e);
         }
+        evento.registrar("base_datos", idUsuario, exito);
         
         // Envía notificación por email si hay dirección disponible
         if (email != null && !email.isEmpty()) {
+            evento = new EventosJFR.NotificacionEnviada();
+            evento.begin();
+            exito = false;
             try {
                 emailSender.enviarCorreo(email, "Notificación del Sistema", mensaje);
+                exito = true;
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error al enviar notificación por email", e);
             }
+            evento.registrar("email", idUsuario, exito);
         }
         
         // Envía notificación en tiempo real si el usuario está conectado
         Cliente cliente = clientesConectados.get(idUsuario);
         if (cliente != null) {
+            evento = new EventosJFR.NotificacionEnviada();
+            evento.begin();
+            exito = false;
             try {
                 cliente.enviarMensaje(mensaje);
+                exito = true;
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error al enviar notificación a cliente conectado", e);
             }
+            evento.registrar("tiempo_real", idUsuario, exito);
         }
     }
 } 
\ No newline at end of file
@@ -17,6 +17,7 @@ import java.util.concurrent.TimeUnit;
 /**
  * Scheduler para enviar recordatorios automáticos de tareas próximas a vencer.
  * Revisa cada 6 horas las tareas que vencen en las próximas 24 horas.
+ * Cada revisión emite un evento JFR EventosJFR.RevisionRecordatorios.
  */
 public class RecordatorioScheduler {
     
@@ -29,9 +30,13 @@ public class RecordatorioScheduler {
     private Timer timer;
     
     public RecordatorioScheduler() {
-        this.tareaDAO = new TareaDAO();
-        this.usuarioDAO = new UsuarioDAO();
-        this.emailSender = new EmailSender();
+        this(new TareaDAO(), new UsuarioDAO(), new EmailSender());
+    }
+    
+    public RecordatorioScheduler(TareaDAO tareaDAO, UsuarioDAO usuarioDAO, EmailSender emailSender) {
+        this.tareaDAO = tareaDAO;
+        this.usuarioDAO = usuarioDAO;
+        this.emailSender = emailSender;
     }
     
     /**
@@ -70,13 +75,16 @@ public class RecordatorioScheduler {
      * Revisa todas las tareas y envía recordatorios para las próximas a vencer.
      */
     private void revisarTareasProximasAVencer() {
+        EventosJFR.RevisionRecordatorios evento = new EventosJFR.RevisionRecordatorios();
+        evento.begin();
+        int tareasRevisadas = 0;
+        int recordatoriosEnviados = 0;
         try {
             List<Tarea> todasLasTareas = tareaDAO.listarTodas();
+            tareasRevisadas = todasLasTareas.size();
             Date ahora = new Date();
             Date limiteVencimiento = new Date(ahora.getTime() + UMBRAL_DIAS_VENCIMIENTO);
             
-            int recordatoriosEnviados = 0;
-            
             for (Tarea tarea : todasLasTareas) {
                 // Solo enviar recordatorios para tareas pendientes o en proceso
                 if (!tarea.getEstado().equals("COMPLETADA")) {
@@ -96,10 +104,12 @@ public class RecordatorioScheduler {
             if (recordatoriosEnviados > 0) {
                 System.out.println("📧 " + recordatoriosEnviados + " recordatorios enviados.");
             }
+            evento.registrar(tareasRevisadas, recordatoriosEnviados, true);
             
         } catch (Exception e) {
             System.err.println("❌ Error al revisar tareas: " + e.getMessage());
             e.printStackTrace();
+            evento.registrar(tareasRevisadas, recordatoriosEnviados, false);
         }
     }
     
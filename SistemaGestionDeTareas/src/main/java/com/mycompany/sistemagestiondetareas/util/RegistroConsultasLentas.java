@@ -0,0 +1,225 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Registro de consultas lentas: anota en un archivo rotativo cada sentencia
+ * JDBC de los DAO que supera el umbral, con su SQL, la duración, las filas,
+ * el método del controlador que la originó y, si se activan, los parámetros
+ * (sin mostrar textos) y el plan de ejecución (EXPLAIN).
+ *
+ * La configuración se lee de config.properties:
+ * - consultas_lentas.umbral_ms: duración mínima a registrar (200 por defecto).
+ * - consultas_lentas.capturar_parametros: true para anotar los parámetros. Los DAO
+ *   solo guardan los valores asignados a sus sentencias si esto o capturar_plan está activo.
+ * - consultas_lentas.capturar_plan: true para ejecutar EXPLAIN de los SELECT lentos
+ *   (implica capturar los parámetros, que el EXPLAIN necesita).
+ * - consultas_lentas.archivo: ruta del archivo (~/.sistema-gestion-tareas/consultas-lentas.log por defecto).
+ * - consultas_lentas.tamano_maximo_kb: tamaño a partir del cual se rota el archivo.
+ * - consultas_lentas.archivos: archivos rotados que se conservan (archivo.1, archivo.2, ...).
+ */
+public class RegistroConsultasLentas {
+
+    private static final long UMBRAL_POR_DEFECTO_MS = 200;
+    private static final long TAMANO_MAXIMO_POR_DEFECTO_KB = 5 * 1024;
+    private static final int ARCHIVOS_POR_DEFECTO = 5;
+
+    private static volatile RegistroConsultasLentas global;
+
+    private final long umbralNanos;
+    private final boolean capturarPlan;
+    private final boolean capturarParametros;
+    private final Path archivo;
+    private final ArchivoRotativo registro;
+    private final SimpleDateFormat formatoFecha = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+
+    /**
+     * Crea un registro que solo anota parámetros si captura el plan.
+     * @param umbralMs Duración a partir de la cual una sentencia se considera lenta.
+     * @param capturarPlan true para anotar el plan de ejecución de los SELECT lentos.
+     * @param archivo Archivo de registro; null para no escribir a disco.
+     * @param tamanoMaximoBytes Tamaño a partir del cual se rota el archivo.
+     * @param archivosConservados Archivos rotados que se conservan.
+     */
+    public RegistroConsultasLentas(long umbralMs, boolean capturarPlan, Path archivo,
+                                   long tamanoMaximoBytes, int archivosConservados) {
+        this(umbralMs, capturarPlan, false, archivo, tamanoMaximoBytes, archivosConservados);
+    }
+
+    /**
+     * @param umbralMs Duración a partir de la cual una sentencia se considera lenta.
+     * @param capturarPlan true para anotar el plan de ejecución de los SELECT lentos.
+     * @param capturarParametros true para anotar los parámetros de las sentencias lentas.
+     * @param archivo Archivo de registro; null para no escribir a disco.
+     * @param tamanoMaximoBytes Tamaño a partir del cual se rota el archivo.
+     * @param archivosConservados Archivos rotados que se conservan.
+     */
+    public RegistroConsultasLentas(long umbralMs, boolean capturarPlan, boolean capturarParametros, Path archivo,
+                                   long tamanoMaximoBytes, int archivosConservados) {
+        this.umbralNanos = umbralMs * 1_000_000;
+        this.capturarPlan = capturarPlan;
+        this.capturarParametros = capturarParametros || capturarPlan;
+        this.archivo = archivo;
+        this.registro = archivo != null ? new ArchivoRotativo(archivo, tamanoMaximoBytes, archivosConservados) : null;
+    }
+
+    /**
+     * @return Registro usado por los DAO, configurado desde config.properties la primera vez.
+     */
+    public static RegistroConsultasLentas global() {
+        RegistroConsultasLentas registro = global;
+        if (registro == null) {
+            synchronized (RegistroConsultasLentas.class) {
+                if (global == null) {
+                    global = desdeConfiguracion();
+                }
+                registro = global;
+            }
+        }
+        return registro;
+    }
+
+    /**
+     * Reemplaza el registro global (por ejemplo, en pruebas).
+     * @param registro Registro nuevo; null para volver a leer la configuración.
+     */
+    public static void establecerGlobal(RegistroConsultasLentas registro) {
+        global = registro;
+    }
+
+    /**
+     * Crea el registro con los valores de config.properties, o los valores por defecto si falta el archivo.
+     */
+    private static RegistroConsultasLentas desdeConfiguracion() {
+        Properties props = new Properties();
+        try (InputStream input = RegistroConsultasLentas.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input != null) {
+                props.load(input);
+            }
+        } catch (IOException e) {
+            System.err.println("Error al leer config.properties: " + e.getMessage());
+        }
+
+        String ruta = props.getProperty("consultas_lentas.archivo");
+        Path archivo = ruta != null && !ruta.isBlank()
+                ? Paths.get(ruta.trim())
+                : Paths.get(System.getProperty("user.home"), ".sistema-gestion-tareas", "consultas-lentas.log");
+        try {
+            return new RegistroConsultasLentas(
+                    Long.parseLong(props.getProperty("consultas_lentas.umbral_ms", String.valueOf(UMBRAL_POR_DEFECTO_MS)).trim()),
+                    Boolean.parseBoolean(props.getProperty("consultas_lentas.capturar_plan", "false").trim()),
+                    Boolean.parseBoolean(props.getProperty("consultas_lentas.capturar_parametros", "false").trim()),
+                    archivo,
+                    Long.parseLong(props.getProperty("consultas_lentas.tamano_maximo_kb",
+                            String.valueOf(TAMANO_MAXIMO_POR_DEFECTO_KB)).trim()) * 1024,
+                    Integer.parseInt(props.getProperty("consultas_lentas.archivos", String.valueOf(ARCHIVOS_POR_DEFECTO)).trim()));
+        } catch (NumberFormatException e) {
+            System.err.println("Configuración de consultas lentas inválida, se usan los valores por defecto: " + e.getMessage());
+            return new RegistroConsultasLentas(UMBRAL_POR_DEFECTO_MS, false, archivo,
+                    TAMANO_MAXIMO_POR_DEFECTO_KB * 1024, ARCHIVOS_POR_DEFECTO);
+        }
+    }
+
+    /**
+     * @param duracionNanos Duración de la sentencia.
+     * @return true si la sentencia debe registrarse.
+     */
+    public boolean esLenta(long duracionNanos) {
+        return duracionNanos >= umbralNanos;
+    }
+
+    public boolean isCapturarPlan() {
+        return capturarPlan;
+    }
+
+    /**
+     * @return true si los DAO deben guardar los parámetros de sus sentencias para anotarlos.
+     */
+    public boolean isCapturarParametros() {
+        return capturarParametros;
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Anota una sentencia lenta.
+     * @param sql Texto SQL.
+     * @param parametros Parámetros por posición (se muestran redactados).
+     * @param duracionNanos Duración de la sentencia.
+     * @param filas Filas leídas o modificadas.
+     * @param llamador Método que originó la sentencia, por ejemplo "ControladorTarea.obtenerTodasLasTareas".
+     * @param plan Plan de ejecución, o null si no se capturó.
+     */
+    public void registrar(String sql, Map<Integer, Object> parametros, long duracionNanos, long filas,
+                          String llamador, List<String> plan) {
+        StringBuilder texto = new StringBuilder();
+        String salto = System.lineSeparator();
+        synchronized (formatoFecha) {
+            texto.append(formatoFecha.format(new Date()));
+        }
+        texto.append(" CONSULTA LENTA ").append(duracionNanos / 1_000_000).append(" ms, ")
+                .append(filas).append(" filas").append(salto);
+        texto.append("  llamador: ").append(llamador).append(salto);
+        texto.append("  sql: ").append(sql.replaceAll("\\s+", " ").trim()).append(salto);
+        if (!parametros.isEmpty()) {
+            texto.append("  parámetros:");
+            for (Map.Entry<Integer, Object> parametro : parametros.entrySet()) {
+                texto.append(" [").append(parametro.getKey()).append("] ").append(redactar(parametro.getValue()));
+            }
+            texto.append(salto);
+        }
+        if (plan != null) {
+            texto.append("  plan:").append(salto);
+            for (String linea : plan) {
+                texto.append("    ").append(linea).append(salto);
+            }
+        }
+        escribir(texto.toString());
+    }
+
+    /**
+     * Muestra el valor de un parámetro sin exponer datos personales ni contraseñas:
+     * los números, booleanos y fechas se muestran; los textos y binarios solo por su tamaño.
+     * @param valor Valor del parámetro.
+     * @return Representación segura para el log.
+     */
+    static String redactar(Object valor) {
+        if (valor == null) {
+            return "NULL";
+        }
+        if (valor instanceof Number || valor instanceof Boolean) {
+            return valor.toString();
+        }
+        if (valor instanceof Date || valor instanceof java.time.temporal.Temporal) {
+            return "'" + valor + "'";
+        }
+        if (valor instanceof CharSequence) {
+            return "<texto de " + ((CharSequence) valor).length() + " caracteres>";
+        }
+        if (valor instanceof byte[]) {
+            return "<binario de " + ((byte[]) valor).length + " bytes>";
+        }
+        return "<" + valor.getClass().getSimpleName() + ">";
+    }
+
+    private void escribir(String texto) {
+        if (registro == null) {
+            return;
+        }
+        try {
+            registro.agregar(texto);
+        } catch (IOException e) {
+            System.err.println("Error al escribir el registro de consultas lentas: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Registro de métricas de la aplicación: contadores, indicadores (gauges) e
+ * histogramas de latencia, identificados por nombre y etiquetas.
+ *
+ * Registrar un valor no usa bloqueos (LongAdder y HistogramaLatencia), así que
+ * se puede dejar activo en producción. El contenido se exporta con
+ * formatoPrometheus() o instantanea(), o periódicamente con los
+ * ExportadorMetricas indicados en programarExportacion().
+ */
+public class RegistroMetricas {
+
+    private static volatile RegistroMetricas global = new RegistroMetricas();
+
+    private enum Tipo {
+        CONTADOR("counter"), INDICADOR("gauge"), HISTOGRAMA("histogram");
+
+        private final String prometheus;
+
+        Tipo(String prometheus) {
+            this.prometheus = prometheus;
+        }
+    }
+
+    /**
+     * Métricas con el mismo nombre y distintas etiquetas.
+     */
+    private static final class Familia {
+        private final String nombre;
+        private final String ayuda;
+        private final Tipo tipo;
+        // Clave: etiquetas en formato Prometheus, por ejemplo metodo="TareaDAO.listarTodas"
+        private final Map<String, Object> series = new ConcurrentSkipListMap<>();
+
+        Familia(String nombre, String ayuda, Tipo tipo) {
+            this.nombre = nombre;
+            this.ayuda = ayuda;
+            this.tipo = tipo;
+        }
+    }
+
+    private final Map<String, Familia> familias = new ConcurrentHashMap<>();
+    private ScheduledExecutorService exportacion;
+
+    /**
+     * @return Registro usado por toda la aplicación.
+     */
+    public static RegistroMetricas global() {
+        return global;
+    }
+
+    /**
+     * Reemplaza el registro global (por ejemplo, en pruebas).
+     * @param registro Registro nuevo.
+     */
+    public static void establecerGlobal(RegistroMetricas registro) {
+        global = registro;
+    }
+
+    /**
+     * Devuelve el contador con el nombre y las etiquetas indicados, creándolo si no existe.
+     * @param nombre Nombre de la métrica (letras, dígitos y guiones bajos).
+     * @param ayuda Descripción de la métrica.
+     * @param etiquetas Pares nombre, valor.
+     * @return Contador.
+     */
+    public LongAdder contador(String nombre, String ayuda, String... etiquetas) {
+        return (LongAdder) familia(nombre, ayuda, Tipo.CONTADOR).series
+                .computeIfAbsent(formatearEtiquetas(etiquetas), clave -> new LongAdder());
+    }
+
+    /**
+     * Registra un indicador cuyo valor se lee al exportar; reemplaza al anterior con el mismo nombre y etiquetas.
+     * @param nombre Nombre de la métrica.
+     * @param ayuda Descripción de la métrica.
+     * @param valor Función que devuelve el valor actual.
+     * @param etiquetas Pares nombre, valor.
+     */
+    public void indicador(String nombre, String ayuda, DoubleSupplier valor, String... etiquetas) {
+        familia(nombre, ayuda, Tipo.INDICADOR).series.put(formatearEtiquetas(etiquetas), valor);
+    }
+
+    /**
+     * Devuelve el histograma con el nombre y las etiquetas indicados, creándolo si no existe.
+     * @param nombre Nombre de la métrica (se exporta en segundos).
+     * @param ayuda Descripción de la métrica.
+     * @param etiquetas Pares nombre, valor.
+     * @return Histograma.
+     */
+    public HistogramaLatencia histograma(String nombre, String ayuda, String... etiquetas) {
+        return (HistogramaLatencia) familia(nombre, ayuda, Tipo.HISTOGRAMA).series
+                .computeIfAbsent(formatearEtiquetas(etiquetas), clave -> new HistogramaLatencia());
+    }
+
+    private Familia familia(String nombre, String ayuda, Tipo tipo) {
+        Familia familia = familias.computeIfAbsent(nombre, n -> new Familia(n, ayuda, tipo));
+        if (familia.tipo != tipo) {
+            throw new IllegalArgumentException("La métrica " + nombre + " ya está registrada como " + familia.tipo);
+        }
+        return familia;
+    }
+
+    private static String formatearEtiquetas(String... etiquetas) {
+        if (etiquetas.length % 2 != 0) {
+            throw new IllegalArgumentException("Las etiquetas deben indicarse en pares nombre, valor");
+        }
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < etiquetas.length; i += 2) {
+            if (i > 0) {
+                texto.append(',');
+            }
+            texto.append(etiquetas[i]).append("=\"").append(escapar(etiquetas[i + 1])).append('"');
+        }
+        return texto.toString();
+    }
+
+    private static String escapar(String valor) {
+        return valor.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Genera el contenido en el formato de texto de Prometheus (versión 0.0.4).
+     * Las latencias de los histogramas se expresan en segundos.
+     * @return Texto con todas las métricas, ordenadas por nombre.
+     */
+    public String formatoPrometheus() {
+        StringBuilder texto = new StringBuilder();
+        for (Familia familia : new TreeMap<>(familias).values()) {
+            texto.append("# HELP ").append(familia.nombre).append(' ').append(familia.ayuda).append('\n');
+            texto.append("# TYPE ").append(familia.nombre).append(' ').append(familia.tipo.prometheus).append('\n');
+            for (Map.Entry<String, Object> serie : familia.series.entrySet()) {
+                String etiquetas = serie.getKey();
+                switch (familia.tipo) {
+                    case CONTADOR:
+                        linea(texto, familia.nombre, etiquetas, ((LongAdder) serie.getValue()).sum());
+                        break;
+                    case INDICADOR:
+                        linea(texto, familia.nombre, etiquetas, leerIndicador((DoubleSupplier) serie.getValue()));
+                        break;
+                    default:
+                        HistogramaLatencia histograma = (HistogramaLatencia) serie.getValue();
+                        long acumulado = 0;
+                        for (int i = 0; i < histograma.cantidadIntervalos(); i++) {
+                            acumulado += histograma.conteo(i);
+                            long limite = histograma.limiteMs(i);
+                            String le = limite == Long.MAX_VALUE ? "+Inf" : segundos(limite / 1000.0);
+                            String conLimite = (etiquetas.isEmpty() ? "" : etiquetas + ",") + "le=\"" + le + "\"";
+                            linea(texto, familia.nombre + "_bucket", conLimite, acumulado);
+                        }
+                        texto.append(familia.nombre).append("_sum").append(llaves(etiquetas)).append(' ')
+                                .append(segundos(histograma.getSumaMs() / 1000.0)).append('\n');
+                        linea(texto, familia.nombre + "_count", etiquetas, acumulado);
+                }
+            }
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Genera un resumen legible, una línea por serie, para escribir en el log.
+     * @return Líneas del resumen, ordenadas por nombre de métrica.
+     */
+    public List<String> instantanea() {
+        List<String> lineas = new ArrayList<>();
+        for (Familia familia : new TreeMap<>(familias).values()) {
+            for (Map.Entry<String, Object> serie : familia.series.entrySet()) {
+                String nombre = familia.nombre + llaves(serie.getKey());
+                switch (familia.tipo) {
+                    case CONTADOR:
+                        lineas.add(nombre + " " + ((LongAdder) serie.getValue()).sum());
+                        break;
+                    case INDICADOR:
+                        lineas.add(nombre + " " + leerIndicador((DoubleSupplier) serie.getValue()));
+                        break;
+                    default:
+                        lineas.add(nombre + " " + ((HistogramaLatencia) serie.getValue()).resumen());
+                }
+            }
+        }
+        return lineas;
+    }
+
+    private static double leerIndicador(DoubleSupplier indicador) {
+        try {
+            return indicador.getAsDouble();
+        } catch (RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static void linea(StringBuilder texto, String nombre, String etiquetas, double valor) {
+        texto.append(nombre).append(llaves(etiquetas)).append(' ');
+        if (valor == Math.rint(valor) && !Double.isInfinite(valor)) {
+            texto.append((long) valor);
+        } else {
+            texto.append(valor);
+        }
+        texto.append('\n');
+    }
+
+    private static String llaves(String etiquetas) {
+        return etiquetas.isEmpty() ? "" : "{" + etiquetas + "}";
+    }
+
+    private static String segundos(double valor) {
+        return String.format(Locale.ROOT, "%.6f", valor).replaceAll("0+$", "").replaceAll("\\.$", ".0");
+    }
+
+    /**
+     * Exporta las métricas periódicamente en un hilo de fondo; reemplaza una programación anterior.
+     * @param intervaloSegundos Segundos entre exportaciones.
+     * @param exportadores Destinos de la exportación.
+     */
+    public synchronized void programarExportacion(long intervaloSegundos, ExportadorMetricas... exportadores) {
+        detenerExportacion();
+        exportacion = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "exportador-metricas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        exportacion.scheduleAtFixedRate(() -> exportar(exportadores),
+                intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Detiene la exportación periódica, si estaba programada.
+     */
+    public synchronized void detenerExportacion() {
+        if (exportacion != null) {
+            exportacion.shutdownNow();
+            exportacion = null;
+        }
+    }
+
+    /**
+     * Exporta las métricas una vez; un exportador que falla no impide los demás.
+     * @param exportadores Destinos de la exportación.
+     */
+    public void exportar(ExportadorMetricas... exportadores) {
+        for (ExportadorMetricas exportador : exportadores) {
+            try {
+                exportador.exportar(this);
+            } catch (Exception e) {
+                System.err.println("Error al exportar métricas: " + e.getMessage());
+            }
+        }
+    }
+}
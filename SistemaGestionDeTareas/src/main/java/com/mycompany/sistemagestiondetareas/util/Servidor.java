@@ -3,27 +3,47 @@ package com.mycompany.sistemagestiondetareas.util;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Clase principal del servidor que maneja las conexiones de clientes.
  * Implementa un sistema de gestión de conexiones con límite máximo.
  */
 public class Servidor {
-    // Configuración del servidor
+    // Configuración por defecto del servidor
     private static final int PUERTO = 50;           // Puerto donde escucha el servidor
     private static final int MAX_CONEXIONES = 5;      // Límite máximo de conexiones simultáneas
     
-    // Almacenamiento de clientes conectados
+    private final int puerto;
+    private final int maxConexiones;
+    
+    // Almacenamiento de clientes conectados (los manejadores se registran al autenticarse); solo para difundir mensajes
     private final ConcurrentHashMap<Integer, ManejadorServidor> clientes = new ConcurrentHashMap<>();
+    // Sockets aceptados y aún abiertos, autenticados o no: es lo que limita maxConexiones.
+    // Se incrementa al aceptar y el manejador lo decrementa al cerrar el socket.
+    private final AtomicInteger conexionesAbiertas = new AtomicInteger();
     private final Connection conexion;                 // Conexión a la base de datos
+    private volatile ServerSocket serverSocket;
     
     /**
      * Constructor que inicializa la conexión a la base de datos.
      */
     public Servidor() throws SQLException {
+        this(PUERTO, MAX_CONEXIONES);
+    }
+    
+    /**
+     * Constructor con puerto y límite de conexiones propios (por ejemplo, para pruebas de carga).
+     * @param puerto Puerto donde escuchar.
+     * @param maxConexiones Límite de clientes conectados a la vez.
+     */
+    public Servidor(int puerto, int maxConexiones) throws SQLException {
+        this.puerto = puerto;
+        this.maxConexiones = maxConexiones;
         this.conexion = ConexionBD.obtenerConexion();
     }
     
@@ -32,29 +52,44 @@ public class Servidor {
      * Maneja el límite máximo de conexiones y muestra el estado en consola.
      */
     public void iniciar() {
-        try (ServerSocket serverSocket = new ServerSocket(PUERTO)) {
-            System.out.println("Servidor iniciado en el puerto " + PUERTO);
+        try (ServerSocket serverSocket = new ServerSocket(puerto)) {
+            this.serverSocket = serverSocket;
+            System.out.println("Servidor iniciado en el puerto " + puerto);
             System.out.println("Esperando conexiones de clientes...");
             
-            while (true) {
+            while (!serverSocket.isClosed()) {
                 // Espera y acepta nuevas conexiones
                 Socket socketCliente = serverSocket.accept();
                 System.out.println("Nueva conexión entrante desde " + socketCliente.getInetAddress().getHostAddress());
                 
-                // Verifica si se ha alcanzado el límite de conexiones
-                if (clientes.size() >= MAX_CONEXIONES) {
-                    System.out.println("Límite de conexiones alcanzado (" + MAX_CONEXIONES + "). Rechazando nueva conexión.");
+                // Reserva un lugar antes de crear el manejador; si no hay, lo devuelve y rechaza
+                if (conexionesAbiertas.incrementAndGet() > maxConexiones) {
+                    conexionesAbiertas.decrementAndGet();
+                    System.out.println("Límite de conexiones alcanzado (" + maxConexiones + "). Rechazando nueva conexión.");
                     socketCliente.close();
                     continue;
                 }
                 
-                // Crea un nuevo manejador para el cliente y lo inicia en un hilo separado
-                ManejadorServidor manejador = new ManejadorServidor(socketCliente, clientes, conexion);
-                clientes.put(manejador.getIdUsuario(), manejador);
+                // Crea un nuevo manejador para el cliente y lo inicia en un hilo separado;
+                // el manejador se registra en clientes cuando el usuario se autentica
+                ManejadorServidor manejador;
+                try {
+                    manejador = new ManejadorServidor(socketCliente, clientes, conexionesAbiertas, conexion);
+                } catch (IOException e) {
+                    conexionesAbiertas.decrementAndGet();
+                    System.err.println("Error al atender la conexión entrante: " + e.getMessage());
+                    socketCliente.close();
+                    continue;
+                }
                 new Thread(manejador).start();
                 
                 // Muestra el estado actual de las conexiones
-                System.out.println("Total de clientes conectados: " + clientes.size() + "/" + MAX_CONEXIONES);
+                System.out.println("Conexiones abiertas: " + conexionesAbiertas.get() + "/" + maxConexiones);
+            }
+        } catch (SocketException e) {
+            // detener() cerró el socket del servidor
+            if (serverSocket == null || !serverSocket.isClosed()) {
+                System.err.println("Error en el servidor: " + e.getMessage());
             }
         } catch (IOException e) {
             System.err.println("Error en el servidor: " + e.getMessage());
@@ -68,6 +103,35 @@ public class Servidor {
         }
     }
     
+    /**
+     * Deja de aceptar conexiones; iniciar() termina y cierra la conexión a la base de datos.
+     * Los clientes ya conectados siguen atendidos hasta que se desconecten.
+     */
+    public void detener() {
+        ServerSocket actual = serverSocket;
+        if (actual != null) {
+            try {
+                actual.close();
+            } catch (IOException e) {
+                System.err.println("Error al detener el servidor: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * @return Número de clientes autenticados en este momento.
+     */
+    public int getClientesConectados() {
+        return clientes.size();
+    }
+    
+    /**
+     * @return Número de sockets abiertos en este momento, incluidos los que aún no se autenticaron.
+     */
+    public int getConexionesAbiertas() {
+        return conexionesAbiertas.get();
+    }
+    
     /**
      * Punto de entrada principal para iniciar el servidor.
      */
@@ -0,0 +1,161 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import javax.swing.JLabel;
+import javax.swing.SwingWorker;
+
+/**
+ * Carga las filas de una tabla en segundo plano con SwingWorker.
+ *
+ * Las consultas se ejecutan fuera del Event Dispatch Thread. Si la tabla está
+ * vacía, las filas se agregan por bloques a medida que se generan, de modo que
+ * las primeras aparecen sin esperar al resto; si ya tiene datos, se mantienen
+ * visibles y al terminar se aplican solo las diferencias. Iniciar una carga
+ * nueva cancela la anterior y descarta sus resultados.
+ */
+public class CargadorTabla {
+
+    /**
+     * Genera las filas de la tabla; se ejecuta en un hilo de fondo.
+     * @param <R> Resultado adicional que se entrega al terminar (Void si no hay).
+     */
+    @FunctionalInterface
+    public interface ProductorFilas<R> {
+        R producir(Consumer<Object[]> destino) throws Exception;
+    }
+
+    private static final String CLAVE_CARGAS_ACTIVAS = "cargador.cargasActivas";
+
+    private final ModeloTablaIndexado modelo;
+    private final JLabel indicador;
+    private SwingWorker<?, Object[]> cargaActual;
+
+    /**
+     * @param modelo Modelo de la tabla a llenar.
+     * @param indicador Etiqueta visible mientras hay cargas en curso (puede ser null).
+     */
+    public CargadorTabla(ModeloTablaIndexado modelo, JLabel indicador) {
+        this.modelo = modelo;
+        this.indicador = indicador;
+    }
+
+    /**
+     * Inicia una carga sin acción final.
+     * @param productor Genera las filas en segundo plano.
+     */
+    public void cargar(ProductorFilas<Void> productor) {
+        cargar(productor, null);
+    }
+
+    /**
+     * Inicia una carga, cancelando la que estuviera en curso. Debe llamarse desde el EDT.
+     * @param productor Genera las filas en segundo plano.
+     * @param alTerminar Recibe en el EDT el resultado del productor si la carga no fue reemplazada (puede ser null).
+     * @param <R> Tipo del resultado adicional.
+     */
+    public <R> void cargar(ProductorFilas<R> productor, Consumer<R> alTerminar) {
+        cancelar();
+        mostrarIndicador(true);
+        boolean incremental = modelo.getRowCount() == 0;
+
+        SwingWorker<R, Object[]> carga = new SwingWorker<R, Object[]>() {
+            // Todas las filas generadas, para aplicar las diferencias al terminar
+            private final List<Object[]> recibidas = new ArrayList<>();
+
+            @Override
+            protected R doInBackground() throws Exception {
+                return productor.producir(fila -> {
+                    // Detener el productor en cuanto la carga queda obsoleta
+                    if (isCancelled()) {
+                        throw new CancellationException();
+                    }
+                    recibidas.add(fila);
+                    if (incremental) {
+                        publish(fila);
+                    }
+                });
+            }
+
+            @Override
+            protected void process(List<Object[]> bloque) {
+                if (cargaActual != this) {
+                    return;
+                }
+                modelo.agregarFilas(bloque);
+            }
+
+            @Override
+            protected void done() {
+                if (cargaActual != this) {
+                    return;
+                }
+                cargaActual = null;
+                mostrarIndicador(false);
+
+                try {
+                    R resultado = get();
+                    // En la carga por bloques solo agrega lo que process() no alcanzó a mostrar
+                    modelo.actualizar(recibidas);
+                    if (alTerminar != null) {
+                        alTerminar.accept(resultado);
+                    }
+                } catch (CancellationException e) {
+                    // Reemplazada por una carga más reciente
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Error al cargar datos de la tabla: " + e.getCause().getMessage());
+                }
+            }
+        };
+
+        cargaActual = carga;
+        carga.execute();
+    }
+
+    /**
+     * Cancela la carga en curso, si existe. La consulta que ya se está ejecutando
+     * no se interrumpe (interrumpir JDBC puede dejar la conexión inutilizable),
+     * pero sus filas se descartan. Las filas ya mostradas se conservan.
+     */
+    public void cancelar() {
+        if (cargaActual != null) {
+            cargaActual.cancel(false);
+            cargaActual = null;
+            mostrarIndicador(false);
+        }
+    }
+
+    /**
+     * @return true si hay una carga en curso.
+     */
+    public boolean estaCargando() {
+        return cargaActual != null;
+    }
+
+    private void mostrarIndicador(boolean cargando) {
+        if (indicador == null) {
+            return;
+        }
+        // El indicador puede ser compartido por varias tablas
+        Object previas = indicador.getClientProperty(CLAVE_CARGAS_ACTIVAS);
+        int activas = (previas instanceof Integer ? (Integer) previas : 0) + (cargando ? 1 : -1);
+        indicador.putClientProperty(CLAVE_CARGAS_ACTIVAS, Math.max(activas, 0));
+        indicador.setVisible(activas > 0);
+    }
+
+    /**
+     * Crea una etiqueta de "Cargando..." para usar como indicador compartido.
+     * @return Etiqueta oculta hasta que empiece una carga.
+     */
+    public static JLabel crearIndicador() {
+        JLabel indicador = new JLabel("Cargando datos...");
+        indicador.putClientProperty(CLAVE_CARGAS_ACTIVAS, 0);
+        indicador.setVisible(false);
+        return indicador;
+    }
+}
@@ -0,0 +1,197 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+/**
+ * Lista compartida de entidades (usuarios o proyectos) para los combos de los diálogos.
+ *
+ * Las entidades se cargan una vez y se guardan en una instantánea inmutable con
+ * el texto de cada opción y un índice de ID a posición. Cuando el controlador
+ * avisa de un cambio, la instantánea se vuelve a cargar en segundo plano; los
+ * diálogos siguen usando la anterior mientras tanto, de modo que abrirlos no
+ * consulta la base de datos.
+ *
+ * @param <T> Tipo de entidad.
+ */
+public class CatalogoEntidades<T> {
+
+    /**
+     * Contenido del catálogo en un momento dado; no cambia una vez creada.
+     * @param <T> Tipo de entidad.
+     */
+    public static final class Instantanea<T> {
+        private final List<T> entidades;
+        private final int[] ids;
+        private final String[] textos;
+        private final String[] textosMinusculas;
+        private final Map<Integer, Integer> posicionPorId;
+        private final Map<String, Integer> posicionPorTexto;
+
+        Instantanea(List<T> entidades, ToIntFunction<T> id, Function<T, String> texto) {
+            int n = entidades.size();
+            this.entidades = new ArrayList<>(entidades);
+            this.ids = new int[n];
+            this.textos = new String[n];
+            this.textosMinusculas = new String[n];
+            this.posicionPorId = new HashMap<>(n * 2);
+            this.posicionPorTexto = new HashMap<>(n * 2);
+
+            for (int i = 0; i < n; i++) {
+                T entidad = entidades.get(i);
+                ids[i] = id.applyAsInt(entidad);
+                textos[i] = texto.apply(entidad);
+                textosMinusculas[i] = textos[i].toLowerCase(Locale.ROOT);
+                posicionPorId.put(ids[i], i);
+                posicionPorTexto.put(textos[i], i);
+            }
+        }
+
+        /**
+         * @return Número de entidades.
+         */
+        public int tamano() {
+            return ids.length;
+        }
+
+        public T entidad(int posicion) {
+            return entidades.get(posicion);
+        }
+
+        public int id(int posicion) {
+            return ids[posicion];
+        }
+
+        public String texto(int posicion) {
+            return textos[posicion];
+        }
+
+        String textoMinusculas(int posicion) {
+            return textosMinusculas[posicion];
+        }
+
+        /**
+         * @param id ID de la entidad.
+         * @return Posición de la entidad, o -1 si no está.
+         */
+        public int posicionDe(int id) {
+            Integer posicion = posicionPorId.get(id);
+            return posicion != null ? posicion : -1;
+        }
+
+        /**
+         * @param texto Texto de una opción.
+         * @return Posición de la opción, o -1 si no está.
+         */
+        public int posicionDeTexto(Object texto) {
+            Integer posicion = posicionPorTexto.get(texto);
+            return posicion != null ? posicion : -1;
+        }
+
+        /**
+         * @param condicion Entidades a conservar.
+         * @return Instantánea con solo las entidades que cumplen la condición.
+         */
+        Instantanea<T> filtrar(Predicate<T> condicion, ToIntFunction<T> id, Function<T, String> texto) {
+            List<T> seleccion = new ArrayList<>();
+            for (T entidad : entidades) {
+                if (condicion.test(entidad)) {
+                    seleccion.add(entidad);
+                }
+            }
+            return new Instantanea<>(seleccion, id, texto);
+        }
+    }
+
+    private final Supplier<List<T>> cargador;
+    private final ToIntFunction<T> id;
+    private final Function<T, String> texto;
+    private final ExecutorService ejecutor;
+    private final AtomicBoolean recargaPendiente = new AtomicBoolean();
+    private volatile Instantanea<T> actual;
+
+    /**
+     * @param nombre Nombre del catálogo (se usa en el nombre del hilo de recarga).
+     * @param cargador Obtiene todas las entidades; se ejecuta fuera del EDT salvo en la primera carga.
+     * @param id ID de una entidad.
+     * @param texto Texto visible de una entidad; debe ser único.
+     */
+    public CatalogoEntidades(String nombre, Supplier<List<T>> cargador, ToIntFunction<T> id, Function<T, String> texto) {
+        this.cargador = cargador;
+        this.id = id;
+        this.texto = texto;
+        this.ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "catalogo-" + nombre);
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Devuelve el contenido actual, cargándolo si es la primera vez.
+     * @return Instantánea del catálogo.
+     */
+    public Instantanea<T> obtener() {
+        Instantanea<T> instantanea = actual;
+        if (instantanea == null) {
+            synchronized (this) {
+                if (actual == null) {
+                    actual = new Instantanea<>(cargador.get(), id, texto);
+                }
+                instantanea = actual;
+            }
+        }
+        return instantanea;
+    }
+
+    /**
+     * Carga el catálogo en segundo plano si aún no se cargó, para que el primer diálogo no espere.
+     */
+    public void precargar() {
+        if (actual == null) {
+            ejecutor.execute(this::obtener);
+        }
+    }
+
+    /**
+     * Marca el contenido como desactualizado y lo recarga en segundo plano.
+     * Varios avisos seguidos se agrupan en una sola recarga.
+     */
+    public void invalidar() {
+        if (actual == null || !recargaPendiente.compareAndSet(false, true)) {
+            return;
+        }
+        ejecutor.execute(() -> {
+            // Los avisos que lleguen durante la carga programan otra recarga
+            recargaPendiente.set(false);
+            actual = new Instantanea<>(cargador.get(), id, texto);
+        });
+    }
+
+    /**
+     * Crea un modelo de combo con todas las entidades.
+     * @return Modelo nuevo, con su propia selección.
+     */
+    public ModeloComboEntidades crearModelo() {
+        return new ModeloComboEntidades(obtener());
+    }
+
+    /**
+     * Crea un modelo de combo con las entidades que cumplen la condición.
+     * @param condicion Entidades a incluir.
+     * @return Modelo nuevo, con su propia selección.
+     */
+    public ModeloComboEntidades crearModelo(Predicate<T> condicion) {
+        return new ModeloComboEntidades(obtener().filtrar(condicion, id, texto));
+    }
+}
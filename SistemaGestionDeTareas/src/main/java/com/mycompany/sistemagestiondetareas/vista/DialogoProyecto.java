@@ -1,9 +1,9 @@
 package com.mycompany.sistemagestiondetareas.vista;
 
+import com.mycompany.sistemagestiondetareas.ServiciosAplicacion;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorProyecto;
-import com.mycompany.sistemagestiondetareas.controlador.ControladorUsuario;
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
-import com.mycompany.sistemagestiondetareas.modelo.Usuario;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.GridBagConstraints;
@@ -13,8 +13,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
-import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
@@ -30,7 +28,7 @@ import javax.swing.JTextField;
 public class DialogoProyecto extends JDialog implements ActionListener {
     // Controladores
     private final ControladorProyecto controladorProyecto;
-    private final ControladorUsuario controladorUsuario;
+    private final ServiciosAplicacion servicios;
     
     // Componentes del formulario
     private JTextField txtNombre;
@@ -43,22 +41,20 @@ public class DialogoProyecto extends JDialog implements ActionListener {
     private JButton btnGuardar;
     private JButton btnCancelar;
     
-    // Datos
-    private List<Usuario> usuarios;
+    // Datos (modelo sobre el catálogo compartido de usuarios)
+    private ModeloComboEntidades modeloUsuarios;
     private Proyecto proyectoEditar;
     private boolean proyectoGuardado = false;
     
     /**
      * Constructor para crear un nuevo proyecto.
      * @param parent Ventana padre.
-     * @param controladorProyecto Controlador de proyectos.
-     * @param controladorUsuario Controlador de usuarios.
+     * @param servicios Servicios de la aplicación.
      */
-    public DialogoProyecto(JFrame parent, ControladorProyecto controladorProyecto, 
-            ControladorUsuario controladorUsuario) {
+    public DialogoProyecto(JFrame parent, ServiciosAplicacion servicios) {
         super(parent, "Crear Proyecto", true);
-        this.controladorProyecto = controladorProyecto;
-        this.controladorUsuario = controladorUsuario;
+        this.servicios = servicios;
+        this.controladorProyecto = servicios.getControladorProyecto();
         this.proyectoEditar = null;
         
         inicializar();
@@ -67,15 +63,13 @@ public class DialogoProyecto extends JDialog implements ActionListener {
     /**
      * Constructor para editar un proyecto existente.
      * @param parent Ventana padre.
-     * @param controladorProyecto Controlador de proyectos.
-     * @param controladorUsuario Controlador de usuarios.
+     * @param servicios Servicios de la aplicación.
      * @param proyecto Proyecto a editar.
      */
-    public DialogoProyecto(JFrame parent, ControladorProyecto controladorProyecto, 
-            ControladorUsuario controladorUsuario, Proyecto proyecto) {
+    public DialogoProyecto(JFrame parent, ServiciosAplicacion servicios, Proyecto proyecto) {
         super(parent, "Editar Proyecto", true);
-        this.controladorProyecto = controladorProyecto;
-        this.controladorUsuario = controladorUsuario;
+        this.servicios = servicios;
+        this.controladorProyecto = servicios.getControladorProyecto();
         this.proyectoEditar = proyecto;
         
         inicializar();
@@ -156,6 +150,10 @@ public class DialogoProyecto extends JDialog implements ActionListener {
         gbc.weightx = 1.0;
         String[] nivelesRiesgo = {"VERDE", "AMARILLO", "ROJO"};
         comboNivelRiesgo = new JComboBox<>(nivelesRiesgo);
+        // El nivel lo calcula ControladorRiesgo a partir de las tareas, los costos y el avance
+        comboNivelRiesgo.setEnabled(false);
+        comboNivelRiesgo.setToolTipText("Se calcula automáticamente a partir de las tareas vencidas, "
+                + "los costos de retraso y el avance del proyecto");
         panelFormulario.add(comboNivelRiesgo, gbc);
         
         gbc.gridx = 0;
@@ -166,14 +164,7 @@ public class DialogoProyecto extends JDialog implements ActionListener {
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         comboResponsable = new JComboBox<>();
-        if (usuarios != null && !usuarios.isEmpty()) {
-            String[] nombresUsuarios = new String[usuarios.size()];
-            for (int i = 0; i < usuarios.size(); i++) {
-                Usuario u = usuarios.get(i);
-                nombresUsuarios[i] = u.getNombre() + " " + u.getApellido() + " (" + u.getId() + ")";
-            }
-            comboResponsable.setModel(new DefaultComboBoxModel<>(nombresUsuarios));
-        }
+        modeloUsuarios.instalarEn(comboResponsable);
         panelFormulario.add(comboResponsable, gbc);
         
         // Panel de botones
@@ -199,11 +190,11 @@ public class DialogoProyecto extends JDialog implements ActionListener {
     }
     
     /**
-     * Carga la lista de usuarios disponibles.
+     * Carga la lista de usuarios disponibles desde el catálogo compartido.
      */
     private void cargarUsuarios() {
-        usuarios = controladorUsuario.obtenerTodosLosUsuarios();
-        if (usuarios == null || usuarios.isEmpty()) {
+        modeloUsuarios = servicios.getCatalogoUsuarios().crearModelo();
+        if (modeloUsuarios.estaVacio()) {
             JOptionPane.showMessageDialog(this, 
                     "No hay usuarios disponibles. Debe crear al menos un usuario primero.", 
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -218,7 +209,7 @@ public class DialogoProyecto extends JDialog implements ActionListener {
         if (proyectoEditar != null) {
             txtNombre.setText(proyectoEditar.getNombre());
             txtDescripcion.setText(proyectoEditar.getDescripcion());
-            txtPresupuesto.setText(String.format("%.2f", proyectoEditar.getPresupuestoTotal()));
+            txtPresupuesto.setText(Dinero.formatear(proyectoEditar.getPresupuestoTotalCentavos()));
             
             // Formatear fechas
             SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
@@ -237,12 +228,7 @@ public class DialogoProyecto extends JDialog implements ActionListener {
             }
             
             // Seleccionar responsable
-            for (int i = 0; i < usuarios.size(); i++) {
-                if (usuarios.get(i).getId() == proyectoEditar.getIdResponsable()) {
-                    comboResponsable.setSelectedIndex(i);
-                    break;
-                }
-            }
+            modeloUsuarios.seleccionarId(proyectoEditar.getIdResponsable());
         }
     }
     
@@ -271,7 +257,7 @@ public class DialogoProyecto extends JDialog implements ActionListener {
         String fechaFinStr = txtFechaFin.getText().trim();
         
         try {
-            double presupuesto = Double.parseDouble(txtPresupuesto.getText().trim());
+            long presupuesto = Dinero.parsear(txtPresupuesto.getText());
             if (presupuesto < 0) {
                 JOptionPane.showMessageDialog(this, "El presupuesto no puede ser negativo.", 
                         "Error", JOptionPane.ERROR_MESSAGE);
@@ -280,9 +266,12 @@ public class DialogoProyecto extends JDialog implements ActionListener {
             
             // Obtener el nivel de riesgo y el ID del responsable
             String nivelRiesgo = (String) comboNivelRiesgo.getSelectedItem();
-            String responsableStr = (String) comboResponsable.getSelectedItem();
-            int idResponsable = Integer.parseInt(responsableStr.substring(
-                    responsableStr.lastIndexOf("(") + 1, responsableStr.lastIndexOf(")")));
+            int idResponsable = modeloUsuarios.getIdSeleccionado();
+            if (idResponsable < 0) {
+                JOptionPane.showMessageDialog(this, "Debe seleccionar un responsable.", 
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             
             // Convertir fechas
             java.sql.Timestamp fechaInicio = java.sql.Timestamp.valueOf(fechaInicioStr + " 00:00:00");
@@ -292,11 +281,13 @@ public class DialogoProyecto extends JDialog implements ActionListener {
             }
             
             boolean exito;
+            int idProyecto;
             if (proyectoEditar == null) {
                 // Crear nuevo proyecto
                 Proyecto nuevoProyecto = controladorProyecto.crearProyecto(
-                        nombre, descripcion, fechaInicio, fechaFin, idResponsable, nivelRiesgo, presupuesto);
+                        nombre, descripcion, fechaInicio, fechaFin, idResponsable, nivelRiesgo, Dinero.aDecimal(presupuesto));
                 exito = (nuevoProyecto != null && nuevoProyecto.getId() > 0);
+                idProyecto = exito ? nuevoProyecto.getId() : 0;
             } else {
                 // Actualizar proyecto existente
                 proyectoEditar.setNombre(nombre);
@@ -305,11 +296,14 @@ public class DialogoProyecto extends JDialog implements ActionListener {
                 proyectoEditar.setFechaFin(fechaFin);
                 proyectoEditar.setIdResponsable(idResponsable);
                 proyectoEditar.setNivelRiesgo(nivelRiesgo);
-                proyectoEditar.setPresupuestoTotal(presupuesto);
+                proyectoEditar.setPresupuestoTotalCentavos(presupuesto);
                 exito = controladorProyecto.actualizarProyecto(proyectoEditar);
+                idProyecto = proyectoEditar.getId();
             }
             
             if (exito) {
+                // El presupuesto y la fecha de fin intervienen en el nivel de riesgo
+                servicios.getControladorRiesgo().programarRecalculo(idProyecto);
                 proyectoGuardado = true;
                 dispose();
             } else {
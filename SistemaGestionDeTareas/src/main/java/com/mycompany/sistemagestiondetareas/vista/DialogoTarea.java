@@ -1,8 +1,8 @@
 package com.mycompany.sistemagestiondetareas.vista;
 
-import com.mycompany.sistemagestiondetareas.controlador.ControladorProyecto;
+import com.mycompany.sistemagestiondetareas.ServiciosAplicacion;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorTarea;
-import com.mycompany.sistemagestiondetareas.controlador.ControladorUsuario;
+import com.mycompany.sistemagestiondetareas.modelo.ComentarioTarea;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
 import com.mycompany.sistemagestiondetareas.modelo.Tarea;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
@@ -16,7 +16,6 @@ import java.awt.event.ActionListener;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
-import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
@@ -27,6 +26,7 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
+import javax.swing.SwingWorker;
 
 /**
  * Diálogo para crear o editar tareas.
@@ -34,8 +34,7 @@ import javax.swing.JTextField;
 public class DialogoTarea extends JDialog implements ActionListener {
     // Controladores
     private final ControladorTarea controladorTarea;
-    private final ControladorProyecto controladorProyecto;
-    private final ControladorUsuario controladorUsuario;
+    private final ServiciosAplicacion servicios;
     private final boolean esAdmin;
     private final Usuario usuario;
     
@@ -47,32 +46,34 @@ public class DialogoTarea extends JDialog implements ActionListener {
     private JComboBox<String> comboResponsable;
     private JComboBox<String> comboEstado;
     private JTextArea txtComentarios;
+    private JTextArea txtHistorial;
+    private JButton btnMasAntiguos;
     private JButton btnGuardar;
     private JButton btnCancelar;
     
-    // Datos
-    private List<Proyecto> proyectos;
-    private List<Usuario> usuarios;
+    // Datos (modelos sobre los catálogos compartidos; cada diálogo tiene su selección)
+    private ModeloComboEntidades modeloProyectos;
+    private ModeloComboEntidades modeloUsuarios;
     private Tarea tareaEditar;
     private boolean tareaGuardada = false;
     
+    // Historial de comentarios: se lee por páginas, de los más recientes a los más antiguos
+    private static final int COMENTARIOS_POR_PAGINA = 20;
+    private int ultimoComentarioCargado = 0;
+    
     /**
      * Constructor para crear una nueva tarea.
      * @param parent Ventana padre.
-     * @param controladorTarea Controlador de tareas.
-     * @param controladorProyecto Controlador de proyectos.
-     * @param controladorUsuario Controlador de usuarios.
+     * @param servicios Servicios de la aplicación.
      * @param proyecto Proyecto asociado a la tarea.
      * @param esAdmin Indica si el usuario es administrador.
      * @param usuario Usuario asociado a la tarea.
      */
-    public DialogoTarea(JFrame parent, ControladorTarea controladorTarea, 
-            ControladorProyecto controladorProyecto, ControladorUsuario controladorUsuario, 
+    public DialogoTarea(JFrame parent, ServiciosAplicacion servicios,
             Proyecto proyecto, boolean esAdmin, Usuario usuario) {
         super(parent, "Crear Tarea", true);
-        this.controladorTarea = controladorTarea;
-        this.controladorProyecto = controladorProyecto;
-        this.controladorUsuario = controladorUsuario;
+        this.servicios = servicios;
+        this.controladorTarea = servicios.getControladorTarea();
         this.tareaEditar = null;
         this.esAdmin = esAdmin;
         this.usuario = usuario;
@@ -83,20 +84,16 @@ public class DialogoTarea extends JDialog implements ActionListener {
     /**
      * Constructor para editar una tarea existente.
      * @param parent Ventana padre.
-     * @param controladorTarea Controlador de tareas.
-     * @param controladorProyecto Controlador de proyectos.
-     * @param controladorUsuario Controlador de usuarios.
+     * @param servicios Servicios de la aplicación.
      * @param tarea Tarea a editar.
      * @param esAdmin Indica si el usuario es administrador.
      * @param usuario Usuario asociado a la tarea.
      */
-    public DialogoTarea(JFrame parent, ControladorTarea controladorTarea, 
-            ControladorProyecto controladorProyecto, ControladorUsuario controladorUsuario, 
+    public DialogoTarea(JFrame parent, ServiciosAplicacion servicios,
             Tarea tarea, boolean esAdmin, Usuario usuario) {
         super(parent, "Editar Tarea", true);
-        this.controladorTarea = controladorTarea;
-        this.controladorProyecto = controladorProyecto;
-        this.controladorUsuario = controladorUsuario;
+        this.servicios = servicios;
+        this.controladorTarea = servicios.getControladorTarea();
         this.tareaEditar = tarea;
         this.esAdmin = esAdmin;
         this.usuario = usuario;
@@ -164,14 +161,7 @@ public class DialogoTarea extends JDialog implements ActionListener {
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         comboProyecto = new JComboBox<>();
-        if (proyectos != null && !proyectos.isEmpty()) {
-            String[] nombresProyectos = new String[proyectos.size()];
-            for (int i = 0; i < proyectos.size(); i++) {
-                Proyecto p = proyectos.get(i);
-                nombresProyectos[i] = p.getNombre() + " (" + p.getId() + ")";
-            }
-            comboProyecto.setModel(new DefaultComboBoxModel<>(nombresProyectos));
-        }
+        modeloProyectos.instalarEn(comboProyecto);
         panelFormulario.add(comboProyecto, gbc);
         
         gbc.gridx = 0;
@@ -182,14 +172,7 @@ public class DialogoTarea extends JDialog implements ActionListener {
         gbc.gridx = 1;
         gbc.weightx = 1.0;
         comboResponsable = new JComboBox<>();
-        if (usuarios != null && !usuarios.isEmpty()) {
-            String[] nombresUsuarios = new String[usuarios.size()];
-            for (int i = 0; i < usuarios.size(); i++) {
-                Usuario u = usuarios.get(i);
-                nombresUsuarios[i] = u.getNombre() + " " + u.getApellido() + " (" + u.getId() + ")";
-            }
-            comboResponsable.setModel(new DefaultComboBoxModel<>(nombresUsuarios));
-        }
+        modeloUsuarios.instalarEn(comboResponsable);
         panelFormulario.add(comboResponsable, gbc);
         
         gbc.gridx = 0;
@@ -216,6 +199,30 @@ public class DialogoTarea extends JDialog implements ActionListener {
         JScrollPane scrollComm = new JScrollPane(txtComentarios);
         panelFormulario.add(scrollComm, gbc);
         
+        // Historial de comentarios (solo al editar; no se carga con las listas de tareas)
+        if (tareaEditar != null) {
+            gbc.gridx = 0;
+            gbc.gridy = 7;
+            gbc.weightx = 0.0;
+            panelFormulario.add(new JLabel("Historial:"), gbc);
+            
+            gbc.gridx = 1;
+            gbc.weightx = 1.0;
+            txtHistorial = new JTextArea(5, 20);
+            txtHistorial.setEditable(false);
+            txtHistorial.setLineWrap(true);
+            txtHistorial.setWrapStyleWord(true);
+            panelFormulario.add(new JScrollPane(txtHistorial), gbc);
+            
+            gbc.gridy = 8;
+            gbc.fill = GridBagConstraints.NONE;
+            gbc.anchor = GridBagConstraints.EAST;
+            btnMasAntiguos = new JButton("Más antiguos");
+            btnMasAntiguos.setEnabled(false);
+            btnMasAntiguos.addActionListener(this);
+            panelFormulario.add(btnMasAntiguos, gbc);
+        }
+        
         // Panel de botones
         JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         btnGuardar = new JButton("Guardar");
@@ -239,16 +246,17 @@ public class DialogoTarea extends JDialog implements ActionListener {
     }
     
     /**
-     * Carga la lista de proyectos disponibles.
+     * Carga la lista de proyectos disponibles desde el catálogo compartido.
      */
     private void cargarProyectos() {
         if (esAdmin) {
-            proyectos = controladorProyecto.obtenerTodosLosProyectos();
+            modeloProyectos = servicios.getCatalogoProyectos().crearModelo();
         } else {
-            proyectos = controladorProyecto.obtenerProyectosPorResponsable(usuario.getId());
+            int idUsuario = usuario.getId();
+            modeloProyectos = servicios.getCatalogoProyectos().crearModelo(p -> p.getIdResponsable() == idUsuario);
         }
         
-        if (proyectos == null || proyectos.isEmpty()) {
+        if (modeloProyectos.estaVacio()) {
             JOptionPane.showMessageDialog(this, 
                     "No hay proyectos disponibles.", 
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -257,11 +265,11 @@ public class DialogoTarea extends JDialog implements ActionListener {
     }
     
     /**
-     * Carga la lista de usuarios disponibles.
+     * Carga la lista de usuarios disponibles desde el catálogo compartido.
      */
     private void cargarUsuarios() {
-        usuarios = controladorUsuario.obtenerTodosLosUsuarios();
-        if (usuarios == null || usuarios.isEmpty()) {
+        modeloUsuarios = servicios.getCatalogoUsuarios().crearModelo();
+        if (modeloUsuarios.estaVacio()) {
             JOptionPane.showMessageDialog(this, 
                     "No hay usuarios disponibles. Debe crear al menos un usuario primero.", 
                     "Error", JOptionPane.ERROR_MESSAGE);
@@ -281,21 +289,9 @@ public class DialogoTarea extends JDialog implements ActionListener {
             SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
             txtFechaVencimiento.setText(sdf.format(tareaEditar.getFechaVencimiento()));
             
-            // Seleccionar proyecto
-            for (int i = 0; i < proyectos.size(); i++) {
-                if (proyectos.get(i).getId() == tareaEditar.getIdProyecto()) {
-                    comboProyecto.setSelectedIndex(i);
-                    break;
-                }
-            }
-            
-            // Seleccionar responsable
-            for (int i = 0; i < usuarios.size(); i++) {
-                if (usuarios.get(i).getId() == tareaEditar.getIdResponsable()) {
-                    comboResponsable.setSelectedIndex(i);
-                    break;
-                }
-            }
+            // Seleccionar proyecto y responsable
+            modeloProyectos.seleccionarId(tareaEditar.getIdProyecto());
+            modeloUsuarios.seleccionarId(tareaEditar.getIdResponsable());
             
             // Seleccionar estado
             String estado = tareaEditar.getEstado();
@@ -307,9 +303,54 @@ public class DialogoTarea extends JDialog implements ActionListener {
             }
             
             txtComentarios.setText(tareaEditar.getComentarios());
+            
+            cargarComentarios();
         }
     }
     
+    /**
+     * Carga la siguiente página del historial de comentarios fuera del EDT.
+     */
+    private void cargarComentarios() {
+        btnMasAntiguos.setEnabled(false);
+        int idTarea = tareaEditar.getId();
+        int antesDeId = ultimoComentarioCargado;
+        
+        new SwingWorker<List<ComentarioTarea>, Void>() {
+            @Override
+            protected List<ComentarioTarea> doInBackground() {
+                return controladorTarea.obtenerComentarios(idTarea, antesDeId, COMENTARIOS_POR_PAGINA);
+            }
+            
+            @Override
+            protected void done() {
+                List<ComentarioTarea> comentarios;
+                try {
+                    comentarios = get();
+                } catch (Exception e) {
+                    System.err.println("Error al cargar comentarios de la tarea: " + e.getMessage());
+                    return;
+                }
+                
+                SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+                for (ComentarioTarea comentario : comentarios) {
+                    if (txtHistorial.getDocument().getLength() > 0) {
+                        txtHistorial.append("\n");
+                    }
+                    if (comentario.getFecha() != null) {
+                        txtHistorial.append("[" + sdf.format(comentario.getFecha()) + "] ");
+                    }
+                    txtHistorial.append(comentario.getTexto());
+                    ultimoComentarioCargado = comentario.getId();
+                }
+                if (ultimoComentarioCargado == 0) {
+                    txtHistorial.setText("Sin comentarios");
+                }
+                btnMasAntiguos.setEnabled(comentarios.size() == COMENTARIOS_POR_PAGINA);
+            }
+        }.execute();
+    }
+    
     /**
      * Guarda la tarea (nueva o editada).
      */
@@ -335,13 +376,13 @@ public class DialogoTarea extends JDialog implements ActionListener {
         
         try {
             // Obtener el ID del proyecto, responsable y estado
-            String proyectoStr = (String) comboProyecto.getSelectedItem();
-            int idProyecto = Integer.parseInt(proyectoStr.substring(
-                    proyectoStr.lastIndexOf("(") + 1, proyectoStr.lastIndexOf(")")));
-            
-            String responsableStr = (String) comboResponsable.getSelectedItem();
-            int idResponsable = Integer.parseInt(responsableStr.substring(
-                    responsableStr.lastIndexOf("(") + 1, responsableStr.lastIndexOf(")")));
+            int idProyecto = modeloProyectos.getIdSeleccionado();
+            int idResponsable = modeloUsuarios.getIdSeleccionado();
+            if (idProyecto < 0 || idResponsable < 0) {
+                JOptionPane.showMessageDialog(this, "Debe seleccionar un proyecto y un responsable.", 
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             
             String estado = (String) comboEstado.getSelectedItem();
             
@@ -392,6 +433,8 @@ public class DialogoTarea extends JDialog implements ActionListener {
             guardarTarea();
         } else if (e.getSource() == btnCancelar) {
             dispose();
+        } else if (e.getSource() == btnMasAntiguos) {
+            cargarComentarios();
         }
     }
 } 
\ No newline at end of file
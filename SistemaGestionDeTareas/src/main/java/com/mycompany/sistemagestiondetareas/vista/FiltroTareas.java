@@ -0,0 +1,287 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Índice compacto de las tareas para filtrar, buscar y ordenar fuera del EDT.
+ *
+ * Se construye una vez a partir de las tareas cargadas, guardando solo las
+ * columnas que usan los filtros (estado, proyecto, responsable, fechas y el
+ * texto ya en minúsculas). Es inmutable, por lo que puede evaluarse desde
+ * cualquier hilo; el resultado de una evaluación es la lista ordenada de IDs
+ * que la tabla debe mostrar.
+ */
+public class FiltroTareas {
+
+    /**
+     * Columnas por las que se puede ordenar.
+     */
+    public enum Orden {
+        ID, NOMBRE, FECHA_CREACION, FECHA_VENCIMIENTO, PROYECTO, RESPONSABLE, ESTADO
+    }
+
+    /**
+     * Condiciones de filtrado y orden; los campos nulos o vacíos no filtran.
+     */
+    public static class Criterios {
+        private String estado;
+        private Integer idProyecto;
+        private Integer idResponsable;
+        private Date desde;
+        private Date hasta;
+        private String texto;
+        private Orden orden = Orden.ID;
+        private boolean descendente;
+
+        public String getEstado() {
+            return estado;
+        }
+
+        public void setEstado(String estado) {
+            this.estado = estado;
+        }
+
+        public Integer getIdProyecto() {
+            return idProyecto;
+        }
+
+        public void setIdProyecto(Integer idProyecto) {
+            this.idProyecto = idProyecto;
+        }
+
+        public Integer getIdResponsable() {
+            return idResponsable;
+        }
+
+        public void setIdResponsable(Integer idResponsable) {
+            this.idResponsable = idResponsable;
+        }
+
+        public Date getDesde() {
+            return desde;
+        }
+
+        /**
+         * @param desde Inicio del rango de vencimiento (inclusive).
+         */
+        public void setDesde(Date desde) {
+            this.desde = desde;
+        }
+
+        public Date getHasta() {
+            return hasta;
+        }
+
+        /**
+         * @param hasta Fin del rango de vencimiento (exclusive).
+         */
+        public void setHasta(Date hasta) {
+            this.hasta = hasta;
+        }
+
+        public String getTexto() {
+            return texto;
+        }
+
+        /**
+         * @param texto Palabras que deben aparecer en el nombre o la descripción.
+         */
+        public void setTexto(String texto) {
+            this.texto = texto;
+        }
+
+        public Orden getOrden() {
+            return orden;
+        }
+
+        public void setOrden(Orden orden) {
+            this.orden = orden;
+        }
+
+        public boolean isDescendente() {
+            return descendente;
+        }
+
+        public void setDescendente(boolean descendente) {
+            this.descendente = descendente;
+        }
+
+        /**
+         * @return true si no filtra nada y ordena por ID ascendente (la vista sin filtro).
+         */
+        public boolean esNeutro() {
+            return estado == null && idProyecto == null && idResponsable == null
+                    && desde == null && hasta == null
+                    && (texto == null || texto.trim().isEmpty())
+                    && orden == Orden.ID && !descendente;
+        }
+    }
+
+    // Marcador para fechas nulas; las tareas sin fecha quedan al final del orden ascendente
+    private static final long SIN_FECHA = Long.MAX_VALUE;
+
+    private final int[] ids;
+    private final String[] estados;
+    private final int[] idsProyecto;
+    private final int[] idsResponsable;
+    private final long[] creacion;
+    private final long[] vencimiento;
+    private final String[] nombres;
+    private final String[] textos;
+    private final String[] nombresProyecto;
+    private final String[] nombresResponsable;
+
+    /**
+     * Construye el índice.
+     * @param tareas Tareas a indexar.
+     * @param proyectos Nombre de cada proyecto por ID.
+     * @param responsables Nombre completo de cada usuario por ID.
+     */
+    public FiltroTareas(List<Tarea> tareas, Map<Integer, String> proyectos, Map<Integer, String> responsables) {
+        // Se indexan en orden de ID para que el orden por defecto no necesite ordenar
+        List<Tarea> ordenadas = new ArrayList<>(tareas);
+        ordenadas.sort(Comparator.comparingInt(Tarea::getId));
+
+        int n = ordenadas.size();
+        ids = new int[n];
+        estados = new String[n];
+        idsProyecto = new int[n];
+        idsResponsable = new int[n];
+        creacion = new long[n];
+        vencimiento = new long[n];
+        nombres = new String[n];
+        textos = new String[n];
+        nombresProyecto = new String[n];
+        nombresResponsable = new String[n];
+
+        for (int i = 0; i < n; i++) {
+            Tarea tarea = ordenadas.get(i);
+            String nombre = tarea.getNombre() != null ? tarea.getNombre() : "";
+            String descripcion = tarea.getDescripcion() != null ? tarea.getDescripcion() : "";
+
+            ids[i] = tarea.getId();
+            estados[i] = tarea.getEstado();
+            idsProyecto[i] = tarea.getIdProyecto();
+            idsResponsable[i] = tarea.getIdResponsable();
+            creacion[i] = tarea.getFechaCreacion() != null ? tarea.getFechaCreacion().getTime() : SIN_FECHA;
+            vencimiento[i] = tarea.getFechaVencimiento() != null ? tarea.getFechaVencimiento().getTime() : SIN_FECHA;
+            nombres[i] = nombre;
+            textos[i] = (nombre + "\n" + descripcion).toLowerCase(Locale.ROOT);
+            nombresProyecto[i] = proyectos.getOrDefault(tarea.getIdProyecto(), "N/A");
+            nombresResponsable[i] = responsables.getOrDefault(tarea.getIdResponsable(), "N/A");
+        }
+    }
+
+    /**
+     * @return Número de tareas indexadas.
+     */
+    public int tamano() {
+        return ids.length;
+    }
+
+    /**
+     * Aplica los criterios sobre el índice.
+     * @param criterios Filtros y orden a aplicar.
+     * @return IDs de las tareas que cumplen los filtros, en el orden pedido.
+     */
+    public int[] evaluar(Criterios criterios) {
+        String[] terminos = separarTerminos(criterios.getTexto());
+        long desde = criterios.getDesde() != null ? criterios.getDesde().getTime() : Long.MIN_VALUE;
+        long hasta = criterios.getHasta() != null ? criterios.getHasta().getTime() : SIN_FECHA;
+        boolean filtraFechas = criterios.getDesde() != null || criterios.getHasta() != null;
+
+        int[] filas = new int[ids.length];
+        int cantidad = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (criterios.getEstado() != null && !criterios.getEstado().equals(estados[i])) {
+                continue;
+            }
+            if (criterios.getIdProyecto() != null && criterios.getIdProyecto() != idsProyecto[i]) {
+                continue;
+            }
+            if (criterios.getIdResponsable() != null && criterios.getIdResponsable() != idsResponsable[i]) {
+                continue;
+            }
+            if (filtraFechas && (vencimiento[i] == SIN_FECHA || vencimiento[i] < desde || vencimiento[i] >= hasta)) {
+                continue;
+            }
+            if (!contieneTodos(textos[i], terminos)) {
+                continue;
+            }
+            filas[cantidad++] = i;
+        }
+
+        filas = ordenar(Arrays.copyOf(filas, cantidad), criterios.getOrden(), criterios.isDescendente());
+
+        int[] resultado = new int[filas.length];
+        for (int i = 0; i < filas.length; i++) {
+            resultado[i] = ids[filas[i]];
+        }
+        return resultado;
+    }
+
+    private int[] ordenar(int[] filas, Orden orden, boolean descendente) {
+        if (orden != Orden.ID) {
+            Integer[] cajas = new Integer[filas.length];
+            for (int i = 0; i < filas.length; i++) {
+                cajas[i] = filas[i];
+            }
+            // Orden estable: a igualdad de valor se conserva el orden por ID
+            Arrays.sort(cajas, comparador(orden));
+            for (int i = 0; i < filas.length; i++) {
+                filas[i] = cajas[i];
+            }
+        }
+
+        if (descendente) {
+            for (int i = 0, j = filas.length - 1; i < j; i++, j--) {
+                int temporal = filas[i];
+                filas[i] = filas[j];
+                filas[j] = temporal;
+            }
+        }
+        return filas;
+    }
+
+    private Comparator<Integer> comparador(Orden orden) {
+        switch (orden) {
+            case NOMBRE:
+                return (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(nombres[a], nombres[b]);
+            case FECHA_CREACION:
+                return (a, b) -> Long.compare(creacion[a], creacion[b]);
+            case FECHA_VENCIMIENTO:
+                return (a, b) -> Long.compare(vencimiento[a], vencimiento[b]);
+            case PROYECTO:
+                return (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(nombresProyecto[a], nombresProyecto[b]);
+            case RESPONSABLE:
+                return (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(nombresResponsable[a], nombresResponsable[b]);
+            case ESTADO:
+                return (a, b) -> String.valueOf(estados[a]).compareTo(String.valueOf(estados[b]));
+            default:
+                return (a, b) -> Integer.compare(ids[a], ids[b]);
+        }
+    }
+
+    private static String[] separarTerminos(String texto) {
+        if (texto == null || texto.trim().isEmpty()) {
+            return new String[0];
+        }
+        return texto.trim().toLowerCase(Locale.ROOT).split("\\s+");
+    }
+
+    private static boolean contieneTodos(String texto, String[] terminos) {
+        for (String termino : terminos) {
+            if (!texto.contains(termino)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,8 @@
 package com.mycompany.sistemagestiondetareas.vista;
 
+import com.mycompany.sistemagestiondetareas.ServiciosAplicacion;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorUsuario;
+import com.mycompany.sistemagestiondetareas.controlador.InicializadorDatos;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
 import com.mycompany.sistemagestiondetareas.util.Cliente;
 import java.awt.*;
@@ -13,6 +15,7 @@ import javax.swing.border.EmptyBorder;
  * Ventana de inicio de sesión con diseño moderno y mejorado.
  */
 public class Login extends JFrame implements ActionListener {
+    private final ServiciosAplicacion servicios;
     private final ControladorUsuario controladorUsuario;
     private Cliente cliente;
     private JTextField txtEmail;
@@ -22,7 +25,16 @@ public class Login extends JFrame implements ActionListener {
      * Constructor de la ventana de inicio de sesión.
      */
     public Login() {
-        this.controladorUsuario = new ControladorUsuario();
+        this(ServiciosAplicacion.obtener());
+    }
+    
+    /**
+     * Constructor con los servicios de la aplicación.
+     * @param servicios Servicios compartidos.
+     */
+    public Login(ServiciosAplicacion servicios) {
+        this.servicios = servicios;
+        this.controladorUsuario = servicios.getControladorUsuario();
         configurarVentana();
         inicializarComponentes();
     }
@@ -211,14 +223,16 @@ public class Login extends JFrame implements ActionListener {
         }
         
         try {
+            // Si la verificación de datos iniciales sigue en curso, el usuario por defecto puede no existir aún
+            InicializadorDatos.esperar();
             cliente = new Cliente(email, password);
             Usuario usuario = controladorUsuario.autenticarUsuario(email, password);
             
             if (usuario != null) {
                 if (usuario.isEsAdmin()) {
-                    new PanelAdmin(usuario).setVisible(true);
+                    new PanelAdmin(usuario, servicios).setVisible(true);
                 } else {
-                    new PanelUsuario(usuario).setVisible(true);
+                    new PanelUsuario(usuario, servicios).setVisible(true);
                 }
                 dispose();
             } else {
@@ -0,0 +1,169 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import java.util.Arrays;
+import java.util.Locale;
+import javax.swing.AbstractListModel;
+import javax.swing.ComboBoxModel;
+import javax.swing.JComboBox;
+import javax.swing.SwingUtilities;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
+
+/**
+ * Modelo de combo sobre una instantánea de CatalogoEntidades.
+ *
+ * No copia las entidades: cada combo tiene solo su selección y su filtro de
+ * búsqueda. La selección por ID usa el índice de la instantánea, sin recorrer
+ * la lista, y el filtro permite encontrar una opción entre miles escribiendo
+ * parte de su texto con el combo abierto.
+ */
+public class ModeloComboEntidades extends AbstractListModel<String> implements ComboBoxModel<String> {
+
+    // Pausa tras la cual lo que se escribe empieza una búsqueda nueva
+    private static final long PAUSA_BUSQUEDA_MS = 1000;
+
+    private final CatalogoEntidades.Instantanea<?> instantanea;
+
+    // Posiciones visibles (en la instantánea); null si no hay filtro
+    private int[] visibles;
+    private int seleccionada = -1;
+
+    ModeloComboEntidades(CatalogoEntidades.Instantanea<?> instantanea) {
+        this.instantanea = instantanea;
+        if (instantanea.tamano() > 0) {
+            seleccionada = 0;
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return visibles != null ? visibles.length : instantanea.tamano();
+    }
+
+    @Override
+    public String getElementAt(int indice) {
+        return instantanea.texto(visibles != null ? visibles[indice] : indice);
+    }
+
+    @Override
+    public Object getSelectedItem() {
+        return seleccionada >= 0 ? instantanea.texto(seleccionada) : null;
+    }
+
+    @Override
+    public void setSelectedItem(Object item) {
+        int posicion = item != null ? instantanea.posicionDeTexto(item) : -1;
+        if (posicion != seleccionada) {
+            seleccionada = posicion;
+            fireContentsChanged(this, -1, -1);
+        }
+    }
+
+    /**
+     * @return true si el modelo no tiene opciones (sin contar el filtro).
+     */
+    public boolean estaVacio() {
+        return instantanea.tamano() == 0;
+    }
+
+    /**
+     * Selecciona la entidad con el ID indicado.
+     * @param id ID de la entidad.
+     * @return true si la entidad está en el modelo.
+     */
+    public boolean seleccionarId(int id) {
+        int posicion = instantanea.posicionDe(id);
+        if (posicion < 0) {
+            return false;
+        }
+        if (posicion != seleccionada) {
+            seleccionada = posicion;
+            fireContentsChanged(this, -1, -1);
+        }
+        return true;
+    }
+
+    /**
+     * @return ID de la entidad seleccionada, o -1 si no hay selección.
+     */
+    public int getIdSeleccionado() {
+        return seleccionada >= 0 ? instantanea.id(seleccionada) : -1;
+    }
+
+    /**
+     * Muestra solo las opciones cuyo texto contiene el indicado (sin distinguir mayúsculas).
+     * La selección no cambia.
+     * @param texto Texto a buscar; vacío o null para mostrar todas.
+     */
+    public void filtrar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            if (visibles == null) {
+                return;
+            }
+            visibles = null;
+        } else {
+            String buscado = texto.toLowerCase(Locale.ROOT);
+            int[] coincidencias = new int[instantanea.tamano()];
+            int cantidad = 0;
+            for (int i = 0; i < instantanea.tamano(); i++) {
+                if (instantanea.textoMinusculas(i).contains(buscado)) {
+                    coincidencias[cantidad++] = i;
+                }
+            }
+            visibles = Arrays.copyOf(coincidencias, cantidad);
+        }
+        fireContentsChanged(this, 0, Math.max(instantanea.tamano() - 1, 0));
+    }
+
+    /**
+     * Instala el modelo en el combo con búsqueda al escribir: las teclas que se
+     * escriben con el combo enfocado filtran la lista abierta y seleccionan la
+     * primera coincidencia; al cerrarse la lista se vuelven a mostrar todas.
+     * @param combo Combo a configurar.
+     */
+    public void instalarEn(JComboBox<String> combo) {
+        combo.setModel(this);
+        combo.setKeySelectionManager(new JComboBox.KeySelectionManager() {
+            private final StringBuilder busqueda = new StringBuilder();
+            private long ultimaTecla;
+
+            @Override
+            public int selectionForKey(char tecla, ComboBoxModel<?> modelo) {
+                long ahora = System.currentTimeMillis();
+                if (ahora - ultimaTecla > PAUSA_BUSQUEDA_MS) {
+                    busqueda.setLength(0);
+                }
+                ultimaTecla = ahora;
+
+                if (tecla == '\b') {
+                    if (busqueda.length() > 0) {
+                        busqueda.setLength(busqueda.length() - 1);
+                    }
+                } else if (!Character.isISOControl(tecla)) {
+                    busqueda.append(tecla);
+                }
+
+                filtrar(busqueda.toString());
+                if (!combo.isPopupVisible() && combo.isShowing()) {
+                    combo.showPopup();
+                }
+                return getSize() > 0 ? 0 : -1;
+            }
+        });
+        combo.addPopupMenuListener(new PopupMenuListener() {
+            @Override
+            public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+            }
+
+            @Override
+            public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+                // Después de que el combo procese la selección hecha en la lista
+                SwingUtilities.invokeLater(() -> filtrar(null));
+            }
+
+            @Override
+            public void popupMenuCanceled(PopupMenuEvent e) {
+            }
+        });
+    }
+}
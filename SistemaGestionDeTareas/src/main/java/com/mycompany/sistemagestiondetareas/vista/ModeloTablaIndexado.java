@@ -0,0 +1,232 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabla de solo lectura cuyas filas se identifican por el valor de la
+ * primera columna (el ID).
+ *
+ * Al actualizar con datos nuevos, compara por ID y dispara eventos por fila
+ * (insertadas, actualizadas, eliminadas) en lugar de reemplazar toda la tabla,
+ * de modo que la selección y la posición de desplazamiento se conservan y solo
+ * se repintan las filas que cambiaron.
+ */
+public class ModeloTablaIndexado extends AbstractTableModel {
+
+    private static final int COLUMNA_ID = 0;
+
+    // Bloques de eliminación e inserción a partir de los cuales conviene repintar toda la tabla
+    private static final int MAXIMO_BLOQUES = 64;
+
+    private final String[] columnas;
+    private final List<Object[]> filas = new ArrayList<>();
+    private final Map<Object, Integer> indice = new HashMap<>();
+
+    /**
+     * @param columnas Nombres de las columnas; la primera debe ser el ID.
+     */
+    public ModeloTablaIndexado(String[] columnas) {
+        this.columnas = columnas.clone();
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnas.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return columnas[columna];
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        return filas.get(fila)[columna];
+    }
+
+    /**
+     * Busca la fila de un ID.
+     * @param id Valor de la primera columna.
+     * @return Índice de la fila, o -1 si no está.
+     */
+    public int buscarFila(Object id) {
+        Integer fila = indice.get(id);
+        return fila != null ? fila : -1;
+    }
+
+    /**
+     * Agrega filas al final sin comparar (usado durante la primera carga).
+     * @param nuevas Filas a agregar.
+     */
+    public void agregarFilas(List<Object[]> nuevas) {
+        if (nuevas.isEmpty()) {
+            return;
+        }
+        int primera = filas.size();
+        for (Object[] fila : nuevas) {
+            indice.put(fila[COLUMNA_ID], filas.size());
+            filas.add(fila);
+        }
+        fireTableRowsInserted(primera, filas.size() - 1);
+    }
+
+    /**
+     * Elimina todas las filas.
+     */
+    public void limpiar() {
+        if (filas.isEmpty()) {
+            return;
+        }
+        int ultima = filas.size() - 1;
+        filas.clear();
+        indice.clear();
+        fireTableRowsDeleted(0, ultima);
+    }
+
+    /**
+     * Reemplaza el contenido por las filas nuevas, disparando solo los eventos
+     * necesarios: las filas que conservan su orden relativo (la subsecuencia
+     * creciente más larga de sus posiciones anteriores) se quedan y solo se
+     * actualizan si cambió su contenido; las demás se eliminan e insertan por
+     * bloques contiguos. Si harían falta más de MAXIMO_BLOQUES bloques (por
+     * ejemplo, al reordenar toda la tabla) se reemplaza todo con un único evento.
+     * @param nuevas Contenido completo y ordenado de la tabla.
+     */
+    public void actualizar(List<Object[]> nuevas) {
+        // Posición actual de cada fila nueva según el índice, o -1 si es nueva
+        int[] anteriores = new int[nuevas.size()];
+        for (int i = 0; i < nuevas.size(); i++) {
+            Integer anterior = indice.get(nuevas.get(i)[COLUMNA_ID]);
+            anteriores[i] = anterior != null ? anterior : -1;
+        }
+
+        boolean[] estables = marcarEstables(anteriores, filas.size());
+        boolean[] nuevasEstables = new boolean[nuevas.size()];
+        for (int i = 0; i < nuevas.size(); i++) {
+            nuevasEstables[i] = anteriores[i] >= 0 && estables[anteriores[i]];
+        }
+
+        if (contarBloques(estables) + contarBloques(nuevasEstables) > MAXIMO_BLOQUES) {
+            filas.clear();
+            filas.addAll(nuevas);
+            reconstruirIndice();
+            fireTableDataChanged();
+            return;
+        }
+
+        // 1. Eliminar las filas que no se conservan, de abajo hacia arriba y por bloques
+        int fin = filas.size() - 1;
+        while (fin >= 0) {
+            if (estables[fin]) {
+                fin--;
+                continue;
+            }
+            int inicio = fin;
+            while (inicio > 0 && !estables[inicio - 1]) {
+                inicio--;
+            }
+            filas.subList(inicio, fin + 1).clear();
+            fireTableRowsDeleted(inicio, fin);
+            fin = inicio - 1;
+        }
+
+        // 2. Recorrer en el orden nuevo: las filas conservadas ya están en su lugar,
+        // el resto (nuevas o movidas) se inserta por bloques
+        int i = 0;
+        while (i < nuevas.size()) {
+            if (nuevasEstables[i]) {
+                if (!Arrays.equals(filas.get(i), nuevas.get(i))) {
+                    filas.set(i, nuevas.get(i));
+                    fireTableRowsUpdated(i, i);
+                }
+                i++;
+                continue;
+            }
+            int ultima = i;
+            while (ultima + 1 < nuevas.size() && !nuevasEstables[ultima + 1]) {
+                ultima++;
+            }
+            filas.addAll(i, nuevas.subList(i, ultima + 1));
+            fireTableRowsInserted(i, ultima);
+            i = ultima + 1;
+        }
+
+        reconstruirIndice();
+    }
+
+    /**
+     * Marca las posiciones anteriores que forman la subsecuencia creciente más
+     * larga de anteriores (ignorando los -1), en O(n log n).
+     * @param anteriores Posición anterior de cada fila nueva, o -1.
+     * @param cantidadFilas Número de filas actuales.
+     * @return Para cada fila actual, si se conserva sin moverse.
+     */
+    private static boolean[] marcarEstables(int[] anteriores, int cantidadFilas) {
+        // finales[k]: índice en anteriores del menor final de una subsecuencia de largo k + 1
+        int[] finales = new int[anteriores.length];
+        int[] previos = new int[anteriores.length];
+        int largo = 0;
+
+        for (int i = 0; i < anteriores.length; i++) {
+            if (anteriores[i] < 0) {
+                continue;
+            }
+            int bajo = 0;
+            int alto = largo;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (anteriores[finales[medio]] < anteriores[i]) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            previos[i] = bajo > 0 ? finales[bajo - 1] : -1;
+            finales[bajo] = i;
+            if (bajo == largo) {
+                largo++;
+            }
+        }
+
+        boolean[] estables = new boolean[cantidadFilas];
+        for (int i = largo > 0 ? finales[largo - 1] : -1; i >= 0; i = previos[i]) {
+            estables[anteriores[i]] = true;
+        }
+        return estables;
+    }
+
+    /**
+     * Cuenta los bloques contiguos de posiciones no marcadas.
+     */
+    private static int contarBloques(boolean[] marcadas) {
+        int bloques = 0;
+        for (int i = 0; i < marcadas.length; i++) {
+            if (!marcadas[i] && (i == 0 || marcadas[i - 1])) {
+                bloques++;
+            }
+        }
+        return bloques;
+    }
+
+    private void reconstruirIndice() {
+        indice.clear();
+        for (int i = 0; i < filas.size(); i++) {
+            indice.put(filas.get(i)[COLUMNA_ID], i);
+        }
+    }
+}
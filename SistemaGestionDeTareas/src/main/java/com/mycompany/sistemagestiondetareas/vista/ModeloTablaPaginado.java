@@ -0,0 +1,291 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabla que carga las filas por páginas a medida que la tabla las pide.
+ *
+ * El número de filas se obtiene con un COUNT(*) en el servidor; las páginas se
+ * cargan en un hilo de fondo la primera vez que la vista muestra una de sus
+ * filas, y mientras tanto la celda muestra un marcador. Solo se conservan las
+ * páginas usadas más recientemente, y se carga por adelantado la siguiente
+ * página en la dirección del desplazamiento.
+ *
+ * Con un filtro aplicado, el modelo muestra solo los IDs recibidos y en ese
+ * orden: cada página se carga consultando los IDs de su tramo.
+ */
+public class ModeloTablaPaginado extends AbstractTableModel {
+
+    /**
+     * Origen de los datos paginados; sus métodos se ejecutan fuera del EDT.
+     * La primera columna de cada fila debe ser el ID.
+     */
+    public interface FuentePaginas {
+        /** @return Número total de filas. */
+        int contar();
+
+        /**
+         * @param desplazamiento Índice de la primera fila.
+         * @param limite Número máximo de filas.
+         * @return Filas de la página, en orden.
+         */
+        List<Object[]> cargarPagina(int desplazamiento, int limite);
+
+        /**
+         * @param ids IDs a cargar.
+         * @return Filas de esos IDs, en cualquier orden; los que ya no existen se omiten.
+         */
+        List<Object[]> cargarPorIds(List<Integer> ids);
+    }
+
+    /** Valor mostrado en las celdas cuya página aún no se ha cargado */
+    public static final String CARGANDO = "Cargando...";
+
+    private static final int TAMANO_PAGINA_DEFECTO = 100;
+    private static final int MAXIMO_PAGINAS_DEFECTO = 20;
+
+    // Páginas más lejanas que esta distancia de la última vista se descartan sin cargar
+    private static final int DISTANCIA_MAXIMA_PENDIENTE = 2;
+
+    private final String[] columnas;
+    private final FuentePaginas fuente;
+    private final int tamanoPagina;
+    private final Map<Integer, List<Object[]>> paginas;
+    private final Set<Integer> pendientes = new HashSet<>();
+    private final ExecutorService ejecutor;
+
+    private int filas;
+    private int[] filtro;
+    private volatile int generacion;
+    private volatile int ultimaPagina = -1;
+    private int direccion = 1;
+
+    /**
+     * @param columnas Nombres de las columnas.
+     * @param fuente Origen de los datos.
+     */
+    public ModeloTablaPaginado(String[] columnas, FuentePaginas fuente) {
+        this(columnas, fuente, TAMANO_PAGINA_DEFECTO, MAXIMO_PAGINAS_DEFECTO);
+    }
+
+    /**
+     * @param columnas Nombres de las columnas.
+     * @param fuente Origen de los datos.
+     * @param tamanoPagina Filas por página.
+     * @param maximoPaginas Páginas que se conservan en memoria.
+     */
+    public ModeloTablaPaginado(String[] columnas, FuentePaginas fuente, int tamanoPagina, int maximoPaginas) {
+        this.columnas = columnas.clone();
+        this.fuente = fuente;
+        this.tamanoPagina = tamanoPagina;
+        this.paginas = new LinkedHashMap<Integer, List<Object[]>>(maximoPaginas + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> masAntigua) {
+                return size() > maximoPaginas;
+            }
+        };
+
+        // Un único hilo: las páginas se cargan de a una, en el orden en que se piden
+        this.ejecutor = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "carga-paginas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Quita el filtro, descarta las páginas cargadas y vuelve a contar las filas
+     * en segundo plano. Debe llamarse desde el EDT.
+     */
+    public void refrescar() {
+        int generacionActual = ++generacion;
+        paginas.clear();
+        pendientes.clear();
+        filtro = null;
+
+        ejecutor.execute(() -> {
+            int total = fuente.contar();
+            SwingUtilities.invokeLater(() -> {
+                if (generacionActual != generacion) {
+                    return;
+                }
+                filas = total;
+                fireTableDataChanged();
+            });
+        });
+    }
+
+    /**
+     * Muestra solo las filas de los IDs indicados, en ese orden. Debe llamarse desde el EDT.
+     * @param ids IDs a mostrar (el arreglo no debe modificarse después).
+     */
+    public void filtrar(int[] ids) {
+        generacion++;
+        paginas.clear();
+        pendientes.clear();
+        filtro = ids;
+        filas = ids.length;
+        fireTableDataChanged();
+    }
+
+    /**
+     * @return true si hay un filtro aplicado.
+     */
+    public boolean estaFiltrado() {
+        return filtro != null;
+    }
+
+    /**
+     * Detiene el hilo de carga; el modelo no debe usarse después.
+     */
+    public void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnas.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return columnas[columna];
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        int pagina = fila / tamanoPagina;
+        registrarAcceso(pagina);
+
+        List<Object[]> datos = paginas.get(pagina);
+        if (datos == null) {
+            solicitar(pagina);
+            return CARGANDO;
+        }
+
+        int indice = fila % tamanoPagina;
+        // La tabla pudo cambiar desde el conteo; las filas faltantes quedan vacías
+        return indice < datos.size() ? datos.get(indice)[columna] : null;
+    }
+
+    /**
+     * Indica si la fila ya está cargada (su valor no es el marcador CARGANDO).
+     * @param fila Índice de la fila.
+     * @return true si la página de la fila está en memoria.
+     */
+    public boolean estaCargada(int fila) {
+        return paginas.containsKey(fila / tamanoPagina);
+    }
+
+    /**
+     * Actualiza la dirección de desplazamiento y pide por adelantado la página siguiente.
+     */
+    private void registrarAcceso(int pagina) {
+        if (pagina == ultimaPagina) {
+            return;
+        }
+        if (ultimaPagina >= 0) {
+            direccion = pagina > ultimaPagina ? 1 : -1;
+        }
+        ultimaPagina = pagina;
+
+        int siguiente = pagina + direccion;
+        if (siguiente >= 0 && siguiente * tamanoPagina < filas && !paginas.containsKey(siguiente)) {
+            solicitar(siguiente);
+        }
+    }
+
+    private void solicitar(int pagina) {
+        if (!pendientes.add(pagina)) {
+            return;
+        }
+
+        int generacionActual = generacion;
+        int[] filtroActual = filtro;
+        ejecutor.execute(() -> {
+            // Si el usuario ya se desplazó lejos, no vale la pena consultar esta página
+            if (!sigueVigente(pagina, generacionActual)) {
+                SwingUtilities.invokeLater(() -> {
+                    if (generacionActual == generacion) {
+                        pendientes.remove(pagina);
+                    }
+                });
+                return;
+            }
+
+            List<Object[]> datos = filtroActual == null
+                    ? fuente.cargarPagina(pagina * tamanoPagina, tamanoPagina)
+                    : cargarFiltrada(filtroActual, pagina);
+            SwingUtilities.invokeLater(() -> publicar(pagina, datos, generacionActual));
+        });
+    }
+
+    /**
+     * Carga los IDs del tramo de la página y los devuelve en el orden del filtro.
+     */
+    private List<Object[]> cargarFiltrada(int[] ids, int pagina) {
+        int inicio = pagina * tamanoPagina;
+        int fin = Math.min(inicio + tamanoPagina, ids.length);
+        List<Integer> idsPagina = new ArrayList<>(fin - inicio);
+        for (int i = inicio; i < fin; i++) {
+            idsPagina.add(ids[i]);
+        }
+
+        Map<Object, Object[]> porId = new HashMap<>();
+        for (Object[] fila : fuente.cargarPorIds(idsPagina)) {
+            porId.put(fila[0], fila);
+        }
+
+        List<Object[]> datos = new ArrayList<>(idsPagina.size());
+        for (Integer id : idsPagina) {
+            Object[] fila = porId.get(id);
+            if (fila != null) {
+                datos.add(fila);
+            }
+        }
+        return datos;
+    }
+
+    /**
+     * Lectura aproximada desde el hilo de carga; un valor desactualizado solo
+     * provoca una consulta de más o de menos.
+     */
+    private boolean sigueVigente(int pagina, int generacionPedida) {
+        return generacionPedida == generacion
+                && Math.abs(pagina - ultimaPagina) <= DISTANCIA_MAXIMA_PENDIENTE;
+    }
+
+    private void publicar(int pagina, List<Object[]> datos, int generacionPedida) {
+        if (generacionPedida != generacion) {
+            return;
+        }
+        pendientes.remove(pagina);
+        paginas.put(pagina, datos);
+
+        int primera = pagina * tamanoPagina;
+        int ultima = Math.min(primera + tamanoPagina, filas) - 1;
+        if (primera <= ultima) {
+            fireTableRowsUpdated(primera, ultima);
+        }
+    }
+}
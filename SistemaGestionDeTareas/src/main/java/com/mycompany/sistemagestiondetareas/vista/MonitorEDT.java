@@ -0,0 +1,337 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import com.mycompany.sistemagestiondetareas.util.ArchivoRotativo;
+import com.mycompany.sistemagestiondetareas.util.HistogramaLatencia;
+import java.awt.EventQueue;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vigila el hilo de eventos de Swing (EDT) para detectar bloqueos de la interfaz.
+ *
+ * Un hilo de fondo envía cada INTERVALO_SONDEO_MS una sonda al EDT con
+ * invokeLater y registra en un histograma cuánto tardó en atenderse (la
+ * latencia de despacho de eventos). Si una sonda lleva más de umbralMs sin
+ * atenderse, toma una muestra de la pila del EDT, identifica el método de la
+ * vista que se estaba ejecutando (por ejemplo PanelAdmin.cargarProyectos) y
+ * lo anota en el archivo de registro; al liberarse el EDT anota la duración
+ * total. Los bloqueos recientes y el histograma se muestran en PanelDiagnostico.
+ */
+public class MonitorEDT {
+
+    /** Tiempo sin atender eventos a partir del cual se considera que la interfaz está bloqueada. */
+    public static final long UMBRAL_POR_DEFECTO_MS = 500;
+
+    private static final long INTERVALO_SONDEO_MS = 100;
+    private static final int MAX_BLOQUEOS = 100;
+    private static final int MAX_LINEAS_PILA = 40;
+    private static final long TAMANO_MAXIMO_REGISTRO_BYTES = 5L * 1024 * 1024;
+    private static final int ARCHIVOS_REGISTRO = 5;
+    private static final String PAQUETE_VISTAS = "com.mycompany.sistemagestiondetareas.vista.";
+
+    /**
+     * Bloqueo detectado. La duración se actualiza mientras el EDT siga sin responder.
+     */
+    public static final class Bloqueo {
+        private final int numero;
+        private final long inicio;
+        private final String metodo;
+        private final StackTraceElement[] pila;
+        private volatile long duracionMs;
+        private volatile boolean terminado;
+
+        Bloqueo(int numero, long inicio, String metodo, StackTraceElement[] pila, long duracionMs) {
+            this.numero = numero;
+            this.inicio = inicio;
+            this.metodo = metodo;
+            this.pila = pila;
+            this.duracionMs = duracionMs;
+        }
+
+        public int getNumero() {
+            return numero;
+        }
+
+        /**
+         * @return Momento en que empezó el bloqueo (milisegundos desde la época).
+         */
+        public long getInicio() {
+            return inicio;
+        }
+
+        /**
+         * @return Método de la vista en ejecución al tomar la muestra, por ejemplo "PanelAdmin.cargarProyectos".
+         */
+        public String getMetodo() {
+            return metodo;
+        }
+
+        /**
+         * @return Pila del EDT al detectar el bloqueo.
+         */
+        public StackTraceElement[] getPila() {
+            return pila.clone();
+        }
+
+        public long getDuracionMs() {
+            return duracionMs;
+        }
+
+        public boolean isTerminado() {
+            return terminado;
+        }
+    }
+
+    private final long umbralMs;
+    private final Path archivoRegistro;
+    private final ArchivoRotativo registro;
+    private final HistogramaLatencia histograma = new HistogramaLatencia();
+    private final Deque<Bloqueo> bloqueos = new ArrayDeque<>();
+    private final SimpleDateFormat formatoFecha = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+
+    // Sonda pendiente: instante de envío (nanoTime), o 0 si ya se atendió
+    private volatile long sondaEnviada;
+    private volatile long ultimaLatenciaMs;
+    private volatile Thread hiloEDT;
+
+    private Thread vigilante;
+    private volatile boolean activo;
+    private int totalBloqueos;
+
+    /**
+     * Crea el monitor con el umbral por defecto y el archivo de registro en el
+     * directorio del usuario (~/.sistema-gestion-tareas/diagnostico-edt.log).
+     */
+    public MonitorEDT() {
+        this(UMBRAL_POR_DEFECTO_MS, Paths.get(System.getProperty("user.home"),
+                ".sistema-gestion-tareas", "diagnostico-edt.log"));
+    }
+
+    /**
+     * @param umbralMs Tiempo sin atender eventos que se considera un bloqueo.
+     * @param archivoRegistro Archivo donde anotar los bloqueos; null para no escribir a disco.
+     */
+    public MonitorEDT(long umbralMs, Path archivoRegistro) {
+        this(umbralMs, archivoRegistro, TAMANO_MAXIMO_REGISTRO_BYTES, ARCHIVOS_REGISTRO);
+    }
+
+    /**
+     * @param umbralMs Tiempo sin atender eventos que se considera un bloqueo.
+     * @param archivoRegistro Archivo donde anotar los bloqueos; null para no escribir a disco.
+     * @param tamanoMaximoBytes Tamaño a partir del cual se rota el archivo de registro.
+     * @param archivosConservados Archivos rotados que se conservan.
+     */
+    public MonitorEDT(long umbralMs, Path archivoRegistro, long tamanoMaximoBytes, int archivosConservados) {
+        this.umbralMs = umbralMs;
+        this.archivoRegistro = archivoRegistro;
+        this.registro = archivoRegistro != null
+                ? new ArchivoRotativo(archivoRegistro, tamanoMaximoBytes, archivosConservados) : null;
+    }
+
+    /**
+     * Inicia la vigilancia en un hilo de fondo; si ya estaba iniciada no hace nada.
+     */
+    public synchronized void iniciar() {
+        if (activo) {
+            return;
+        }
+        activo = true;
+        sondaEnviada = 0;
+        vigilante = new Thread(this::vigilar, "monitor-edt");
+        vigilante.setDaemon(true);
+        vigilante.start();
+    }
+
+    /**
+     * Detiene la vigilancia y anota el resumen del histograma en el registro.
+     */
+    public synchronized void detener() {
+        if (!activo) {
+            return;
+        }
+        activo = false;
+        // Sin interrumpir: una escritura interrumpida cerraría el canal del archivo
+        try {
+            vigilante.join(INTERVALO_SONDEO_MS * 5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        escribir(marcaTiempo(System.currentTimeMillis()) + " RESUMEN latencia EDT: " + histograma.resumen()
+                + System.lineSeparator());
+    }
+
+    public long getUmbralMs() {
+        return umbralMs;
+    }
+
+    public Path getArchivoRegistro() {
+        return archivoRegistro;
+    }
+
+    public HistogramaLatencia getHistograma() {
+        return histograma;
+    }
+
+    /**
+     * @return Bloqueos recientes, del más nuevo al más antiguo (como máximo MAX_BLOQUEOS).
+     */
+    public List<Bloqueo> getBloqueos() {
+        synchronized (bloqueos) {
+            return new ArrayList<>(bloqueos);
+        }
+    }
+
+    /**
+     * Bucle del hilo vigilante: envía sondas y detecta las que no se atienden a tiempo.
+     */
+    private void vigilar() {
+        Bloqueo actual = null;
+        while (activo) {
+            long enviada = sondaEnviada;
+            if (enviada == 0) {
+                if (actual != null) {
+                    terminarBloqueo(actual, ultimaLatenciaMs);
+                    actual = null;
+                }
+                enviarSonda();
+            } else {
+                long esperaMs = (System.nanoTime() - enviada) / 1_000_000;
+                if (actual == null && esperaMs >= umbralMs) {
+                    actual = registrarBloqueo(esperaMs);
+                } else if (actual != null) {
+                    actual.duracionMs = esperaMs;
+                }
+            }
+
+            try {
+                Thread.sleep(INTERVALO_SONDEO_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void enviarSonda() {
+        long enviada = System.nanoTime();
+        sondaEnviada = enviada;
+        EventQueue.invokeLater(() -> {
+            hiloEDT = Thread.currentThread();
+            long latenciaMs = (System.nanoTime() - enviada) / 1_000_000;
+            histograma.registrar(latenciaMs);
+            ultimaLatenciaMs = latenciaMs;
+            sondaEnviada = 0;
+        });
+    }
+
+    private Bloqueo registrarBloqueo(long esperaMs) {
+        Thread edt = hiloEDT != null ? hiloEDT : buscarHiloEDT();
+        StackTraceElement[] pila = edt != null ? edt.getStackTrace() : new StackTraceElement[0];
+        long inicio = System.currentTimeMillis() - esperaMs;
+
+        Bloqueo bloqueo;
+        synchronized (bloqueos) {
+            bloqueo = new Bloqueo(++totalBloqueos, inicio, metodoDeVista(pila), pila, esperaMs);
+            bloqueos.addFirst(bloqueo);
+            if (bloqueos.size() > MAX_BLOQUEOS) {
+                bloqueos.removeLast();
+            }
+        }
+
+        StringBuilder texto = new StringBuilder();
+        texto.append(marcaTiempo(inicio)).append(" BLOQUEO #").append(bloqueo.numero)
+                .append(" EDT sin responder ").append(esperaMs).append(" ms en ").append(bloqueo.metodo)
+                .append(System.lineSeparator());
+        for (int i = 0; i < Math.min(pila.length, MAX_LINEAS_PILA); i++) {
+            texto.append("\tat ").append(pila[i]).append(System.lineSeparator());
+        }
+        escribir(texto.toString());
+        return bloqueo;
+    }
+
+    private void terminarBloqueo(Bloqueo bloqueo, long latenciaMs) {
+        bloqueo.duracionMs = Math.max(bloqueo.duracionMs, latenciaMs);
+        escribir(marcaTiempo(System.currentTimeMillis()) + " FIN BLOQUEO #" + bloqueo.numero + " "
+                + bloqueo.duracionMs + " ms en " + bloqueo.metodo + System.lineSeparator());
+        bloqueo.terminado = true;
+    }
+
+    /**
+     * Busca el EDT por nombre, para el caso en que se bloquee antes de atender la primera sonda.
+     */
+    private static Thread buscarHiloEDT() {
+        for (Map.Entry<Thread, StackTraceElement[]> entrada : Thread.getAllStackTraces().entrySet()) {
+            if (entrada.getKey().getName().startsWith("AWT-EventQueue")) {
+                return entrada.getKey();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Identifica el método responsable del bloqueo: el primer método de una vista
+     * en la pila; si no hay ninguno, el primero que no sea del JDK.
+     * @param pila Pila del EDT, empezando por el método en ejecución.
+     * @return Nombre en la forma Clase.metodo, o "desconocido" si la pila está vacía.
+     */
+    static String metodoDeVista(StackTraceElement[] pila) {
+        for (StackTraceElement marco : pila) {
+            String clase = marco.getClassName();
+            if (clase.startsWith(PAQUETE_VISTAS) && !clase.equals(MonitorEDT.class.getName())
+                    && !clase.startsWith(MonitorEDT.class.getName() + "$")) {
+                return nombreCorto(marco);
+            }
+        }
+        for (StackTraceElement marco : pila) {
+            String clase = marco.getClassName();
+            if (!clase.startsWith("java.") && !clase.startsWith("javax.")
+                    && !clase.startsWith("sun.") && !clase.startsWith("jdk.")) {
+                return nombreCorto(marco);
+            }
+        }
+        return pila.length > 0 ? nombreCorto(pila[0]) : "desconocido";
+    }
+
+    /**
+     * @return "Clase.metodo" sin paquete; las lambdas se muestran con el método que las contiene.
+     */
+    private static String nombreCorto(StackTraceElement marco) {
+        String clase = marco.getClassName();
+        clase = clase.substring(clase.lastIndexOf('.') + 1);
+        String metodo = marco.getMethodName();
+        if (metodo.startsWith("lambda$")) {
+            int fin = metodo.indexOf('$', "lambda$".length());
+            metodo = metodo.substring("lambda$".length(), fin > 0 ? fin : metodo.length()) + " (lambda)";
+        }
+        return clase + "." + metodo;
+    }
+
+    private String marcaTiempo(long instante) {
+        synchronized (formatoFecha) {
+            return formatoFecha.format(new Date(instante));
+        }
+    }
+
+    /**
+     * Agrega texto al archivo de registro, que rota como el de consultas lentas;
+     * se llama solo desde el hilo vigilante o al detener.
+     */
+    private void escribir(String texto) {
+        if (registro == null) {
+            return;
+        }
+        try {
+            registro.agregar(texto);
+        } catch (IOException e) {
+            System.err.println("Error al escribir el registro de diagnóstico: " + e.getMessage());
+        }
+    }
+}
@@ -1,19 +1,37 @@
 package com.mycompany.sistemagestiondetareas.vista;
 
+import com.mycompany.sistemagestiondetareas.ServiciosAplicacion;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorProyecto;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorTarea;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorUsuario;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorCosto;
+import com.mycompany.sistemagestiondetareas.dao.AlmacenCostosColumnar;
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
 import com.mycompany.sistemagestiondetareas.modelo.Tarea;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -21,13 +39,18 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTable;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.JTextField;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * Panel principal para administradores.
  */
 public class PanelAdmin extends JFrame implements ActionListener {
     private final Usuario usuario;
+    private final ServiciosAplicacion servicios;
     private final ControladorProyecto controladorProyecto;
     private final ControladorTarea controladorTarea;
     private final ControladorUsuario controladorUsuario;
@@ -37,9 +60,12 @@ public class PanelAdmin extends JFrame implements ActionListener {
     private JTable tablaProyectos;
     private JTable tablaTareas;
     private JTable tablaUsuarios;
-    private DefaultTableModel modeloProyectos;
-    private DefaultTableModel modeloTareas;
-    private DefaultTableModel modeloUsuarios;
+    private ModeloTablaIndexado modeloProyectos;
+    private ModeloTablaPaginado modeloTareas;
+    private ModeloTablaIndexado modeloUsuarios;
+    private CargadorTabla cargadorProyectos;
+    private CargadorTabla cargadorUsuarios;
+    private JLabel lblCargando;
     private JButton btnCrearProyecto;
     private JButton btnEditarProyecto;
     private JButton btnEliminarProyecto;
@@ -51,16 +77,51 @@ public class PanelAdmin extends JFrame implements ActionListener {
     private JButton btnEliminarUsuario;
     private JButton btnCerrarSesion;
     
+    // Filtros de la tabla de tareas
+    private static final int ESPERA_FILTRO_MS = 250;
+    private static final FiltroTareas.Orden[] ORDEN_POR_COLUMNA = {
+        FiltroTareas.Orden.ID, FiltroTareas.Orden.NOMBRE, FiltroTareas.Orden.FECHA_CREACION,
+        FiltroTareas.Orden.FECHA_VENCIMIENTO, FiltroTareas.Orden.PROYECTO,
+        FiltroTareas.Orden.RESPONSABLE, FiltroTareas.Orden.ESTADO
+    };
+    private JComboBox<String> comboFiltroEstado;
+    private JComboBox<OpcionFiltro> comboFiltroProyecto;
+    private JComboBox<OpcionFiltro> comboFiltroResponsable;
+    private JTextField txtFiltroDesde;
+    private JTextField txtFiltroHasta;
+    private JTextField txtBuscarTarea;
+    private JLabel lblResultadoFiltro;
+    private Timer temporizadorFiltro;
+    private FiltroTareas.Orden ordenTareas = FiltroTareas.Orden.ID;
+    private boolean ordenDescendente;
+    private FiltroTareas indiceTareas;
+    private int versionIndice;
+    private int generacionFiltro;
+    
     /**
      * Constructor del panel de administrador.
      * @param usuario Usuario administrador.
      */
     public PanelAdmin(Usuario usuario) {
+        this(usuario, ServiciosAplicacion.obtener());
+    }
+    
+    /**
+     * Constructor del panel de administrador con los servicios de la aplicación.
+     * @param usuario Usuario administrador.
+     * @param servicios Servicios compartidos.
+     */
+    public PanelAdmin(Usuario usuario, ServiciosAplicacion servicios) {
         this.usuario = usuario;
-        this.controladorProyecto = new ControladorProyecto();
-        this.controladorTarea = new ControladorTarea();
-        this.controladorUsuario = new ControladorUsuario();
-        this.controladorCosto = new ControladorCosto();
+        this.servicios = servicios;
+        this.controladorProyecto = servicios.getControladorProyecto();
+        this.controladorTarea = servicios.getControladorTarea();
+        this.controladorUsuario = servicios.getControladorUsuario();
+        this.controladorCosto = servicios.getControladorCosto();
+        
+        // Listas de los diálogos de tareas y proyectos, cargadas mientras se usa el panel
+        servicios.getCatalogoUsuarios().precargar();
+        servicios.getCatalogoProyectos().precargar();
         
         configurarVentana();
         inicializarComponentes();
@@ -89,8 +150,11 @@ public class PanelAdmin extends JFrame implements ActionListener {
         JLabel lblBienvenida = new JLabel("Bienvenido, " + usuario.getNombre() + " " + usuario.getApellido());
         btnCerrarSesion = new JButton("Cerrar Sesión");
         btnCerrarSesion.addActionListener(this);
+        lblCargando = CargadorTabla.crearIndicador();
+        lblCargando.setHorizontalAlignment(JLabel.CENTER);
         
         panelSuperior.add(lblBienvenida, BorderLayout.WEST);
+        panelSuperior.add(lblCargando, BorderLayout.CENTER);
         panelSuperior.add(btnCerrarSesion, BorderLayout.EAST);
         
         // Panel con pestañas
@@ -105,13 +169,16 @@ public class PanelAdmin extends JFrame implements ActionListener {
         tabbedPane.addTab("Tareas", panelTareas);
         
         // Pestaña de Costos (solo para admin)
-        JPanel panelCostos = new PanelCostos(true, usuario);
+        JPanel panelCostos = new PanelCostos(true, usuario, servicios);
         tabbedPane.addTab("Costos", panelCostos);
         
         // Pestaña de Usuarios
         JPanel panelUsuarios = crearPanelUsuarios();
         tabbedPane.addTab("Usuarios", panelUsuarios);
         
+        // Pestaña de Diagnóstico (bloqueos y latencia de la interfaz)
+        tabbedPane.addTab("Diagnóstico", new PanelDiagnostico(servicios.getMonitorEDT()));
+        
         // Agregar componentes a la ventana
         add(panelSuperior, BorderLayout.NORTH);
         add(tabbedPane, BorderLayout.CENTER);
@@ -126,26 +193,13 @@ public class PanelAdmin extends JFrame implements ActionListener {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
         // Modelo de tabla para proyectos
-        modeloProyectos = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // No permitir edición directa
-            }
-        };
-        
-        modeloProyectos.addColumn("ID");
-        modeloProyectos.addColumn("Nombre");
-        modeloProyectos.addColumn("Descripción");
-        modeloProyectos.addColumn("Fecha Inicio");
-        modeloProyectos.addColumn("Fecha Fin");
-        modeloProyectos.addColumn("Responsable");
-        modeloProyectos.addColumn("Nivel Riesgo");
-        modeloProyectos.addColumn("Presupuesto Total");
-        modeloProyectos.addColumn("Costos Retraso");
-        modeloProyectos.addColumn("Costos Adelanto");
-        modeloProyectos.addColumn("Gastos Planificados");
-        modeloProyectos.addColumn("Balance Total");
+        modeloProyectos = new ModeloTablaIndexado(new String[]{
+            "ID", "Nombre", "Descripción", "Fecha Inicio", "Fecha Fin", "Responsable",
+            "Nivel Riesgo", "Presupuesto Total", "Costos Retraso", "Costos Adelanto",
+            "Gastos Planificados", "Balance Total"
+        });
         
+        cargadorProyectos = new CargadorTabla(modeloProyectos, lblCargando);
         tablaProyectos = new JTable(modeloProyectos);
         JScrollPane scrollPane = new JScrollPane(tablaProyectos);
         
@@ -180,26 +234,41 @@ public class PanelAdmin extends JFrame implements ActionListener {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
-        // Modelo de tabla para tareas
-        modeloTareas = new DefaultTableModel() {
+        // Modelo de tabla para tareas: carga por páginas a medida que se desplaza la tabla
+        // Sin descripción: las páginas solo leen las columnas de ResumenTarea
+        String[] columnas = {"ID", "Nombre", "Fecha Creación", "Fecha Vencimiento",
+                             "Proyecto", "Responsable", "Estado"};
+        modeloTareas = new ModeloTablaPaginado(columnas, new ModeloTablaPaginado.FuentePaginas() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // No permitir edición directa
+            public int contar() {
+                return controladorTarea.contarTareas();
             }
-        };
-        
-        modeloTareas.addColumn("ID");
-        modeloTareas.addColumn("Nombre");
-        modeloTareas.addColumn("Descripción");
-        modeloTareas.addColumn("Fecha Creación");
-        modeloTareas.addColumn("Fecha Vencimiento");
-        modeloTareas.addColumn("Proyecto");
-        modeloTareas.addColumn("Responsable");
-        modeloTareas.addColumn("Estado");
+            
+            @Override
+            public List<Object[]> cargarPagina(int desplazamiento, int limite) {
+                return construirFilasTareas(controladorTarea.obtenerPaginaResumenTareas(desplazamiento, limite));
+            }
+            
+            @Override
+            public List<Object[]> cargarPorIds(List<Integer> ids) {
+                return construirFilasTareas(controladorTarea.obtenerResumenTareasPorIds(ids));
+            }
+        });
         
         tablaTareas = new JTable(modeloTareas);
         JScrollPane scrollPane = new JScrollPane(tablaTareas);
         
+        // Ordenar al hacer clic en el encabezado (el orden se calcula fuera del EDT)
+        tablaTareas.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int columna = tablaTareas.convertColumnIndexToModel(tablaTareas.columnAtPoint(e.getPoint()));
+                if (columna >= 0) {
+                    ordenarTareasPor(ORDEN_POR_COLUMNA[columna]);
+                }
+            }
+        });
+        
         // Panel de botones
         JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.LEFT));
         btnCrearTarea = new JButton("Crear Tarea");
@@ -214,12 +283,75 @@ public class PanelAdmin extends JFrame implements ActionListener {
         panelBotones.add(btnEditarTarea);
         panelBotones.add(btnEliminarTarea);
         
+        panel.add(crearPanelFiltroTareas(), BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
         panel.add(panelBotones, BorderLayout.SOUTH);
         
         return panel;
     }
     
+    /**
+     * Crea la barra de filtros y búsqueda de la tabla de tareas.
+     * @return Panel configurado.
+     */
+    private JPanel crearPanelFiltroTareas() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        
+        comboFiltroEstado = new JComboBox<>(new String[]{"Todos", "PENDIENTE", "EN PROCESO", "COMPLETADA"});
+        comboFiltroProyecto = new JComboBox<>(new OpcionFiltro[]{OpcionFiltro.TODOS});
+        comboFiltroResponsable = new JComboBox<>(new OpcionFiltro[]{OpcionFiltro.TODOS});
+        txtFiltroDesde = new JTextField(8);
+        txtFiltroHasta = new JTextField(8);
+        txtBuscarTarea = new JTextField(15);
+        lblResultadoFiltro = new JLabel();
+        JButton btnLimpiarFiltro = new JButton("Limpiar");
+        
+        // Espera a que el usuario deje de escribir antes de evaluar el filtro
+        temporizadorFiltro = new Timer(ESPERA_FILTRO_MS, e -> aplicarFiltroTareas());
+        temporizadorFiltro.setRepeats(false);
+        
+        DocumentListener alEscribir = new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                temporizadorFiltro.restart();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                temporizadorFiltro.restart();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                temporizadorFiltro.restart();
+            }
+        };
+        txtFiltroDesde.getDocument().addDocumentListener(alEscribir);
+        txtFiltroHasta.getDocument().addDocumentListener(alEscribir);
+        txtBuscarTarea.getDocument().addDocumentListener(alEscribir);
+        comboFiltroEstado.addActionListener(e -> temporizadorFiltro.restart());
+        comboFiltroProyecto.addActionListener(e -> temporizadorFiltro.restart());
+        comboFiltroResponsable.addActionListener(e -> temporizadorFiltro.restart());
+        btnLimpiarFiltro.addActionListener(e -> limpiarFiltroTareas());
+        
+        panel.add(new JLabel("Estado:"));
+        panel.add(comboFiltroEstado);
+        panel.add(new JLabel("Proyecto:"));
+        panel.add(comboFiltroProyecto);
+        panel.add(new JLabel("Responsable:"));
+        panel.add(comboFiltroResponsable);
+        panel.add(new JLabel("Vence desde:"));
+        panel.add(txtFiltroDesde);
+        panel.add(new JLabel("hasta:"));
+        panel.add(txtFiltroHasta);
+        panel.add(new JLabel("Buscar:"));
+        panel.add(txtBuscarTarea);
+        panel.add(btnLimpiarFiltro);
+        panel.add(lblResultadoFiltro);
+        
+        return panel;
+    }
+    
     /**
      * Crea el panel de usuarios.
      * @return Panel configurado.
@@ -229,19 +361,11 @@ public class PanelAdmin extends JFrame implements ActionListener {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
         // Modelo de tabla para usuarios
-        modeloUsuarios = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // No permitir edición directa
-            }
-        };
-        
-        modeloUsuarios.addColumn("ID");
-        modeloUsuarios.addColumn("Nombre");
-        modeloUsuarios.addColumn("Apellido");
-        modeloUsuarios.addColumn("Email");
-        modeloUsuarios.addColumn("Rol");
+        modeloUsuarios = new ModeloTablaIndexado(new String[]{
+            "ID", "Nombre", "Apellido", "Email", "Rol"
+        });
         
+        cargadorUsuarios = new CargadorTabla(modeloUsuarios, lblCargando);
         tablaUsuarios = new JTable(modeloUsuarios);
         JScrollPane scrollPane = new JScrollPane(tablaUsuarios);
         
@@ -275,23 +399,46 @@ public class PanelAdmin extends JFrame implements ActionListener {
     }
     
     /**
-     * Carga la lista de proyectos en la tabla.
+     * Carga la lista de proyectos en la tabla (en segundo plano).
      */
     public void cargarProyectos() {
-        // Limpiar tabla
-        modeloProyectos.setRowCount(0);
-        
+        cargadorProyectos.cargar(this::producirFilasProyectos);
+        cargarOpcionesFiltro();
+    }
+    
+    /**
+     * Genera las filas de la tabla de proyectos; se ejecuta fuera del EDT.
+     */
+    private Void producirFilasProyectos(Consumer<Object[]> destino) {
+        producirFilasProyectos(controladorProyecto, controladorCosto, controladorUsuario, destino);
+        return null;
+    }
+    
+    /**
+     * Lee los datos de la tabla de proyectos y entrega cada fila ya formateada.
+     * Es todo el trabajo de cargarProyectos() salvo la actualización de la
+     * tabla; es público para medirlo en los benchmarks sin crear la ventana.
+     * @param controladorProyecto Controlador de proyectos.
+     * @param controladorCosto Controlador de costos.
+     * @param controladorUsuario Controlador de usuarios.
+     * @param destino Receptor de las filas.
+     */
+    public static void producirFilasProyectos(ControladorProyecto controladorProyecto,
+            ControladorCosto controladorCosto, ControladorUsuario controladorUsuario, Consumer<Object[]> destino) {
         // Obtener proyectos
         List<Proyecto> proyectos = controladorProyecto.obtenerTodosLosProyectos();
         
+        // Totales de costos de todos los proyectos en una sola pasada sobre el almacén columnar
+        AlmacenCostosColumnar.TotalesPorReferencia totales = controladorCosto.obtenerTotalesPorProyecto();
+        
         // Llenar tabla
         for (Proyecto proyecto : proyectos) {
             Usuario responsable = controladorUsuario.obtenerUsuarioPorId(proyecto.getIdResponsable());
             
-            double retrasos = controladorCosto.calcularTotalPorTipo("PROYECTO", proyecto.getId(), "RETRASO");
-            double adelantos = controladorCosto.calcularTotalPorTipo("PROYECTO", proyecto.getId(), "ADELANTO");
-            double gastos = controladorCosto.calcularTotalPorTipo("PROYECTO", proyecto.getId(), "GASTO_PLANIFICADO");
-            double balance = proyecto.getPresupuestoTotal() - gastos + adelantos - retrasos;
+            long retrasos = totales.total(proyecto.getId(), AlmacenCostosColumnar.COSTO_RETRASO);
+            long adelantos = totales.total(proyecto.getId(), AlmacenCostosColumnar.COSTO_ADELANTO);
+            long gastos = totales.total(proyecto.getId(), AlmacenCostosColumnar.COSTO_GASTO_PLANIFICADO);
+            long balance = proyecto.getPresupuestoTotalCentavos() - gastos + adelantos - retrasos;
             
             Object[] fila = {
                 proyecto.getId(),
@@ -301,36 +448,53 @@ public class PanelAdmin extends JFrame implements ActionListener {
                 proyecto.getFechaFin(),
                 responsable != null ? responsable.getNombre() + " " + responsable.getApellido() : "N/A",
                 proyecto.getNivelRiesgo(),
-                String.format("$%.2f", proyecto.getPresupuestoTotal()),
-                String.format("$%.2f", retrasos),
-                String.format("$%.2f", adelantos),
-                String.format("$%.2f", gastos),
-                String.format("$%.2f", balance)
+                Dinero.formatearMoneda(proyecto.getPresupuestoTotalCentavos()),
+                Dinero.formatearMoneda(retrasos),
+                Dinero.formatearMoneda(adelantos),
+                Dinero.formatearMoneda(gastos),
+                Dinero.formatearMoneda(balance)
             };
             
-            modeloProyectos.addRow(fila);
+            destino.accept(fila);
         }
     }
     
     /**
-     * Carga la lista de tareas en la tabla.
+     * Recarga la tabla de tareas: vuelve a contarlas y descarta las páginas cargadas.
+     * Si hay un filtro aplicado, lo vuelve a evaluar sobre un índice nuevo.
      */
     private void cargarTareas() {
-        // Limpiar tabla
-        modeloTareas.setRowCount(0);
-        
-        // Obtener tareas
-        List<Tarea> tareas = controladorTarea.obtenerTodasLasTareas();
-        
-        // Llenar tabla
-        for (Tarea tarea : tareas) {
-            Usuario responsable = controladorUsuario.obtenerUsuarioPorId(tarea.getIdResponsable());
-            Proyecto proyecto = controladorProyecto.obtenerProyectoPorId(tarea.getIdProyecto());
+        indiceTareas = null;
+        versionIndice++;
+        if (modeloTareas.estaFiltrado()) {
+            aplicarFiltroTareas();
+        } else {
+            modeloTareas.refrescar();
+        }
+    }
+    
+    /**
+     * Genera las filas de la tabla de tareas; se ejecuta fuera del EDT.
+     */
+    private List<Object[]> construirFilasTareas(List<ResumenTarea> tareas) {
+        // Obtener los proyectos de la página en una sola consulta
+        Set<Integer> idsProyecto = new HashSet<>();
+        for (ResumenTarea tarea : tareas) {
+            idsProyecto.add(tarea.getIdProyecto());
+        }
+        Map<Integer, Proyecto> proyectos = controladorProyecto.obtenerProyectosPorIds(idsProyecto);
+        
+        // Una consulta por responsable distinto de la página
+        Map<Integer, Usuario> responsables = new HashMap<>();
+        List<Object[]> filas = new ArrayList<>(tareas.size());
+        for (ResumenTarea tarea : tareas) {
+            Usuario responsable = responsables.computeIfAbsent(tarea.getIdResponsable(),
+                    controladorUsuario::obtenerUsuarioPorId);
+            Proyecto proyecto = proyectos.get(tarea.getIdProyecto());
             
             Object[] fila = {
                 tarea.getId(),
                 tarea.getNombre(),
-                tarea.getDescripcion(),
                 tarea.getFechaCreacion(),
                 tarea.getFechaVencimiento(),
                 proyecto != null ? proyecto.getNombre() : "N/A",
@@ -338,17 +502,261 @@ public class PanelAdmin extends JFrame implements ActionListener {
                 tarea.getEstado()
             };
             
-            modeloTareas.addRow(fila);
+            filas.add(fila);
         }
+        return filas;
     }
     
     /**
-     * Carga la lista de usuarios en la tabla.
+     * Evalúa los filtros de la tabla de tareas en segundo plano y muestra el resultado.
+     * El índice se construye la primera vez que se filtra y se reutiliza hasta
+     * que cambian las tareas; solo el resultado más reciente llega a la tabla.
      */
-    private void cargarUsuarios() {
-        // Limpiar tabla
-        modeloUsuarios.setRowCount(0);
+    private void aplicarFiltroTareas() {
+        temporizadorFiltro.stop();
+        FiltroTareas.Criterios criterios = leerCriteriosFiltro();
+        int generacion = ++generacionFiltro;
+        
+        if (criterios.esNeutro()) {
+            if (modeloTareas.estaFiltrado()) {
+                modeloTareas.refrescar();
+            }
+            lblResultadoFiltro.setText("");
+            return;
+        }
+        
+        FiltroTareas indiceActual = indiceTareas;
+        int version = versionIndice;
+        
+        new SwingWorker<ResultadoFiltro, Void>() {
+            @Override
+            protected ResultadoFiltro doInBackground() {
+                FiltroTareas indice = indiceActual != null ? indiceActual : construirIndiceTareas();
+                return new ResultadoFiltro(indice, indice.evaluar(criterios));
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    ResultadoFiltro resultado = get();
+                    if (version == versionIndice) {
+                        indiceTareas = resultado.indice;
+                    }
+                    // Un filtro más reciente ya reemplazó a este
+                    if (generacion != generacionFiltro) {
+                        return;
+                    }
+                    modeloTareas.filtrar(resultado.ids);
+                    lblResultadoFiltro.setText(resultado.ids.length + " de " + resultado.indice.tamano() + " tareas");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Error al filtrar tareas: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Construye el índice de filtrado con todas las tareas; se ejecuta fuera del EDT.
+     */
+    private FiltroTareas construirIndiceTareas() {
+        Map<Integer, String> proyectos = new HashMap<>();
+        for (Proyecto proyecto : controladorProyecto.obtenerTodosLosProyectos()) {
+            proyectos.put(proyecto.getId(), proyecto.getNombre());
+        }
+        
+        Map<Integer, String> responsables = new HashMap<>();
+        for (Usuario u : controladorUsuario.obtenerTodosLosUsuarios()) {
+            responsables.put(u.getId(), u.getNombre() + " " + u.getApellido());
+        }
+        
+        return new FiltroTareas(controladorTarea.obtenerTodasLasTareas(), proyectos, responsables);
+    }
+    
+    /**
+     * Lee los criterios de la barra de filtros. Las fechas incompletas o inválidas se ignoran.
+     */
+    private FiltroTareas.Criterios leerCriteriosFiltro() {
+        FiltroTareas.Criterios criterios = new FiltroTareas.Criterios();
+        
+        if (comboFiltroEstado.getSelectedIndex() > 0) {
+            criterios.setEstado((String) comboFiltroEstado.getSelectedItem());
+        }
+        OpcionFiltro proyecto = (OpcionFiltro) comboFiltroProyecto.getSelectedItem();
+        if (proyecto != null) {
+            criterios.setIdProyecto(proyecto.id);
+        }
+        OpcionFiltro responsable = (OpcionFiltro) comboFiltroResponsable.getSelectedItem();
+        if (responsable != null) {
+            criterios.setIdResponsable(responsable.id);
+        }
+        
+        criterios.setDesde(leerFecha(txtFiltroDesde));
+        Date hasta = leerFecha(txtFiltroHasta);
+        if (hasta != null) {
+            // La fecha "hasta" incluye todo ese día
+            Calendar calendario = Calendar.getInstance();
+            calendario.setTime(hasta);
+            calendario.add(Calendar.DAY_OF_MONTH, 1);
+            criterios.setHasta(calendario.getTime());
+        }
+        
+        criterios.setTexto(txtBuscarTarea.getText());
+        criterios.setOrden(ordenTareas);
+        criterios.setDescendente(ordenDescendente);
+        return criterios;
+    }
+    
+    private Date leerFecha(JTextField campo) {
+        String texto = campo.getText().trim();
+        if (texto.isEmpty()) {
+            return null;
+        }
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd");
+        sdf.setLenient(false);
+        try {
+            return sdf.parse(texto);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Cambia el orden de la tabla de tareas; un segundo clic en la misma columna invierte el sentido.
+     */
+    private void ordenarTareasPor(FiltroTareas.Orden orden) {
+        if (orden == null) {
+            return;
+        }
+        if (orden == ordenTareas) {
+            ordenDescendente = !ordenDescendente;
+        } else {
+            ordenTareas = orden;
+            ordenDescendente = false;
+        }
+        aplicarFiltroTareas();
+    }
+    
+    /**
+     * Quita todos los filtros y el orden de la tabla de tareas.
+     */
+    private void limpiarFiltroTareas() {
+        comboFiltroEstado.setSelectedIndex(0);
+        comboFiltroProyecto.setSelectedIndex(0);
+        comboFiltroResponsable.setSelectedIndex(0);
+        txtFiltroDesde.setText("");
+        txtFiltroHasta.setText("");
+        txtBuscarTarea.setText("");
+        ordenTareas = FiltroTareas.Orden.ID;
+        ordenDescendente = false;
+        aplicarFiltroTareas();
+    }
+    
+    /**
+     * Carga en segundo plano los proyectos y usuarios de los combos de filtro,
+     * conservando la opción seleccionada.
+     */
+    private void cargarOpcionesFiltro() {
+        new SwingWorker<List<List<OpcionFiltro>>, Void>() {
+            @Override
+            protected List<List<OpcionFiltro>> doInBackground() {
+                List<OpcionFiltro> proyectos = new ArrayList<>();
+                for (Proyecto proyecto : controladorProyecto.obtenerTodosLosProyectos()) {
+                    proyectos.add(new OpcionFiltro(proyecto.getId(), proyecto.getNombre()));
+                }
+                List<OpcionFiltro> usuarios = new ArrayList<>();
+                for (Usuario u : controladorUsuario.obtenerTodosLosUsuarios()) {
+                    usuarios.add(new OpcionFiltro(u.getId(), u.getNombre() + " " + u.getApellido()));
+                }
+                List<List<OpcionFiltro>> opciones = new ArrayList<>();
+                opciones.add(proyectos);
+                opciones.add(usuarios);
+                return opciones;
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    List<List<OpcionFiltro>> opciones = get();
+                    llenarCombo(comboFiltroProyecto, opciones.get(0));
+                    llenarCombo(comboFiltroResponsable, opciones.get(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Error al cargar opciones de filtro: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    private void llenarCombo(JComboBox<OpcionFiltro> combo, List<OpcionFiltro> opciones) {
+        OpcionFiltro seleccion = (OpcionFiltro) combo.getSelectedItem();
+        Integer idSeleccionado = seleccion != null ? seleccion.id : null;
+        
+        // Sin listeners mientras se llena, para no disparar un filtrado por cada opción
+        ActionListener[] listeners = combo.getActionListeners();
+        for (ActionListener listener : listeners) {
+            combo.removeActionListener(listener);
+        }
+        combo.removeAllItems();
+        combo.addItem(OpcionFiltro.TODOS);
+        for (OpcionFiltro opcion : opciones) {
+            combo.addItem(opcion);
+            if (idSeleccionado != null && idSeleccionado.equals(opcion.id)) {
+                combo.setSelectedItem(opcion);
+            }
+        }
+        for (ActionListener listener : listeners) {
+            combo.addActionListener(listener);
+        }
+    }
+    
+    /**
+     * Opción de un combo de filtro; TODOS (id nulo) no filtra.
+     */
+    private static final class OpcionFiltro {
+        private static final OpcionFiltro TODOS = new OpcionFiltro(null, "Todos");
+        
+        private final Integer id;
+        private final String nombre;
+        
+        OpcionFiltro(Integer id, String nombre) {
+            this.id = id;
+            this.nombre = nombre;
+        }
+        
+        @Override
+        public String toString() {
+            return nombre;
+        }
+    }
+    
+    /**
+     * Resultado de una evaluación de filtros en segundo plano.
+     */
+    private static final class ResultadoFiltro {
+        private final FiltroTareas indice;
+        private final int[] ids;
         
+        ResultadoFiltro(FiltroTareas indice, int[] ids) {
+            this.indice = indice;
+            this.ids = ids;
+        }
+    }
+    
+    /**
+     * Carga la lista de usuarios en la tabla (en segundo plano).
+     */
+    private void cargarUsuarios() {
+        cargadorUsuarios.cargar(this::producirFilasUsuarios);
+        cargarOpcionesFiltro();
+    }
+    
+    /**
+     * Genera las filas de la tabla de usuarios; se ejecuta fuera del EDT.
+     */
+    private Void producirFilasUsuarios(Consumer<Object[]> destino) {
         // Obtener usuarios
         List<Usuario> usuarios = controladorUsuario.obtenerTodosLosUsuarios();
         
@@ -362,8 +770,9 @@ public class PanelAdmin extends JFrame implements ActionListener {
                 u.isEsAdmin() ? "Administrador" : "Usuario"
             };
             
-            modeloUsuarios.addRow(fila);
+            destino.accept(fila);
         }
+        return null;
     }
     
     /**
@@ -375,7 +784,7 @@ public class PanelAdmin extends JFrame implements ActionListener {
         if (e.getSource() == btnCerrarSesion) {
             cerrarSesion();
         } else if (e.getSource() == btnCrearProyecto) {
-            DialogoProyecto dialogo = new DialogoProyecto(this, controladorProyecto, controladorUsuario);
+            DialogoProyecto dialogo = new DialogoProyecto(this, servicios);
             dialogo.setVisible(true);
             if (dialogo.isProyectoGuardado()) {
                 cargarProyectos();
@@ -396,7 +805,7 @@ public class PanelAdmin extends JFrame implements ActionListener {
             Proyecto proyecto = controladorProyecto.obtenerProyectoPorId(idProyecto);
             
             if (proyecto != null) {
-                DialogoTarea dialogo = new DialogoTarea(this, controladorTarea, controladorProyecto, controladorUsuario, proyecto, true, usuario);
+                DialogoTarea dialogo = new DialogoTarea(this, servicios, proyecto, true, usuario);
                 dialogo.setVisible(true);
                 if (dialogo.isTareaGuardada()) {
                     cargarTareas();
@@ -423,8 +832,10 @@ public class PanelAdmin extends JFrame implements ActionListener {
      * Cierra la sesión actual y vuelve a la pantalla de login.
      */
     private void cerrarSesion() {
+        temporizadorFiltro.stop();
+        modeloTareas.cerrar();
         dispose();
-        new Login().setVisible(true);
+        new Login(servicios).setVisible(true);
     }
     
     /**
@@ -447,7 +858,7 @@ public class PanelAdmin extends JFrame implements ActionListener {
             return;
         }
         
-        DialogoProyecto dialogo = new DialogoProyecto(this, controladorProyecto, controladorUsuario, proyecto);
+        DialogoProyecto dialogo = new DialogoProyecto(this, servicios, proyecto);
         dialogo.setVisible(true);
         
         if (dialogo.isProyectoGuardado()) {
@@ -499,6 +910,9 @@ public class PanelAdmin extends JFrame implements ActionListener {
                     "Advertencia", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        if (!modeloTareas.estaCargada(filaSeleccionada)) {
+            return; // La fila aún se está cargando
+        }
         
         int idTarea = (int) tablaTareas.getValueAt(filaSeleccionada, 0);
         Tarea tarea = controladorTarea.obtenerTareaPorId(idTarea);
@@ -509,7 +923,7 @@ public class PanelAdmin extends JFrame implements ActionListener {
             return;
         }
         
-        DialogoTarea dialogo = new DialogoTarea(this, controladorTarea, controladorProyecto, controladorUsuario, tarea, true, usuario);
+        DialogoTarea dialogo = new DialogoTarea(this, servicios, tarea, true, usuario);
         dialogo.setVisible(true);
         
         if (dialogo.isTareaGuardada()) {
@@ -527,6 +941,9 @@ public class PanelAdmin extends JFrame implements ActionListener {
                     "Advertencia", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        if (!modeloTareas.estaCargada(filaSeleccionada)) {
+            return; // La fila aún se está cargando
+        }
         
         int idTarea = (int) tablaTareas.getValueAt(filaSeleccionada, 0);
         String nombreTarea = (String) tablaTareas.getValueAt(filaSeleccionada, 1);
@@ -644,16 +1061,16 @@ public class PanelAdmin extends JFrame implements ActionListener {
         StringBuilder mensaje = new StringBuilder();
         mensaje.append("Costos del proyecto: ").append(nombreProyecto).append("\n\n");
         
-        double retrasos = controladorCosto.calcularTotalPorTipo("PROYECTO", idProyecto, "RETRASO");
-        double adelantos = controladorCosto.calcularTotalPorTipo("PROYECTO", idProyecto, "ADELANTO");
-        double gastos = controladorCosto.calcularTotalPorTipo("PROYECTO", idProyecto, "GASTO_PLANIFICADO");
-        double balance = proyecto.getPresupuestoTotal() - gastos + adelantos - retrasos;
+        long retrasos = controladorCosto.calcularTotalCentavosPorTipo("PROYECTO", idProyecto, "RETRASO");
+        long adelantos = controladorCosto.calcularTotalCentavosPorTipo("PROYECTO", idProyecto, "ADELANTO");
+        long gastos = controladorCosto.calcularTotalCentavosPorTipo("PROYECTO", idProyecto, "GASTO_PLANIFICADO");
+        long balance = proyecto.getPresupuestoTotalCentavos() - gastos + adelantos - retrasos;
         
-        mensaje.append("Presupuesto Total: $").append(String.format("%.2f", proyecto.getPresupuestoTotal())).append("\n");
-        mensaje.append("Costos por retrasos: $").append(String.format("%.2f", retrasos)).append("\n");
-        mensaje.append("Costos por adelantos: $").append(String.format("%.2f", adelantos)).append("\n");
-        mensaje.append("Gastos planificados: $").append(String.format("%.2f", gastos)).append("\n");
-        mensaje.append("Balance total: $").append(String.format("%.2f", balance)).append("\n");
+        Dinero.agregar(mensaje.append("Presupuesto Total: $"), proyecto.getPresupuestoTotalCentavos()).append("\n");
+        Dinero.agregar(mensaje.append("Costos por retrasos: $"), retrasos).append("\n");
+        Dinero.agregar(mensaje.append("Costos por adelantos: $"), adelantos).append("\n");
+        Dinero.agregar(mensaje.append("Gastos planificados: $"), gastos).append("\n");
+        Dinero.agregar(mensaje.append("Balance total: $"), balance).append("\n");
         
         JOptionPane.showMessageDialog(this, mensaje.toString(), 
                 "Costos del Proyecto", JOptionPane.INFORMATION_MESSAGE);
@@ -1,13 +1,16 @@
 package com.mycompany.sistemagestiondetareas.vista;
 
+import com.mycompany.sistemagestiondetareas.ServiciosAplicacion;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorCosto;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorProyecto;
 import com.mycompany.sistemagestiondetareas.modelo.Costo;
+import com.mycompany.sistemagestiondetareas.modelo.Dinero;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 import javax.swing.JButton;
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
@@ -16,48 +19,53 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextField;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.SwingWorker;
 import javax.swing.BorderFactory;
 
 public class PanelCostos extends JPanel {
     private final ControladorCosto controladorCosto;
     private final ControladorProyecto controladorProyecto;
     private final JTable tablaCostos;
-    private final DefaultTableModel modeloTabla;
+    private final ModeloTablaIndexado modeloTabla;
     private final JComboBox<String> comboProyecto;
     private final JTextField txtMonto;
     private final JTextField txtDescripcion;
     private final JTextField txtPresupuestoTotal;
     private final JLabel lblSaldoDisponible;
     private final JComboBox<String> comboTipoCosto;
+    private final JLabel lblCargando;
+    private final CargadorTabla cargadorCostos;
     private final boolean esAdmin;
     private final Usuario usuario;
+    private long saldoDisponibleCentavos;
 
     public PanelCostos(boolean esAdmin, Usuario usuario) {
+        this(esAdmin, usuario, ServiciosAplicacion.obtener());
+    }
+    
+    public PanelCostos(boolean esAdmin, Usuario usuario, ServiciosAplicacion servicios) {
         this.esAdmin = esAdmin;
         this.usuario = usuario;
-        this.controladorCosto = new ControladorCosto();
-        this.controladorProyecto = new ControladorProyecto();
+        this.controladorCosto = servicios.getControladorCosto();
+        this.controladorProyecto = servicios.getControladorProyecto();
         
         // Configurar el modelo de la tabla
         String[] columnas = {"ID", "Descripción", "Monto", "Tipo Costo", "Fecha", "Usuario"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        modeloTabla = new ModeloTablaIndexado(columnas);
         
         // Crear la tabla
+        lblCargando = CargadorTabla.crearIndicador();
+        cargadorCostos = new CargadorTabla(modeloTabla, lblCargando);
         tablaCostos = new JTable(modeloTabla);
         JScrollPane scrollPane = new JScrollPane(tablaCostos);
         
         // Panel de filtros
-        JPanel panelFiltros = new JPanel(new GridLayout(1, 2));
+        JPanel panelFiltros = new JPanel(new GridLayout(1, 3));
         comboProyecto = new JComboBox<>();
         
         panelFiltros.add(new JLabel("Proyecto:"));
         panelFiltros.add(comboProyecto);
+        panelFiltros.add(lblCargando);
         
         // Panel de formulario para nuevos costos
         JPanel panelFormulario = new JPanel(new GridLayout(5, 2, 5, 5));
@@ -102,82 +110,97 @@ public class PanelCostos extends JPanel {
         panelSur.add(panelBotones, BorderLayout.SOUTH);
         add(panelSur, BorderLayout.SOUTH);
         
-        // Cargar datos iniciales
+        // Cargar datos iniciales (la tabla se carga al terminar el combo)
         actualizarComboProyecto();
-        actualizarTabla();
     }
     
+    /**
+     * Carga los proyectos del combo en segundo plano y luego la tabla de costos.
+     */
     private void actualizarComboProyecto() {
         comboProyecto.removeAllItems();
         
-        List<Proyecto> proyectos = esAdmin ? 
-            controladorProyecto.obtenerTodosLosProyectos() : 
-            controladorProyecto.obtenerProyectosPorResponsable(usuario.getId());
-        
-        for (Proyecto proyecto : proyectos) {
-            comboProyecto.addItem(proyecto.getNombre() + " (ID: " + proyecto.getId() + ")");
-        }
+        new SwingWorker<List<Proyecto>, Void>() {
+            @Override
+            protected List<Proyecto> doInBackground() {
+                return esAdmin ? 
+                    controladorProyecto.obtenerTodosLosProyectos() : 
+                    controladorProyecto.obtenerProyectosPorResponsable(usuario.getId());
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    for (Proyecto proyecto : get()) {
+                        comboProyecto.addItem(proyecto.getNombre() + " (ID: " + proyecto.getId() + ")");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    System.err.println("Error al cargar proyectos: " + e.getCause().getMessage());
+                }
+                actualizarTabla();
+            }
+        }.execute();
     }
     
+    /**
+     * Carga los costos del proyecto seleccionado en segundo plano.
+     */
     private void actualizarTabla() {
-        modeloTabla.setRowCount(0);
         String seleccion = (String) comboProyecto.getSelectedItem();
         
         if (seleccion == null || seleccion.isEmpty()) {
+            cargadorCostos.cancelar();
+            modeloTabla.limpiar();
             return;
         }
         
         // Extraer el ID del texto seleccionado
         int idProyecto = Integer.parseInt(seleccion.substring(seleccion.lastIndexOf("ID: ") + 4, seleccion.length() - 1));
         
-        // Cargar el presupuesto del proyecto
-        Proyecto proyecto = controladorProyecto.obtenerProyectoPorId(idProyecto);
-        if (proyecto != null) {
-            txtPresupuestoTotal.setText(String.format("%.2f", proyecto.getPresupuestoTotal()));
-        }
-        
-        List<Costo> costos = controladorCosto.obtenerCostosPorReferencia("PROYECTO", idProyecto);
-        
-        double totalGastos = 0;
-        double totalAdelantos = 0;
-        double totalRetrasos = 0;
-        
-        for (Costo costo : costos) {
-            Object[] fila = {
-                costo.getId(),
-                costo.getDescripcion(),
-                String.format("$%.2f", costo.getMonto()),
-                costo.getTipoCosto(),
-                costo.getFechaRegistro(),
-                costo.getIdUsuarioRegistro()
-            };
-            modeloTabla.addRow(fila);
+        cargadorCostos.cargar(destino -> {
+            // Cargar el presupuesto del proyecto
+            Proyecto proyecto = controladorProyecto.obtenerProyectoPorId(idProyecto);
+            List<Costo> costos = controladorCosto.obtenerCostosPorReferencia("PROYECTO", idProyecto);
             
-            // Calcular totales
-            switch (costo.getTipoCosto()) {
-                case "GASTO_PLANIFICADO":
-                    totalGastos += costo.getMonto();
-                    break;
-                case "ADELANTO":
-                    totalAdelantos += costo.getMonto();
-                    break;
-                case "RETRASO":
-                    totalRetrasos += costo.getMonto();
-                    break;
+            for (Costo costo : costos) {
+                Object[] fila = {
+                    costo.getId(),
+                    costo.getDescripcion(),
+                    Dinero.formatearMoneda(costo.getMontoCentavos()),
+                    costo.getTipoCosto(),
+                    costo.getFechaRegistro(),
+                    costo.getIdUsuarioRegistro()
+                };
+                destino.accept(fila);
             }
+            
+            // Calcular totales
+            return new ResumenCostos(proyecto, ControladorCosto.sumarPorTipoCosto(costos));
+        }, this::mostrarResumen);
+    }
+    
+    /**
+     * Muestra el presupuesto y el saldo disponible al terminar la carga de costos.
+     */
+    private void mostrarResumen(ResumenCostos resumen) {
+        if (resumen.proyecto != null) {
+            txtPresupuestoTotal.setText(Dinero.formatear(resumen.proyecto.getPresupuestoTotalCentavos()));
         }
+        long[] totales = resumen.totales;
         
         // Actualizar saldo disponible
-        double presupuestoTotal = 0;
+        long presupuestoTotal;
         try {
-            presupuestoTotal = Double.parseDouble(txtPresupuestoTotal.getText().trim());
+            presupuestoTotal = Dinero.parsear(txtPresupuestoTotal.getText());
         } catch (NumberFormatException e) {
             // Si no hay presupuesto definido, no actualizamos el saldo
             return;
         }
         
-        double saldoDisponible = presupuestoTotal - totalGastos + totalAdelantos - totalRetrasos;
-        lblSaldoDisponible.setText(String.format("Saldo disponible: $%.2f", saldoDisponible));
+        saldoDisponibleCentavos = ControladorCosto.calcularSaldoCentavos(presupuestoTotal, totales);
+        lblSaldoDisponible.setText("Saldo disponible: " + Dinero.formatearMoneda(saldoDisponibleCentavos));
     }
     
     private void agregarCosto() {
@@ -204,9 +227,9 @@ public class PanelCostos extends JPanel {
             }
             
             // Validar y convertir el monto
-            double monto;
+            long monto;
             try {
-                monto = Double.parseDouble(montoStr.replace(",", "."));
+                monto = Dinero.parsear(montoStr);
                 if (monto <= 0) {
                     throw new NumberFormatException();
                 }
@@ -220,10 +243,10 @@ public class PanelCostos extends JPanel {
             
             // Actualizar el presupuesto del proyecto
             try {
-                double nuevoPresupuesto = Double.parseDouble(txtPresupuestoTotal.getText().trim());
+                long nuevoPresupuesto = Dinero.parsear(txtPresupuestoTotal.getText());
                 Proyecto proyecto = controladorProyecto.obtenerProyectoPorId(idProyecto);
                 if (proyecto != null) {
-                    proyecto.setPresupuestoTotal(nuevoPresupuesto);
+                    proyecto.setPresupuestoTotalCentavos(nuevoPresupuesto);
                     controladorProyecto.actualizarProyecto(proyecto);
                 }
             } catch (NumberFormatException e) {
@@ -233,8 +256,7 @@ public class PanelCostos extends JPanel {
             
             // Verificar saldo disponible para gastos planificados
             if (tipoCosto.equals("GASTO_PLANIFICADO")) {
-                double saldoDisponible = Double.parseDouble(lblSaldoDisponible.getText().replace("Saldo disponible: $", "").replace(",", ""));
-                if (monto > saldoDisponible) {
+                if (monto > saldoDisponibleCentavos) {
                     JOptionPane.showMessageDialog(this, 
                         "No hay suficiente saldo disponible para este gasto", 
                         "Error", 
@@ -244,7 +266,7 @@ public class PanelCostos extends JPanel {
             }
             
             // Registrar el costo
-            Costo costo = controladorCosto.registrarCosto(
+            Costo costo = controladorCosto.registrarCostoCentavos(
                 "PROYECTO", 
                 idProyecto, 
                 descripcion, 
@@ -266,6 +288,19 @@ public class PanelCostos extends JPanel {
         }
     }
     
+    /**
+     * Resultado de la carga en segundo plano de los costos de un proyecto.
+     */
+    private static final class ResumenCostos {
+        private final Proyecto proyecto;
+        private final long[] totales;
+        
+        ResumenCostos(Proyecto proyecto, long[] totales) {
+            this.proyecto = proyecto;
+            this.totales = totales;
+        }
+    }
+    
     private void limpiarFormulario() {
         txtDescripcion.setText("");
         txtMonto.setText("");
@@ -0,0 +1,150 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import com.mycompany.sistemagestiondetareas.util.HistogramaLatencia;
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSplitPane;
+import javax.swing.JTable;
+import javax.swing.JTextArea;
+import javax.swing.ListSelectionModel;
+import javax.swing.Timer;
+
+/**
+ * Panel de diagnóstico de la interfaz: histograma de latencia del EDT y
+ * bloqueos detectados por MonitorEDT, con la pila del bloqueo seleccionado.
+ * Se actualiza cada segundo mientras está visible.
+ */
+public class PanelDiagnostico extends JPanel {
+
+    private static final int INTERVALO_ACTUALIZACION_MS = 1000;
+
+    private final MonitorEDT monitor;
+    private final JLabel lblResumen;
+    private final ModeloTablaIndexado modeloHistograma;
+    private final ModeloTablaIndexado modeloBloqueos;
+    private final JTable tablaBloqueos;
+    private final JTextArea txtPila;
+    private final SimpleDateFormat formatoFecha = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+    public PanelDiagnostico(MonitorEDT monitor) {
+        this.monitor = monitor;
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // Resumen y acciones
+        JPanel panelSuperior = new JPanel(new BorderLayout());
+        lblResumen = new JLabel();
+        JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton btnReiniciar = new JButton("Reiniciar histograma");
+        btnReiniciar.addActionListener(e -> {
+            monitor.getHistograma().reiniciar();
+            actualizar();
+        });
+        panelBotones.add(btnReiniciar);
+        panelSuperior.add(lblResumen, BorderLayout.CENTER);
+        panelSuperior.add(panelBotones, BorderLayout.EAST);
+
+        // Histograma de latencia de despacho
+        modeloHistograma = new ModeloTablaIndexado(new String[]{"Latencia", "Eventos"});
+        JScrollPane scrollHistograma = new JScrollPane(new JTable(modeloHistograma));
+        scrollHistograma.setBorder(BorderFactory.createTitledBorder("Latencia de despacho del EDT"));
+
+        // Bloqueos y pila del seleccionado
+        modeloBloqueos = new ModeloTablaIndexado(new String[]{"#", "Inicio", "Duración (ms)", "Método", "Estado"});
+        tablaBloqueos = new JTable(modeloBloqueos);
+        tablaBloqueos.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tablaBloqueos.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                mostrarPila();
+            }
+        });
+        JScrollPane scrollBloqueos = new JScrollPane(tablaBloqueos);
+        scrollBloqueos.setBorder(BorderFactory.createTitledBorder(
+                "Bloqueos de más de " + monitor.getUmbralMs() + " ms"));
+
+        txtPila = new JTextArea(8, 40);
+        txtPila.setEditable(false);
+        JScrollPane scrollPila = new JScrollPane(txtPila);
+        scrollPila.setBorder(BorderFactory.createTitledBorder("Pila del EDT al detectar el bloqueo"));
+
+        JSplitPane divisionBloqueos = new JSplitPane(JSplitPane.VERTICAL_SPLIT, scrollBloqueos, scrollPila);
+        divisionBloqueos.setResizeWeight(0.5);
+        JSplitPane division = new JSplitPane(JSplitPane.HORIZONTAL_SPLIT, scrollHistograma, divisionBloqueos);
+        division.setResizeWeight(0.3);
+
+        String archivo = monitor.getArchivoRegistro() != null
+                ? "Registro: " + monitor.getArchivoRegistro().toAbsolutePath()
+                : "Registro en archivo desactivado";
+
+        add(panelSuperior, BorderLayout.NORTH);
+        add(division, BorderLayout.CENTER);
+        add(new JLabel(archivo), BorderLayout.SOUTH);
+
+        // Solo se actualiza mientras el panel está en pantalla
+        Timer temporizador = new Timer(INTERVALO_ACTUALIZACION_MS, e -> {
+            if (isShowing()) {
+                actualizar();
+            }
+        });
+        temporizador.start();
+        actualizar();
+    }
+
+    /**
+     * Vuelve a leer el histograma y los bloqueos del monitor; las tablas conservan la selección.
+     */
+    private void actualizar() {
+        HistogramaLatencia histograma = monitor.getHistograma();
+        lblResumen.setText(histograma.resumen());
+
+        List<Object[]> filasHistograma = new ArrayList<>();
+        for (int i = 0; i < histograma.cantidadIntervalos(); i++) {
+            filasHistograma.add(new Object[]{histograma.etiqueta(i), histograma.conteo(i)});
+        }
+        modeloHistograma.actualizar(filasHistograma);
+
+        List<Object[]> filasBloqueos = new ArrayList<>();
+        for (MonitorEDT.Bloqueo bloqueo : monitor.getBloqueos()) {
+            filasBloqueos.add(new Object[]{
+                bloqueo.getNumero(),
+                formatoFecha.format(new Date(bloqueo.getInicio())),
+                bloqueo.getDuracionMs(),
+                bloqueo.getMetodo(),
+                bloqueo.isTerminado() ? "Terminado" : "En curso"
+            });
+        }
+        modeloBloqueos.actualizar(filasBloqueos);
+    }
+
+    /**
+     * Muestra la pila del bloqueo seleccionado.
+     */
+    private void mostrarPila() {
+        int fila = tablaBloqueos.getSelectedRow();
+        if (fila < 0) {
+            txtPila.setText("");
+            return;
+        }
+        Object numero = modeloBloqueos.getValueAt(fila, 0);
+        for (MonitorEDT.Bloqueo bloqueo : monitor.getBloqueos()) {
+            if (numero.equals(bloqueo.getNumero())) {
+                StringBuilder texto = new StringBuilder(bloqueo.getMetodo()).append('\n');
+                for (StackTraceElement marco : bloqueo.getPila()) {
+                    texto.append("    at ").append(marco).append('\n');
+                }
+                txtPila.setText(texto.toString());
+                txtPila.setCaretPosition(0);
+                return;
+            }
+        }
+    }
+}
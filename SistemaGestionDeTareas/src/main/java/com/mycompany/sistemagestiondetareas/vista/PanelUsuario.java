@@ -1,16 +1,21 @@
 package com.mycompany.sistemagestiondetareas.vista;
 
+import com.mycompany.sistemagestiondetareas.ServiciosAplicacion;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorProyecto;
 import com.mycompany.sistemagestiondetareas.controlador.ControladorTarea;
-import com.mycompany.sistemagestiondetareas.controlador.ControladorUsuario;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
 import com.mycompany.sistemagestiondetareas.modelo.Tarea;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -20,22 +25,24 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
 import javax.swing.JTable;
-import javax.swing.table.DefaultTableModel;
 
 /**
  * Panel principal para usuarios regulares.
  */
 public class PanelUsuario extends JFrame implements ActionListener {
     private final Usuario usuario;
+    private final ServiciosAplicacion servicios;
     private final ControladorProyecto controladorProyecto;
     private final ControladorTarea controladorTarea;
-    private final ControladorUsuario controladorUsuario;
     
     private JTabbedPane tabbedPane;
     private JTable tablaProyectos;
     private JTable tablaTareas;
-    private DefaultTableModel modeloProyectos;
-    private DefaultTableModel modeloTareas;
+    private ModeloTablaIndexado modeloProyectos;
+    private ModeloTablaIndexado modeloTareas;
+    private CargadorTabla cargadorProyectos;
+    private CargadorTabla cargadorTareas;
+    private JLabel lblCargando;
     private JButton btnActualizarEstadoTarea;
     private JButton btnVerDetallesTarea;
     private JButton btnCerrarSesion;
@@ -45,10 +52,23 @@ public class PanelUsuario extends JFrame implements ActionListener {
      * @param usuario Usuario regular.
      */
     public PanelUsuario(Usuario usuario) {
+        this(usuario, ServiciosAplicacion.obtener());
+    }
+    
+    /**
+     * Constructor del panel de usuario con los servicios de la aplicación.
+     * @param usuario Usuario regular.
+     * @param servicios Servicios compartidos.
+     */
+    public PanelUsuario(Usuario usuario, ServiciosAplicacion servicios) {
         this.usuario = usuario;
-        this.controladorProyecto = new ControladorProyecto();
-        this.controladorTarea = new ControladorTarea();
-        this.controladorUsuario = new ControladorUsuario();
+        this.servicios = servicios;
+        this.controladorProyecto = servicios.getControladorProyecto();
+        this.controladorTarea = servicios.getControladorTarea();
+        
+        // Listas de los diálogos de tareas y proyectos, cargadas mientras se usa el panel
+        servicios.getCatalogoUsuarios().precargar();
+        servicios.getCatalogoProyectos().precargar();
         
         configurarVentana();
         inicializarComponentes();
@@ -77,8 +97,11 @@ public class PanelUsuario extends JFrame implements ActionListener {
         JLabel lblBienvenida = new JLabel("Bienvenido, " + usuario.getNombre() + " " + usuario.getApellido());
         btnCerrarSesion = new JButton("Cerrar Sesión");
         btnCerrarSesion.addActionListener(this);
+        lblCargando = CargadorTabla.crearIndicador();
+        lblCargando.setHorizontalAlignment(JLabel.CENTER);
         
         panelSuperior.add(lblBienvenida, BorderLayout.WEST);
+        panelSuperior.add(lblCargando, BorderLayout.CENTER);
         panelSuperior.add(btnCerrarSesion, BorderLayout.EAST);
         
         // Panel con pestañas
@@ -106,20 +129,11 @@ public class PanelUsuario extends JFrame implements ActionListener {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
         // Modelo de tabla para proyectos
-        modeloProyectos = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        
-        modeloProyectos.addColumn("ID");
-        modeloProyectos.addColumn("Nombre");
-        modeloProyectos.addColumn("Descripción");
-        modeloProyectos.addColumn("Fecha Inicio");
-        modeloProyectos.addColumn("Fecha Fin");
-        modeloProyectos.addColumn("Nivel Riesgo");
+        modeloProyectos = new ModeloTablaIndexado(new String[]{
+            "ID", "Nombre", "Descripción", "Fecha Inicio", "Fecha Fin", "Nivel Riesgo"
+        });
         
+        cargadorProyectos = new CargadorTabla(modeloProyectos, lblCargando);
         tablaProyectos = new JTable(modeloProyectos);
         JScrollPane scrollPane = new JScrollPane(tablaProyectos);
         
@@ -145,20 +159,11 @@ public class PanelUsuario extends JFrame implements ActionListener {
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         
         // Modelo de tabla para tareas
-        modeloTareas = new DefaultTableModel() {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // No permitir edición directa
-            }
-        };
-        
-        modeloTareas.addColumn("ID");
-        modeloTareas.addColumn("Nombre");
-        modeloTareas.addColumn("Descripción");
-        modeloTareas.addColumn("Fecha Vencimiento");
-        modeloTareas.addColumn("Proyecto");
-        modeloTareas.addColumn("Estado");
+        modeloTareas = new ModeloTablaIndexado(new String[]{
+            "ID", "Nombre", "Fecha Vencimiento", "Proyecto", "Estado"
+        });
         
+        cargadorTareas = new CargadorTabla(modeloTareas, lblCargando);
         tablaTareas = new JTable(modeloTareas);
         JScrollPane scrollPane = new JScrollPane(tablaTareas);
         
@@ -188,12 +193,16 @@ public class PanelUsuario extends JFrame implements ActionListener {
     }
     
     /**
-     * Carga la lista de proyectos asignados en la tabla.
+     * Carga la lista de proyectos asignados en la tabla (en segundo plano).
      */
     private void cargarProyectos() {
-        // Limpiar tabla
-        modeloProyectos.setRowCount(0);
-        
+        cargadorProyectos.cargar(this::producirFilasProyectos);
+    }
+    
+    /**
+     * Genera las filas de la tabla de proyectos; se ejecuta fuera del EDT.
+     */
+    private Void producirFilasProyectos(Consumer<Object[]> destino) {
         // Obtener proyectos asignados al usuario
         List<Proyecto> proyectos = controladorProyecto.obtenerProyectosPorResponsable(usuario.getId());
         
@@ -208,35 +217,47 @@ public class PanelUsuario extends JFrame implements ActionListener {
                 proyecto.getNivelRiesgo()
             };
             
-            modeloProyectos.addRow(fila);
+            destino.accept(fila);
         }
+        return null;
     }
     
     /**
-     * Carga la lista de tareas asignadas en la tabla.
+     * Carga la lista de tareas asignadas en la tabla (en segundo plano).
      */
     private void cargarTareas() {
-        // Limpiar tabla
-        modeloTareas.setRowCount(0);
-        
-        // Obtener tareas asignadas al usuario
-        List<Tarea> tareas = controladorTarea.obtenerTareasPorResponsable(usuario.getId());
+        cargadorTareas.cargar(this::producirFilasTareas);
+    }
+    
+    /**
+     * Genera las filas de la tabla de tareas; se ejecuta fuera del EDT.
+     */
+    private Void producirFilasTareas(Consumer<Object[]> destino) {
+        // Obtener tareas asignadas al usuario (la descripción se ve en el detalle)
+        List<ResumenTarea> tareas = controladorTarea.obtenerResumenTareasPorResponsable(usuario.getId());
+        
+        // Obtener los proyectos de todas las tareas en una sola consulta
+        Set<Integer> idsProyecto = new HashSet<>();
+        for (ResumenTarea tarea : tareas) {
+            idsProyecto.add(tarea.getIdProyecto());
+        }
+        Map<Integer, Proyecto> proyectos = controladorProyecto.obtenerProyectosPorIds(idsProyecto);
         
         // Llenar tabla
-        for (Tarea tarea : tareas) {
-            Proyecto proyecto = controladorProyecto.obtenerProyectoPorId(tarea.getIdProyecto());
+        for (ResumenTarea tarea : tareas) {
+            Proyecto proyecto = proyectos.get(tarea.getIdProyecto());
             
             Object[] fila = {
                 tarea.getId(),
                 tarea.getNombre(),
-                tarea.getDescripcion(),
                 tarea.getFechaVencimiento(),
                 proyecto != null ? proyecto.getNombre() : "N/A",
                 tarea.getEstado()
             };
             
-            modeloTareas.addRow(fila);
+            destino.accept(fila);
         }
+        return null;
     }
     
     /**
@@ -269,7 +290,7 @@ public class PanelUsuario extends JFrame implements ActionListener {
         }
         
         int idTarea = (int) tablaTareas.getValueAt(filaSeleccionada, 0);
-        String estadoActual = (String) tablaTareas.getValueAt(filaSeleccionada, 5);
+        String estadoActual = (String) tablaTareas.getValueAt(filaSeleccionada, 4);
         
         // Opciones de estado
         String[] opciones = {"PENDIENTE", "EN PROCESO", "COMPLETADA"};
@@ -288,7 +309,7 @@ public class PanelUsuario extends JFrame implements ActionListener {
                     JOptionPane.PLAIN_MESSAGE);
             
             // Actualizar estado en el controlador
-            if (controladorTarea.actualizarEstadoTarea(idTarea, nuevoEstado, comentario)) {
+            if (controladorTarea.actualizarEstadoTarea(idTarea, nuevoEstado, comentario, usuario.getId())) {
                 JOptionPane.showMessageDialog(this,
                         "Estado actualizado correctamente.",
                         "Actualización Exitosa",
@@ -349,7 +370,7 @@ public class PanelUsuario extends JFrame implements ActionListener {
      */
     private void cerrarSesion() {
         dispose();
-        new Login().setVisible(true);
+        new Login(servicios).setVisible(true);
     }
     
     private void crearTarea() {
@@ -364,7 +385,7 @@ public class PanelUsuario extends JFrame implements ActionListener {
         Proyecto proyecto = controladorProyecto.obtenerProyectoPorId(idProyecto);
         
         if (proyecto != null) {
-            DialogoTarea dialogo = new DialogoTarea(this, controladorTarea, controladorProyecto, controladorUsuario, proyecto, false, usuario);
+            DialogoTarea dialogo = new DialogoTarea(this, servicios, proyecto, false, usuario);
             dialogo.setVisible(true);
             if (dialogo.isTareaGuardada()) {
                 cargarTareas();
@@ -31,6 +31,7 @@ CREATE TABLE proyectos (
     id_responsable INT NOT NULL,
     nivel_riesgo VARCHAR(20) NOT NULL DEFAULT 'VERDE',
     presupuesto_total DECIMAL(10,2) NOT NULL DEFAULT 0.00,
+    version INT NOT NULL DEFAULT 1, -- Se incrementa en cada actualización (caché de proyectos)
     fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (id_responsable) REFERENCES usuarios(id) ON DELETE CASCADE
 );
@@ -72,6 +73,58 @@ CREATE TABLE costos (
     FOREIGN KEY (id_usuario_registro) REFERENCES usuarios(id) ON DELETE CASCADE
 );
 
+-- Resumen de costos por (tipo, id_referencia, tipo_costo).
+-- CostoDAO lo mantiene en la misma transacción que la tabla costos, y
+-- UsuarioDAO resta los costos que se borran en cascada con su usuario.
+-- Al arrancar, la aplicación lo llena si está vacío y ya hay costos (bases
+-- anteriores a esta tabla); se puede reconstruir con MantenimientoResumenCostos reconstruir.
+CREATE TABLE costos_resumen (
+    tipo VARCHAR(20) NOT NULL,
+    id_referencia INT NOT NULL,
+    tipo_costo VARCHAR(20) NOT NULL,
+    total DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+    cantidad INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (tipo, id_referencia, tipo_costo)
+);
+
+-- Comentarios de las tareas. Solo se insertan filas: cambiar el estado con un
+-- comentario no reescribe la tarea ni los comentarios anteriores.
+CREATE TABLE comentarios_tarea (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    id_tarea INT NOT NULL,
+    id_usuario INT NULL,
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    texto TEXT NOT NULL,
+    FOREIGN KEY (id_tarea) REFERENCES tareas(id) ON DELETE CASCADE,
+    FOREIGN KEY (id_usuario) REFERENCES usuarios(id) ON DELETE SET NULL
+);
+
+-- Historial de cambios de estado de las tareas (solo se insertan filas; lo
+-- escribe TareaDAO en la misma transacción que el cambio de estado). Sin clave
+-- foránea a tareas: el historial de una tarea eliminada sigue contando en las
+-- métricas de flujo del proyecto.
+CREATE TABLE historial_estado_tarea (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    id_tarea INT NOT NULL,
+    id_proyecto INT NOT NULL,
+    estado_anterior VARCHAR(20) NULL, -- NULL al crear la tarea
+    estado_nuevo VARCHAR(20) NOT NULL,
+    fecha TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    id_usuario INT NULL,
+    FOREIGN KEY (id_proyecto) REFERENCES proyectos(id) ON DELETE CASCADE,
+    FOREIGN KEY (id_usuario) REFERENCES usuarios(id) ON DELETE SET NULL
+);
+
+-- Dependencias entre tareas del mismo proyecto: id_tarea no puede empezar
+-- hasta que termine id_tarea_previa. ControladorDependencias evita los ciclos.
+CREATE TABLE dependencias_tarea (
+    id_tarea INT NOT NULL,
+    id_tarea_previa INT NOT NULL,
+    PRIMARY KEY (id_tarea, id_tarea_previa),
+    FOREIGN KEY (id_tarea) REFERENCES tareas(id) ON DELETE CASCADE,
+    FOREIGN KEY (id_tarea_previa) REFERENCES tareas(id) ON DELETE CASCADE
+);
+
 -- ===========================================
 -- Índices
 -- ===========================================
@@ -80,6 +133,19 @@ CREATE INDEX idx_costos_referencia ON costos(tipo, id_referencia);
 CREATE INDEX idx_costos_tipo ON costos(tipo_costo);
 CREATE INDEX idx_costos_fecha ON costos(fecha_registro);
 
+-- Índices para las consultas de tareas por responsable (detectadas en el registro de consultas lentas)
+CREATE INDEX idx_tareas_responsable ON tareas(id_responsable);
+
+-- Páginas de comentarios de una tarea, de los más recientes a los más antiguos
+CREATE INDEX idx_comentarios_tarea ON comentarios_tarea(id_tarea, id);
+
+-- Historial de estados: por tarea y por proyecto en orden de fecha (métricas de flujo)
+CREATE INDEX idx_historial_tarea_fecha ON historial_estado_tarea(id_tarea, fecha);
+CREATE INDEX idx_historial_proyecto_fecha ON historial_estado_tarea(id_proyecto, fecha);
+
+-- Dependencias: sucesores de una tarea (la clave primaria cubre los predecesores)
+CREATE INDEX idx_dependencias_previa ON dependencias_tarea(id_tarea_previa);
+
 -- ===========================================
 -- Datos iniciales (sintaxis moderna para 8.4+)
 -- ===========================================
@@ -0,0 +1,78 @@
+package com.mycompany.sistemagestiondetareas;
+
+import com.mycompany.sistemagestiondetareas.dao.CostoDAO;
+import com.mycompany.sistemagestiondetareas.dao.ProyectoDAO;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.UsuarioDAO;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import com.mycompany.sistemagestiondetareas.util.ConexionBD;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para ServiciosAplicacion
+ */
+public class ServiciosAplicacionTest {
+
+    @AfterEach
+    public void tearDown() {
+        ServiciosAplicacion.establecer(null);
+    }
+
+    @Test
+    public void obtener_devuelveSiempreLaMismaInstancia() {
+        ServiciosAplicacion servicios = ServiciosAplicacion.obtener();
+
+        assertSame(servicios, ServiciosAplicacion.obtener());
+        assertSame(servicios.getControladorProyecto(), ServiciosAplicacion.obtener().getControladorProyecto());
+    }
+
+    @Test
+    public void establecer_reemplazaLaInstanciaGlobal() {
+        ServiciosAplicacion propios = new ServiciosAplicacion();
+
+        ServiciosAplicacion.establecer(propios);
+
+        assertSame(propios, ServiciosAplicacion.obtener());
+    }
+
+    @Test
+    public void constructor_noConsultaLaBaseDeDatosNiCreaElNotificador() throws Exception {
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            ServiciosAplicacion servicios = new ServiciosAplicacion();
+
+            mockedStatic.verifyNoInteractions();
+            var campo = ServiciosAplicacion.class.getDeclaredField("notificador");
+            campo.setAccessible(true);
+            assertNull(campo.get(servicios));
+        }
+    }
+
+    @Test
+    public void controladores_usanLosDAOsYElNotificadorCompartidos() {
+        UsuarioDAO usuarioDAO = mock(UsuarioDAO.class);
+        ProyectoDAO proyectoDAO = mock(ProyectoDAO.class);
+        TareaDAO tareaDAO = mock(TareaDAO.class);
+        ServiciosAplicacion servicios = new ServiciosAplicacion(usuarioDAO, proyectoDAO, tareaDAO, mock(CostoDAO.class));
+
+        Tarea tarea = new Tarea();
+        tarea.setId(5);
+        tarea.setEstado("PENDIENTE");
+        when(tareaDAO.buscarPorId(5)).thenReturn(tarea);
+        when(tareaDAO.actualizarEstado(eq(5), eq("COMPLETADA"), anyString())).thenReturn(false);
+
+        servicios.getControladorTarea().actualizarEstadoTarea(5, "COMPLETADA", "");
+        servicios.getControladorUsuario().obtenerUsuarioPorId(1);
+
+        verify(tareaDAO).actualizarEstado(5, "COMPLETADA", "");
+        verify(usuarioDAO).buscarPorId(1);
+        assertSame(servicios.getNotificador(), servicios.getNotificador());
+        assertSame(servicios.getTareaDAO(), tareaDAO);
+    }
+}
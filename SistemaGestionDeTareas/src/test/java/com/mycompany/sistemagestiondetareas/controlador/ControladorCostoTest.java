@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -152,4 +153,53 @@ public class ControladorCostoTest {
         assertEquals("TIPO_INCORRECTO", enviado.getTipoCosto());
         assertEquals(-1, enviado.getIdUsuarioRegistro());
     }
+
+    @Test
+    public void calcularBalanceTotalCentavos_usaTotalesEnCentavos() {
+        when(mockDao.calcularTotalCentavosPorTipo("PROYECTO", 20, "ADELANTO")).thenReturn(30010L);
+        when(mockDao.calcularTotalCentavosPorTipo("PROYECTO", 20, "RETRASO")).thenReturn(12005L);
+        when(mockDao.calcularTotalCentavosPorTipo("PROYECTO", 20, "GASTO_PLANIFICADO")).thenReturn(3001L);
+
+        long balance = controlador.calcularBalanceTotalCentavos("PROYECTO", 20);
+
+        assertEquals(30010L - 12005L - 3001L, balance);
+    }
+
+    @Test
+    public void sumarPorTipoCosto_yCalcularSaldo_sonExactos() {
+        List<Costo> costos = Arrays.asList(
+                new Costo("PROYECTO", 1, "g1", 0.10, "GASTO_PLANIFICADO", new Date(), 1),
+                new Costo("PROYECTO", 1, "g2", 0.20, "GASTO_PLANIFICADO", new Date(), 1),
+                new Costo("PROYECTO", 1, "a", 5.00, "ADELANTO", new Date(), 1),
+                new Costo("PROYECTO", 1, "r", 1.25, "RETRASO", new Date(), 1));
+
+        long[] totales = ControladorCosto.sumarPorTipoCosto(costos);
+
+        assertEquals(30L, totales[ControladorCosto.TOTAL_GASTOS]);
+        assertEquals(500L, totales[ControladorCosto.TOTAL_ADELANTOS]);
+        assertEquals(125L, totales[ControladorCosto.TOTAL_RETRASOS]);
+        assertEquals(10000L - 30L + 500L - 125L, ControladorCosto.calcularSaldoCentavos(10000L, totales));
+    }
+
+    @Test
+    public void registrarCostoCentavos_conservaMontoExacto() {
+        when(mockDao.insertar(any(Costo.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Costo c = controlador.registrarCostoCentavos("PROYECTO", 3, "desc", 123456789L, "ADELANTO", 1);
+
+        assertEquals(123456789L, c.getMontoCentavos());
+        assertEquals(1234567.89, c.getMonto(), 1e-9);
+    }
+
+    @Test
+    public void oyenteCostos_recibeSoloLosCostosRegistrados() {
+        List<Costo> recibidos = new ArrayList<>();
+        controlador.agregarOyenteCostos(recibidos::add);
+        when(mockDao.insertar(any(Costo.class))).thenAnswer(inv -> inv.getArgument(0)).thenReturn(null);
+
+        Costo registrado = controlador.registrarCosto("TAREA", 7, "r", 10.0, "RETRASO", 1);
+        assertNull(controlador.registrarCostoCentavos("TAREA", 7, "r", 1000L, "RETRASO", 1));
+
+        assertEquals(List.of(registrado), recibidos);
+    }
 }
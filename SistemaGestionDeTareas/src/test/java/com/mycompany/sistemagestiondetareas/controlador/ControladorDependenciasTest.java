@@ -0,0 +1,137 @@
+package com.mycompany.sistemagestiondetareas.controlador;
+
+import com.mycompany.sistemagestiondetareas.dao.DependenciaTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.modelo.DependenciaTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ControladorDependencias usando Mockito.
+ */
+public class ControladorDependenciasTest {
+
+    private static final long DIA_MS = 24L * 60 * 60 * 1000;
+
+    private ControladorDependencias controlador;
+    private TareaDAO mockTareaDAO;
+    private DependenciaTareaDAO mockDependenciaDAO;
+
+    @BeforeEach
+    public void setUp() {
+        mockTareaDAO = mock(TareaDAO.class);
+        mockDependenciaDAO = mock(DependenciaTareaDAO.class);
+        controlador = new ControladorDependencias(mockTareaDAO, mockDependenciaDAO);
+
+        // Proyecto 1: tareas 1 (días 0-10) y 2 (0-5), con 2 después de 1; la tarea 3 es del proyecto 2
+        when(mockTareaDAO.listarResumenPorProyecto(1)).thenReturn(List.of(
+                new ResumenTarea(1, "A", new Date(0), new Date(10 * DIA_MS), 1, 1, "EN PROCESO"),
+                new ResumenTarea(2, "B", new Date(0), new Date(5 * DIA_MS), 1, 1, "PENDIENTE")));
+        when(mockDependenciaDAO.listarPorProyecto(1)).thenReturn(new ArrayList<>(List.of(new DependenciaTarea(2, 1))));
+        when(mockTareaDAO.buscarPorId(1)).thenReturn(tarea(1, 1, 10, "EN PROCESO"));
+        when(mockTareaDAO.buscarPorId(2)).thenReturn(tarea(2, 1, 5, "PENDIENTE"));
+        when(mockTareaDAO.buscarPorId(3)).thenReturn(tarea(3, 2, 5, "PENDIENTE"));
+    }
+
+    private static Tarea tarea(int id, int idProyecto, long diasVencimiento, String estado) {
+        return new Tarea(id, "T" + id, "T" + id, new Date(0), new Date(diasVencimiento * DIA_MS),
+                idProyecto, 1, estado, "");
+    }
+
+    @Test
+    public void consultas_cargan_elGrafoUnaSolaVez() {
+        assertEquals(List.of(1, 2), controlador.obtenerOrdenTopologico(1));
+        assertEquals(List.of(1, 2), controlador.obtenerRutaCritica(1));
+        assertEquals(-10 * DIA_MS, controlador.obtenerPlanificacion(1).get(2).getHolguraMs());
+
+        verify(mockTareaDAO, times(1)).listarResumenPorProyecto(1);
+        verify(mockDependenciaDAO, times(1)).listarPorProyecto(1);
+    }
+
+    @Test
+    public void consultas_idInvalido_noConsultan() {
+        assertTrue(controlador.obtenerOrdenTopologico(0).isEmpty());
+        assertTrue(controlador.obtenerRutaCritica(-1).isEmpty());
+        assertTrue(controlador.obtenerPlanificacion(0).isEmpty());
+        verifyNoInteractions(mockTareaDAO, mockDependenciaDAO);
+    }
+
+    @Test
+    public void agregarDependencia_valida_seGuardaYActualizaElGrafo() {
+        Tarea nueva = tarea(4, 1, 3, "PENDIENTE");
+        when(mockTareaDAO.buscarPorId(4)).thenReturn(nueva);
+        when(mockDependenciaDAO.agregar(4, 2)).thenReturn(true);
+        controlador.obtenerOrdenTopologico(1);
+        controlador.tareaGuardada(nueva);
+
+        assertTrue(controlador.agregarDependencia(4, 2));
+
+        verify(mockDependenciaDAO, times(1)).agregar(4, 2);
+        assertEquals(List.of(1, 2, 4), controlador.obtenerRutaCritica(1));
+    }
+
+    @Test
+    public void agregarDependencia_ciclo_noSeGuarda() {
+        assertFalse(controlador.agregarDependencia(1, 2));
+        verify(mockDependenciaDAO, never()).agregar(anyInt(), anyInt());
+    }
+
+    @Test
+    public void agregarDependencia_invalidaOEntreProyectos_noSeGuarda() {
+        assertFalse(controlador.agregarDependencia(0, 1));
+        assertFalse(controlador.agregarDependencia(1, 1));
+        assertFalse(controlador.agregarDependencia(3, 1), "proyectos distintos");
+        assertFalse(controlador.agregarDependencia(2, 1), "ya existe");
+        verify(mockDependenciaDAO, never()).agregar(anyInt(), anyInt());
+    }
+
+    @Test
+    public void agregarDependencia_fallaLaBase_seDeshaceEnElGrafo() {
+        when(mockDependenciaDAO.eliminar(2, 1)).thenReturn(true);
+        when(mockDependenciaDAO.agregar(1, 2)).thenReturn(false);
+        controlador.obtenerOrdenTopologico(1);
+
+        assertTrue(controlador.eliminarDependencia(2, 1));
+        assertFalse(controlador.agregarDependencia(1, 2));
+        // Sin la dependencia que falló, 2 puede volver a depender de 1
+        when(mockDependenciaDAO.agregar(2, 1)).thenReturn(true);
+        assertTrue(controlador.agregarDependencia(2, 1));
+        assertEquals(List.of(1, 2), controlador.obtenerOrdenTopologico(1));
+    }
+
+    @Test
+    public void oyente_actualizaElGrafoCargado() {
+        controlador.obtenerOrdenTopologico(1);
+
+        // 1 se completa: 2 ya no se retrasa
+        controlador.estadoActualizado(1, "COMPLETADA");
+        assertEquals(0, controlador.obtenerPlanificacion(1).get(2).getHolguraMs());
+
+        // Tarea nueva del proyecto
+        controlador.tareaGuardada(tarea(4, 1, 3, "PENDIENTE"));
+        assertEquals(3, controlador.obtenerOrdenTopologico(1).size());
+
+        controlador.tareaEliminada(1);
+        assertEquals(List.of(2, 4), controlador.obtenerOrdenTopologico(1));
+        verify(mockTareaDAO, times(1)).listarResumenPorProyecto(1);
+    }
+
+    @Test
+    public void oyente_tareaCambiaDeProyecto_recargaElGrafo() {
+        controlador.obtenerOrdenTopologico(1);
+
+        controlador.tareaGuardada(tarea(2, 2, 5, "PENDIENTE"));
+        controlador.obtenerOrdenTopologico(1);
+
+        verify(mockTareaDAO, times(2)).listarResumenPorProyecto(1);
+    }
+}
@@ -195,4 +195,17 @@ public class ControladorProyectoTest {
         assertTrue(controlador.eliminarProyecto(5));
         verify(mockDao, times(1)).eliminar(5);
     }
+
+    @Test
+    public void eliminarProyecto_avisaALosOyentesSoloSiHuboCambio() {
+        int[] avisos = new int[1];
+        controlador.agregarOyenteCambios(() -> avisos[0]++);
+        when(mockDao.eliminar(5)).thenReturn(true);
+        when(mockDao.eliminar(6)).thenReturn(false);
+
+        controlador.eliminarProyecto(5);
+        controlador.eliminarProyecto(6);
+
+        assertEquals(1, avisos[0]);
+    }
 }
@@ -0,0 +1,162 @@
+package com.mycompany.sistemagestiondetareas.controlador;
+
+import com.mycompany.sistemagestiondetareas.dao.HistorialEstadoTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.ProyectoDAO;
+import com.mycompany.sistemagestiondetareas.dao.RiesgoProyectoDAO;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import com.mycompany.sistemagestiondetareas.modelo.CambioEstadoTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Costo;
+import com.mycompany.sistemagestiondetareas.modelo.IndicadoresRiesgo;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para ControladorRiesgo usando Mockito.
+ */
+public class ControladorRiesgoTest {
+
+    private ControladorRiesgo controlador;
+    private RiesgoProyectoDAO mockRiesgoDAO;
+    private ProyectoDAO mockProyectoDAO;
+    private TareaDAO mockTareaDAO;
+    private HistorialEstadoTareaDAO mockHistorialDAO;
+
+    @BeforeEach
+    public void setUp() {
+        mockRiesgoDAO = mock(RiesgoProyectoDAO.class);
+        mockProyectoDAO = mock(ProyectoDAO.class);
+        mockTareaDAO = mock(TareaDAO.class);
+        mockHistorialDAO = mock(HistorialEstadoTareaDAO.class);
+        // Los avisos se procesan en el mismo hilo
+        controlador = new ControladorRiesgo(mockRiesgoDAO, mockProyectoDAO, mockTareaDAO, mockHistorialDAO, Runnable::run);
+        when(mockProyectoDAO.actualizarNivelesRiesgo(anyMap())).thenAnswer(i -> ((Map<?, ?>) i.getArgument(0)).size());
+    }
+
+    /** Proyecto con la mitad de sus tareas vencidas y retrasos del 20 % del presupuesto (ROJO). */
+    private static IndicadoresRiesgo enRiesgo(int id, String nivelGuardado) {
+        IndicadoresRiesgo indicadores = new IndicadoresRiesgo(id, nivelGuardado, 1000_00, null);
+        indicadores.setTareasAbiertas(10);
+        indicadores.setTareasVencidas(5);
+        indicadores.setRetrasoCentavos(200_00);
+        return indicadores;
+    }
+
+    private static Tarea tarea(int id, int idProyecto) {
+        return new Tarea(id, "T" + id, "T" + id, new Date(), new Date(), idProyecto, 1, "PENDIENTE", "");
+    }
+
+    @Test
+    public void recalcularTodos_guardaEnUnLoteSoloLosNivelesQueCambian() {
+        Map<Integer, IndicadoresRiesgo> indicadores = new LinkedHashMap<>();
+        indicadores.put(1, enRiesgo(1, "VERDE"));
+        indicadores.put(2, enRiesgo(2, "ROJO"));
+        indicadores.put(3, new IndicadoresRiesgo(3, "AMARILLO", 0, null));
+        when(mockRiesgoDAO.cargarIndicadores(any(Date.class), any(Date.class))).thenReturn(indicadores);
+
+        assertEquals(2, controlador.recalcularTodos());
+
+        verify(mockProyectoDAO, times(1)).actualizarNivelesRiesgo(Map.of(1, "ROJO", 3, "VERDE"));
+    }
+
+    @Test
+    public void recalcularTodos_errorAlCargar_noEscribe() {
+        when(mockRiesgoDAO.cargarIndicadores(any(Date.class), any(Date.class))).thenReturn(null);
+
+        assertEquals(-1, controlador.recalcularTodos());
+        verify(mockProyectoDAO, never()).actualizarNivelesRiesgo(anyMap());
+    }
+
+    @Test
+    public void recalcularProyecto_escribeSoloSiCambia() {
+        when(mockRiesgoDAO.cargarIndicadores(eq(1), any(Date.class), any(Date.class))).thenReturn(enRiesgo(1, "ROJO"));
+        when(mockRiesgoDAO.cargarIndicadores(eq(2), any(Date.class), any(Date.class))).thenReturn(enRiesgo(2, "VERDE"));
+
+        assertEquals("ROJO", controlador.recalcularProyecto(1));
+        verify(mockProyectoDAO, never()).actualizarNivelesRiesgo(anyMap());
+
+        assertEquals("ROJO", controlador.recalcularProyecto(2));
+        verify(mockProyectoDAO, times(1)).actualizarNivelesRiesgo(Map.of(2, "ROJO"));
+        assertEquals(75, controlador.calcularPuntuacion(2));
+    }
+
+    @Test
+    public void recalcularProyecto_invalidoOInexistente_devuelveNull() {
+        assertNull(controlador.recalcularProyecto(0));
+        assertEquals(-1, controlador.calcularPuntuacion(-1));
+        verifyNoInteractions(mockRiesgoDAO);
+
+        assertNull(controlador.recalcularProyecto(9));
+        verify(mockProyectoDAO, never()).actualizarNivelesRiesgo(anyMap());
+    }
+
+    @Test
+    public void oyente_recalculaElProyectoDeLaTarea() {
+        when(mockTareaDAO.buscarPorId(5)).thenReturn(tarea(5, 2));
+        when(mockHistorialDAO.listarPorTarea(6)).thenReturn(List.of(
+                new CambioEstadoTarea(6, 3, null, "PENDIENTE", new Date(), 0)));
+
+        controlador.tareaGuardada(tarea(4, 1));
+        controlador.estadoActualizado(5, "COMPLETADA");
+        controlador.tareaEliminada(6);
+        controlador.comentarioAgregado(5, "hola");
+        // Sin historial no se sabe de qué proyecto era
+        controlador.tareaEliminada(7);
+        // La tarea 4 pasó del proyecto 8 al 1
+        controlador.tareaMovida(4, 8);
+
+        verify(mockRiesgoDAO).cargarIndicadores(eq(1), any(Date.class), any(Date.class));
+        verify(mockRiesgoDAO).cargarIndicadores(eq(2), any(Date.class), any(Date.class));
+        verify(mockRiesgoDAO).cargarIndicadores(eq(3), any(Date.class), any(Date.class));
+        verify(mockRiesgoDAO).cargarIndicadores(eq(8), any(Date.class), any(Date.class));
+        verifyNoMoreInteractions(mockRiesgoDAO);
+    }
+
+    @Test
+    public void costoRegistrado_soloRetrasosRecalculan() {
+        when(mockTareaDAO.buscarPorId(8)).thenReturn(tarea(8, 4));
+
+        controlador.costoRegistrado(new Costo("PROYECTO", 1, "r", 10.0, "RETRASO", new Date(), 1));
+        controlador.costoRegistrado(new Costo("TAREA", 8, "r", 10.0, "RETRASO", new Date(), 1));
+        controlador.costoRegistrado(new Costo("PROYECTO", 2, "a", 10.0, "ADELANTO", new Date(), 1));
+
+        verify(mockRiesgoDAO).cargarIndicadores(eq(1), any(Date.class), any(Date.class));
+        verify(mockRiesgoDAO).cargarIndicadores(eq(4), any(Date.class), any(Date.class));
+        verifyNoMoreInteractions(mockRiesgoDAO);
+    }
+
+    @Test
+    public void avisos_seProcesanFueraDelHiloQueEscribeYSeAgrupanPorProyecto() {
+        List<Runnable> cola = new ArrayList<>();
+        ControladorRiesgo enCola = new ControladorRiesgo(mockRiesgoDAO, mockProyectoDAO, mockTareaDAO,
+                mockHistorialDAO, cola::add);
+        when(mockTareaDAO.buscarPorId(5)).thenReturn(tarea(5, 1));
+
+        enCola.estadoActualizado(5, "COMPLETADA");
+        enCola.tareaGuardada(tarea(4, 1));
+        enCola.tareaGuardada(tarea(6, 1));
+        enCola.programarRecalculo(2);
+        // Nada se consulta en el hilo que escribió
+        verifyNoInteractions(mockRiesgoDAO, mockTareaDAO);
+
+        // Un recálculo por proyecto; la búsqueda de la tarea 5 encuentra el proyecto 1 aún pendiente
+        while (!cola.isEmpty()) {
+            cola.remove(0).run();
+        }
+        verify(mockRiesgoDAO, times(1)).cargarIndicadores(eq(1), any(Date.class), any(Date.class));
+        verify(mockRiesgoDAO, times(1)).cargarIndicadores(eq(2), any(Date.class), any(Date.class));
+
+        // Terminado el recálculo, un aviso nuevo vuelve a programarlo
+        enCola.tareaGuardada(tarea(4, 1));
+        assertEquals(1, cola.size());
+    }
+}
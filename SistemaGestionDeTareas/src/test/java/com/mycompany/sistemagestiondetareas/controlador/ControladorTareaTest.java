@@ -1,5 +1,6 @@
 package com.mycompany.sistemagestiondetareas.controlador;
 
+import com.mycompany.sistemagestiondetareas.dao.HistorialEstadoTareaDAO;
 import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
 import com.mycompany.sistemagestiondetareas.modelo.Tarea;
 import com.mycompany.sistemagestiondetareas.util.Notificador;
@@ -19,6 +20,7 @@ public class ControladorTareaTest {
     private ControladorTarea controlador;
     private TareaDAO mockDAO;
     private Notificador mockNotificador;
+    private HistorialEstadoTareaDAO mockHistorial;
 
     @BeforeEach
     public void setUp() throws Exception {
@@ -34,6 +36,11 @@ public class ControladorTareaTest {
         Field fNotif = ControladorTarea.class.getDeclaredField("notificador");
         fNotif.setAccessible(true);
         fNotif.set(controlador, mockNotificador);
+
+        mockHistorial = mock(HistorialEstadoTareaDAO.class);
+        Field fHistorial = ControladorTarea.class.getDeclaredField("historialDAO");
+        fHistorial.setAccessible(true);
+        fHistorial.set(controlador, mockHistorial);
     }
 
     // -----------------------------------------------------
@@ -57,6 +64,8 @@ public class ControladorTareaTest {
         assertNotNull(t);
         assertEquals(10, t.getId());
         verify(mockDAO, times(1)).insertar(any());
+        // El estado inicial lo registra TareaDAO en la misma transacción
+        verifyNoInteractions(mockHistorial);
     }
 
     @Test
@@ -111,6 +120,7 @@ public class ControladorTareaTest {
                 t.getFechaCreacion().equals(creacion) &&
                 t.getEstado().equals("COMPLETADA")
         ));
+        verifyNoInteractions(mockHistorial);
     }
 
     @Test
@@ -150,6 +160,42 @@ public class ControladorTareaTest {
         verify(mockDAO, times(1)).actualizarEstado(5, "COMPLETADA", "ok");
         verify(mockNotificador, times(1))
                 .notificarCambioEstadoTarea(any(), eq("PENDIENTE"));
+        verifyNoInteractions(mockHistorial);
+    }
+
+    @Test
+    public void actualizarEstadoTarea_conUsuario_pasaQuienHizoElCambio() {
+        Tarea mockT = new Tarea(5, "A", "B", new Date(),
+                new Date(), 3, 1, "PENDIENTE", "");
+
+        when(mockDAO.buscarPorId(5)).thenReturn(mockT);
+        when(mockDAO.actualizarEstado(5, "EN PROCESO", "", 7)).thenReturn(true);
+
+        assertTrue(controlador.actualizarEstadoTarea(5, "EN PROCESO", "", 7));
+        verify(mockDAO, times(1)).actualizarEstado(5, "EN PROCESO", "", 7);
+    }
+
+    @Test
+    public void actualizarEstadoTarea_falla_noNotifica() {
+        Tarea mockT = new Tarea(5, "A", "B", new Date(),
+                new Date(), 1, 1, "PENDIENTE", "");
+
+        when(mockDAO.buscarPorId(5)).thenReturn(mockT);
+        when(mockDAO.actualizarEstado(5, "COMPLETADA", "ok")).thenReturn(false);
+
+        assertFalse(controlador.actualizarEstadoTarea(5, "COMPLETADA", "ok"));
+        verify(mockNotificador, never()).notificarCambioEstadoTarea(any(), any());
+    }
+
+    @Test
+    public void metricasDeFlujo_intervaloInvalido_noConsulta() {
+        Date hoy = new Date();
+
+        assertNull(controlador.calcularTiempoCiclo(1, hoy, hoy));
+        assertTrue(controlador.calcularTiempoEnEstado(0, new Date(0), hoy).isEmpty());
+        assertTrue(controlador.calcularThroughputSemanal(1, null, hoy).isEmpty());
+        assertTrue(controlador.obtenerHistorialEstados(0).isEmpty());
+        verifyNoInteractions(mockHistorial);
     }
 
     @Test
@@ -215,6 +261,27 @@ public class ControladorTareaTest {
         verify(mockDAO, times(1)).listarPorResponsable(2);
     }
 
+    @Test
+    public void obtenerResumenTareasPorResponsable_invalido_retornaVacia() {
+        assertTrue(controlador.obtenerResumenTareasPorResponsable(0).isEmpty());
+        verify(mockDAO, never()).listarResumenPorResponsable(anyInt());
+    }
+
+    @Test
+    public void obtenerResumenTareasPorResponsable_valido_usaLaProyeccion() {
+        when(mockDAO.listarResumenPorResponsable(2)).thenReturn(Collections.emptyList());
+        controlador.obtenerResumenTareasPorResponsable(2);
+        verify(mockDAO, times(1)).listarResumenPorResponsable(2);
+        verify(mockDAO, never()).listarPorResponsable(anyInt());
+    }
+
+    @Test
+    public void obtenerPaginaResumenTareas_parametrosInvalidos_noConsulta() {
+        assertTrue(controlador.obtenerPaginaResumenTareas(-1, 10).isEmpty());
+        assertTrue(controlador.obtenerPaginaResumenTareas(0, 0).isEmpty());
+        verify(mockDAO, never()).listarResumenPagina(anyInt(), anyInt());
+    }
+
     // -----------------------------------------------------
     //   ELIMINAR
     // -----------------------------------------------------
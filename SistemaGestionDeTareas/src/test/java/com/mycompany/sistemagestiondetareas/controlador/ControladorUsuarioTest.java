@@ -2,8 +2,10 @@ package com.mycompany.sistemagestiondetareas.controlador;
 
 import com.mycompany.sistemagestiondetareas.dao.UsuarioDAO;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
+import com.mycompany.sistemagestiondetareas.util.ConexionBD;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -57,6 +59,27 @@ public class ControladorUsuarioTest {
         verify(mockDAO, times(2)).insertar(any());
     }
 
+    @Test
+    public void verificarDatosIniciales_conUsuarios_noListaNiInserta() {
+        when(mockDAO.existeAlguno()).thenReturn(true);
+
+        controlador.verificarDatosIniciales();
+
+        verify(mockDAO, never()).listarTodos();
+        verify(mockDAO, never()).insertar(any());
+    }
+
+    @Test
+    public void constructor_noConsultaLaBaseDeDatos() {
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            new ControladorUsuario();
+            new ControladorProyecto();
+            new ControladorTarea();
+
+            mockedStatic.verifyNoInteractions();
+        }
+    }
+
     // ----------------------------------------------------
     //   REGISTRAR USUARIO
     // ----------------------------------------------------
@@ -0,0 +1,223 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.util.ConexionBD;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para AlmacenCostosColumnar
+ */
+public class AlmacenCostosColumnarTest {
+
+    private AlmacenCostosColumnar almacen;
+    private Connection mockConnection;
+    private PreparedStatement mockPreparedStatement;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        almacen = new AlmacenCostosColumnar(ZoneOffset.UTC);
+        mockConnection = mock(Connection.class);
+        mockPreparedStatement = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(mockPreparedStatement);
+    }
+
+    /**
+     * Crea un ResultSet simulado con filas {id, tipo, id_referencia, monto, tipo_costo, fecha, id_usuario}.
+     */
+    private ResultSet resultSetCon(Object[]... filas) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        int[] actual = {-1};
+
+        when(rs.next()).thenAnswer(inv -> ++actual[0] < filas.length);
+        when(rs.getInt("id")).thenAnswer(inv -> filas[actual[0]][0]);
+        when(rs.getString("tipo")).thenAnswer(inv -> filas[actual[0]][1]);
+        when(rs.getInt("id_referencia")).thenAnswer(inv -> filas[actual[0]][2]);
+        when(rs.getBigDecimal("monto")).thenAnswer(inv -> BigDecimal.valueOf((Double) filas[actual[0]][3]));
+        when(rs.getString("tipo_costo")).thenAnswer(inv -> filas[actual[0]][4]);
+        when(rs.getTimestamp("fecha_registro")).thenAnswer(inv -> filas[actual[0]][5]);
+        when(rs.getInt("id_usuario_registro")).thenAnswer(inv -> filas[actual[0]][6]);
+        return rs;
+    }
+
+    /**
+     * Simula la suma de costos_resumen que refrescar() compara con la instantánea.
+     */
+    private void simularResumen(long cantidad, String total) throws SQLException {
+        Statement stmt = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.next()).thenReturn(true);
+        when(rs.getLong("cantidad")).thenReturn(cantidad);
+        when(rs.getBigDecimal("total")).thenReturn(new BigDecimal(total));
+        when(stmt.executeQuery(anyString())).thenReturn(rs);
+        when(mockConnection.createStatement()).thenReturn(stmt);
+    }
+
+    private static Timestamp fecha(int anio, int mes, int dia) {
+        return new Timestamp(LocalDate.of(anio, mes, dia).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+    }
+
+    @Test
+    public void cargar_variosCostos_agrupaPorReferenciaYTipo() throws SQLException {
+        ResultSet rs = resultSetCon(
+                new Object[]{1, "PROYECTO", 1, 100.10, "GASTO_PLANIFICADO", fecha(2024, 1, 5), 1},
+                new Object[]{2, "PROYECTO", 1, 0.20, "GASTO_PLANIFICADO", fecha(2024, 1, 6), 1},
+                new Object[]{3, "PROYECTO", 2, 50.00, "RETRASO", fecha(2024, 2, 1), 1},
+                new Object[]{4, "TAREA", 1, 30.00, "ADELANTO", fecha(2024, 2, 2), 2});
+        when(mockPreparedStatement.executeQuery()).thenReturn(rs);
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            AlmacenCostosColumnar.Instantanea instantanea = almacen.cargar();
+
+            assertEquals(4, instantanea.tamano());
+            assertEquals(4, instantanea.ultimoId());
+            verify(mockPreparedStatement).setInt(1, 0);
+
+            AlmacenCostosColumnar.TotalesPorReferencia totales =
+                    instantanea.totalesPorReferencia(AlmacenCostosColumnar.TIPO_PROYECTO);
+            assertEquals(10030L, totales.total(1, AlmacenCostosColumnar.COSTO_GASTO_PLANIFICADO));
+            assertEquals(5000L, totales.total(2, AlmacenCostosColumnar.COSTO_RETRASO));
+            assertEquals(0L, totales.total(1, AlmacenCostosColumnar.COSTO_ADELANTO));
+            assertEquals(0L, totales.total(99, AlmacenCostosColumnar.COSTO_RETRASO));
+
+            assertEquals(3000L, instantanea.total(AlmacenCostosColumnar.TIPO_TAREA, 1, AlmacenCostosColumnar.COSTO_ADELANTO));
+        }
+    }
+
+    @Test
+    public void refrescar_soloLeeCostosNuevos_yConservaInstantaneaAnterior() throws SQLException {
+        ResultSet primera = resultSetCon(
+                new Object[]{1, "PROYECTO", 1, 10.00, "RETRASO", fecha(2024, 1, 1), 1});
+        ResultSet segunda = resultSetCon(
+                new Object[]{2, "PROYECTO", 1, 5.00, "RETRASO", fecha(2024, 1, 2), 1});
+        when(mockPreparedStatement.executeQuery()).thenReturn(primera, segunda);
+        simularResumen(2, "15.00");
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            AlmacenCostosColumnar.Instantanea anterior = almacen.cargar();
+            AlmacenCostosColumnar.Instantanea nueva = almacen.refrescar();
+
+            verify(mockPreparedStatement).setInt(1, 0);
+            verify(mockPreparedStatement).setInt(1, 1);
+            verify(mockConnection, times(2)).commit();
+            assertEquals(1, anterior.tamano());
+            assertEquals(2, nueva.tamano());
+            assertEquals(1000L, anterior.total(AlmacenCostosColumnar.TIPO_PROYECTO, 1, AlmacenCostosColumnar.COSTO_RETRASO));
+            assertEquals(1500L, nueva.total(AlmacenCostosColumnar.TIPO_PROYECTO, 1, AlmacenCostosColumnar.COSTO_RETRASO));
+        }
+    }
+
+    @Test
+    public void refrescar_noCuadraConResumen_vuelveACargarTodo() throws SQLException {
+        ResultSet primera = resultSetCon(
+                new Object[]{1, "PROYECTO", 1, 10.00, "RETRASO", fecha(2024, 1, 1), 1},
+                new Object[]{3, "PROYECTO", 1, 5.00, "RETRASO", fecha(2024, 1, 3), 2});
+        // El costo 2 se confirmó después del 3 y el usuario 2 se eliminó con sus costos
+        ResultSet nuevos = resultSetCon();
+        ResultSet completa = resultSetCon(
+                new Object[]{1, "PROYECTO", 1, 10.00, "RETRASO", fecha(2024, 1, 1), 1},
+                new Object[]{2, "TAREA", 4, 1.00, "ADELANTO", fecha(2024, 1, 2), 1});
+        when(mockPreparedStatement.executeQuery()).thenReturn(primera, nuevos, completa);
+        simularResumen(2, "11.00");
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            almacen.cargar();
+            AlmacenCostosColumnar.Instantanea instantanea = almacen.refrescar();
+
+            verify(mockPreparedStatement, times(2)).setInt(1, 0);
+            verify(mockPreparedStatement).setInt(1, 3);
+            assertEquals(2, instantanea.tamano());
+            assertEquals(1000L, instantanea.total(AlmacenCostosColumnar.TIPO_PROYECTO, 1, AlmacenCostosColumnar.COSTO_RETRASO));
+            assertEquals(100L, instantanea.total(AlmacenCostosColumnar.TIPO_TAREA, 4, AlmacenCostosColumnar.COSTO_ADELANTO));
+        }
+    }
+
+    @Test
+    public void maxIdReferencia_seLlevaPorTipo() throws SQLException {
+        ResultSet rs = resultSetCon(
+                new Object[]{1, "PROYECTO", 3, 1.00, "RETRASO", fecha(2024, 1, 1), 1},
+                new Object[]{2, "TAREA", 5000, 1.00, "RETRASO", fecha(2024, 1, 1), 1});
+        when(mockPreparedStatement.executeQuery()).thenReturn(rs);
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            AlmacenCostosColumnar.Instantanea instantanea = almacen.cargar();
+
+            assertEquals(3, instantanea.maxIdReferencia(AlmacenCostosColumnar.TIPO_PROYECTO));
+            assertEquals(5000, instantanea.maxIdReferencia(AlmacenCostosColumnar.TIPO_TAREA));
+            assertEquals(100L, instantanea.totalesPorReferencia(AlmacenCostosColumnar.TIPO_PROYECTO)
+                    .total(3, AlmacenCostosColumnar.COSTO_RETRASO));
+        }
+    }
+
+    @Test
+    public void refrescar_errorSQL_conservaInstantanea() throws SQLException {
+        when(mockPreparedStatement.executeQuery()).thenThrow(new SQLException("Error de conexión"));
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            AlmacenCostosColumnar.Instantanea instantanea = almacen.refrescar();
+
+            assertSame(almacen.obtenerInstantanea(), instantanea);
+            assertEquals(0, instantanea.tamano());
+        }
+    }
+
+    @Test
+    public void seleccionarYTotalesPorMes_filtranPorTipoYFecha() throws SQLException {
+        ResultSet rs = resultSetCon(
+                new Object[]{1, "PROYECTO", 1, 1.00, "GASTO_PLANIFICADO", fecha(2024, 1, 31), 1},
+                new Object[]{2, "PROYECTO", 1, 2.00, "GASTO_PLANIFICADO", fecha(2024, 3, 1), 1},
+                new Object[]{3, "PROYECTO", 2, 4.00, "ADELANTO", fecha(2024, 3, 15), 1},
+                new Object[]{4, "PROYECTO", 1, 8.00, "GASTO_PLANIFICADO", fecha(2023, 12, 31), 1});
+        when(mockPreparedStatement.executeQuery()).thenReturn(rs);
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            AlmacenCostosColumnar.Instantanea instantanea = almacen.cargar();
+
+            int[] filas = instantanea.seleccionar(AlmacenCostosColumnar.CUALQUIERA, 1,
+                    AlmacenCostosColumnar.COSTO_GASTO_PLANIFICADO,
+                    fecha(2024, 1, 1).getTime(), fecha(2024, 4, 1).getTime());
+            assertArrayEquals(new int[]{0, 1}, filas);
+            assertEquals(300L, instantanea.sumar(filas));
+
+            SortedMap<YearMonth, Long> porMes = instantanea.totalesPorMes(AlmacenCostosColumnar.TIPO_PROYECTO,
+                    AlmacenCostosColumnar.CUALQUIERA, AlmacenCostosColumnar.COSTO_GASTO_PLANIFICADO);
+            assertEquals(3, porMes.size());
+            assertEquals(800L, porMes.get(YearMonth.of(2023, 12)));
+            assertEquals(100L, porMes.get(YearMonth.of(2024, 1)));
+            assertEquals(200L, porMes.get(YearMonth.of(2024, 3)));
+            assertFalse(porMes.containsKey(YearMonth.of(2024, 2)));
+        }
+    }
+
+    @Test
+    public void codificar_valoresDesconocidos_devuelveDesconocido() {
+        assertEquals(AlmacenCostosColumnar.TIPO_TAREA, AlmacenCostosColumnar.codificarTipo("TAREA"));
+        assertEquals(AlmacenCostosColumnar.DESCONOCIDO, AlmacenCostosColumnar.codificarTipo("OTRO"));
+        assertEquals(AlmacenCostosColumnar.COSTO_ADELANTO, AlmacenCostosColumnar.codificarTipoCosto("ADELANTO"));
+        assertEquals(AlmacenCostosColumnar.DESCONOCIDO, AlmacenCostosColumnar.codificarTipoCosto(null));
+    }
+}
@@ -0,0 +1,95 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.ComentarioTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para ComentarioTareaDAO y TareaDAO.actualizarEstado sobre una base H2 en memoria.
+ */
+public class ComentarioTareaDAOTest extends H2TestBase {
+
+    private TareaDAO tareaDAO;
+    private ComentarioTareaDAO comentarioDAO;
+    private int idTarea;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        insertarUsuarioYProyectos(1);
+        tareaDAO = new TareaDAO();
+        comentarioDAO = new ComentarioTareaDAO();
+        idTarea = tareaDAO.insertar(new Tarea("Revisar", "Revisar contrato", new Date(), new Date(), 1, 1,
+                "PENDIENTE", "Notas")).getId();
+    }
+
+    private static List<String> textos(List<ComentarioTarea> comentarios) {
+        return comentarios.stream().map(ComentarioTarea::getTexto).collect(Collectors.toList());
+    }
+
+    @Test
+    public void insertar_yListarPorPaginas_deMasRecienteAMasAntiguo() {
+        for (int i = 1; i <= 5; i++) {
+            ComentarioTarea comentario = comentarioDAO.insertar(new ComentarioTarea(idTarea, 1, new Date(), "c" + i));
+            assertNotNull(comentario);
+            assertTrue(comentario.getId() > 0);
+        }
+
+        List<ComentarioTarea> primera = comentarioDAO.listarPorTarea(idTarea, 0, 2);
+        assertEquals(List.of("c5", "c4"), textos(primera));
+        assertEquals(1, primera.get(0).getIdUsuario());
+        assertNotNull(primera.get(0).getFecha());
+
+        List<ComentarioTarea> segunda = comentarioDAO.listarPorTarea(idTarea, primera.get(1).getId(), 2);
+        assertEquals(List.of("c3", "c2"), textos(segunda));
+
+        List<ComentarioTarea> ultima = comentarioDAO.listarPorTarea(idTarea, segunda.get(1).getId(), 2);
+        assertEquals(List.of("c1"), textos(ultima));
+
+        assertEquals(5, comentarioDAO.contarPorTarea(idTarea));
+        assertTrue(comentarioDAO.listarPorTarea(idTarea + 1, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void actualizarEstado_insertaComentarioSinTocarLasNotas() {
+        assertTrue(tareaDAO.actualizarEstado(idTarea, "EN PROCESO", "Iniciando", 1));
+        assertTrue(tareaDAO.actualizarEstado(idTarea, "COMPLETADA", "Terminado"));
+        assertTrue(tareaDAO.actualizarEstado(idTarea, "COMPLETADA", ""));
+
+        Tarea tarea = tareaDAO.buscarPorId(idTarea);
+        assertEquals("COMPLETADA", tarea.getEstado());
+        assertEquals("Notas", tarea.getComentarios());
+
+        List<ComentarioTarea> comentarios = comentarioDAO.listarPorTarea(idTarea, 0, 10);
+        assertEquals(List.of("Terminado", "Iniciando"), textos(comentarios));
+        assertEquals(0, comentarios.get(0).getIdUsuario());
+        assertEquals(1, comentarios.get(1).getIdUsuario());
+    }
+
+    @Test
+    public void actualizarEstado_tareaInexistente_noInsertaComentario() {
+        assertFalse(tareaDAO.actualizarEstado(idTarea + 100, "COMPLETADA", "Nada", 1));
+        assertEquals(0, comentarioDAO.contarPorTarea(idTarea + 100));
+    }
+
+    @Test
+    public void listas_noTraenComentarios_buscarPorIdSi() {
+        assertNull(tareaDAO.listarPorProyecto(1).get(0).getComentarios());
+        assertNull(tareaDAO.listarTodas().get(0).getComentarios());
+        assertEquals("Notas", tareaDAO.buscarPorId(idTarea).getComentarios());
+    }
+
+    @Test
+    public void eliminarTarea_eliminaSusComentarios() {
+        assertTrue(tareaDAO.actualizarEstado(idTarea, "COMPLETADA", "Terminado", 1));
+        assertTrue(tareaDAO.eliminar(idTarea));
+        assertEquals(0, comentarioDAO.contarPorTarea(idTarea));
+    }
+}
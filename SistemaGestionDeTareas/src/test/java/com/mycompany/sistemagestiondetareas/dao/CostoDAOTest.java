@@ -6,12 +6,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 /**
@@ -58,6 +61,11 @@ public class CostoDAOTest {
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
         when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
                 .thenReturn(mockPreparedStatement);
+        
+        // Actualización de costos_resumen dentro de la misma transacción
+        PreparedStatement mockResumenStmt = mock(PreparedStatement.class);
+        when(mockResumenStmt.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockResumenStmt);
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
@@ -73,7 +81,7 @@ public class CostoDAOTest {
             verify(mockPreparedStatement).setString(1, "PROYECTO");
             verify(mockPreparedStatement).setInt(2, 10);
             verify(mockPreparedStatement).setString(3, "Compra de licencias");
-            verify(mockPreparedStatement).setDouble(4, 1500.50);
+            verify(mockPreparedStatement).setBigDecimal(4, new BigDecimal("1500.50"));
             verify(mockPreparedStatement).setString(5, "GASTO_PLANIFICADO");
             verify(mockPreparedStatement).setTimestamp(eq(6), any(Timestamp.class));
             verify(mockPreparedStatement).setInt(7, 5);
@@ -100,6 +108,11 @@ public class CostoDAOTest {
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
         when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
                 .thenReturn(mockPreparedStatement);
+        
+        // Actualización de costos_resumen dentro de la misma transacción
+        PreparedStatement mockResumenStmt = mock(PreparedStatement.class);
+        when(mockResumenStmt.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockResumenStmt);
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
@@ -151,7 +164,7 @@ public class CostoDAOTest {
         when(mockResultSet.getString("tipo")).thenReturn("PROYECTO");
         when(mockResultSet.getInt("id_referencia")).thenReturn(10);
         when(mockResultSet.getString("descripcion")).thenReturn("Costo 1", "Costo 2");
-        when(mockResultSet.getDouble("monto")).thenReturn(1000.00, 500.00);
+        when(mockResultSet.getBigDecimal("monto")).thenReturn(new BigDecimal("1000.00"), new BigDecimal("500.00"));
         when(mockResultSet.getString("tipo_costo"))
                 .thenReturn("GASTO_PLANIFICADO", "ADELANTO");
         when(mockResultSet.getTimestamp("fecha_registro"))
@@ -184,7 +197,7 @@ public class CostoDAOTest {
         when(mockResultSet.getString("tipo")).thenReturn("TAREA");
         when(mockResultSet.getInt("id_referencia")).thenReturn(25);
         when(mockResultSet.getString("descripcion")).thenReturn("Materiales tarea");
-        when(mockResultSet.getDouble("monto")).thenReturn(750.50);
+        when(mockResultSet.getBigDecimal("monto")).thenReturn(new BigDecimal("750.50"));
         when(mockResultSet.getString("tipo_costo")).thenReturn("RETRASO");
         when(mockResultSet.getTimestamp("fecha_registro"))
                 .thenReturn(new Timestamp(System.currentTimeMillis()));
@@ -238,7 +251,7 @@ public class CostoDAOTest {
         when(mockResultSet.getString("tipo")).thenReturn("PROYECTO", "TAREA");
         when(mockResultSet.getInt("id_referencia")).thenReturn(1, 2);
         when(mockResultSet.getString("descripcion")).thenReturn("Desc 1", "Desc 2");
-        when(mockResultSet.getDouble("monto")).thenReturn(100.00, 200.00);
+        when(mockResultSet.getBigDecimal("monto")).thenReturn(new BigDecimal("100.00"), new BigDecimal("200.00"));
         when(mockResultSet.getString("tipo_costo"))
                 .thenReturn("GASTO_PLANIFICADO", "RETRASO");
         when(mockResultSet.getTimestamp("fecha_registro"))
@@ -288,7 +301,7 @@ public class CostoDAOTest {
     public void calcularTotalPorTipo_conCostos_retornaSumaCorrecta() throws SQLException {
         // Arrange
         when(mockResultSet.next()).thenReturn(true);
-        when(mockResultSet.getDouble("total")).thenReturn(2500.75);
+        when(mockResultSet.getBigDecimal("total")).thenReturn(new BigDecimal("2500.75"));
         
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -311,7 +324,7 @@ public class CostoDAOTest {
     public void calcularTotalPorTipo_sinCostos_retornaCero() throws SQLException {
         // Arrange
         when(mockResultSet.next()).thenReturn(true);
-        when(mockResultSet.getDouble("total")).thenReturn(0.0);
+        when(mockResultSet.getBigDecimal("total")).thenReturn(new BigDecimal("0.0"));
         
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -348,7 +361,7 @@ public class CostoDAOTest {
     public void calcularTotalPorTipo_variusTiposCosto_calculaCorrectamente() throws SQLException {
         // Arrange - Para GASTO_PLANIFICADO
         when(mockResultSet.next()).thenReturn(true);
-        when(mockResultSet.getDouble("total")).thenReturn(5000.0);
+        when(mockResultSet.getBigDecimal("total")).thenReturn(new BigDecimal("5000.0"));
         
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -369,7 +382,7 @@ public class CostoDAOTest {
     public void calcularTotalPorTipo_tipoTarea_calculaCorrectamente() throws SQLException {
         // Arrange
         when(mockResultSet.next()).thenReturn(true);
-        when(mockResultSet.getDouble("total")).thenReturn(1250.50);
+        when(mockResultSet.getBigDecimal("total")).thenReturn(new BigDecimal("1250.50"));
         
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -387,4 +400,112 @@ public class CostoDAOTest {
             verify(mockPreparedStatement).setString(3, "ADELANTO");
         }
     }
-}
\ No newline at end of file
+
+    // ========================================
+    // RESUMEN DE COSTOS
+    // ========================================
+
+    @Test
+    public void insertar_sumaAlResumenConUnaSolaSentenciaYHaceCommit() throws SQLException {
+        // Arrange
+        Costo costo = new Costo("PROYECTO", 10, "Licencias", 250.0, "RETRASO", new Date(), 1);
+        
+        ResultSet mockGeneratedKeys = mock(ResultSet.class);
+        when(mockGeneratedKeys.next()).thenReturn(true);
+        when(mockGeneratedKeys.getInt(1)).thenReturn(7);
+        when(mockPreparedStatement.getGeneratedKeys()).thenReturn(mockGeneratedKeys);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+        
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        
+        PreparedStatement mockResumen = mock(PreparedStatement.class);
+        when(mockResumen.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO costos_resumen"))).thenReturn(mockResumen);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            Costo resultado = costoDAO.insertar(costo);
+            
+            // Assert
+            assertNotNull(resultado);
+            verify(mockConnection).setAutoCommit(false);
+            verify(mockConnection).prepareStatement(contains("ON DUPLICATE KEY UPDATE"));
+            verify(mockResumen).setString(1, "PROYECTO");
+            verify(mockResumen).setInt(2, 10);
+            verify(mockResumen).setString(3, "RETRASO");
+            verify(mockResumen).setBigDecimal(4, new BigDecimal("250.00"));
+            verify(mockResumen).setInt(5, 1);
+            verify(mockResumen).executeUpdate();
+            verify(mockConnection, never()).prepareStatement(startsWith("UPDATE costos_resumen"));
+            verify(mockConnection).commit();
+            verify(mockConnection).setAutoCommit(true);
+        }
+    }
+
+    @Test
+    public void insertar_errorEnResumen_haceRollbackYRetornaNull() throws SQLException {
+        // Arrange
+        Costo costo = new Costo("PROYECTO", 10, "Licencias", 250.0, "RETRASO", new Date(), 1);
+        
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO costos_resumen")))
+                .thenThrow(new SQLException("Resumen bloqueado"));
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            Costo resultado = costoDAO.insertar(costo);
+            
+            // Assert
+            assertNull(resultado);
+            verify(mockConnection).rollback();
+            verify(mockConnection, never()).commit();
+        }
+    }
+
+    @Test
+    public void calcularTotalPorTipo_leeDeTablaResumen() throws SQLException {
+        // Arrange
+        when(mockResultSet.next()).thenReturn(false);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            double resultado = costoDAO.calcularTotalPorTipo("PROYECTO", 10, "RETRASO");
+            
+            // Assert: sin fila de resumen el total es cero
+            assertEquals(0.0, resultado, 0.01);
+            verify(mockConnection).prepareStatement(contains("FROM costos_resumen"));
+        }
+    }
+
+    @Test
+    public void reconstruirResumen_borraEInsertaAgrupado() throws SQLException {
+        // Arrange
+        when(mockStatement.executeUpdate(startsWith("DELETE FROM costos_resumen"))).thenReturn(5);
+        when(mockStatement.executeUpdate(startsWith("INSERT INTO costos_resumen"))).thenReturn(3);
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            int filas = costoDAO.reconstruirResumen();
+            
+            // Assert
+            assertEquals(3, filas);
+            verify(mockStatement).executeUpdate(contains("GROUP BY tipo, id_referencia, tipo_costo"));
+            verify(mockConnection).commit();
+        }
+    }
+}
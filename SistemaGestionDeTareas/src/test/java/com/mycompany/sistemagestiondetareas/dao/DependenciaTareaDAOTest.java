@@ -0,0 +1,81 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.DependenciaTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para DependenciaTareaDAO sobre una base H2 en memoria.
+ */
+public class DependenciaTareaDAOTest extends H2TestBase {
+
+    private TareaDAO tareaDAO;
+    private DependenciaTareaDAO dependenciaDAO;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        insertarUsuarioYProyectos(2);
+        tareaDAO = new TareaDAO();
+        dependenciaDAO = new DependenciaTareaDAO();
+    }
+
+    private int insertarTarea(int idProyecto) {
+        return tareaDAO.insertar(new Tarea("T", "T", new Date(), new Date(), idProyecto, 1, "PENDIENTE", "")).getId();
+    }
+
+    private static List<String> aristas(List<DependenciaTarea> dependencias) {
+        return dependencias.stream().map(DependenciaTarea::toString).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void agregar_listarPorProyecto_yEliminar() {
+        int a = insertarTarea(1);
+        int b = insertarTarea(1);
+        int c = insertarTarea(1);
+        int otra = insertarTarea(2);
+        int d = insertarTarea(2);
+
+        assertTrue(dependenciaDAO.agregar(b, a));
+        assertTrue(dependenciaDAO.agregar(c, b));
+        assertTrue(dependenciaDAO.agregar(d, otra));
+        assertFalse(dependenciaDAO.agregar(b, a), "ya existe");
+
+        assertEquals(List.of(a + " → " + b, b + " → " + c), aristas(dependenciaDAO.listarPorProyecto(1)));
+        assertEquals(1, dependenciaDAO.listarPorProyecto(2).size());
+
+        assertTrue(dependenciaDAO.eliminar(c, b));
+        assertFalse(dependenciaDAO.eliminar(c, b));
+        assertEquals(List.of(a + " → " + b), aristas(dependenciaDAO.listarPorProyecto(1)));
+    }
+
+    @Test
+    public void eliminarTarea_eliminaSusDependencias() {
+        int a = insertarTarea(1);
+        int b = insertarTarea(1);
+        int c = insertarTarea(1);
+        assertTrue(dependenciaDAO.agregar(b, a));
+        assertTrue(dependenciaDAO.agregar(c, b));
+
+        assertTrue(tareaDAO.eliminar(b));
+
+        assertTrue(dependenciaDAO.listarPorProyecto(1).isEmpty());
+    }
+
+    @Test
+    public void listarResumenPorProyecto_soloTareasDelProyecto() {
+        insertarTarea(1);
+        insertarTarea(1);
+        insertarTarea(2);
+
+        assertEquals(2, tareaDAO.listarResumenPorProyecto(1).size());
+        assertTrue(tareaDAO.listarResumenPorProyecto(3).isEmpty());
+    }
+}
@@ -0,0 +1,87 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.util.ConexionBD;
+import com.mycompany.sistemagestiondetareas.util.GeneradorDatosSinteticos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.mockito.MockedStatic;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Clase base para las pruebas de DAO sobre una base H2 en memoria (modo
+ * MySQL) con el esquema de GeneradorDatosSinteticos.crearEsquema().
+ *
+ * Como ConexionBD en producción, obtenerConexion() devuelve una sola conexión
+ * por hilo y la vuelve a abrir si se cerró: un DAO que cierra la conexión
+ * mientras su llamador todavía la usa falla también en las pruebas.
+ */
+public abstract class H2TestBase {
+
+    /** Conexión propia de la prueba, para preparar y comprobar datos con SQL. */
+    protected Connection conexion;
+
+    private MockedStatic<ConexionBD> mockedStatic;
+    private final ThreadLocal<Connection> conexionHilo = new ThreadLocal<>();
+    private final List<Connection> abiertas = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void prepararBaseH2() throws SQLException {
+        conexion = DriverManager.getConnection(urlH2());
+        GeneradorDatosSinteticos.crearEsquema(conexion);
+
+        mockedStatic = mockStatic(ConexionBD.class);
+        mockedStatic.when(ConexionBD::obtenerConexion).thenAnswer(i -> conexionDelHilo());
+    }
+
+    @AfterEach
+    public void cerrarBaseH2() throws SQLException {
+        mockedStatic.close();
+        for (Connection conn : abiertas) {
+            conn.close();
+        }
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        conexion.close();
+    }
+
+    /**
+     * Base en memoria propia de cada clase de prueba.
+     */
+    protected String urlH2() {
+        return "jdbc:h2:mem:" + getClass().getSimpleName().toLowerCase(Locale.ROOT)
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    private Connection conexionDelHilo() throws SQLException {
+        Connection conn = conexionHilo.get();
+        if (conn == null || conn.isClosed()) {
+            conn = DriverManager.getConnection(urlH2());
+            conexionHilo.set(conn);
+            abiertas.add(conn);
+        }
+        return conn;
+    }
+
+    /**
+     * Inserta el usuario 1 y los proyectos 1..cantidadProyectos, responsabilidad suya.
+     */
+    protected void insertarUsuarioYProyectos(int cantidadProyectos) throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("INSERT INTO usuarios (id, nombre, apellido, email, password) VALUES (1, 'Ana', 'García', 'ana@x.com', 'x')");
+            for (int id = 1; id <= cantidadProyectos; id++) {
+                stmt.execute("INSERT INTO proyectos (id, nombre, descripcion, fecha_inicio, fecha_fin, id_responsable, nivel_riesgo, presupuesto_total) "
+                        + "VALUES (" + id + ", 'P', 'P', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 1, 'VERDE', 0)");
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.CambioEstadoTarea;
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para HistorialEstadoTareaDAO, y para los cambios de estado que
+ * TareaDAO registra en él, sobre una base H2 en memoria.
+ */
+public class HistorialEstadoTareaDAOTest extends H2TestBase {
+
+    private static final long DIA_MS = 24L * 60 * 60 * 1000;
+    // Lunes
+    private static final LocalDate INICIO = LocalDate.of(2026, 3, 2);
+
+    private HistorialEstadoTareaDAO historialDAO;
+    private long dia0;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        insertarUsuarioYProyectos(2);
+        historialDAO = new HistorialEstadoTareaDAO();
+        dia0 = INICIO.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private Date dia(double dias) {
+        return new Date(dia0 + (long) (dias * DIA_MS));
+    }
+
+    private void cambio(int idTarea, int idProyecto, String anterior, String nuevo, double dias) {
+        assertTrue(historialDAO.registrar(new CambioEstadoTarea(idTarea, idProyecto, anterior, nuevo, dia(dias), 0)));
+    }
+
+    @Test
+    public void registrar_yListarPorTarea_enOrdenCronologico() {
+        cambio(1, 1, "PENDIENTE", "EN PROCESO", 2);
+        cambio(1, 1, null, "PENDIENTE", 0);
+        assertTrue(historialDAO.registrar(new CambioEstadoTarea(1, 1, "EN PROCESO", "COMPLETADA", dia(3), 1)));
+
+        List<CambioEstadoTarea> historial = historialDAO.listarPorTarea(1);
+        assertEquals(List.of("PENDIENTE", "EN PROCESO", "COMPLETADA"),
+                historial.stream().map(CambioEstadoTarea::getEstadoNuevo).collect(Collectors.toList()));
+        assertNull(historial.get(0).getEstadoAnterior());
+        assertEquals(dia(2), historial.get(1).getFecha());
+        assertEquals(0, historial.get(1).getIdUsuario());
+        assertEquals(1, historial.get(2).getIdUsuario());
+        assertTrue(historialDAO.listarPorTarea(2).isEmpty());
+    }
+
+    @Test
+    public void calcularTiempoCiclo_soloTareasCompletadasEnElIntervalo() {
+        // 2 días
+        cambio(1, 1, null, "EN PROCESO", 1);
+        cambio(1, 1, "EN PROCESO", "COMPLETADA", 3);
+        // 4 días
+        cambio(2, 1, null, "EN PROCESO", 2);
+        cambio(2, 1, "EN PROCESO", "COMPLETADA", 6);
+        // Completada sin pasar por EN PROCESO
+        cambio(3, 1, null, "COMPLETADA", 4);
+        // Completada antes del intervalo
+        cambio(4, 1, null, "EN PROCESO", -5);
+        cambio(4, 1, "EN PROCESO", "COMPLETADA", -1);
+        // Sin completar
+        cambio(5, 1, null, "EN PROCESO", 1);
+        // Otro proyecto
+        cambio(6, 2, null, "EN PROCESO", 1);
+        cambio(6, 2, "EN PROCESO", "COMPLETADA", 9);
+
+        HistorialEstadoTareaDAO.Duraciones ciclo = historialDAO.calcularTiempoCiclo(1, dia(0), dia(10));
+
+        assertEquals(2, ciclo.getCantidad());
+        assertEquals(3 * DIA_MS, ciclo.getPromedioMs());
+        assertEquals(2 * DIA_MS, ciclo.getMedianaMs());
+        assertEquals(4 * DIA_MS, ciclo.getPercentil85Ms());
+        assertEquals(4 * DIA_MS, ciclo.getMaximoMs());
+    }
+
+    @Test
+    public void calcularTiempoCiclo_sinDatos_estadisticasVacias() {
+        HistorialEstadoTareaDAO.Duraciones ciclo = historialDAO.calcularTiempoCiclo(1, dia(0), dia(10));
+
+        assertEquals(0, ciclo.getCantidad());
+        assertEquals(0, ciclo.getPromedioMs());
+        assertEquals(0, ciclo.getPercentil85Ms());
+    }
+
+    @Test
+    public void calcularTiempoEnEstado_recortaAlIntervaloYDejaAbiertoElUltimoEstado() {
+        // PENDIENTE desde antes del intervalo: cuenta 1 día
+        cambio(1, 1, null, "PENDIENTE", -1);
+        cambio(1, 1, "PENDIENTE", "EN PROCESO", 1);
+        cambio(1, 1, "EN PROCESO", "COMPLETADA", 3);
+        // Sigue PENDIENTE al final del intervalo: cuenta 2 días
+        cambio(2, 1, null, "PENDIENTE", 8);
+        // Cambio posterior al intervalo: no cuenta
+        cambio(2, 1, "PENDIENTE", "EN PROCESO", 12);
+        // Otro proyecto
+        cambio(3, 2, null, "EN PROCESO", 0);
+
+        Map<String, Long> tiempos = historialDAO.calcularTiempoEnEstado(1, dia(0), dia(10));
+
+        assertEquals(Map.of("PENDIENTE", 3 * DIA_MS, "EN PROCESO", 2 * DIA_MS), tiempos);
+    }
+
+    @Test
+    public void calcularThroughputSemanal_agrupaPorSemanaConSemanasVacias() {
+        cambio(1, 1, "EN PROCESO", "COMPLETADA", 3.5);
+        cambio(2, 1, "EN PROCESO", "COMPLETADA", 6.5);
+        cambio(3, 1, "EN PROCESO", "COMPLETADA", 9.5);
+        cambio(4, 1, "PENDIENTE", "EN PROCESO", 15.5);
+        cambio(5, 2, "EN PROCESO", "COMPLETADA", 15.5);
+        cambio(6, 1, "EN PROCESO", "COMPLETADA", 25.5);
+
+        SortedMap<LocalDate, Integer> semanas = historialDAO.calcularThroughputSemanal(1, dia(0), dia(21));
+
+        assertEquals(List.of(INICIO, INICIO.plusWeeks(1), INICIO.plusWeeks(2)), List.copyOf(semanas.keySet()));
+        assertEquals(List.of(2, 1, 0), List.copyOf(semanas.values()));
+    }
+
+    private static String resumen(List<CambioEstadoTarea> cambios) {
+        return cambios.stream()
+                .map(c -> c.getIdProyecto() + ":" + c.getEstadoAnterior() + "->" + c.getEstadoNuevo() + "@" + c.getIdUsuario())
+                .collect(Collectors.joining(", "));
+    }
+
+    @Test
+    public void escriturasDeTareaDAO_registranCadaCambioDeEstadoEnSuTransaccion() {
+        TareaDAO tareaDAO = new TareaDAO();
+        Tarea tarea = tareaDAO.insertar(new Tarea("T", "T", new Date(), new Date(), 1, 1, "PENDIENTE", ""));
+        int id = tarea.getId();
+
+        // Guardar sin cambiar el estado no agrega filas
+        tarea.setNombre("Otra");
+        assertTrue(tareaDAO.actualizar(tarea));
+        tarea.setEstado("EN PROCESO");
+        tarea.setIdProyecto(2);
+        assertTrue(tareaDAO.actualizar(tarea));
+        assertTrue(tareaDAO.actualizarEstado(id, "EN PROCESO", "sin cambio", 1));
+        assertTrue(tareaDAO.actualizarEstado(id, "COMPLETADA", "", 1));
+        assertFalse(tareaDAO.actualizarEstado(id + 1, "COMPLETADA", ""));
+
+        assertEquals("1:null->PENDIENTE@0, 2:PENDIENTE->EN PROCESO@0, 2:EN PROCESO->COMPLETADA@1",
+                resumen(historialDAO.listarPorTarea(id)));
+        assertTrue(historialDAO.listarPorTarea(id + 1).isEmpty());
+    }
+
+    @Test
+    public void oyentesDeTareaDAO_venElCambioYaRegistrado() {
+        TareaDAO tareaDAO = new TareaDAO();
+        List<String> vistos = new ArrayList<>();
+        tareaDAO.agregarOyente(new TareaDAO.OyenteEscrituras() {
+            @Override
+            public void tareaGuardada(Tarea tarea) {
+                vistos.add(resumen(historialDAO.listarPorTarea(tarea.getId())));
+            }
+
+            @Override
+            public void estadoActualizado(int idTarea, String estado) {
+                vistos.add(resumen(historialDAO.listarPorTarea(idTarea)));
+            }
+
+            @Override
+            public void tareaMovida(int idTarea, int idProyectoAnterior) {
+                vistos.add("movida desde " + idProyectoAnterior);
+            }
+
+            @Override
+            public void comentarioAgregado(int idTarea, String comentario) {
+            }
+
+            @Override
+            public void tareaEliminada(int idTarea) {
+            }
+        });
+
+        Tarea tarea = tareaDAO.insertar(new Tarea("T", "T", new Date(), new Date(), 1, 1, "PENDIENTE", ""));
+        int id = tarea.getId();
+        assertTrue(tareaDAO.actualizarEstado(id, "COMPLETADA", "", 0));
+        // Pasar la tarea a otro proyecto avisa también del proyecto anterior
+        tarea.setEstado("COMPLETADA");
+        tarea.setIdProyecto(2);
+        assertTrue(tareaDAO.actualizar(tarea));
+
+        assertEquals(List.of("1:null->PENDIENTE@0", "1:null->PENDIENTE@0, 1:PENDIENTE->COMPLETADA@0",
+                "1:null->PENDIENTE@0, 1:PENDIENTE->COMPLETADA@0", "movida desde 1"), vistos);
+    }
+}
@@ -0,0 +1,232 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para IndiceTextoTareas sobre una base H2 en memoria.
+ */
+public class IndiceTextoTareasTest extends H2TestBase {
+
+    @TempDir
+    Path directorio;
+
+    private TareaDAO tareaDAO;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        insertarUsuarioYProyectos(1);
+        tareaDAO = new TareaDAO();
+    }
+
+    private Tarea insertar(String nombre, String descripcion, String comentarios) {
+        Tarea tarea = new Tarea(nombre, descripcion, new Date(), new Date(), 1, 1, "PENDIENTE", comentarios);
+        return tareaDAO.insertar(tarea);
+    }
+
+    private static List<Integer> ids(List<IndiceTextoTareas.Resultado> resultados) {
+        return resultados.stream().map(IndiceTextoTareas.Resultado::getIdTarea).collect(Collectors.toList());
+    }
+
+    @Test
+    public void buscar_andOrPrefijoYSinTildes() {
+        int interfaz = insertar("Diseñar interfaz", "Pantallas de la interfaz de usuario", "").getId();
+        int base = insertar("Diseñar base de datos", "Esquema relacional", "").getId();
+        int migracion = insertar("Migración", "Mover datos al servidor nuevo", "Revisar con operaciones").getId();
+        IndiceTextoTareas indice = new IndiceTextoTareas();
+
+        assertEquals(List.of(interfaz, base), ids(indice.buscar("disenar", 10)));
+        assertEquals(List.of(interfaz), ids(indice.buscar("DISEÑAR interfaz", 10)));
+        assertEquals(List.of(base, migracion), ids(indice.buscar("datos", 10)));
+        assertEquals(List.of(interfaz, migracion), ids(indice.buscar("interfaz OR migracion", 10)));
+        assertEquals(List.of(migracion), ids(indice.buscar("migra* operacion*", 10)));
+        assertTrue(indice.buscar("inexistente", 10).isEmpty());
+        assertTrue(indice.buscar("   ", 10).isEmpty());
+        assertEquals(3, indice.contarDocumentos());
+    }
+
+    @Test
+    public void buscar_ordenaPorFrecuenciaYLimita() {
+        int una = insertar("Informe", "Preparar informe", "").getId();
+        int varias = insertar("Informe mensual", "Informe del informe", "Ver informe").getId();
+        insertar("Otra tarea", "Nada que ver", "");
+        IndiceTextoTareas indice = new IndiceTextoTareas();
+
+        List<IndiceTextoTareas.Resultado> resultados = indice.buscar("informe", 10);
+
+        assertEquals(List.of(varias, una), ids(resultados));
+        assertTrue(resultados.get(0).getPuntuacion() > resultados.get(1).getPuntuacion());
+        assertEquals(List.of(varias), ids(indice.buscar("informe", 1)));
+    }
+
+    @Test
+    public void escriturasDelDAO_actualizanElIndiceAntesYDespuesDeCompactar() {
+        IndiceTextoTareas indice = new IndiceTextoTareas(null, Runnable::run);
+        tareaDAO.agregarOyente(indice);
+        Tarea tarea = insertar("Revisar contrato", "Contrato con proveedor", "");
+        indice.asegurarCargado();
+
+        int nueva = insertar("Preparar presupuesto", "Presupuesto anual", "").getId();
+        assertEquals(List.of(nueva), ids(indice.buscar("presupuesto", 10)));
+
+        // Comentario agregado: se suma al texto existente
+        assertTrue(tareaDAO.actualizarEstado(tarea.getId(), "EN PROCESO", "Esperando firma del abogado"));
+        assertEquals(List.of(tarea.getId()), ids(indice.buscar("contrato abogado", 10)));
+
+        indice.compactar();
+        assertEquals(List.of(tarea.getId()), ids(indice.buscar("contrato abogado", 10)));
+
+        // Actualización completa: los términos anteriores dejan de encontrarse
+        tarea.setNombre("Revisar acuerdo");
+        tarea.setDescripcion("Acuerdo de servicio");
+        tarea.setComentarios("");
+        assertTrue(tareaDAO.actualizar(tarea));
+        assertTrue(indice.buscar("contrato", 10).isEmpty());
+        assertEquals(List.of(tarea.getId()), ids(indice.buscar("acuerdo", 10)));
+
+        assertTrue(tareaDAO.eliminar(nueva));
+        assertTrue(indice.buscar("presupuesto", 10).isEmpty());
+
+        indice.compactar();
+        assertTrue(indice.buscar("contrato", 10).isEmpty());
+        assertTrue(indice.buscar("presupuesto", 10).isEmpty());
+        assertEquals(List.of(tarea.getId()), ids(indice.buscar("acuerdo revis*", 10)));
+        assertEquals(1, indice.contarDocumentos());
+    }
+
+    @Test
+    public void comentariosDeComentariosTarea_seIndexanYSobrevivenAActualizarLaTarea() {
+        Tarea tarea = insertar("Revisar contrato", "Contrato con proveedor", "");
+        assertTrue(tareaDAO.actualizarEstado(tarea.getId(), "EN PROCESO", "Esperando firma del abogado", 1));
+
+        // Reconstrucción: los comentarios se leen de comentarios_tarea
+        IndiceTextoTareas indice = new IndiceTextoTareas(null, Runnable::run);
+        tareaDAO.agregarOyente(indice);
+        assertEquals(List.of(tarea.getId()), ids(indice.buscar("abogado", 10)));
+
+        // Actualizar la tarea (sin comentarios en el objeto) no pierde los del historial
+        tarea.setDescripcion("Contrato de servicio");
+        assertTrue(tareaDAO.actualizar(tarea));
+        assertEquals(List.of(tarea.getId()), ids(indice.buscar("abogado servicio", 10)));
+    }
+
+    @Test
+    public void actualizarTareaIndexada_releeLosComentariosFueraDelHiloQueEscribe() {
+        Tarea tarea = insertar("Revisar contrato", "Contrato con proveedor", "");
+        Tarea borrada = insertar("Preparar informe", "Informe trimestral", "");
+        assertTrue(tareaDAO.actualizarEstado(tarea.getId(), "EN PROCESO", "Esperando firma del abogado", 1));
+        List<Runnable> cola = new ArrayList<>();
+        IndiceTextoTareas indice = new IndiceTextoTareas(null, cola::add);
+        tareaDAO.agregarOyente(indice);
+        indice.asegurarCargado();
+
+        tarea.setDescripcion("Contrato de servicio");
+        assertTrue(tareaDAO.actualizar(tarea));
+        borrada.setNombre("Preparar resumen");
+        assertTrue(tareaDAO.actualizar(borrada));
+        assertTrue(tareaDAO.eliminar(borrada.getId()));
+
+        // Hasta la relectura se ve el texto anterior
+        assertEquals(2, cola.size());
+        assertTrue(indice.buscar("servicio", 10).isEmpty());
+
+        while (!cola.isEmpty()) {
+            cola.remove(0).run();
+        }
+        assertEquals(List.of(tarea.getId()), ids(indice.buscar("abogado servicio", 10)));
+        // La relectura de una tarea eliminada mientras esperaba no la vuelve a indexar
+        assertTrue(indice.buscar("resumen", 10).isEmpty());
+        assertEquals(1, indice.contarDocumentos());
+    }
+
+    @Test
+    public void guardar_yCargarDesdeArchivo_incluyeLasTareasCreadasDespues() throws IOException {
+        Path archivo = directorio.resolve("indice.bin");
+        int primera = insertar("Documentar API", "Documentación de la API de clientes", "").getId();
+        IndiceTextoTareas original = new IndiceTextoTareas(archivo);
+        original.asegurarCargado();
+        assertTrue(original.guardar());
+        assertTrue(Files.size(archivo) > 0);
+
+        // Tarea creada mientras la aplicación no estaba en marcha
+        int segunda = insertar("Probar API", "Pruebas de carga", "").getId();
+
+        IndiceTextoTareas cargado = new IndiceTextoTareas(archivo);
+        assertEquals(List.of(primera, segunda), ids(cargado.buscar("api", 10)));
+        assertEquals(List.of(primera), ids(cargado.buscar("clientes", 10)));
+        assertEquals(2, cargado.contarDocumentos());
+    }
+
+    @Test
+    public void cargar_archivoQueNoCuadraConLaTabla_reconstruye() throws SQLException {
+        Path archivo = directorio.resolve("indice.bin");
+        int borrada = insertar("Tarea antigua", "Se borrará fuera de la aplicación", "").getId();
+        IndiceTextoTareas original = new IndiceTextoTareas(archivo);
+        original.asegurarCargado();
+        assertTrue(original.guardar());
+
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("DELETE FROM tareas WHERE id = " + borrada);
+        }
+
+        assertTrue(new IndiceTextoTareas(archivo).buscar("antigua", 10).isEmpty());
+    }
+
+    @Test
+    public void cargar_archivoQueCuadra_sincronizaSinReconstruir() throws SQLException {
+        Path archivo = directorio.resolve("indice.bin");
+        Tarea tarea = insertar("Planificar sprint", "Reunión de planificación", "");
+        int otra = insertar("Revisar tablero", "Panel", "").getId();
+        IndiceTextoTareas original = new IndiceTextoTareas(archivo);
+        original.asegurarCargado();
+        assertTrue(original.guardar());
+
+        // Cambio fuera de la aplicación que no altera el número de tareas: solo una reconstrucción lo vería
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("UPDATE tareas SET nombre = 'Archivar informes' WHERE id = " + otra);
+        }
+
+        IndiceTextoTareas nuevo = new IndiceTextoTareas(archivo);
+        tareaDAO.agregarOyente(nuevo);
+        // Escrituras antes de cargar: se releen con sus comentarios, y la tarea nueva se indexa
+        assertTrue(tareaDAO.actualizarEstado(tarea.getId(), "EN PROCESO", "Falta el presupuesto", 1));
+        int nueva = insertar("Preparar demo", "Demo para el cliente", "").getId();
+
+        assertEquals(List.of(tarea.getId()), ids(nuevo.buscar("presupuesto sprint", 10)));
+        assertEquals(List.of(nueva), ids(nuevo.buscar("demo", 10)));
+        assertEquals(List.of(otra), ids(nuevo.buscar("tablero", 10)));
+        assertTrue(nuevo.buscar("archivar", 10).isEmpty());
+        assertEquals(3, nuevo.contarDocumentos());
+    }
+
+    @Test
+    public void escriturasAntesDeCargar_seReleenAlCargarElArchivo() {
+        Path archivo = directorio.resolve("indice.bin");
+        Tarea tarea = insertar("Corregir error", "Error en el informe", "");
+        IndiceTextoTareas original = new IndiceTextoTareas(archivo);
+        original.asegurarCargado();
+        assertTrue(original.guardar());
+
+        IndiceTextoTareas nuevo = new IndiceTextoTareas(archivo);
+        tareaDAO.agregarOyente(nuevo);
+        tarea.setNombre("Corregir fallo");
+        tarea.setDescripcion("Fallo en el informe");
+        assertTrue(tareaDAO.actualizar(tarea));
+
+        assertTrue(nuevo.buscar("error", 10).isEmpty());
+        assertEquals(List.of(tarea.getId()), ids(nuevo.buscar("fallo", 10)));
+    }
+}
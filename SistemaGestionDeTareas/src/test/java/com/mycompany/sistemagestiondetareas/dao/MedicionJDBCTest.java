@@ -0,0 +1,136 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.util.ConexionBD;
+import com.mycompany.sistemagestiondetareas.util.RegistroMetricas;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas unitarias para MedicionJDBC
+ */
+public class MedicionJDBCTest {
+
+    private RegistroMetricas anterior;
+    private RegistroMetricas metricas;
+
+    @BeforeEach
+    public void setUp() {
+        anterior = RegistroMetricas.global();
+        metricas = new RegistroMetricas();
+        RegistroMetricas.establecerGlobal(metricas);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RegistroMetricas.establecerGlobal(anterior);
+    }
+
+    @Test
+    public void consulta_registraLlamadaFilasYLatenciaDelMetodo() throws SQLException {
+        Connection conexion = mock(Connection.class);
+        Statement stmt = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conexion.createStatement()).thenReturn(stmt);
+        when(stmt.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(conexion);
+
+            assertEquals(2, new UsuarioDAO().listarTodos().size());
+        }
+
+        String texto = metricas.formatoPrometheus();
+        assertTrue(texto.contains("dao_llamadas_total{metodo=\"UsuarioDAO.listarTodos\"} 1\n"));
+        assertTrue(texto.contains("dao_filas_total{metodo=\"UsuarioDAO.listarTodos\"} 2\n"));
+        assertTrue(texto.contains("dao_latencia_segundos_count{metodo=\"UsuarioDAO.listarTodos\"} 1\n"));
+        assertFalse(texto.contains("dao_errores_total"));
+        verify(conexion).close();
+    }
+
+    @Test
+    public void errorDeSQL_seCuentaYLaExcepcionLlegaAlDAO() throws SQLException {
+        Connection conexion = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        when(conexion.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeUpdate()).thenThrow(new SQLException("Tabla bloqueada"));
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(conexion);
+
+            assertFalse(new TareaDAO().eliminar(7));
+        }
+
+        String texto = metricas.formatoPrometheus();
+        assertTrue(texto.contains("dao_llamadas_total{metodo=\"TareaDAO.eliminar\"} 1\n"));
+        assertTrue(texto.contains("dao_errores_total{metodo=\"TareaDAO.eliminar\"} 1\n"));
+    }
+
+    @Test
+    public void actualizacion_cuentaLasFilasAfectadas() throws SQLException {
+        Connection conexion = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        when(conexion.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeUpdate()).thenReturn(1);
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(conexion);
+
+            assertTrue(new ProyectoDAO().eliminar(3));
+        }
+
+        assertEquals(1, metricas.contador("dao_filas_total", "", "metodo", "ProyectoDAO.eliminar").sum());
+    }
+
+    @Test
+    public void grabacionJFR_registraUnEventoPorSentenciaConMetodoYFilas() throws Exception {
+        Connection conexion = mock(Connection.class);
+        Statement stmt = mock(Statement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conexion.createStatement()).thenReturn(stmt);
+        when(stmt.executeQuery(anyString())).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+
+        Path archivo = Files.createTempFile("medicion-jdbc", ".jfr");
+        try (Recording grabacion = new Recording()) {
+            grabacion.enable("com.mycompany.sistemagestiondetareas.DaoQuery");
+            grabacion.start();
+            try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+                mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(conexion);
+
+                new UsuarioDAO().listarTodos();
+            }
+            grabacion.stop();
+            grabacion.dump(archivo);
+        }
+
+        List<RecordedEvent> eventos = RecordingFile.readAllEvents(archivo).stream()
+                .filter(e -> e.getEventType().getName().endsWith(".DaoQuery"))
+                .collect(Collectors.toList());
+        Files.deleteIfExists(archivo);
+        assertEquals(1, eventos.size());
+        assertEquals("UsuarioDAO.listarTodos", eventos.get(0).getString("metodo"));
+        assertEquals(3, eventos.get(0).getLong("filas"));
+        assertTrue(eventos.get(0).getString("sql").startsWith("SELECT"));
+        assertEquals(8, eventos.get(0).getString("idSql").length());
+    }
+}
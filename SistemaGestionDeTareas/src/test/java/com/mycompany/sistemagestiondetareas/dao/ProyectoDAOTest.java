@@ -6,12 +6,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
+import java.math.BigDecimal;
 import java.sql.*;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 /**
@@ -76,7 +80,7 @@ public class ProyectoDAOTest {
             verify(mockPreparedStatement).setTimestamp(eq(4), any(Timestamp.class));
             verify(mockPreparedStatement).setInt(5, 5);
             verify(mockPreparedStatement).setString(6, "MEDIO");
-            verify(mockPreparedStatement).setDouble(7, 50000.0);
+            verify(mockPreparedStatement).setBigDecimal(7, new BigDecimal("50000.00"));
         }
     }
 
@@ -249,7 +253,7 @@ public class ProyectoDAOTest {
         when(mockResultSet.getTimestamp("fecha_fin")).thenReturn(new Timestamp(System.currentTimeMillis()));
         when(mockResultSet.getInt("id_responsable")).thenReturn(3);
         when(mockResultSet.getString("nivel_riesgo")).thenReturn("MEDIO");
-        when(mockResultSet.getDouble("presupuesto_total")).thenReturn(50000.0);
+        when(mockResultSet.getBigDecimal("presupuesto_total")).thenReturn(new BigDecimal("50000.0"));
         
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -305,7 +309,7 @@ public class ProyectoDAOTest {
                 .thenReturn(new Timestamp(System.currentTimeMillis()));
         when(mockResultSet.getInt("id_responsable")).thenReturn(5);
         when(mockResultSet.getString("nivel_riesgo")).thenReturn("BAJO", "MEDIO");
-        when(mockResultSet.getDouble("presupuesto_total")).thenReturn(10000.0, 20000.0);
+        when(mockResultSet.getBigDecimal("presupuesto_total")).thenReturn(new BigDecimal("10000.0"), new BigDecimal("20000.0"));
         
         when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
@@ -360,7 +364,7 @@ public class ProyectoDAOTest {
                 .thenReturn(new Timestamp(System.currentTimeMillis()));
         when(mockResultSet.getInt("id_responsable")).thenReturn(1, 2);
         when(mockResultSet.getString("nivel_riesgo")).thenReturn("BAJO", "ALTO");
-        when(mockResultSet.getDouble("presupuesto_total")).thenReturn(5000.0, 15000.0);
+        when(mockResultSet.getBigDecimal("presupuesto_total")).thenReturn(new BigDecimal("5000.0"), new BigDecimal("15000.0"));
         
         when(mockStatement.executeQuery(anyString())).thenReturn(mockResultSet);
         when(mockConnection.createStatement()).thenReturn(mockStatement);
@@ -395,4 +399,118 @@ public class ProyectoDAOTest {
             assertTrue(resultado.isEmpty());
         }
     }
-}
\ No newline at end of file
+
+    // ========================================
+    // CACHÉ CON VERSIÓN
+    // ========================================
+
+    @Test
+    public void buscarPorId_versionSinCambios_usaCacheSinRecargarFila() throws SQLException {
+        // Arrange: primera lectura completa con versión 3
+        PreparedStatement stmtFila = mock(PreparedStatement.class);
+        ResultSet rsFila = mock(ResultSet.class);
+        when(rsFila.next()).thenReturn(true);
+        when(rsFila.getInt("id")).thenReturn(10);
+        when(rsFila.getString("nombre")).thenReturn("Proyecto Alpha");
+        when(rsFila.getInt("version")).thenReturn(3);
+        when(stmtFila.executeQuery()).thenReturn(rsFila);
+        
+        PreparedStatement stmtVersion = mock(PreparedStatement.class);
+        ResultSet rsVersion = mock(ResultSet.class);
+        when(rsVersion.next()).thenReturn(true, false);
+        when(rsVersion.getInt("id")).thenReturn(10);
+        when(rsVersion.getInt("version")).thenReturn(3);
+        when(stmtVersion.executeQuery()).thenReturn(rsVersion);
+        
+        when(mockConnection.prepareStatement(startsWith("SELECT * FROM proyectos WHERE id = ?"))).thenReturn(stmtFila);
+        when(mockConnection.prepareStatement(startsWith("SELECT id, version"))).thenReturn(stmtVersion);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            Proyecto primero = proyectoDAO.buscarPorId(10);
+            Proyecto segundo = proyectoDAO.buscarPorId(10);
+            
+            // Assert
+            assertNotNull(segundo);
+            assertEquals("Proyecto Alpha", segundo.getNombre());
+            assertEquals(3, segundo.getVersion());
+            assertNotSame(primero, segundo);
+            verify(stmtFila, times(1)).executeQuery();
+            verify(stmtVersion, times(1)).executeQuery();
+        }
+    }
+
+    @Test
+    public void buscarPorId_versionCambiada_recargaFila() throws SQLException {
+        // Arrange: la fila se lee con versión 1 y luego con versión 2
+        PreparedStatement stmtFila = mock(PreparedStatement.class);
+        ResultSet rsFila = mock(ResultSet.class);
+        when(rsFila.next()).thenReturn(true);
+        when(rsFila.getInt("id")).thenReturn(10);
+        when(rsFila.getString("nombre")).thenReturn("Antes", "Después");
+        when(rsFila.getInt("version")).thenReturn(1, 2);
+        when(stmtFila.executeQuery()).thenReturn(rsFila);
+        
+        PreparedStatement stmtVersion = mock(PreparedStatement.class);
+        ResultSet rsVersion = mock(ResultSet.class);
+        when(rsVersion.next()).thenReturn(true, false);
+        when(rsVersion.getInt("id")).thenReturn(10);
+        when(rsVersion.getInt("version")).thenReturn(2);
+        when(stmtVersion.executeQuery()).thenReturn(rsVersion);
+        
+        when(mockConnection.prepareStatement(startsWith("SELECT * FROM proyectos WHERE id = ?"))).thenReturn(stmtFila);
+        when(mockConnection.prepareStatement(startsWith("SELECT id, version"))).thenReturn(stmtVersion);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            proyectoDAO.buscarPorId(10);
+            Proyecto resultado = proyectoDAO.buscarPorId(10);
+            
+            // Assert
+            assertEquals("Después", resultado.getNombre());
+            assertEquals(2, resultado.getVersion());
+            verify(stmtFila, times(2)).executeQuery();
+        }
+    }
+
+    @Test
+    public void buscarPorIds_sinCache_cargaFilasEnUnLote() throws SQLException {
+        // Arrange
+        PreparedStatement stmtVersion = mock(PreparedStatement.class);
+        ResultSet rsVersion = mock(ResultSet.class);
+        when(rsVersion.next()).thenReturn(true, true, false);
+        when(rsVersion.getInt("id")).thenReturn(1, 2);
+        when(rsVersion.getInt("version")).thenReturn(1, 1);
+        when(stmtVersion.executeQuery()).thenReturn(rsVersion);
+        
+        PreparedStatement stmtFilas = mock(PreparedStatement.class);
+        ResultSet rsFilas = mock(ResultSet.class);
+        when(rsFilas.next()).thenReturn(true, true, false);
+        when(rsFilas.getInt("id")).thenReturn(1, 2);
+        when(rsFilas.getString("nombre")).thenReturn("Proyecto 1", "Proyecto 2");
+        when(rsFilas.getInt("version")).thenReturn(1, 1);
+        when(stmtFilas.executeQuery()).thenReturn(rsFilas);
+        
+        when(mockConnection.prepareStatement(startsWith("SELECT id, version"))).thenReturn(stmtVersion);
+        when(mockConnection.prepareStatement(startsWith("SELECT * FROM proyectos WHERE id IN"))).thenReturn(stmtFilas);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            Map<Integer, Proyecto> resultado = proyectoDAO.buscarPorIds(Arrays.asList(1, 2, 2, 3));
+            
+            // Assert: el proyecto 3 no existe y los duplicados se consultan una vez
+            assertEquals(2, resultado.size());
+            assertEquals("Proyecto 1", resultado.get(1).getNombre());
+            assertEquals("Proyecto 2", resultado.get(2).getNombre());
+            assertFalse(resultado.containsKey(3));
+            verify(stmtVersion).setInt(3, 3);
+            verify(stmtFilas, times(1)).executeQuery();
+        }
+    }
+}
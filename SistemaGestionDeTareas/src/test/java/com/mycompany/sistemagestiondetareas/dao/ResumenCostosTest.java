@@ -0,0 +1,89 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.modelo.Costo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del mantenimiento de costos_resumen sobre una base H2 en memoria.
+ */
+public class ResumenCostosTest extends H2TestBase {
+
+    private CostoDAO costoDAO;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        insertarUsuarioYProyectos(1);
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("INSERT INTO usuarios (id, nombre, apellido, email, password) VALUES (2, 'Luis', 'Pérez', 'luis@x.com', 'x')");
+        }
+        costoDAO = new CostoDAO();
+    }
+
+    private void registrar(double monto, String tipoCosto, int idUsuario) {
+        assertNotNull(costoDAO.insertar(new Costo("PROYECTO", 1, "Costo", monto, tipoCosto, new Date(), idUsuario)));
+    }
+
+    @Test
+    public void insertar_variosCostos_acumulaEnUnaFila() {
+        registrar(100.10, "RETRASO", 1);
+        registrar(50.25, "RETRASO", 2);
+        registrar(30.00, "ADELANTO", 1);
+
+        assertEquals(15035L, costoDAO.calcularTotalCentavosPorTipo("PROYECTO", 1, "RETRASO"));
+        assertEquals(3000L, costoDAO.calcularTotalCentavosPorTipo("PROYECTO", 1, "ADELANTO"));
+        assertTrue(costoDAO.verificarResumen().isEmpty());
+    }
+
+    @Test
+    public void eliminarUsuario_restaDelResumenLosCostosBorradosEnCascada() {
+        registrar(100.10, "RETRASO", 1);
+        registrar(50.25, "RETRASO", 2);
+        registrar(20.00, "ADELANTO", 2);
+
+        assertTrue(new UsuarioDAO().eliminar(2));
+
+        assertEquals(10010L, costoDAO.calcularTotalCentavosPorTipo("PROYECTO", 1, "RETRASO"));
+        assertEquals(0L, costoDAO.calcularTotalCentavosPorTipo("PROYECTO", 1, "ADELANTO"));
+        assertTrue(costoDAO.verificarResumen().isEmpty());
+        assertFalse(new UsuarioDAO().eliminar(2));
+    }
+
+    @Test
+    public void almacenColumnar_alRefrescarVeLosCostosBorradosEnCascada() {
+        registrar(100.10, "RETRASO", 1);
+        registrar(50.25, "RETRASO", 2);
+        AlmacenCostosColumnar almacen = new AlmacenCostosColumnar();
+        assertEquals(2, almacen.cargar().tamano());
+
+        assertTrue(new UsuarioDAO().eliminar(2));
+        registrar(1.00, "ADELANTO", 1);
+
+        AlmacenCostosColumnar.Instantanea instantanea = almacen.refrescar();
+        assertEquals(2, instantanea.tamano());
+        assertEquals(10010L, instantanea.total(AlmacenCostosColumnar.TIPO_PROYECTO, 1, AlmacenCostosColumnar.COSTO_RETRASO));
+        assertEquals(100L, instantanea.total(AlmacenCostosColumnar.TIPO_PROYECTO, 1, AlmacenCostosColumnar.COSTO_ADELANTO));
+    }
+
+    @Test
+    public void reconstruirResumenSiFalta_soloConResumenVacioYCostosRegistrados() throws SQLException {
+        assertEquals(0, costoDAO.reconstruirResumenSiFalta());
+
+        registrar(100.10, "RETRASO", 1);
+        assertEquals(0, costoDAO.reconstruirResumenSiFalta());
+
+        // Base anterior al resumen: costos sin filas en costos_resumen
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("DELETE FROM costos_resumen");
+        }
+        assertEquals(1, costoDAO.reconstruirResumenSiFalta());
+        assertEquals(10010L, costoDAO.calcularTotalCentavosPorTipo("PROYECTO", 1, "RETRASO"));
+        assertTrue(costoDAO.verificarResumen().isEmpty());
+    }
+}
@@ -0,0 +1,164 @@
+package com.mycompany.sistemagestiondetareas.dao;
+
+import com.mycompany.sistemagestiondetareas.controlador.ControladorRiesgo;
+import com.mycompany.sistemagestiondetareas.modelo.IndicadoresRiesgo;
+import com.mycompany.sistemagestiondetareas.util.GeneradorDatosSinteticos;
+import com.mycompany.sistemagestiondetareas.util.MotorRiesgo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para RiesgoProyectoDAO y la actualización en lote de los niveles
+ * de riesgo (ProyectoDAO, ControladorRiesgo) sobre una base H2 en memoria.
+ */
+public class RiesgoProyectoDAOTest extends H2TestBase {
+
+    private static final long DIA_MS = 24L * 60 * 60 * 1000;
+
+    private RiesgoProyectoDAO riesgoDAO;
+    private long ahora;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        ahora = System.currentTimeMillis();
+        riesgoDAO = new RiesgoProyectoDAO();
+    }
+
+    private Timestamp dias(double dias) {
+        return new Timestamp(ahora + (long) (dias * DIA_MS));
+    }
+
+    /**
+     * Proyecto 1: presupuesto 1000, tareas 1 (vencida), 2 (a tiempo) y 3
+     * (completada), retrasos de 50 sobre el proyecto y 25,50 sobre la tarea 1.
+     * Proyecto 2: sin tareas ni costos.
+     */
+    private void insertarDatos() throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("INSERT INTO usuarios (id, nombre, apellido, email, password) VALUES (1, 'Ana', 'García', 'ana@x.com', 'x')");
+        }
+        try (PreparedStatement stmt = conexion.prepareStatement("INSERT INTO proyectos (id, nombre, descripcion, "
+                + "fecha_inicio, fecha_fin, id_responsable, nivel_riesgo, presupuesto_total) VALUES (?, 'P', 'P', ?, ?, 1, 'VERDE', ?)")) {
+            stmt.setInt(1, 1);
+            stmt.setTimestamp(2, dias(-30));
+            stmt.setTimestamp(3, dias(30));
+            stmt.setBigDecimal(4, new BigDecimal("1000.00"));
+            stmt.executeUpdate();
+            stmt.setInt(1, 2);
+            stmt.setTimestamp(3, null);
+            stmt.setBigDecimal(4, BigDecimal.ZERO);
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conexion.prepareStatement("INSERT INTO tareas (id, nombre, fecha_vencimiento, "
+                + "id_proyecto, id_responsable, estado) VALUES (?, 'T', ?, 1, 1, ?)")) {
+            Object[][] tareas = {{1, dias(-2), "PENDIENTE"}, {2, dias(5), "EN PROCESO"}, {3, dias(-10), "COMPLETADA"}};
+            for (Object[] tarea : tareas) {
+                stmt.setInt(1, (Integer) tarea[0]);
+                stmt.setTimestamp(2, (Timestamp) tarea[1]);
+                stmt.setString(3, (String) tarea[2]);
+                stmt.executeUpdate();
+            }
+        }
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("INSERT INTO costos_resumen (tipo, id_referencia, tipo_costo, total, cantidad) VALUES "
+                    + "('PROYECTO', 1, 'RETRASO', 50.00, 1), ('TAREA', 1, 'RETRASO', 25.50, 2), "
+                    + "('TAREA', 2, 'ADELANTO', 10.00, 1), ('PROYECTO', 1, 'GASTO_PLANIFICADO', 500.00, 1)");
+        }
+        try (PreparedStatement stmt = conexion.prepareStatement("INSERT INTO historial_estado_tarea "
+                + "(id_tarea, id_proyecto, estado_anterior, estado_nuevo, fecha) VALUES (?, 1, ?, ?, ?)")) {
+            // La tarea 3 se completó, se reabrió y se volvió a completar dentro del periodo; la 2, antes del periodo
+            Object[][] cambios = {{3, "EN PROCESO", "COMPLETADA", dias(-6)}, {3, "COMPLETADA", "EN PROCESO", dias(-5)},
+                {3, "EN PROCESO", "COMPLETADA", dias(-3)}, {2, "EN PROCESO", "COMPLETADA", dias(-40)}};
+            for (Object[] cambio : cambios) {
+                stmt.setInt(1, (Integer) cambio[0]);
+                stmt.setString(2, (String) cambio[1]);
+                stmt.setString(3, (String) cambio[2]);
+                stmt.setTimestamp(4, (Timestamp) cambio[3]);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    private Date desdeCompletadas() {
+        return new Date(ahora - MotorRiesgo.VENTANA_VELOCIDAD_MS);
+    }
+
+    @Test
+    public void cargarIndicadores_agrupaTareasRetrasosYCompletadasPorProyecto() throws SQLException {
+        insertarDatos();
+
+        Map<Integer, IndicadoresRiesgo> indicadores = riesgoDAO.cargarIndicadores(new Date(ahora), desdeCompletadas());
+
+        assertEquals(2, indicadores.size());
+        IndicadoresRiesgo p1 = indicadores.get(1);
+        assertEquals("VERDE", p1.getNivelRiesgo());
+        assertEquals(1000_00, p1.getPresupuestoTotalCentavos());
+        assertEquals(dias(30).getTime(), p1.getFechaFin().getTime());
+        assertEquals(2, p1.getTareasAbiertas());
+        assertEquals(1, p1.getTareasVencidas());
+        assertEquals(75_50, p1.getRetrasoCentavos());
+        assertEquals(1, p1.getCompletadasRecientes());
+
+        IndicadoresRiesgo p2 = indicadores.get(2);
+        assertNull(p2.getFechaFin());
+        assertEquals(0, p2.getTareasAbiertas());
+        assertEquals(0, p2.getRetrasoCentavos());
+        assertEquals(0, p2.getCompletadasRecientes());
+    }
+
+    @Test
+    public void cargarIndicadores_unProyecto_coincideConLaCargaCompleta() throws SQLException {
+        insertarDatos();
+
+        IndicadoresRiesgo p1 = riesgoDAO.cargarIndicadores(1, new Date(ahora), desdeCompletadas());
+
+        assertEquals(riesgoDAO.cargarIndicadores(new Date(ahora), desdeCompletadas()).get(1).toString(), p1.toString());
+        assertNull(riesgoDAO.cargarIndicadores(99, new Date(ahora), desdeCompletadas()));
+    }
+
+    @Test
+    public void actualizarNivelesRiesgo_soloCambiaLosDistintosEIncrementaSuVersion() throws SQLException {
+        insertarDatos();
+        ProyectoDAO proyectoDAO = new ProyectoDAO();
+        assertEquals("VERDE", proyectoDAO.buscarPorId(1).getNivelRiesgo());
+
+        assertEquals(1, proyectoDAO.actualizarNivelesRiesgo(Map.of(1, "ROJO", 2, "VERDE")));
+
+        // La caché no devuelve el nivel anterior
+        assertEquals("ROJO", proyectoDAO.buscarPorId(1).getNivelRiesgo());
+        assertEquals(2, proyectoDAO.buscarPorId(1).getVersion());
+        assertEquals(1, proyectoDAO.buscarPorId(2).getVersion());
+        assertEquals(0, proyectoDAO.actualizarNivelesRiesgo(Map.of()));
+    }
+
+    @Test
+    public void recalcularTodos_diezMilProyectos_guardaElNivelCalculadoDeCadaUno() throws SQLException {
+        new GeneradorDatosSinteticos(new GeneradorDatosSinteticos.Cantidades(20, 10_000, 12_000, 4_000), 42, ahora)
+                .generar(conexion);
+        ProyectoDAO proyectoDAO = new ProyectoDAO();
+        ControladorRiesgo controlador = new ControladorRiesgo(riesgoDAO, proyectoDAO, new TareaDAO(),
+                new HistorialEstadoTareaDAO());
+
+        assertTrue(controlador.recalcularTodos() > 0);
+        assertEquals(0, controlador.recalcularTodos());
+
+        Map<Integer, IndicadoresRiesgo> indicadores = riesgoDAO.cargarIndicadores(new Date(), desdeCompletadas());
+        assertEquals(10_000, indicadores.size());
+        long ahoraCalculo = System.currentTimeMillis();
+        for (IndicadoresRiesgo proyecto : indicadores.values()) {
+            assertEquals(MotorRiesgo.calcularNivel(proyecto, ahoraCalculo), proyecto.getNivelRiesgo(),
+                    proyecto.toString());
+        }
+        for (int id : List.of(1, 5000, 10_000)) {
+            assertEquals(indicadores.get(id).getNivelRiesgo(), controlador.recalcularProyecto(id));
+        }
+    }
+}
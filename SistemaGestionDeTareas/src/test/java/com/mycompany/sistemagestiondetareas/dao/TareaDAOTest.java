@@ -7,11 +7,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 /**
@@ -34,6 +41,31 @@ public class TareaDAOTest {
         mockStatement = mock(Statement.class);
     }
 
+    /**
+     * Simula la lectura con bloqueo de la fila antes de actualizarla (ver
+     * TareaDAO.bloquearFila). Se llama después de los demás stubs de prepareStatement.
+     * @param estado Estado guardado de la tarea, o null si no existe.
+     */
+    private void simularFilaBloqueada(String estado) throws SQLException {
+        PreparedStatement mockBloqueo = mock(PreparedStatement.class);
+        ResultSet mockFila = mock(ResultSet.class);
+        when(mockFila.next()).thenReturn(estado != null);
+        when(mockFila.getString("estado")).thenReturn(estado);
+        when(mockFila.getInt("id_proyecto")).thenReturn(7);
+        when(mockBloqueo.executeQuery()).thenReturn(mockFila);
+        when(mockConnection.prepareStatement(contains("FOR UPDATE"))).thenReturn(mockBloqueo);
+    }
+
+    /**
+     * Simula el INSERT en historial_estado_tarea que TareaDAO hace en su transacción.
+     */
+    private PreparedStatement simularHistorial() throws SQLException {
+        PreparedStatement mockHistorial = mock(PreparedStatement.class);
+        when(mockHistorial.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO historial_estado_tarea"))).thenReturn(mockHistorial);
+        return mockHistorial;
+    }
+
     // ========================================
     // INSERTAR
     // ========================================
@@ -59,6 +91,7 @@ public class TareaDAOTest {
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
         when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
                 .thenReturn(mockPreparedStatement);
+        PreparedStatement mockHistorial = simularHistorial();
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
@@ -69,6 +102,12 @@ public class TareaDAOTest {
             // Assert
             assertNotNull(resultado);
             assertEquals(100, resultado.getId());
+            // Estado inicial en el historial, en la misma transacción
+            verify(mockHistorial).setInt(1, 100);
+            verify(mockHistorial).setInt(2, 5);
+            verify(mockHistorial).setString(3, null);
+            verify(mockHistorial).setString(4, "PENDIENTE");
+            verify(mockConnection).commit();
             
             verify(mockPreparedStatement).setString(1, "Tarea de prueba");
             verify(mockPreparedStatement).setString(2, "Descripción detallada");
@@ -124,6 +163,8 @@ public class TareaDAOTest {
         
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        simularFilaBloqueada("PENDIENTE");
+        PreparedStatement mockHistorial = simularHistorial();
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
@@ -135,6 +176,9 @@ public class TareaDAOTest {
             assertTrue(resultado);
             verify(mockPreparedStatement).setString(1, "Tarea actualizada");
             verify(mockPreparedStatement).setInt(8, 25);
+            verify(mockHistorial).setString(3, "PENDIENTE");
+            verify(mockHistorial).setString(4, "EN_PROGRESO");
+            verify(mockConnection).commit();
         }
     }
 
@@ -150,6 +194,7 @@ public class TareaDAOTest {
         
         when(mockPreparedStatement.executeUpdate()).thenReturn(0);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        simularFilaBloqueada(null);
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
@@ -163,14 +208,17 @@ public class TareaDAOTest {
     }
 
     // ========================================
-    // ACTUALIZAR ESTADO CON CONCATENACIÓN
+    // ACTUALIZAR ESTADO (COMENTARIOS EN comentarios_tarea)
     // ========================================
 
     @Test
     public void actualizarEstado_sinComentario_actualizaSoloEstado() throws SQLException {
         // Arrange
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        simularFilaBloqueada("PENDIENTE");
+        PreparedStatement mockHistorial = simularHistorial();
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
@@ -180,47 +228,141 @@ public class TareaDAOTest {
             
             // Assert
             assertTrue(resultado);
+            verify(mockConnection).prepareStatement("UPDATE tareas SET estado = ? WHERE id = ?");
             verify(mockPreparedStatement).setString(1, "COMPLETADA");
-            verify(mockPreparedStatement).setString(2, "");
-            verify(mockPreparedStatement).setInt(3, 10);
+            verify(mockPreparedStatement).setInt(2, 10);
+            verify(mockConnection, never()).prepareStatement(contains("comentarios_tarea"), anyInt());
+            verify(mockHistorial).setInt(2, 7);
+            verify(mockHistorial).setString(4, "COMPLETADA");
+            verify(mockHistorial).setNull(6, Types.INTEGER);
+            verify(mockConnection).commit();
+            verify(mockConnection).setAutoCommit(true);
         }
     }
 
     @Test
-    public void actualizarEstado_conComentario_concatenaConSaltoLinea() throws SQLException {
+    public void actualizarEstado_conComentario_insertaEnComentariosTarea() throws SQLException {
         // Arrange
+        PreparedStatement mockInsert = mock(PreparedStatement.class);
+        ResultSet mockGeneratedKeys = mock(ResultSet.class);
+        when(mockGeneratedKeys.next()).thenReturn(true);
+        when(mockGeneratedKeys.getInt(1)).thenReturn(1);
+        when(mockInsert.executeUpdate()).thenReturn(1);
+        when(mockInsert.getGeneratedKeys()).thenReturn(mockGeneratedKeys);
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO comentarios_tarea"), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenReturn(mockInsert);
+        simularFilaBloqueada("PENDIENTE");
+        PreparedStatement mockHistorial = simularHistorial();
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
             mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
             
-            boolean resultado = tareaDAO.actualizarEstado(10, "EN_PROGRESO", "Iniciando desarrollo");
+            boolean resultado = tareaDAO.actualizarEstado(10, "EN_PROGRESO", "Iniciando desarrollo", 3);
             
             // Assert
             assertTrue(resultado);
             verify(mockPreparedStatement).setString(1, "EN_PROGRESO");
-            verify(mockPreparedStatement).setString(2, "\nIniciando desarrollo");
-            verify(mockPreparedStatement).setInt(3, 10);
+            verify(mockPreparedStatement).setInt(2, 10);
+            verify(mockInsert).setInt(1, 10);
+            verify(mockInsert).setInt(2, 3);
+            verify(mockInsert).setTimestamp(eq(3), any(Timestamp.class));
+            verify(mockInsert).setString(4, "Iniciando desarrollo");
+            verify(mockHistorial).setInt(6, 3);
+            verify(mockConnection).setAutoCommit(false);
+            verify(mockConnection).commit();
+        }
+    }
+
+    @Test
+    public void actualizarEstado_comentarioSinUsuario_insertaAutorNulo() throws SQLException {
+        // Arrange
+        PreparedStatement mockInsert = mock(PreparedStatement.class);
+        when(mockInsert.executeUpdate()).thenReturn(1);
+        when(mockInsert.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(mockInsert);
+        simularFilaBloqueada("PENDIENTE");
+        simularHistorial();
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            boolean resultado = tareaDAO.actualizarEstado(10, "COMPLETADA", "Listo");
+            
+            // Assert
+            assertTrue(resultado);
+            verify(mockInsert).setNull(2, Types.INTEGER);
         }
     }
 
     @Test
-    public void actualizarEstado_comentarioVacio_noAgregaSaltoLinea() throws SQLException {
+    public void actualizarEstado_comentarioVacio_noInsertaComentario() throws SQLException {
         // Arrange
         when(mockPreparedStatement.executeUpdate()).thenReturn(1);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        simularFilaBloqueada("PENDIENTE");
+        simularHistorial();
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
             mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
             
-            boolean resultado = tareaDAO.actualizarEstado(10, "EN_PROGRESO", "");
+            boolean resultado = tareaDAO.actualizarEstado(10, "EN_PROGRESO", "  ");
             
             // Assert
             assertTrue(resultado);
-            verify(mockPreparedStatement).setString(2, "");
+            verify(mockConnection, never()).prepareStatement(anyString(), anyInt());
+        }
+    }
+
+    @Test
+    public void actualizarEstado_tareaNoExiste_noInsertaComentario() throws SQLException {
+        // Arrange
+        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        simularFilaBloqueada(null);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            boolean resultado = tareaDAO.actualizarEstado(999, "COMPLETADA", "Test");
+            
+            // Assert
+            assertFalse(resultado);
+            verify(mockConnection, never()).prepareStatement(anyString(), anyInt());
+            verify(mockConnection, never()).prepareStatement(startsWith("INSERT INTO historial_estado_tarea"));
+        }
+    }
+
+    @Test
+    public void actualizarEstado_falloAlInsertarComentario_revierteYRetornaFalse() throws SQLException {
+        // Arrange
+        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        when(mockConnection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS)))
+                .thenThrow(new SQLException("Insert failed"));
+        simularFilaBloqueada("PENDIENTE");
+        simularHistorial();
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+            
+            boolean resultado = tareaDAO.actualizarEstado(10, "COMPLETADA", "Test");
+            
+            // Assert
+            assertFalse(resultado);
+            verify(mockConnection).rollback();
+            verify(mockConnection, never()).commit();
+            verify(mockConnection).setAutoCommit(true);
         }
     }
 
@@ -459,6 +601,10 @@ public class TareaDAOTest {
             // Assert
             assertNotNull(resultado);
             assertEquals(2, resultado.size());
+            // Las listas no traen los comentarios
+            verify(mockStatement).executeQuery(argThat((String sql) -> !sql.contains("comentarios")));
+            verify(mockResultSet, never()).getString("comentarios");
+            assertNull(resultado.get(1).getComentarios());
         }
     }
 
@@ -480,4 +626,221 @@ public class TareaDAOTest {
             assertTrue(resultado.isEmpty());
         }
     }
-}
\ No newline at end of file
+
+    // ========================================
+    // CONTAR Y LISTAR PÁGINA
+    // ========================================
+
+    @Test
+    public void contar_conTareas_retornaCantidad() throws SQLException {
+        // Arrange
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getInt(1)).thenReturn(100000);
+        when(mockStatement.executeQuery("SELECT COUNT(*) FROM tareas")).thenReturn(mockResultSet);
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            // Assert
+            assertEquals(100000, tareaDAO.contar());
+        }
+    }
+
+    @Test
+    public void contar_errorSQL_retornaCero() throws SQLException {
+        // Arrange
+        when(mockConnection.createStatement()).thenThrow(new SQLException("Error de conexión"));
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            // Assert
+            assertEquals(0, tareaDAO.contar());
+        }
+    }
+
+    @Test
+    public void existeAlguna_leeUnaSolaFila() throws SQLException {
+        // Arrange
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockStatement.executeQuery("SELECT 1 FROM tareas LIMIT 1")).thenReturn(mockResultSet);
+        when(mockConnection.createStatement()).thenReturn(mockStatement);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            // Assert
+            assertTrue(tareaDAO.existeAlguna());
+            verify(mockResultSet, times(1)).next();
+        }
+    }
+
+    @Test
+    public void listarPagina_usaLimiteYDesplazamiento() throws SQLException {
+        // Arrange
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getInt("id")).thenReturn(201);
+        when(mockResultSet.getString("nombre")).thenReturn("Tarea 201");
+        when(mockResultSet.getString("estado")).thenReturn("PENDIENTE");
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockConnection.prepareStatement(contains("LIMIT ? OFFSET ?"))).thenReturn(mockPreparedStatement);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            var resultado = tareaDAO.listarPagina(200, 100);
+
+            // Assert
+            assertEquals(1, resultado.size());
+            assertEquals(201, resultado.get(0).getId());
+            verify(mockPreparedStatement).setInt(1, 100);
+            verify(mockPreparedStatement).setInt(2, 200);
+        }
+    }
+
+    @Test
+    public void listarPorIds_consultaPorLotes() throws SQLException {
+        // Arrange: 501 IDs se dividen en dos consultas IN (500 + 1)
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getInt("id")).thenReturn(7, 501);
+        when(mockResultSet.getString("estado")).thenReturn("PENDIENTE");
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockConnection.prepareStatement(contains("WHERE id IN ("))).thenReturn(mockPreparedStatement);
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 501; i++) {
+            ids.add(i);
+        }
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            var resultado = tareaDAO.listarPorIds(ids);
+
+            // Assert
+            assertEquals(2, resultado.size());
+            verify(mockConnection, times(2)).prepareStatement(contains("WHERE id IN ("));
+            verify(mockPreparedStatement).setInt(1, 501);
+        }
+    }
+
+    @Test
+    public void listarPorIds_sinIds_noConsulta() throws SQLException {
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            var resultado = tareaDAO.listarPorIds(Collections.emptyList());
+
+            // Assert
+            assertTrue(resultado.isEmpty());
+            mockedStatic.verifyNoInteractions();
+        }
+    }
+
+    // ========================================
+    // RESÚMENES (PROYECCIÓN SIN COLUMNAS TEXT)
+    // ========================================
+
+    @Test
+    public void listarResumenPagina_noLeeDescripcionNiComentarios() throws SQLException {
+        // Arrange
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getInt("id")).thenReturn(201);
+        when(mockResultSet.getString("nombre")).thenReturn("Tarea 201");
+        when(mockResultSet.getTimestamp("fecha_vencimiento")).thenReturn(new Timestamp(1000L));
+        when(mockResultSet.getInt("id_proyecto")).thenReturn(4);
+        when(mockResultSet.getInt("id_responsable")).thenReturn(9);
+        when(mockResultSet.getString("estado")).thenReturn("PENDIENTE");
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            var resultado = tareaDAO.listarResumenPagina(200, 100);
+
+            // Assert
+            assertEquals(1, resultado.size());
+            assertEquals(201, resultado.get(0).getId());
+            assertEquals("Tarea 201", resultado.get(0).getNombre());
+            assertNull(resultado.get(0).getFechaCreacion());
+            assertEquals(1000L, resultado.get(0).getFechaVencimiento().getTime());
+            assertEquals(4, resultado.get(0).getIdProyecto());
+            assertEquals(9, resultado.get(0).getIdResponsable());
+            assertEquals("PENDIENTE", resultado.get(0).getEstado());
+            verify(mockConnection).prepareStatement(argThat((String sql) -> sql.contains("LIMIT ? OFFSET ?")
+                    && !sql.contains("*") && !sql.contains("descripcion") && !sql.contains("comentarios")));
+            verify(mockPreparedStatement).setInt(1, 100);
+            verify(mockPreparedStatement).setInt(2, 200);
+            verify(mockResultSet, never()).getString("descripcion");
+        }
+    }
+
+    @Test
+    public void listarResumenPorIds_consultaPorLotes() throws SQLException {
+        // Arrange: 501 IDs se dividen en dos consultas IN (500 + 1)
+        when(mockResultSet.next()).thenReturn(true).thenReturn(false).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getInt("id")).thenReturn(7, 501);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockConnection.prepareStatement(contains("WHERE id IN ("))).thenReturn(mockPreparedStatement);
+
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 501; i++) {
+            ids.add(i);
+        }
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            var resultado = tareaDAO.listarResumenPorIds(ids);
+
+            // Assert
+            assertEquals(2, resultado.size());
+            verify(mockConnection, times(2)).prepareStatement(argThat((String sql) ->
+                    sql.contains("WHERE id IN (") && !sql.contains("descripcion")));
+        }
+    }
+
+    @Test
+    public void listarResumenPorResponsable_filtraPorResponsable() throws SQLException {
+        // Arrange
+        when(mockResultSet.next()).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(mockResultSet.getInt("id")).thenReturn(10, 11);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockConnection.prepareStatement(contains("WHERE id_responsable = ?"))).thenReturn(mockPreparedStatement);
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            var resultado = tareaDAO.listarResumenPorResponsable(7);
+
+            // Assert
+            assertEquals(2, resultado.size());
+            verify(mockPreparedStatement).setInt(1, 7);
+        }
+    }
+
+    @Test
+    public void listarResumenPorResponsable_errorSQL_retornaListaVacia() throws SQLException {
+        // Arrange
+        when(mockConnection.prepareStatement(anyString())).thenThrow(new SQLException("Query failed"));
+
+        // Act
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(mockConnection);
+
+            // Assert
+            assertTrue(tareaDAO.listarResumenPorResponsable(7).isEmpty());
+        }
+    }
+}
@@ -228,10 +228,17 @@ public class UsuarioDAOTest {
     // ========================================
 
     @Test
-    public void eliminar_usuarioExiste_retornaTrue() throws SQLException {
+    public void eliminar_usuarioExiste_restaSusCostosDelResumenYHaceCommit() throws SQLException {
         // Arrange
-        when(mockPreparedStatement.executeUpdate()).thenReturn(1);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
+        PreparedStatement mockResumen = mock(PreparedStatement.class);
+        when(mockConnection.prepareStatement(startsWith("INSERT INTO costos_resumen"))).thenReturn(mockResumen);
+        PreparedStatement mockBorrar = mock(PreparedStatement.class);
+        when(mockBorrar.executeUpdate()).thenReturn(1);
+        when(mockConnection.prepareStatement(startsWith("DELETE FROM usuarios"))).thenReturn(mockBorrar);
+        when(mockConnection.getAutoCommit()).thenReturn(true);
 
         // Act
         try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
@@ -241,15 +248,21 @@ public class UsuarioDAOTest {
             
             // Assert
             assertTrue(resultado, "La eliminación debe ser exitosa");
-            verify(mockPreparedStatement).setInt(1, 10);
-            verify(mockPreparedStatement).executeUpdate();
+            verify(mockConnection).prepareStatement(contains("FOR UPDATE"));
+            verify(mockResumen).setInt(1, 10);
+            verify(mockResumen).executeUpdate();
+            verify(mockBorrar).setInt(1, 10);
+            verify(mockBorrar).executeUpdate();
+            verify(mockConnection).commit();
+            verify(mockConnection).setAutoCommit(true);
         }
     }
 
     @Test
     public void eliminar_usuarioNoExiste_retornaFalse() throws SQLException {
         // Arrange
-        when(mockPreparedStatement.executeUpdate()).thenReturn(0);
+        when(mockResultSet.next()).thenReturn(false);
+        when(mockPreparedStatement.executeQuery()).thenReturn(mockResultSet);
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockPreparedStatement);
 
         // Act
@@ -260,11 +273,13 @@ public class UsuarioDAOTest {
             
             // Assert
             assertFalse(resultado, "Debe retornar false si no se eliminó ningún registro");
+            verify(mockConnection, never()).prepareStatement(startsWith("DELETE FROM usuarios"));
+            verify(mockConnection, never()).commit();
         }
     }
 
     @Test
-    public void eliminar_errorSQL_retornaFalse() throws SQLException {
+    public void eliminar_errorSQL_haceRollbackYRetornaFalse() throws SQLException {
         // Arrange
         when(mockConnection.prepareStatement(anyString()))
                 .thenThrow(new SQLException("Error de eliminación"));
@@ -277,6 +292,7 @@ public class UsuarioDAOTest {
             
             // Assert
             assertFalse(resultado, "Debe retornar false cuando hay error SQL");
+            verify(mockConnection).rollback();
         }
     }
 
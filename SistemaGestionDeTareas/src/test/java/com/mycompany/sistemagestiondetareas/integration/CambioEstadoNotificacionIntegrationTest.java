@@ -1,7 +1,9 @@
 package com.mycompany.sistemagestiondetareas.integration;
 
+import com.mycompany.sistemagestiondetareas.dao.ComentarioTareaDAO;
 import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
 import com.mycompany.sistemagestiondetareas.dao.UsuarioDAO;
+import com.mycompany.sistemagestiondetareas.modelo.ComentarioTarea;
 import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
 import com.mycompany.sistemagestiondetareas.modelo.Tarea;
 import com.mycompany.sistemagestiondetareas.modelo.Usuario;
@@ -12,6 +14,7 @@ import org.mockito.MockedConstruction;
 
 import java.sql.ResultSet;
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -112,16 +115,15 @@ public class CambioEstadoNotificacionIntegrationTest extends IntegrationTestBase
         assertNotNull(tareaActualizada, "Tarea debe existir");
         assertEquals(estadoNuevo, tareaActualizada.getEstado(), "Estado debe estar actualizado");
         
-        // Verificar concatenación de comentarios
-        String comentariosFinales = tareaActualizada.getComentarios();
-        assertNotNull(comentariosFinales, "Comentarios no deben ser null");
-        assertTrue(comentariosFinales.contains("Iniciando tarea"),
-                "Debe mantener comentario original");
-        assertTrue(comentariosFinales.contains("Comenzando desarrollo"),
-                "Debe incluir comentario nuevo");
+        // Las notas de la tarea no cambian; el comentario va a comentarios_tarea
+        assertEquals("Iniciando tarea", tareaActualizada.getComentarios(),
+                "Debe mantener las notas originales");
+        List<ComentarioTarea> comentarios = new ComentarioTareaDAO().listarPorTarea(idTarea, 0, 10);
+        assertEquals(1, comentarios.size(), "Debe registrar el comentario nuevo");
+        assertEquals("Comenzando desarrollo", comentarios.get(0).getTexto());
         
-        System.out.println("✅ Comentarios concatenados correctamente:");
-        System.out.println("   " + comentariosFinales);
+        System.out.println("✅ Comentario registrado correctamente:");
+        System.out.println("   " + comentarios.get(0).getTexto());
         System.out.println("\n========================================");
         System.out.println("✅ FLUJO VERIFICADO CON ÉXITO");
         System.out.println("========================================\n");
@@ -132,7 +134,7 @@ public class CambioEstadoNotificacionIntegrationTest extends IntegrationTestBase
     // ========================================
 
     @Test
-    public void flujo_multiplescambiosDeEstado_concatenaComentarios() throws Exception {
+    public void flujo_multiplescambiosDeEstado_registraComentarios() throws Exception {
         System.out.println("\n========================================");
         System.out.println("FLUJO: Múltiples Cambios de Estado");
         System.out.println("========================================\n");
@@ -180,16 +182,19 @@ public class CambioEstadoNotificacionIntegrationTest extends IntegrationTestBase
         boolean cambio2 = tareaDAO.actualizarEstado(idTarea, "COMPLETADA", "Trabajo finalizado");
         assertTrue(cambio2);
         
-        // Verificar comentarios concatenados
+        // Verificar comentarios, del más reciente al más antiguo
         Tarea tareaFinal = tareaDAO.buscarPorId(idTarea);
-        String comentarios = tareaFinal.getComentarios();
+        assertEquals("Comentario inicial", tareaFinal.getComentarios());
         
-        assertTrue(comentarios.contains("Comentario inicial"));
-        assertTrue(comentarios.contains("Iniciando trabajo"));
-        assertTrue(comentarios.contains("Trabajo finalizado"));
+        ComentarioTareaDAO comentarioDAO = new ComentarioTareaDAO();
+        List<ComentarioTarea> comentarios = comentarioDAO.listarPorTarea(idTarea, 0, 10);
+        assertEquals(2, comentarios.size());
+        assertEquals("Trabajo finalizado", comentarios.get(0).getTexto());
+        assertEquals("Iniciando trabajo", comentarios.get(1).getTexto());
+        assertEquals(2, comentarioDAO.contarPorTarea(idTarea));
         
-        System.out.println("\n✅ Comentarios concatenados correctamente:");
-        System.out.println("   " + comentarios.replace("\n", "\n   "));
+        System.out.println("\n✅ Comentarios registrados correctamente:");
+        comentarios.forEach(c -> System.out.println("   " + c.getTexto()));
         System.out.println("\n========================================");
         System.out.println("✅ TEST COMPLETADO");
         System.out.println("========================================\n");
@@ -249,8 +254,7 @@ public class CambioEstadoNotificacionIntegrationTest extends IntegrationTestBase
                 String comentariosBD = rs.getString("comentarios");
                 
                 assertEquals("COMPLETADA", estadoBD, "Estado debe ser COMPLETADA en BD");
-                assertTrue(comentariosBD.contains("Inicial"), "Debe contener comentario inicial");
-                assertTrue(comentariosBD.contains("Finalizado"), "Debe contener comentario nuevo");
+                assertEquals("Inicial", comentariosBD, "Las notas no deben crecer con el cambio de estado");
                 
                 System.out.println("✅ Verificación directa en BD:");
                 System.out.println("   Estado en BD: " + estadoBD);
@@ -258,6 +262,15 @@ public class CambioEstadoNotificacionIntegrationTest extends IntegrationTestBase
             }
         }
         
+        try (var stmt = connection.prepareStatement("SELECT texto FROM comentarios_tarea WHERE id_tarea = ?")) {
+            stmt.setInt(1, idTarea);
+            try (ResultSet rs = stmt.executeQuery()) {
+                assertTrue(rs.next(), "Debe existir el comentario nuevo");
+                assertEquals("Finalizado", rs.getString("texto"));
+                assertFalse(rs.next());
+            }
+        }
+        
         System.out.println("\n========================================");
         System.out.println("✅ PERSISTENCIA VERIFICADA");
         System.out.println("========================================\n");
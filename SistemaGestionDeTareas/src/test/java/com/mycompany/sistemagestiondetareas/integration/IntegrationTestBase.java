@@ -77,7 +77,11 @@ public abstract class IntegrationTestBase {
             
             // Limpiar tablas en orden inverso a las dependencias
             stmt.execute("DELETE FROM costos");
+            stmt.execute("DELETE FROM costos_resumen");
             stmt.execute("DELETE FROM notificaciones");
+            stmt.execute("DELETE FROM comentarios_tarea");
+            stmt.execute("DELETE FROM historial_estado_tarea");
+            stmt.execute("DELETE FROM dependencias_tarea");
             stmt.execute("DELETE FROM tareas");
             stmt.execute("DELETE FROM proyectos");
             stmt.execute("DELETE FROM usuarios");
@@ -0,0 +1,77 @@
+package com.mycompany.sistemagestiondetareas.modelo;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para Dinero (montos en centavos).
+ */
+public class DineroTest {
+
+    @Test
+    public void desdeDecimal_valoresDecimal10_2_convierteExacto() {
+        assertEquals(150050L, Dinero.desdeDecimal(1500.50));
+        assertEquals(10L, Dinero.desdeDecimal(0.1));
+        assertEquals(99999999999L, Dinero.desdeDecimal(999999999.99));
+        assertEquals(-1234L, Dinero.desdeDecimal(-12.34));
+    }
+
+    @Test
+    public void sumar_muchosCentavos_noAcumulaErrorDeRedondeo() {
+        long[] montos = new long[1000];
+        double sumaDouble = 0.0;
+        for (int i = 0; i < montos.length; i++) {
+            montos[i] = 10L; // 0.10
+            sumaDouble += 0.10;
+        }
+
+        assertEquals(10000L, Dinero.sumar(montos));
+        assertNotEquals(100.0, sumaDouble); // la suma en double pierde exactitud
+        assertEquals(30L, Dinero.sumar(montos, 10, 13));
+    }
+
+    @Test
+    public void formatear_equivaleAFormatoConDosDecimales() {
+        assertEquals("1500.50", Dinero.formatear(150050L));
+        assertEquals("0.05", Dinero.formatear(5L));
+        assertEquals("0.00", Dinero.formatear(0L));
+        assertEquals("-12.30", Dinero.formatear(-1230L));
+        assertEquals("$1500.50", Dinero.formatearMoneda(150050L));
+        assertEquals("$-0.99", Dinero.formatearMoneda(-99L));
+    }
+
+    @Test
+    public void agregar_reutilizaElMismoStringBuilder() {
+        StringBuilder sb = new StringBuilder("Total: $");
+
+        StringBuilder resultado = Dinero.agregar(sb, 123456L);
+
+        assertSame(sb, resultado);
+        assertEquals("Total: $1234.56", sb.toString());
+    }
+
+    @Test
+    public void parsear_aceptaComaPuntoYSimbolo() {
+        assertEquals(150050L, Dinero.parsear("1500.50"));
+        assertEquals(150050L, Dinero.parsear("1500,5"));
+        assertEquals(150000L, Dinero.parsear(" $1500 "));
+        assertEquals(1L, Dinero.parsear("0.005"));
+    }
+
+    @Test
+    public void parsear_textoInvalido_lanzaNumberFormatException() {
+        assertThrows(NumberFormatException.class, () -> Dinero.parsear(""));
+        assertThrows(NumberFormatException.class, () -> Dinero.parsear(null));
+        assertThrows(NumberFormatException.class, () -> Dinero.parsear("abc"));
+    }
+
+    @Test
+    public void bigDecimal_idaYVuelta_conservaElValor() {
+        assertEquals(new BigDecimal("1234.56"), Dinero.aBigDecimal(123456L));
+        assertEquals(123456L, Dinero.desdeBigDecimal(new BigDecimal("1234.56")));
+        assertEquals(0L, Dinero.desdeBigDecimal(null));
+    }
+}
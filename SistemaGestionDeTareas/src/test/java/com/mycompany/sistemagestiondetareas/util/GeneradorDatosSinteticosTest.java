@@ -0,0 +1,136 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para GeneradorDatosSinteticos sobre el esquema de database.sql en H2.
+ */
+public class GeneradorDatosSinteticosTest {
+
+    private static final String URL_H2 = "jdbc:h2:mem:generador%d;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final long AHORA = 1_700_000_000_000L;
+
+    private final List<Connection> conexiones = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        conexiones.clear();
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        for (Connection conexion : conexiones) {
+            try (Statement stmt = conexion.createStatement()) {
+                stmt.execute("DROP ALL OBJECTS");
+            }
+            conexion.close();
+        }
+    }
+
+    private Connection baseNueva() throws SQLException {
+        Connection conexion = DriverManager.getConnection(String.format(URL_H2, conexiones.size()));
+        conexiones.add(conexion);
+        GeneradorDatosSinteticos.crearEsquema(conexion);
+        return conexion;
+    }
+
+    private static long consultarLong(Connection conexion, String sql) throws SQLException {
+        try (Statement stmt = conexion.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            assertTrue(rs.next());
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    public void generar_insertaLasCantidadesPedidasConVariasSentencias() throws SQLException {
+        Connection conexion = baseNueva();
+        // Más filas que FILAS_POR_SENTENCIA para pasar por sentencias completas y parciales
+        GeneradorDatosSinteticos.Cantidades cantidades = new GeneradorDatosSinteticos.Cantidades(12, 7, 1234, 2345);
+
+        new GeneradorDatosSinteticos(cantidades, 1, AHORA).generar(conexion);
+
+        assertEquals(12, consultarLong(conexion, "SELECT COUNT(*) FROM usuarios"));
+        assertEquals(7, consultarLong(conexion, "SELECT COUNT(*) FROM proyectos"));
+        assertEquals(1234, consultarLong(conexion, "SELECT COUNT(*) FROM tareas"));
+        assertEquals(2345, consultarLong(conexion, "SELECT COUNT(*) FROM costos"));
+        assertTrue(conexion.getAutoCommit());
+    }
+
+    @Test
+    public void generar_elResumenDeCostosCuadraConLosCostos() throws SQLException {
+        Connection conexion = baseNueva();
+
+        new GeneradorDatosSinteticos(GeneradorDatosSinteticos.Cantidades.porTareas(2000), 5, AHORA).generar(conexion);
+
+        assertEquals(consultarLong(conexion, "SELECT SUM(monto) * 100 FROM costos"),
+                consultarLong(conexion, "SELECT SUM(total) * 100 FROM costos_resumen"));
+        assertEquals(4000, consultarLong(conexion, "SELECT SUM(cantidad) FROM costos_resumen"));
+    }
+
+    @Test
+    public void generar_mismaSemilla_produceLosMismosDatos() throws SQLException {
+        String huella = "SELECT SUM(monto * id_referencia), SUM(LENGTH(tipo_costo) * id) FROM costos";
+        String huellaTareas = "SELECT SUM(id_proyecto * id + LENGTH(estado)) FROM tareas";
+        GeneradorDatosSinteticos.Cantidades cantidades = GeneradorDatosSinteticos.Cantidades.porTareas(1500);
+
+        Connection primera = baseNueva();
+        new GeneradorDatosSinteticos(cantidades, 9, AHORA).generar(primera);
+        Connection segunda = baseNueva();
+        new GeneradorDatosSinteticos(cantidades, 9, AHORA).generar(segunda);
+        Connection otraSemilla = baseNueva();
+        new GeneradorDatosSinteticos(cantidades, 10, AHORA).generar(otraSemilla);
+
+        assertEquals(consultarLong(primera, huella), consultarLong(segunda, huella));
+        assertEquals(consultarLong(primera, huellaTareas), consultarLong(segunda, huellaTareas));
+        assertNotEquals(consultarLong(primera, huella), consultarLong(otraSemilla, huella));
+    }
+
+    @Test
+    public void generar_costosDeProyectoConcentradosEnPocosProyectos() throws SQLException {
+        Connection conexion = baseNueva();
+        GeneradorDatosSinteticos.Cantidades cantidades = new GeneradorDatosSinteticos.Cantidades(10, 100, 1000, 5000);
+
+        new GeneradorDatosSinteticos(cantidades, 3, AHORA).generar(conexion);
+
+        long deProyectos = consultarLong(conexion, "SELECT COUNT(*) FROM costos WHERE tipo = 'PROYECTO'");
+        long diezPrimeros = consultarLong(conexion,
+                "SELECT COUNT(*) FROM costos WHERE tipo = 'PROYECTO' AND id_referencia <= 10");
+        // El 10% de los proyectos acumula bastante más del 10% de los costos
+        assertTrue(diezPrimeros * 100 / deProyectos > 30, diezPrimeros + " de " + deProyectos);
+        // Las completadas vencieron casi todas antes de la fecha de referencia
+        long completadas = consultarLong(conexion, "SELECT COUNT(*) FROM tareas WHERE estado = 'COMPLETADA'");
+        long completadasFuturas = consultarLong(conexion, "SELECT COUNT(*) FROM tareas WHERE estado = 'COMPLETADA' "
+                + "AND fecha_vencimiento > TIMESTAMP '2023-11-14 22:13:20'");
+        assertTrue(completadas > 0);
+        assertTrue(completadasFuturas * 100 / completadas < 15);
+    }
+
+    @Test
+    public void generar_historialDeEstadosCoincideConLasTareas() throws SQLException {
+        Connection conexion = baseNueva();
+
+        new GeneradorDatosSinteticos(GeneradorDatosSinteticos.Cantidades.porTareas(1500), 4, AHORA).generar(conexion);
+
+        // Una fila al crear, otra al empezar y otra al completar
+        assertEquals(consultarLong(conexion, "SELECT COUNT(*) + SUM(CASE WHEN estado <> 'PENDIENTE' THEN 1 ELSE 0 END) "
+                        + "+ SUM(CASE WHEN estado = 'COMPLETADA' THEN 1 ELSE 0 END) FROM tareas"),
+                consultarLong(conexion, "SELECT COUNT(*) FROM historial_estado_tarea"));
+        // El último cambio de cada tarea lleva a su estado actual, en su proyecto
+        assertEquals(0, consultarLong(conexion, "SELECT COUNT(*) FROM tareas t JOIN historial_estado_tarea h "
+                + "ON h.id_tarea = t.id AND h.fecha = (SELECT MAX(fecha) FROM historial_estado_tarea WHERE id_tarea = t.id) "
+                + "WHERE h.estado_nuevo <> t.estado OR h.id_proyecto <> t.id_proyecto"));
+        // La tarea se creó cuando empieza su historial, y todo antes de la fecha de referencia
+        assertEquals(0, consultarLong(conexion, "SELECT COUNT(*) FROM tareas t JOIN historial_estado_tarea h "
+                + "ON h.id_tarea = t.id AND h.estado_anterior IS NULL WHERE h.fecha <> t.fecha_creacion"));
+        assertEquals(0, consultarLong(conexion, "SELECT COUNT(*) FROM historial_estado_tarea "
+                + "WHERE fecha > TIMESTAMP '2023-11-14 22:13:20'"));
+    }
+}
@@ -0,0 +1,219 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.modelo.DependenciaTarea;
+import com.mycompany.sistemagestiondetareas.modelo.ResumenTarea;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para GrafoDependencias: orden topológico, fechas tempranas, ruta
+ * crítica y recálculo incremental.
+ */
+public class GrafoDependenciasTest {
+
+    private static final long DIA_MS = 24L * 60 * 60 * 1000;
+
+    private static Date dia(long dias) {
+        return new Date(dias * DIA_MS);
+    }
+
+    private static ResumenTarea tarea(int id, long creacion, long vencimiento, String estado) {
+        return new ResumenTarea(id, "T" + id, dia(creacion), dia(vencimiento), 1, 1, estado);
+    }
+
+    private static void assertAntes(List<Integer> orden, int previa, int tarea) {
+        assertTrue(orden.indexOf(previa) < orden.indexOf(tarea), previa + " antes de " + tarea + " en " + orden);
+    }
+
+    /** 1 (días 0-10) → 2 (0-5) → 3 (0-3); 4 (0-20) independiente. */
+    private static GrafoDependencias cadena() {
+        return GrafoDependencias.desde(
+                List.of(tarea(3, 0, 3, "PENDIENTE"), tarea(2, 0, 5, "PENDIENTE"),
+                        tarea(1, 0, 10, "EN PROCESO"), tarea(4, 0, 20, "PENDIENTE")),
+                List.of(new DependenciaTarea(2, 1), new DependenciaTarea(3, 2)));
+    }
+
+    @Test
+    public void desde_calculaFechasTempranasYHolgura() {
+        GrafoDependencias grafo = cadena();
+
+        List<Integer> orden = grafo.ordenTopologico();
+        assertAntes(orden, 1, 2);
+        assertAntes(orden, 2, 3);
+
+        // 2 empieza cuando termina 1 (día 10) y dura 5 días: termina 10 días tarde
+        GrafoDependencias.Planificacion p2 = grafo.obtenerPlanificacion(2);
+        assertEquals(dia(10), p2.getInicioTemprano());
+        assertEquals(dia(15), p2.getFinTemprano());
+        assertEquals(-10 * DIA_MS, p2.getHolguraMs());
+        assertEquals(dia(18), grafo.obtenerPlanificacion(3).getFinTemprano());
+        assertEquals(0, grafo.obtenerPlanificacion(1).getHolguraMs());
+        assertEquals(4, grafo.obtenerPlanificaciones().size());
+        assertNull(grafo.obtenerPlanificacion(99));
+    }
+
+    @Test
+    public void rutaCritica_esLaCadenaQueFijaElMayorFin() {
+        GrafoDependencias grafo = cadena();
+        // 4 termina el día 20, después que la cadena (día 18)
+        assertEquals(List.of(4), grafo.rutaCritica());
+
+        grafo.guardarTarea(1, dia(0), dia(13), "EN PROCESO");
+        assertEquals(List.of(1, 2, 3), grafo.rutaCritica());
+    }
+
+    @Test
+    public void tareaCompletada_noRetrasaALasSiguientes() {
+        GrafoDependencias grafo = cadena();
+
+        assertEquals(3, grafo.actualizarEstado(1, "COMPLETADA"));
+        assertEquals(0, grafo.obtenerPlanificacion(2).getHolguraMs());
+        assertEquals(dia(8), grafo.obtenerPlanificacion(3).getFinTemprano());
+
+        grafo.actualizarEstado(1, "EN PROCESO");
+        assertEquals(-10 * DIA_MS, grafo.obtenerPlanificacion(2).getHolguraMs());
+    }
+
+    @Test
+    public void guardarTarea_soloRecalculaLasSiguientesMientrasCambienLasFechas() {
+        GrafoDependencias grafo = cadena();
+
+        // Una tarea sin siguientes: solo ella
+        assertEquals(1, grafo.guardarTarea(4, dia(0), dia(25), "PENDIENTE"));
+        // El vencimiento de 3 no mueve a nadie más
+        assertEquals(1, grafo.guardarTarea(3, dia(0), dia(4), "PENDIENTE"));
+        // Mover el fin de 1 propaga a 2 y 3
+        assertEquals(3, grafo.guardarTarea(1, dia(0), dia(12), "EN PROCESO"));
+        // Un cambio de 2 que no altera su fin temprano no llega a 3
+        assertEquals(1, grafo.guardarTarea(2, dia(1), dia(6), "PENDIENTE"));
+        assertEquals(dia(21), grafo.obtenerPlanificacion(3).getFinTemprano());
+        // Tarea nueva
+        assertEquals(1, grafo.guardarTarea(5, dia(0), dia(1), "PENDIENTE"));
+        assertEquals(5, grafo.contarTareas());
+    }
+
+    @Test
+    public void agregarDependencia_reordenaYRechazaCiclos() {
+        GrafoDependencias grafo = cadena();
+
+        // 4 va después de 1 en el orden inicial: hay que reordenar
+        assertTrue(grafo.agregarDependencia(1, 4));
+        List<Integer> orden = grafo.ordenTopologico();
+        assertAntes(orden, 4, 1);
+        assertAntes(orden, 1, 2);
+        assertAntes(orden, 2, 3);
+        // 1 empieza cuando termina 4 (día 20)
+        assertEquals(dia(30), grafo.obtenerPlanificacion(1).getFinTemprano());
+        assertEquals(List.of(4, 1, 2, 3), grafo.rutaCritica());
+
+        assertFalse(grafo.agregarDependencia(4, 3), "3 depende de 4");
+        assertFalse(grafo.agregarDependencia(1, 4), "ya existe");
+        assertFalse(grafo.agregarDependencia(1, 1));
+        assertFalse(grafo.agregarDependencia(1, 99));
+        assertEquals(orden, grafo.ordenTopologico());
+
+        assertTrue(grafo.eliminarDependencia(1, 4));
+        assertFalse(grafo.eliminarDependencia(1, 4));
+        assertEquals(dia(10), grafo.obtenerPlanificacion(1).getFinTemprano());
+    }
+
+    @Test
+    public void desde_conCiclo_lanzaExcepcion() {
+        assertThrows(IllegalArgumentException.class, () -> GrafoDependencias.desde(
+                List.of(tarea(1, 0, 1, "PENDIENTE"), tarea(2, 0, 1, "PENDIENTE")),
+                List.of(new DependenciaTarea(1, 2), new DependenciaTarea(2, 1))));
+    }
+
+    @Test
+    public void eliminarTarea_liberaALasSiguientes() {
+        GrafoDependencias grafo = cadena();
+
+        assertTrue(grafo.eliminarTarea(1));
+        assertFalse(grafo.eliminarTarea(1));
+        assertFalse(grafo.contiene(1));
+        assertEquals(dia(5), grafo.obtenerPlanificacion(2).getFinTemprano());
+        assertEquals(dia(8), grafo.obtenerPlanificacion(3).getFinTemprano());
+    }
+
+    @Test
+    public void cambiosAleatorios_coincidenConConstruirDeNuevo() {
+        Random random = new Random(11);
+        int cantidad = 300;
+        Map<Integer, ResumenTarea> tareas = new HashMap<>();
+        for (int id = 1; id <= cantidad; id++) {
+            tareas.put(id, tareaAleatoria(random, id));
+        }
+        GrafoDependencias grafo = GrafoDependencias.desde(tareas.values(), List.of());
+        List<DependenciaTarea> dependencias = new ArrayList<>();
+
+        for (int paso = 0; paso < 3000; paso++) {
+            int id = 1 + random.nextInt(cantidad);
+            int otra = 1 + random.nextInt(cantidad);
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    if (grafo.agregarDependencia(id, otra)) {
+                        dependencias.add(new DependenciaTarea(id, otra));
+                    }
+                    break;
+                case 2:
+                    ResumenTarea nueva = tareaAleatoria(random, id);
+                    tareas.put(id, nueva);
+                    grafo.guardarTarea(id, nueva.getFechaCreacion(), nueva.getFechaVencimiento(), nueva.getEstado());
+                    break;
+                default:
+                    if (!dependencias.isEmpty()) {
+                        DependenciaTarea quitada = dependencias.remove(random.nextInt(dependencias.size()));
+                        assertTrue(grafo.eliminarDependencia(quitada.getIdTarea(), quitada.getIdTareaPrevia()));
+                    }
+            }
+        }
+
+        GrafoDependencias nuevo = GrafoDependencias.desde(tareas.values(), dependencias);
+        Map<Integer, GrafoDependencias.Planificacion> esperadas = nuevo.obtenerPlanificaciones();
+        for (Map.Entry<Integer, GrafoDependencias.Planificacion> entrada : grafo.obtenerPlanificaciones().entrySet()) {
+            GrafoDependencias.Planificacion esperada = esperadas.get(entrada.getKey());
+            assertEquals(esperada.getFinTemprano(), entrada.getValue().getFinTemprano(), "tarea " + entrada.getKey());
+            assertEquals(esperada.getHolguraMs(), entrada.getValue().getHolguraMs());
+        }
+        List<Integer> orden = grafo.ordenTopologico();
+        for (DependenciaTarea dependencia : dependencias) {
+            assertAntes(orden, dependencia.getIdTareaPrevia(), dependencia.getIdTarea());
+        }
+    }
+
+    private static ResumenTarea tareaAleatoria(Random random, int id) {
+        long creacion = random.nextInt(60);
+        String estado = random.nextInt(5) == 0 ? "COMPLETADA" : "PENDIENTE";
+        return tarea(id, creacion, creacion + random.nextInt(30), estado);
+    }
+
+    @Test
+    public void cadenaLarga_cambioAlFinalNoRecorreElProyecto() {
+        int cantidad = 50_000;
+        List<ResumenTarea> tareas = new ArrayList<>();
+        List<DependenciaTarea> dependencias = new ArrayList<>();
+        for (int id = 1; id <= cantidad; id++) {
+            tareas.add(tarea(id, 0, 1, "PENDIENTE"));
+            if (id > 1) {
+                dependencias.add(new DependenciaTarea(id, id - 1));
+            }
+        }
+        GrafoDependencias grafo = GrafoDependencias.desde(tareas, dependencias);
+        assertEquals(cantidad, grafo.rutaCritica().size());
+
+        assertEquals(2, grafo.guardarTarea(cantidad - 1, dia(0), dia(2), "PENDIENTE"));
+        assertEquals(dia(cantidad + 1), grafo.obtenerPlanificacion(cantidad).getFinTemprano());
+        // Cerrar la cadena sería un ciclo: se detecta sin desbordar la pila
+        assertFalse(grafo.agregarDependencia(1, cantidad));
+        assertEquals(cantidad, grafo.actualizarEstado(1, "COMPLETADA"));
+    }
+}
@@ -0,0 +1,54 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para HistogramaLatencia
+ */
+public class HistogramaLatenciaTest {
+
+    @Test
+    public void registrar_ubicaCadaMuestraEnSuIntervalo() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+
+        histograma.registrar(0);
+        histograma.registrar(15);
+        histograma.registrar(15);
+        histograma.registrar(9000);
+
+        assertEquals(4, histograma.getTotal());
+        assertEquals(1, histograma.conteo(0));
+        assertEquals("10-20 ms", histograma.etiqueta(4));
+        assertEquals(2, histograma.conteo(4));
+        assertEquals(1, histograma.conteo(histograma.cantidadIntervalos() - 1));
+        assertEquals(9000, histograma.getMaximoMs());
+        assertEquals(2257.5, histograma.getPromedioMs(), 0.001);
+    }
+
+    @Test
+    public void percentil_usaElLimiteSuperiorDelIntervalo() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 0; i < 99; i++) {
+            histograma.registrar(3);
+        }
+        histograma.registrar(7000);
+
+        assertEquals(5, histograma.percentil(50));
+        assertEquals(5, histograma.percentil(99));
+        assertEquals(7000, histograma.percentil(100));
+    }
+
+    @Test
+    public void reiniciar_descartaLasMuestras() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        histograma.registrar(40);
+
+        histograma.reiniciar();
+
+        assertEquals(0, histograma.getTotal());
+        assertEquals(0, histograma.percentil(99));
+        assertEquals(0, histograma.getMaximoMs());
+    }
+}
@@ -0,0 +1,239 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.dao.AlmacenCostosColumnar;
+import com.mycompany.sistemagestiondetareas.dao.AlmacenTareasColumnar;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.sql.*;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Pruebas para MotorAnalitica: compara las agregaciones paralelas con las
+ * consultas SQL equivalentes (sobre H2 en memoria) y con un cálculo secuencial.
+ */
+public class MotorAnaliticaTest {
+
+    private static final String URL_H2 = "jdbc:h2:mem:analitica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String[] TIPOS = {"PROYECTO", "TAREA"};
+    private static final String[] TIPOS_COSTO = {"RETRASO", "ADELANTO", "GASTO_PLANIFICADO"};
+    private static final String[] ESTADOS = {"PENDIENTE", "EN PROCESO", "COMPLETADA"};
+
+    private ForkJoinPool pool;
+    private MotorAnalitica motor;
+    private Connection conexion;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        pool = new ForkJoinPool(4);
+        motor = new MotorAnalitica(pool);
+        conexion = DriverManager.getConnection(URL_H2);
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("CREATE TABLE costos (id INT AUTO_INCREMENT PRIMARY KEY, tipo VARCHAR(20), " +
+                    "id_referencia INT, descripcion VARCHAR(255), monto DECIMAL(10,2), tipo_costo VARCHAR(20), " +
+                    "fecha_registro TIMESTAMP, id_usuario_registro INT)");
+            stmt.execute("CREATE TABLE tareas (id INT AUTO_INCREMENT PRIMARY KEY, id_proyecto INT, " +
+                    "id_responsable INT, estado VARCHAR(20), fecha_vencimiento TIMESTAMP)");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        conexion.close();
+        pool.shutdown();
+    }
+
+    private void insertarDatos(int cantidadCostos, int cantidadTareas, long ahora) throws SQLException {
+        Random random = new Random(7);
+
+        try (PreparedStatement stmt = conexion.prepareStatement("INSERT INTO costos (tipo, id_referencia, " +
+                "descripcion, monto, tipo_costo, fecha_registro, id_usuario_registro) VALUES (?, ?, 'x', ?, ?, ?, 1)")) {
+            for (int i = 0; i < cantidadCostos; i++) {
+                stmt.setString(1, TIPOS[random.nextInt(TIPOS.length)]);
+                stmt.setInt(2, 1 + random.nextInt(20));
+                stmt.setBigDecimal(3, java.math.BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+                stmt.setString(4, TIPOS_COSTO[random.nextInt(TIPOS_COSTO.length)]);
+                stmt.setTimestamp(5, new Timestamp(ahora - random.nextInt(1_000_000)));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+
+        try (PreparedStatement stmt = conexion.prepareStatement("INSERT INTO tareas (id_proyecto, " +
+                "id_responsable, estado, fecha_vencimiento) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < cantidadTareas; i++) {
+                stmt.setInt(1, 1 + random.nextInt(20));
+                stmt.setInt(2, 1 + random.nextInt(10));
+                stmt.setString(3, ESTADOS[random.nextInt(ESTADOS.length)]);
+                stmt.setTimestamp(4, new Timestamp(ahora + random.nextInt(2_000_000) - 1_000_000));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    @Test
+    public void agregaciones_coincidenConConsultasSQL() throws SQLException {
+        long ahora = System.currentTimeMillis();
+        insertarDatos(2000, 1500, ahora);
+
+        AlmacenCostosColumnar.Instantanea costos;
+        AlmacenTareasColumnar.Instantanea tareas;
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenAnswer(inv -> DriverManager.getConnection(URL_H2));
+            costos = new AlmacenCostosColumnar(ZoneOffset.UTC).cargar();
+            tareas = new AlmacenTareasColumnar().cargar();
+        }
+        assertEquals(2000, costos.tamano());
+        assertEquals(1500, tareas.tamano());
+
+        // Totales por proyecto y tipo de costo
+        AlmacenCostosColumnar.TotalesPorReferencia totales = motor.totalesPorProyectoYTipoCosto(costos);
+        int grupos = 0;
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id_referencia, tipo_costo, SUM(monto) AS total FROM costos " +
+                     "WHERE tipo = 'PROYECTO' GROUP BY id_referencia, tipo_costo")) {
+            while (rs.next()) {
+                byte tipoCosto = AlmacenCostosColumnar.codificarTipoCosto(rs.getString("tipo_costo"));
+                long esperado = rs.getBigDecimal("total").movePointRight(2).longValueExact();
+                assertEquals(esperado, totales.total(rs.getInt("id_referencia"), tipoCosto));
+                grupos++;
+            }
+        }
+        assertTrue(grupos > 0);
+
+        // Vencidas por responsable
+        Map<Integer, Long> esperadasVencidas = new HashMap<>();
+        try (PreparedStatement stmt = conexion.prepareStatement("SELECT id_responsable, COUNT(*) AS cantidad " +
+                "FROM tareas WHERE estado <> 'COMPLETADA' AND fecha_vencimiento < ? GROUP BY id_responsable")) {
+            stmt.setTimestamp(1, new Timestamp(ahora));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    esperadasVencidas.put(rs.getInt("id_responsable"), rs.getLong("cantidad"));
+                }
+            }
+        }
+        assertEquals(esperadasVencidas, motor.vencidasPorResponsable(tareas, ahora));
+
+        // Tasa de completado por proyecto
+        Map<Integer, Double> tasas = motor.tasaCompletadoPorProyecto(tareas);
+        try (Statement stmt = conexion.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id_proyecto, " +
+                     "SUM(CASE WHEN estado = 'COMPLETADA' THEN 1 ELSE 0 END) AS completadas, COUNT(*) AS total " +
+                     "FROM tareas GROUP BY id_proyecto")) {
+            int proyectos = 0;
+            while (rs.next()) {
+                double esperada = (double) rs.getLong("completadas") / rs.getLong("total");
+                assertEquals(esperada, tasas.get(rs.getInt("id_proyecto")), 1e-12);
+                proyectos++;
+            }
+            assertEquals(proyectos, tasas.size());
+        }
+    }
+
+    @Test
+    public void agregacionParalela_muchosSegmentos_coincideConSecuencial() {
+        Random random = new Random(11);
+        int cantidad = 300_000;
+        int[] ids = new int[cantidad];
+        int[] idsProyecto = new int[cantidad];
+        int[] idsResponsable = new int[cantidad];
+        byte[] estados = new byte[cantidad];
+        long[] vencimientos = new long[cantidad];
+        long ahora = 1_000_000L;
+
+        long[] completadas = new long[51];
+        long[] totalesProyecto = new long[51];
+        long[] vencidas = new long[31];
+        for (int i = 0; i < cantidad; i++) {
+            ids[i] = i + 1;
+            idsProyecto[i] = 1 + random.nextInt(50);
+            idsResponsable[i] = 1 + random.nextInt(30);
+            estados[i] = (byte) random.nextInt(3);
+            vencimientos[i] = random.nextInt(2_000_000);
+
+            totalesProyecto[idsProyecto[i]]++;
+            if (estados[i] == AlmacenTareasColumnar.ESTADO_COMPLETADA) {
+                completadas[idsProyecto[i]]++;
+            } else if (vencimientos[i] < ahora) {
+                vencidas[idsResponsable[i]]++;
+            }
+        }
+
+        AlmacenTareasColumnar.Instantanea tareas = AlmacenTareasColumnar.Instantanea.desdeColumnas(
+                ids, idsProyecto, idsResponsable, estados, vencimientos);
+
+        Map<Integer, Long> resultadoVencidas = motor.vencidasPorResponsable(tareas, ahora);
+        for (int id = 1; id <= 30; id++) {
+            assertEquals(vencidas[id], resultadoVencidas.get(id));
+        }
+
+        Map<Integer, Double> tasas = motor.tasaCompletadoPorProyecto(tareas);
+        for (int id = 1; id <= 50; id++) {
+            assertEquals((double) completadas[id] / totalesProyecto[id], tasas.get(id), 1e-12);
+        }
+    }
+
+    @Test
+    public void totalesPorProyecto_paraleloImparYTareasConIdsGrandes_coincideConSecuencial() {
+        Random random = new Random(13);
+        int cantidad = 100_000;
+        int[] ids = new int[cantidad];
+        byte[] tipos = new byte[cantidad];
+        int[] idsReferencia = new int[cantidad];
+        long[] montos = new long[cantidad];
+        byte[] tiposCosto = new byte[cantidad];
+        long[] esperados = new long[41 * AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO];
+        for (int i = 0; i < cantidad; i++) {
+            ids[i] = i + 1;
+            tiposCosto[i] = (byte) random.nextInt(AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO);
+            montos[i] = random.nextInt(100_000);
+            if (random.nextBoolean()) {
+                tipos[i] = AlmacenCostosColumnar.TIPO_PROYECTO;
+                idsReferencia[i] = 1 + random.nextInt(40);
+                esperados[idsReferencia[i] * AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO + tiposCosto[i]] += montos[i];
+            } else {
+                // Los ids de tareas no dimensionan la agregación por proyecto
+                tipos[i] = AlmacenCostosColumnar.TIPO_TAREA;
+                idsReferencia[i] = 50_000_000 + i;
+            }
+        }
+        AlmacenCostosColumnar.Instantanea costos = AlmacenCostosColumnar.Instantanea.desdeColumnas(
+                ids, tipos, idsReferencia, montos, tiposCosto, new long[cantidad], new int[cantidad], ZoneOffset.UTC);
+
+        ForkJoinPool tresHilos = new ForkJoinPool(3);
+        try {
+            AlmacenCostosColumnar.TotalesPorReferencia totales =
+                    new MotorAnalitica(tresHilos).totalesPorProyectoYTipoCosto(costos);
+            for (int id = 1; id <= 40; id++) {
+                for (byte tipoCosto = 0; tipoCosto < AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO; tipoCosto++) {
+                    assertEquals(esperados[id * AlmacenCostosColumnar.CANTIDAD_TIPOS_COSTO + tipoCosto],
+                            totales.total(id, tipoCosto));
+                }
+            }
+        } finally {
+            tresHilos.shutdown();
+        }
+    }
+
+    @Test
+    public void agregaciones_sinFilas_devuelvenVacio() {
+        AlmacenTareasColumnar.Instantanea tareas = AlmacenTareasColumnar.Instantanea.desdeColumnas(
+                new int[0], new int[0], new int[0], new byte[0], new long[0]);
+
+        assertTrue(motor.vencidasPorResponsable(tareas, 0L).isEmpty());
+        assertTrue(motor.tasaCompletadoPorProyecto(tareas).isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.modelo.IndicadoresRiesgo;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas para MotorRiesgo: factores de la puntuación, umbrales de nivel y
+ * cálculo paralelo de los cambios.
+ */
+public class MotorRiesgoTest {
+
+    private static final long AHORA = 1_800_000_000_000L;
+    private static final long SEMANA_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static IndicadoresRiesgo proyecto(int abiertas, int vencidas, long retraso, long presupuesto,
+                                              Date fechaFin, int completadas) {
+        IndicadoresRiesgo indicadores = new IndicadoresRiesgo(1, "VERDE", presupuesto, fechaFin);
+        indicadores.setTareasAbiertas(abiertas);
+        indicadores.setTareasVencidas(vencidas);
+        indicadores.setRetrasoCentavos(retraso);
+        indicadores.setCompletadasRecientes(completadas);
+        return indicadores;
+    }
+
+    private static Date enSemanas(double semanas) {
+        return new Date(AHORA + (long) (semanas * SEMANA_MS));
+    }
+
+    @Test
+    public void calcularPuntuacion_sinTareasNiRetrasos_esCero() {
+        assertEquals(0, MotorRiesgo.calcularPuntuacion(proyecto(0, 0, 0, 100_00, enSemanas(-1), 0), AHORA));
+        assertEquals("VERDE", MotorRiesgo.calcularNivel(proyecto(0, 0, 0, 0, null, 0), AHORA));
+    }
+
+    @Test
+    public void calcularPuntuacion_tareasVencidas_seSaturaAlTreintaPorCiento() {
+        assertEquals(20, MotorRiesgo.calcularPuntuacion(proyecto(20, 3, 0, 0, null, 0), AHORA));
+        assertEquals(40, MotorRiesgo.calcularPuntuacion(proyecto(10, 3, 0, 0, null, 0), AHORA));
+        assertEquals(40, MotorRiesgo.calcularPuntuacion(proyecto(10, 10, 0, 0, null, 0), AHORA));
+    }
+
+    @Test
+    public void calcularPuntuacion_retrasos_frenteAlPresupuesto() {
+        // 4 % del presupuesto: la quinta parte del factor
+        assertEquals(7, MotorRiesgo.calcularPuntuacion(proyecto(0, 0, 40_00, 1000_00, null, 0), AHORA));
+        assertEquals(35, MotorRiesgo.calcularPuntuacion(proyecto(0, 0, 500_00, 1000_00, null, 0), AHORA));
+        // Sin presupuesto cualquier retraso cuenta entero
+        assertEquals(35, MotorRiesgo.calcularPuntuacion(proyecto(0, 0, 1, 0, null, 0), AHORA));
+    }
+
+    @Test
+    public void calcularPuntuacion_velocidad_frenteAlTiempoRestante() {
+        // 4 completadas en 4 semanas: 1 por semana, faltan 8 semanas de trabajo
+        assertEquals(0, MotorRiesgo.calcularPuntuacion(proyecto(8, 0, 0, 0, enSemanas(8), 4), AHORA));
+        assertEquals(0, MotorRiesgo.calcularPuntuacion(proyecto(8, 0, 0, 0, enSemanas(16), 4), AHORA));
+        assertEquals(6, MotorRiesgo.calcularPuntuacion(proyecto(8, 0, 0, 0, enSemanas(6.4), 4), AHORA));
+        assertEquals(25, MotorRiesgo.calcularPuntuacion(proyecto(8, 0, 0, 0, enSemanas(4), 4), AHORA));
+        // Sin avance, o con la fecha de fin pasada y tareas abiertas
+        assertEquals(25, MotorRiesgo.calcularPuntuacion(proyecto(8, 0, 0, 0, enSemanas(50), 0), AHORA));
+        assertEquals(25, MotorRiesgo.calcularPuntuacion(proyecto(8, 0, 0, 0, enSemanas(-1), 4), AHORA));
+        // Sin fecha de fin no cuenta
+        assertEquals(0, MotorRiesgo.calcularPuntuacion(proyecto(8, 0, 0, 0, null, 0), AHORA));
+    }
+
+    @Test
+    public void calcularNivel_combinaLosFactores() {
+        assertEquals("AMARILLO", MotorRiesgo.calcularNivel(proyecto(10, 3, 0, 0, null, 0), AHORA));
+        assertEquals("ROJO", MotorRiesgo.calcularNivel(proyecto(10, 3, 500_00, 1000_00, null, 0), AHORA));
+        assertEquals("ROJO", MotorRiesgo.calcularNivel(proyecto(10, 3, 0, 0, enSemanas(1), 0), AHORA));
+    }
+
+    @Test
+    public void nivelPara_umbrales() {
+        assertEquals("VERDE", MotorRiesgo.nivelPara(29));
+        assertEquals("AMARILLO", MotorRiesgo.nivelPara(30));
+        assertEquals("AMARILLO", MotorRiesgo.nivelPara(59));
+        assertEquals("ROJO", MotorRiesgo.nivelPara(60));
+    }
+
+    @Test
+    public void calcularCambios_paralelo_coincideConElCalculoSecuencial() {
+        Random random = new Random(5);
+        String[] niveles = {"VERDE", "AMARILLO", "ROJO"};
+        List<IndicadoresRiesgo> proyectos = new ArrayList<>();
+        Map<Integer, String> esperados = new HashMap<>();
+        for (int id = 1; id <= 20_000; id++) {
+            int abiertas = random.nextInt(30);
+            IndicadoresRiesgo indicadores = new IndicadoresRiesgo(id, niveles[random.nextInt(3)],
+                    random.nextInt(10_000_00), random.nextBoolean() ? enSemanas(random.nextInt(20) - 2) : null);
+            indicadores.setTareasAbiertas(abiertas);
+            indicadores.setTareasVencidas(abiertas > 0 ? random.nextInt(abiertas + 1) : 0);
+            indicadores.setRetrasoCentavos(random.nextInt(2_000_00));
+            indicadores.setCompletadasRecientes(random.nextInt(10));
+            proyectos.add(indicadores);
+
+            String nivel = MotorRiesgo.calcularNivel(indicadores, AHORA);
+            if (!nivel.equals(indicadores.getNivelRiesgo())) {
+                esperados.put(id, nivel);
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(esperados, new MotorRiesgo(pool).calcularCambios(proyectos, AHORA));
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(new MotorRiesgo().calcularCambios(new ArrayList<>(), AHORA).isEmpty());
+    }
+}
@@ -0,0 +1,140 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import com.mycompany.sistemagestiondetareas.controlador.ControladorTarea;
+import com.mycompany.sistemagestiondetareas.dao.ComentarioTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.HistorialEstadoTareaDAO;
+import com.mycompany.sistemagestiondetareas.dao.IndiceTextoTareas;
+import com.mycompany.sistemagestiondetareas.dao.TareaDAO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.MockedStatic;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+/**
+ * Pruebas unitarias para RegistroConsultasLentas
+ */
+public class RegistroConsultasLentasTest {
+
+    private static final String URL_H2 = "jdbc:h2:mem:consultas_lentas;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @TempDir
+    Path directorio;
+
+    private Connection conexion;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        conexion = DriverManager.getConnection(URL_H2);
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("CREATE TABLE tareas (id INT AUTO_INCREMENT PRIMARY KEY, nombre VARCHAR(100), " +
+                    "descripcion TEXT, fecha_creacion TIMESTAMP, fecha_vencimiento TIMESTAMP, id_proyecto INT, " +
+                    "id_responsable INT, estado VARCHAR(20), comentarios TEXT)");
+            stmt.execute("INSERT INTO tareas (nombre, id_proyecto, id_responsable, estado) VALUES " +
+                    "('A', 1, 7, 'PENDIENTE'), ('B', 1, 7, 'COMPLETADA'), ('C', 2, 8, 'PENDIENTE')");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        RegistroConsultasLentas.establecerGlobal(null);
+        try (Statement stmt = conexion.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        conexion.close();
+    }
+
+    @Test
+    public void consultaLenta_registraSqlParametrosFilasLlamadorYPlan() throws Exception {
+        Path archivo = directorio.resolve("consultas-lentas.log");
+        RegistroConsultasLentas.establecerGlobal(new RegistroConsultasLentas(0, true, archivo, 1024 * 1024, 2));
+        ControladorTarea controlador = new ControladorTarea(new TareaDAO(), () -> null, new IndiceTextoTareas(),
+                new ComentarioTareaDAO(), new HistorialEstadoTareaDAO());
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenAnswer(inv -> DriverManager.getConnection(URL_H2));
+
+            assertEquals(2, controlador.obtenerTareasPorResponsable(7).size());
+        }
+
+        String registro = Files.readString(archivo, StandardCharsets.UTF_8);
+        assertTrue(registro.contains("CONSULTA LENTA"));
+        assertTrue(registro.contains(", 2 filas"));
+        assertTrue(registro.contains("llamador: ControladorTarea.obtenerTareasPorResponsable (TareaDAO.listarPorResponsable)"));
+        assertTrue(registro.contains("sql: SELECT id, nombre, descripcion, fecha_creacion, fecha_vencimiento, id_proyecto, id_responsable, estado FROM tareas WHERE id_responsable = ?"));
+        assertTrue(registro.contains("parámetros: [1] 7"));
+        assertTrue(registro.contains("plan:"));
+        assertFalse(registro.contains("No se pudo obtener el plan"));
+    }
+
+    @Test
+    public void consultaLenta_soloAnotaParametrosSiSePiden() throws Exception {
+        Path sinParametros = directorio.resolve("sin-parametros.log");
+        Path conParametros = directorio.resolve("con-parametros.log");
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenAnswer(inv -> DriverManager.getConnection(URL_H2));
+
+            RegistroConsultasLentas.establecerGlobal(new RegistroConsultasLentas(0, false, false, sinParametros, 1024 * 1024, 2));
+            new TareaDAO().listarPorResponsable(7);
+            RegistroConsultasLentas.establecerGlobal(new RegistroConsultasLentas(0, false, true, conParametros, 1024 * 1024, 2));
+            new TareaDAO().listarPorResponsable(7);
+        }
+
+        String sin = Files.readString(sinParametros, StandardCharsets.UTF_8);
+        assertTrue(sin.contains("llamador: desconocido (TareaDAO.listarPorResponsable)"));
+        assertFalse(sin.contains("parámetros:"));
+        String con = Files.readString(conParametros, StandardCharsets.UTF_8);
+        assertTrue(con.contains("parámetros: [1] 7"));
+        assertFalse(con.contains("plan:"));
+    }
+
+    @Test
+    public void umbralNoSuperado_noEscribe() {
+        Path archivo = directorio.resolve("consultas-lentas.log");
+        RegistroConsultasLentas.establecerGlobal(new RegistroConsultasLentas(60_000, false, archivo, 1024, 2));
+
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenAnswer(inv -> DriverManager.getConnection(URL_H2));
+
+            new TareaDAO().listarTodas();
+        }
+
+        assertFalse(Files.exists(archivo));
+    }
+
+    @Test
+    public void registrar_redactaTextosYRotaElArchivo() throws Exception {
+        Path archivo = directorio.resolve("lentas.log");
+        RegistroConsultasLentas registro = new RegistroConsultasLentas(0, false, archivo, 200, 2);
+        Map<Integer, Object> parametros = new TreeMap<>();
+        parametros.put(1, "secreto123");
+        parametros.put(2, 42);
+        parametros.put(3, null);
+
+        for (int i = 0; i < 6; i++) {
+            registro.registrar("UPDATE usuarios SET password = ? WHERE id = ? AND email = ?",
+                    parametros, 250_000_000L, 1, "ControladorUsuario.actualizarUsuario", null);
+        }
+
+        String actual = Files.readString(archivo, StandardCharsets.UTF_8);
+        assertTrue(actual.contains("[1] <texto de 10 caracteres> [2] 42 [3] NULL"));
+        assertFalse(actual.contains("secreto123"));
+        assertTrue(Files.exists(directorio.resolve("lentas.log.1")));
+        assertTrue(Files.exists(directorio.resolve("lentas.log.2")));
+        assertFalse(Files.exists(directorio.resolve("lentas.log.3")));
+    }
+}
@@ -0,0 +1,74 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para RegistroMetricas
+ */
+public class RegistroMetricasTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void formatoPrometheus_contadoresEIndicadores() {
+        RegistroMetricas metricas = new RegistroMetricas();
+        metricas.contador("llamadas_total", "Llamadas", "metodo", "A.b").add(3);
+        metricas.contador("llamadas_total", "Llamadas", "metodo", "A.b").increment();
+        metricas.indicador("conectados", "Clientes conectados", () -> 5);
+
+        String texto = metricas.formatoPrometheus();
+
+        assertTrue(texto.contains("# TYPE llamadas_total counter\n"));
+        assertTrue(texto.contains("llamadas_total{metodo=\"A.b\"} 4\n"));
+        assertTrue(texto.contains("# TYPE conectados gauge\nconectados 5\n"));
+    }
+
+    @Test
+    public void formatoPrometheus_histogramaAcumuladoEnSegundos() {
+        RegistroMetricas metricas = new RegistroMetricas();
+        HistogramaLatencia histograma = metricas.histograma("latencia_segundos", "Latencia", "metodo", "A.b");
+        histograma.registrarNanos(500_000);
+        histograma.registrar(30);
+
+        String texto = metricas.formatoPrometheus();
+
+        assertTrue(texto.contains("latencia_segundos_bucket{metodo=\"A.b\",le=\"0.001\"} 1\n"));
+        assertTrue(texto.contains("latencia_segundos_bucket{metodo=\"A.b\",le=\"0.05\"} 2\n"));
+        assertTrue(texto.contains("latencia_segundos_bucket{metodo=\"A.b\",le=\"+Inf\"} 2\n"));
+        assertTrue(texto.contains("latencia_segundos_sum{metodo=\"A.b\"} 0.0305\n"));
+        assertTrue(texto.contains("latencia_segundos_count{metodo=\"A.b\"} 2\n"));
+    }
+
+    @Test
+    public void mismoNombreConOtroTipo_lanzaExcepcion() {
+        RegistroMetricas metricas = new RegistroMetricas();
+        metricas.contador("metrica", "Ayuda");
+
+        assertThrows(IllegalArgumentException.class, () -> metricas.histograma("metrica", "Ayuda"));
+    }
+
+    @Test
+    public void exportar_escribeArchivoPrometheusYContinuaSiUnExportadorFalla() throws Exception {
+        RegistroMetricas metricas = new RegistroMetricas();
+        metricas.contador("eventos_total", "Eventos", "tipo", "con \"comillas\"").increment();
+        Path archivo = directorio.resolve("metricas.prom");
+
+        metricas.exportar(registro -> {
+            throw new java.io.IOException("Disco lleno");
+        }, ExportadorMetricas.aArchivoPrometheus(archivo));
+
+        String texto = Files.readString(archivo, StandardCharsets.UTF_8);
+        assertTrue(texto.contains("eventos_total{tipo=\"con \\\"comillas\\\"\"} 1"));
+        List<String> instantanea = metricas.instantanea();
+        assertEquals(1, instantanea.size());
+    }
+}
@@ -0,0 +1,99 @@
+package com.mycompany.sistemagestiondetareas.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Pruebas del límite de conexiones de Servidor.
+ */
+public class ServidorTest {
+
+    private Servidor servidor;
+    private int puerto;
+
+    @BeforeEach
+    public void setUp() throws SQLException, IOException {
+        Connection conexion = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conexion.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(false);
+
+        try (ServerSocket libre = new ServerSocket(0)) {
+            puerto = libre.getLocalPort();
+        }
+        try (MockedStatic<ConexionBD> mockedStatic = mockStatic(ConexionBD.class)) {
+            mockedStatic.when(ConexionBD::obtenerConexion).thenReturn(conexion);
+            servidor = new Servidor(puerto, 1);
+        }
+        Thread hilo = new Thread(servidor::iniciar, "servidor-prueba");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        servidor.detener();
+    }
+
+    private Socket conectar() throws IOException, InterruptedException {
+        for (int intento = 1; ; intento++) {
+            try {
+                Socket socket = new Socket("localhost", puerto);
+                socket.setSoTimeout(2000);
+                return socket;
+            } catch (ConnectException e) {
+                if (intento == 50) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private void esperarConexiones(int esperadas) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (servidor.getConexionesAbiertas() != esperadas && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(esperadas, servidor.getConexionesAbiertas());
+    }
+
+    @Test
+    public void socketsSinAutenticar_cuentanParaElLimiteYLiberanSuLugarAlCerrar() throws Exception {
+        try (Socket primero = conectar()) {
+            esperarConexiones(1);
+
+            // El primero no se autenticó, pero ocupa el único lugar: el segundo se rechaza
+            try (Socket segundo = conectar()) {
+                assertEquals(-1, segundo.getInputStream().read());
+            }
+            assertEquals(1, servidor.getConexionesAbiertas());
+            assertEquals(0, servidor.getClientesConectados());
+        }
+
+        esperarConexiones(0);
+        try (Socket tercero = conectar()) {
+            tercero.setSoTimeout(300);
+            assertThrows(SocketTimeoutException.class, () -> tercero.getInputStream().read());
+            esperarConexiones(1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import com.mycompany.sistemagestiondetareas.modelo.Proyecto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para CatalogoEntidades y ModeloComboEntidades
+ */
+public class CatalogoEntidadesTest {
+
+    private List<Proyecto> proyectos;
+    private AtomicInteger cargas;
+    private CatalogoEntidades<Proyecto> catalogo;
+
+    @BeforeEach
+    public void setUp() {
+        proyectos = new ArrayList<>(List.of(
+                proyecto(10, "Portal web", 1),
+                proyecto(20, "Migración de servidores", 2),
+                proyecto(30, "Portal móvil", 1)));
+        cargas = new AtomicInteger();
+        catalogo = new CatalogoEntidades<>("prueba",
+                () -> {
+                    cargas.incrementAndGet();
+                    return new ArrayList<>(proyectos);
+                },
+                Proyecto::getId,
+                p -> p.getNombre() + " (" + p.getId() + ")");
+    }
+
+    private static Proyecto proyecto(int id, String nombre, int idResponsable) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setId(id);
+        proyecto.setNombre(nombre);
+        proyecto.setIdResponsable(idResponsable);
+        return proyecto;
+    }
+
+    @Test
+    public void crearModelo_cargaUnaSolaVezYCadaModeloTieneSuSeleccion() {
+        ModeloComboEntidades primero = catalogo.crearModelo();
+        ModeloComboEntidades segundo = catalogo.crearModelo();
+
+        assertTrue(primero.seleccionarId(30));
+
+        assertEquals(1, cargas.get());
+        assertEquals(30, primero.getIdSeleccionado());
+        assertEquals("Portal móvil (30)", primero.getSelectedItem());
+        assertEquals(10, segundo.getIdSeleccionado());
+    }
+
+    @Test
+    public void seleccionarId_inexistente_conservaLaSeleccion() {
+        ModeloComboEntidades modelo = catalogo.crearModelo();
+
+        assertFalse(modelo.seleccionarId(99));
+
+        assertEquals(10, modelo.getIdSeleccionado());
+    }
+
+    @Test
+    public void setSelectedItem_porTexto_actualizaElId() {
+        ModeloComboEntidades modelo = catalogo.crearModelo();
+
+        modelo.setSelectedItem("Migración de servidores (20)");
+
+        assertEquals(20, modelo.getIdSeleccionado());
+    }
+
+    @Test
+    public void filtrar_muestraSoloCoincidenciasSinCambiarLaSeleccion() {
+        ModeloComboEntidades modelo = catalogo.crearModelo();
+        modelo.seleccionarId(20);
+
+        modelo.filtrar("PORTAL");
+
+        assertEquals(2, modelo.getSize());
+        assertEquals("Portal web (10)", modelo.getElementAt(0));
+        assertEquals("Portal móvil (30)", modelo.getElementAt(1));
+        assertEquals(20, modelo.getIdSeleccionado());
+
+        modelo.filtrar(null);
+        assertEquals(3, modelo.getSize());
+    }
+
+    @Test
+    public void crearModelo_conCondicion_incluyeSoloLasEntidadesQueLaCumplen() {
+        ModeloComboEntidades modelo = catalogo.crearModelo(p -> p.getIdResponsable() == 2);
+
+        assertEquals(1, modelo.getSize());
+        assertEquals(20, modelo.getIdSeleccionado());
+        assertFalse(catalogo.crearModelo(p -> p.getIdResponsable() == 5).seleccionarId(10));
+        assertTrue(catalogo.crearModelo(p -> p.getIdResponsable() == 5).estaVacio());
+    }
+
+    @Test
+    public void invalidar_recargaEnSegundoPlano() throws InterruptedException {
+        CatalogoEntidades.Instantanea<Proyecto> anterior = catalogo.obtener();
+        proyectos.add(proyecto(40, "Auditoría", 3));
+
+        catalogo.invalidar();
+
+        long limite = System.currentTimeMillis() + 5000;
+        while (catalogo.obtener() == anterior && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(4, catalogo.obtener().tamano());
+        assertEquals(3, anterior.tamano());
+        assertTrue(catalogo.crearModelo().seleccionarId(40));
+    }
+
+    @Test
+    public void invalidar_sinCargar_noConsulta() {
+        catalogo.invalidar();
+
+        assertEquals(0, cargas.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import com.mycompany.sistemagestiondetareas.modelo.Tarea;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para FiltroTareas
+ */
+public class FiltroTareasTest {
+
+    private static final long DIA = 24L * 60 * 60 * 1000;
+
+    private FiltroTareas filtro;
+
+    @BeforeEach
+    public void setUp() {
+        // Desordenadas a propósito: el índice las ordena por ID
+        List<Tarea> tareas = List.of(
+                tarea(3, "Revisar informe", "Informe trimestral de costos", 10, 1, "COMPLETADA", 30),
+                tarea(1, "Diseñar base de datos", "Modelo de tablas", 10, 2, "PENDIENTE", 10),
+                tarea(2, "Configurar servidor", "Instalar MySQL y revisar puertos", 20, 1, "EN PROCESO", 20),
+                tarea(4, "Actualizar manual", "Capítulo de informes", 20, 2, "PENDIENTE", 5));
+
+        filtro = new FiltroTareas(tareas,
+                Map.of(10, "Beta", 20, "Alfa"),
+                Map.of(1, "Ana Ruiz", 2, "Luis Pérez"));
+    }
+
+    private static Tarea tarea(int id, String nombre, String descripcion, int idProyecto,
+                               int idResponsable, String estado, int diaVencimiento) {
+        return new Tarea(id, nombre, descripcion, new Date(id * DIA), new Date(diaVencimiento * DIA),
+                idProyecto, idResponsable, estado, "");
+    }
+
+    @Test
+    public void evaluar_sinCriterios_retornaTodasPorID() {
+        FiltroTareas.Criterios criterios = new FiltroTareas.Criterios();
+
+        assertTrue(criterios.esNeutro());
+        assertArrayEquals(new int[]{1, 2, 3, 4}, filtro.evaluar(criterios));
+    }
+
+    @Test
+    public void evaluar_combinaEstadoYResponsable() {
+        FiltroTareas.Criterios criterios = new FiltroTareas.Criterios();
+        criterios.setEstado("PENDIENTE");
+        criterios.setIdResponsable(2);
+
+        assertArrayEquals(new int[]{1, 4}, filtro.evaluar(criterios));
+
+        criterios.setIdProyecto(20);
+        assertArrayEquals(new int[]{4}, filtro.evaluar(criterios));
+    }
+
+    @Test
+    public void evaluar_textoLibre_buscaTodasLasPalabrasEnNombreYDescripcion() {
+        FiltroTareas.Criterios criterios = new FiltroTareas.Criterios();
+        criterios.setTexto("  INFORM  revis ");
+
+        // "revis" aparece en el nombre de 3 y en la descripción de 2, pero 2 no menciona informes
+        assertArrayEquals(new int[]{3}, filtro.evaluar(criterios));
+    }
+
+    @Test
+    public void evaluar_rangoDeVencimiento_incluyeDesdeYExcluyeHasta() {
+        FiltroTareas.Criterios criterios = new FiltroTareas.Criterios();
+        criterios.setDesde(new Date(10 * DIA));
+        criterios.setHasta(new Date(30 * DIA));
+
+        assertArrayEquals(new int[]{1, 2}, filtro.evaluar(criterios));
+    }
+
+    @Test
+    public void evaluar_ordenaPorNombreDeProyectoYDescendente() {
+        FiltroTareas.Criterios criterios = new FiltroTareas.Criterios();
+        criterios.setOrden(FiltroTareas.Orden.PROYECTO);
+
+        // Alfa (2, 4) antes que Beta (1, 3); los empates conservan el orden por ID
+        assertArrayEquals(new int[]{2, 4, 1, 3}, filtro.evaluar(criterios));
+
+        criterios.setOrden(FiltroTareas.Orden.FECHA_VENCIMIENTO);
+        criterios.setDescendente(true);
+        assertFalse(criterios.esNeutro());
+        assertArrayEquals(new int[]{3, 2, 1, 4}, filtro.evaluar(criterios));
+    }
+}
@@ -0,0 +1,133 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para ModeloTablaIndexado
+ */
+public class ModeloTablaIndexadoTest {
+
+    private ModeloTablaIndexado modelo;
+    private List<String> eventos;
+
+    @BeforeEach
+    public void setUp() {
+        modelo = new ModeloTablaIndexado(new String[]{"ID", "Nombre"});
+        modelo.agregarFilas(filas(1, "a", 2, "b", 3, "c", 4, "d"));
+
+        eventos = new ArrayList<>();
+        modelo.addTableModelListener(e -> {
+            String tipo = e.getType() == TableModelEvent.INSERT ? "I"
+                    : e.getType() == TableModelEvent.DELETE ? "D" : "U";
+            eventos.add(tipo + e.getFirstRow() + "-" + e.getLastRow());
+        });
+    }
+
+    private static List<Object[]> filas(Object... valores) {
+        List<Object[]> resultado = new ArrayList<>();
+        for (int i = 0; i < valores.length; i += 2) {
+            resultado.add(new Object[]{valores[i], valores[i + 1]});
+        }
+        return resultado;
+    }
+
+    private List<Object> ids() {
+        List<Object> ids = new ArrayList<>();
+        for (int i = 0; i < modelo.getRowCount(); i++) {
+            ids.add(modelo.getValueAt(i, 0));
+        }
+        return ids;
+    }
+
+    @Test
+    public void actualizar_sinCambios_noDisparaEventos() {
+        modelo.actualizar(filas(1, "a", 2, "b", 3, "c", 4, "d"));
+
+        assertTrue(eventos.isEmpty());
+    }
+
+    @Test
+    public void actualizar_filaModificada_soloActualizaEsaFila() {
+        modelo.actualizar(filas(1, "a", 2, "B", 3, "c", 4, "d"));
+
+        assertEquals(List.of("U1-1"), eventos);
+        assertEquals("B", modelo.getValueAt(1, 1));
+    }
+
+    @Test
+    public void actualizar_eliminaBloquesContiguosEInsertaNuevas() {
+        modelo.actualizar(filas(1, "a", 4, "d", 5, "e"));
+
+        assertEquals(List.of("D1-2", "I2-2"), eventos);
+        assertEquals(Arrays.asList(1, 4, 5), ids());
+        assertEquals(2, modelo.buscarFila(5));
+        assertEquals(-1, modelo.buscarFila(2));
+    }
+
+    @Test
+    public void actualizar_filaMovida_respetaOrdenNuevo() {
+        modelo.actualizar(filas(4, "d", 1, "a", 2, "b", 3, "c"));
+
+        assertEquals(Arrays.asList(4, 1, 2, 3), ids());
+        assertEquals(0, modelo.buscarFila(4));
+        assertEquals(3, modelo.buscarFila(3));
+    }
+
+    @Test
+    public void actualizar_filaMovida_soloMueveEsaFila() {
+        modelo.actualizar(filas(2, "b", 3, "c", 1, "a", 4, "d"));
+
+        assertEquals(List.of("D0-0", "I2-2"), eventos);
+        assertEquals(Arrays.asList(2, 3, 1, 4), ids());
+        assertEquals(2, modelo.buscarFila(1));
+    }
+
+    @Test
+    public void actualizar_nuevasConsecutivas_seInsertanEnUnBloque() {
+        modelo.actualizar(filas(1, "a", 5, "e", 6, "f", 2, "b", 3, "c", 4, "d", 7, "g"));
+
+        assertEquals(List.of("I1-2", "I6-6"), eventos);
+        assertEquals(Arrays.asList(1, 5, 6, 2, 3, 4, 7), ids());
+    }
+
+    @Test
+    public void actualizar_reordenarTablaGrande_reemplazaConUnSoloEvento() {
+        List<Object[]> ascendente = new ArrayList<>();
+        List<Object[]> alternado = new ArrayList<>();
+        for (int id = 1; id <= 1000; id++) {
+            ascendente.add(new Object[]{id, "n" + id});
+        }
+        for (int i = 0; i < 500; i++) {
+            alternado.add(ascendente.get(i + 500));
+            alternado.add(ascendente.get(i));
+        }
+        modelo.limpiar();
+        modelo.agregarFilas(ascendente);
+        eventos.clear();
+
+        modelo.actualizar(alternado);
+
+        assertEquals(List.of("U0-" + Integer.MAX_VALUE), eventos);
+        assertEquals(1000, modelo.getRowCount());
+        assertEquals(501, modelo.getValueAt(0, 0));
+        assertEquals(1, modelo.buscarFila(1));
+        assertEquals(0, modelo.buscarFila(501));
+    }
+
+    @Test
+    public void limpiar_eliminaTodasLasFilas() {
+        modelo.limpiar();
+
+        assertEquals(List.of("D0-3"), eventos);
+        assertEquals(0, modelo.getRowCount());
+        assertEquals(-1, modelo.buscarFila(1));
+    }
+}
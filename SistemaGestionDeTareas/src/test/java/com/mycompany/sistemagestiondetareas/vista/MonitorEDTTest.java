@@ -0,0 +1,108 @@
+package com.mycompany.sistemagestiondetareas.vista;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.swing.SwingUtilities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias para MonitorEDT
+ */
+public class MonitorEDTTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void metodoDeVista_devuelveElPrimerMetodoDeUnaVista() {
+        StackTraceElement[] pila = {
+            new StackTraceElement("java.net.SocketInputStream", "read", null, 1),
+            new StackTraceElement("com.mycompany.sistemagestiondetareas.dao.ProyectoDAO", "listarTodos", null, 2),
+            new StackTraceElement("com.mycompany.sistemagestiondetareas.vista.PanelAdmin", "cargarProyectos", null, 3),
+            new StackTraceElement("com.mycompany.sistemagestiondetareas.vista.PanelAdmin", "actionPerformed", null, 4)
+        };
+
+        assertEquals("PanelAdmin.cargarProyectos", MonitorEDT.metodoDeVista(pila));
+    }
+
+    @Test
+    public void metodoDeVista_lambdaYSinVistas() {
+        StackTraceElement[] conLambda = {
+            new StackTraceElement("com.mycompany.sistemagestiondetareas.vista.PanelUsuario", "lambda$cargarDatos$2", null, 1)
+        };
+        StackTraceElement[] sinVistas = {
+            new StackTraceElement("java.lang.Thread", "sleep", null, 1),
+            new StackTraceElement("com.mycompany.sistemagestiondetareas.dao.TareaDAO", "listarTodas", null, 2)
+        };
+
+        assertEquals("PanelUsuario.cargarDatos (lambda)", MonitorEDT.metodoDeVista(conLambda));
+        assertEquals("TareaDAO.listarTodas", MonitorEDT.metodoDeVista(sinVistas));
+        assertEquals("desconocido", MonitorEDT.metodoDeVista(new StackTraceElement[0]));
+    }
+
+    @Test
+    public void bloqueoDelEDT_seRegistraConElMetodoYSeAnotaEnElArchivo() throws Exception {
+        Path archivo = directorio.resolve("diagnostico-edt.log");
+        MonitorEDT monitor = new MonitorEDT(150, archivo);
+        monitor.iniciar();
+        try {
+            // Esperar a que el monitor conozca el EDT
+            long limite = System.currentTimeMillis() + 5000;
+            while (monitor.getHistograma().getTotal() == 0 && System.currentTimeMillis() < limite) {
+                Thread.sleep(20);
+            }
+
+            SwingUtilities.invokeAndWait(MonitorEDTTest::cargarDatosLento);
+
+            limite = System.currentTimeMillis() + 5000;
+            while ((monitor.getBloqueos().isEmpty() || !monitor.getBloqueos().get(0).isTerminado())
+                    && System.currentTimeMillis() < limite) {
+                Thread.sleep(20);
+            }
+        } finally {
+            monitor.detener();
+        }
+
+        List<MonitorEDT.Bloqueo> bloqueos = monitor.getBloqueos();
+        assertEquals(1, bloqueos.size());
+        assertEquals("MonitorEDTTest.cargarDatosLento", bloqueos.get(0).getMetodo());
+        assertTrue(bloqueos.get(0).getDuracionMs() >= 150);
+        assertTrue(monitor.getHistograma().getMaximoMs() >= 150);
+
+        String registro = Files.readString(archivo, StandardCharsets.UTF_8);
+        assertTrue(registro.contains("BLOQUEO #1"));
+        assertTrue(registro.contains("FIN BLOQUEO #1"));
+        assertTrue(registro.contains("MonitorEDTTest.cargarDatosLento"));
+        assertTrue(registro.contains("RESUMEN latencia EDT"));
+    }
+
+    @Test
+    public void registro_rotaPorTamanoYConservaLosUltimosArchivos() throws Exception {
+        Path archivo = directorio.resolve("diagnostico-edt.log");
+        MonitorEDT monitor = new MonitorEDT(150, archivo, 1, 1);
+
+        // Cada detener() anota un resumen; con 1 byte de máximo, cada uno rota el anterior
+        for (int i = 0; i < 3; i++) {
+            monitor.iniciar();
+            monitor.detener();
+        }
+
+        assertTrue(Files.readString(archivo, StandardCharsets.UTF_8).contains("RESUMEN latencia EDT"));
+        assertTrue(Files.exists(directorio.resolve("diagnostico-edt.log.1")));
+        assertFalse(Files.exists(directorio.resolve("diagnostico-edt.log.2")));
+    }
+
+    private static void cargarDatosLento() {
+        try {
+            Thread.sleep(700);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}